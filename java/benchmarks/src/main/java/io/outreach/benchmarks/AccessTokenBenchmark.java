@@ -0,0 +1,76 @@
+package io.outreach.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.outreach.auth.AccessTokenManager;
+import io.outreach.transport.Request;
+import io.outreach.transport.Response;
+import io.outreach.transport.Transport;
+import io.outreach.transport.TransportStats;
+
+/**
+ * The token check paid by every API call once a token has been granted, alone
+ * and with callers contending on one manager.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AccessTokenBenchmark {
+
+    private static final byte[] GRANT = "{\"access_token\":\"benchmark\",\"refresh_token\":\"refresh\",\"expires_in\":86400}"
+        .getBytes(StandardCharsets.UTF_8);
+
+    private AccessTokenManager tokens;
+
+    @Setup
+    public void setUp() {
+        final Transport transport = new Transport() {
+            @Override
+            public Response execute(final Request request) {
+                return new Response(200, null, new ByteArrayInputStream(GRANT));
+            }
+
+            @Override
+            public TransportStats stats() {
+                return null;
+            }
+        };
+        // No scheduler, the day-long grant is never refreshed during a run.
+        tokens = new AccessTokenManager(transport, "https://127.0.0.1/oauth/token", "id", "secret", "uri", "code", null);
+        tokens.getAccessToken();
+    }
+
+    @TearDown
+    public void tearDown() {
+        tokens.close();
+    }
+
+    @Benchmark
+    public String valid() {
+        return tokens.getAccessToken();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String validContended() {
+        return tokens.getAccessToken();
+    }
+}
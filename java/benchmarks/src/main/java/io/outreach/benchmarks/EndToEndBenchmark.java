@@ -0,0 +1,80 @@
+package io.outreach.benchmarks;
+
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
+import java.util.concurrent.TimeUnit;
+
+import org.json.simple.JSONObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.outreach.Outreach;
+import io.outreach.Query;
+import io.outreach.model.Prospect;
+import io.outreach.model.ProspectCodec;
+import io.outreach.paging.Page;
+import io.outreach.transport.CompressingTransport;
+import io.outreach.transport.PooledTransport;
+
+/**
+ * Full calls through the default transport stack against a loopback HTTPS
+ * stub, covering the token check, request construction, pooled TLS
+ * connections, gzip and decoding. Run with {@code -prof gc} to see the
+ * allocation per call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+// Without TCP_NODELAY the stub's split header and body writes stall on delayed ACKs.
+@Fork(value = 1, jvmArgsAppend = "-Dsun.net.httpserver.nodelay=true")
+public class EndToEndBenchmark {
+
+    private StubServer server;
+    private Outreach outreach;
+
+    @Setup
+    public void setUp() throws IOException, GeneralSecurityException {
+        final KeyStore keyStore = Fixtures.keyStore();
+        server = new StubServer(keyStore);
+        outreach = new Outreach(new Outreach.ApplicationCredentials("id", "secret", "uri"),
+                                "code",
+                                new CompressingTransport(new PooledTransport(keyStore)),
+                                server.getEndpoint(),
+                                "1.0");
+        outreach.getProspects(null, null, null, null, 1);
+    }
+
+    @TearDown
+    public void tearDown() {
+        server.close();
+    }
+
+    @Benchmark
+    public JSONObject getProspects() {
+        return outreach.getProspects("Ada", "Lovelace", null, null, 1);
+    }
+
+    @Benchmark
+    public Page<Prospect> getProspectsTyped() {
+        return outreach.getPage("/prospects", new Query(), 1, Fixtures.PAGE_SIZE, ProspectCodec.INSTANCE);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public JSONObject getProspectsConcurrent() {
+        return outreach.getProspects("Ada", "Lovelace", null, null, 1);
+    }
+}
@@ -0,0 +1,102 @@
+package io.outreach.benchmarks;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringWriter;
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
+import java.util.ArrayList;
+import java.util.List;
+
+import io.outreach.json.JsonWriter;
+import io.outreach.model.Prospect;
+import io.outreach.model.ProspectCodec;
+
+/**
+ * Shared inputs for the benchmarks, a page of realistic prospects and the
+ * self-signed key material for the local stub server.
+ */
+final class Fixtures {
+
+    /**
+     * The API's maximum page size.
+     */
+    static final int PAGE_SIZE = 50;
+
+    /**
+     * Holds a single key entry aliased by the stub's address, so the one store
+     * serves the stub's certificate and pins it for the client.
+     */
+    private static final String KEY_STORE = "/benchmark.jks";
+    static final char[] KEY_STORE_PASSWORD = "outreach".toCharArray();
+
+    private Fixtures() {
+    }
+
+    static List<Prospect> prospects(final int count) {
+        final List<Prospect> prospects = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            prospects.add(new Prospect()
+                .setId((long) i + 1)
+                .setCreated("2016-01-01T00:00:00Z")
+                .setUpdated("2016-03-14T15:09:26Z")
+                .setFirstName("First" + i)
+                .setLastName("Last" + i)
+                .setEmail("prospect" + i + "@example.com")
+                .setTitle("Director of Engineering")
+                .setCompanyName("Company " + (i % 7))
+                .setCompanyIndustry("Software")
+                .setCompanySize(250L)
+                .setAddressCity("Seattle")
+                .setAddressState("WA")
+                .setAddressCountry("US")
+                .addStreet(i + " Main Street")
+                .setAddressZip(98101L)
+                .setTimezone("America/Los_Angeles")
+                .setWorkPhone("+1 206 555 0" + (100 + i))
+                .setLinkedIn("https://www.linkedin.com/in/prospect" + i)
+                .setOptedOut(false)
+                .setSource("benchmark")
+                .addTag("enterprise")
+                .addTag("q" + (i % 4 + 1))
+                .addCustom("custom value " + i));
+        }
+        return prospects;
+    }
+
+    /**
+     * @return a collection response body, as served by the API.
+     */
+    static String page(final int count) {
+        final StringWriter body = new StringWriter(1024 * count);
+        try {
+            final JsonWriter out = new JsonWriter(body);
+            out.beginObject().name("data").beginArray();
+            for (Prospect prospect : prospects(count)) {
+                ProspectCodec.INSTANCE.writeRecord(prospect, out);
+            }
+            out.endArray();
+            out.name("meta").beginObject()
+                .name("page").beginObject().member("current", 1).member("entries", count).member("maximum", 1).endObject()
+                .name("results").beginObject().member("total", count).endObject()
+                .endObject();
+            out.endObject().flush();
+        } catch (IOException impossible) {
+            throw new IllegalStateException(impossible);
+        }
+        return body.toString();
+    }
+
+    static KeyStore keyStore() {
+        try (InputStream in = Fixtures.class.getResourceAsStream(KEY_STORE)) {
+            if (in == null) {
+                throw new IllegalStateException("Missing benchmark key store " + KEY_STORE);
+            }
+            final KeyStore keyStore = KeyStore.getInstance("JKS");
+            keyStore.load(in, KEY_STORE_PASSWORD);
+            return keyStore;
+        } catch (IOException | GeneralSecurityException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+}
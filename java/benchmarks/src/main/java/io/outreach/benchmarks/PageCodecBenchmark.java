@@ -0,0 +1,92 @@
+package io.outreach.benchmarks;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.json.simple.JSONObject;
+import org.json.simple.parser.ParseException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import io.outreach.json.Json;
+import io.outreach.json.JsonRecordReader;
+import io.outreach.json.JsonWriter;
+import io.outreach.json.RecordReader;
+import io.outreach.model.Prospect;
+import io.outreach.model.ProspectCodec;
+
+/**
+ * Decodes and encodes a full page of prospects, comparing the json-simple tree
+ * with the streaming readers and the typed codec.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PageCodecBenchmark {
+
+    private String page;
+    private JSONObject tree;
+    private List<Prospect> prospects;
+
+    @Setup
+    public void setUp() throws IOException, ParseException {
+        page = Fixtures.page(Fixtures.PAGE_SIZE);
+        tree = (JSONObject) Json.parse(new StringReader(page));
+        prospects = Fixtures.prospects(Fixtures.PAGE_SIZE);
+    }
+
+    @Benchmark
+    public Object decodeTree() throws IOException, ParseException {
+        return Json.parse(new StringReader(page));
+    }
+
+    @Benchmark
+    public void decodeStreaming(final Blackhole blackhole) throws IOException {
+        try (JsonRecordReader records = new JsonRecordReader(new StringReader(page))) {
+            while (records.hasNext()) {
+                blackhole.consume(records.next());
+            }
+        }
+    }
+
+    @Benchmark
+    public void decodeTyped(final Blackhole blackhole) throws IOException {
+        try (RecordReader<Prospect> records = ProspectCodec.INSTANCE.reader(new StringReader(page))) {
+            while (records.hasNext()) {
+                blackhole.consume(records.next());
+            }
+        }
+    }
+
+    @Benchmark
+    public String encodeTree() {
+        return tree.toJSONString();
+    }
+
+    @Benchmark
+    public String encodeTyped() throws IOException {
+        final StringWriter body = new StringWriter(page.length());
+        final JsonWriter out = new JsonWriter(body);
+        out.beginObject().name("data").beginArray();
+        for (Prospect prospect : prospects) {
+            ProspectCodec.INSTANCE.writeRecord(prospect, out);
+        }
+        out.endArray().endObject().flush();
+        return body.toString();
+    }
+}
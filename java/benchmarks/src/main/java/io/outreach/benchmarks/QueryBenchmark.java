@@ -0,0 +1,62 @@
+package io.outreach.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.outreach.Query;
+
+/**
+ * Builds the query string sent by
+ * {@link io.outreach.Outreach#getProspects(String, String, String, String, Integer)}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QueryBenchmark {
+
+    private String firstName = "Ada";
+    private String lastName = "Lovelace";
+    private String companyName = "Analytical Engines & Co.";
+    private String email = "ada+outreach@example.com";
+    private Integer page = 3;
+
+    /**
+     * Every filter set, with values needing escaping.
+     */
+    @Benchmark
+    public String allFilters() {
+        return new Query()
+            .page(page)
+            .filter("personal/name/first", firstName)
+            .filter("personal/name/last", lastName)
+            .filter("contact/email", email)
+            .filter("company/name", companyName)
+            .toString();
+    }
+
+    /**
+     * The common lookup by email alone, the remaining filters are null.
+     */
+    @Benchmark
+    public String emailOnly() {
+        return new Query()
+            .page(null)
+            .filter("personal/name/first", null)
+            .filter("personal/name/last", null)
+            .filter("contact/email", email)
+            .filter("company/name", null)
+            .toString();
+    }
+}
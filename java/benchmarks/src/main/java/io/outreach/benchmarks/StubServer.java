@@ -0,0 +1,99 @@
+package io.outreach.benchmarks;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.GZIPOutputStream;
+
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.SSLContext;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpsConfigurator;
+import com.sun.net.httpserver.HttpsServer;
+
+/**
+ * A loopback HTTPS server answering the token exchange and prospect endpoints
+ * with canned bodies, so end-to-end benchmarks measure the client rather than
+ * the network or the API.
+ */
+final class StubServer implements AutoCloseable {
+
+    private static final String TOKEN = "{\"access_token\":\"benchmark\",\"refresh_token\":\"refresh\",\"expires_in\":86400}";
+
+    private final HttpsServer server;
+    private final ExecutorService executor;
+    private final byte[] page;
+    private final byte[] compressedPage;
+
+    StubServer(final KeyStore keyStore) throws IOException, GeneralSecurityException {
+        this.page = Fixtures.page(Fixtures.PAGE_SIZE).getBytes(StandardCharsets.UTF_8);
+        this.compressedPage = gzip(page);
+
+        final KeyManagerFactory keys = KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+        keys.init(keyStore, Fixtures.KEY_STORE_PASSWORD);
+        final SSLContext context = SSLContext.getInstance("TLS");
+        context.init(keys.getKeyManagers(), null, null);
+
+        this.executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        this.server = HttpsServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        this.server.setHttpsConfigurator(new HttpsConfigurator(context));
+        this.server.setExecutor(executor);
+        this.server.createContext("/oauth/token", exchange -> respond(exchange, TOKEN.getBytes(StandardCharsets.UTF_8), false));
+        this.server.createContext("/1.0/prospects", exchange -> {
+            final String encoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+            final boolean gzip = encoding != null && encoding.contains("gzip");
+            respond(exchange, gzip ? compressedPage : page, gzip);
+        });
+        this.server.start();
+    }
+
+    /**
+     * @return the API root, e.g. "https://127.0.0.1:54321".
+     */
+    String getEndpoint() {
+        return "https://" + server.getAddress().getAddress().getHostAddress() + ":" + server.getAddress().getPort();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private static void respond(final HttpExchange exchange, final byte[] body, final boolean gzip) throws IOException {
+        try {
+            final InputStream request = exchange.getRequestBody();
+            final byte[] discard = new byte[1024];
+            while (request.read(discard) != -1) {
+                // Drain the request so the connection can be reused.
+            }
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            if (gzip) {
+                exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+            }
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private static byte[] gzip(final byte[] body) throws IOException {
+        final ByteArrayOutputStream compressed = new ByteArrayOutputStream(body.length / 4);
+        try (GZIPOutputStream out = new GZIPOutputStream(compressed)) {
+            out.write(body);
+        }
+        return compressed.toByteArray();
+    }
+}
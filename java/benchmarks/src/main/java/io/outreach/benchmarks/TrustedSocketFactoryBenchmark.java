@@ -0,0 +1,53 @@
+package io.outreach.benchmarks;
+
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
+import java.util.concurrent.TimeUnit;
+
+import javax.net.ssl.SSLSocketFactory;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.outreach.security.TrustedSSLSocketFactory;
+import io.outreach.transport.PooledTransport;
+
+/**
+ * TLS context creation for pinned trust material, paid once per transport.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TrustedSocketFactoryBenchmark {
+
+    private KeyStore trustStore;
+
+    @Setup
+    public void setUp() {
+        trustStore = Fixtures.keyStore();
+    }
+
+    @Benchmark
+    public SSLSocketFactory socketFactory() throws GeneralSecurityException {
+        return TrustedSSLSocketFactory.get(trustStore);
+    }
+
+    /**
+     * The socket factory plus the hostname verifier and pool.
+     */
+    @Benchmark
+    public PooledTransport transport() {
+        return new PooledTransport(trustStore);
+    }
+}
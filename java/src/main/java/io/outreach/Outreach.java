@@ -1,39 +1,54 @@
 package io.outreach;
 
-import java.io.BufferedReader;
-import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStreamReader;
-import java.io.OutputStreamWriter;
+import java.io.Reader;
 import java.net.MalformedURLException;
-import java.net.URL;
-import java.security.KeyManagementException;
+import java.nio.charset.StandardCharsets;
 import java.security.KeyStore;
-import java.security.NoSuchAlgorithmException;
-import java.util.Date;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
-import java.util.Properties;
-
-import javax.net.ssl.HttpsURLConnection;
+import java.util.stream.Stream;
 
+import org.json.simple.JSONArray;
 import org.json.simple.JSONObject;
-import org.json.simple.JSONValue;
+import org.json.simple.parser.ParseException;
 
+import io.outreach.auth.AccessTokenManager;
+import io.outreach.bootstrap.OutreachBootstrap;
+import io.outreach.concurrent.WorkerExecutors;
 import io.outreach.exception.OutreachSecurityException;
-import io.outreach.security.TrustedHostnameVerifier;
-import io.outreach.security.TrustedSSLSocketFactory;
+import io.outreach.json.FieldSelection;
+import io.outreach.json.Json;
+import io.outreach.json.JsonRecordReader;
+import io.outreach.json.JsonWriter;
+import io.outreach.json.RecordCodec;
+import io.outreach.json.RecordReader;
+import io.outreach.metrics.OutreachListener;
+import io.outreach.model.Account;
+import io.outreach.model.AccountCodec;
+import io.outreach.model.Call;
+import io.outreach.model.CallCodec;
+import io.outreach.model.Prospect;
+import io.outreach.model.ProspectCodec;
+import io.outreach.paging.Page;
+import io.outreach.paging.PageIterator;
+import io.outreach.paging.ParallelPageIterator;
+import io.outreach.throttle.RateLimiter;
+import io.outreach.transport.CompressingTransport;
+import io.outreach.transport.HttpStatusException;
+import io.outreach.transport.PooledTransport;
+import io.outreach.transport.Request;
+import io.outreach.transport.RequestBody;
+import io.outreach.transport.Response;
+import io.outreach.transport.Transport;
 
 /**
  * Example project for Outreach platform consumers.
  */
 public class Outreach {
 
-    /**
-     * Authorization access credential, this is returned from redirected
-     * authorization requests from api.outreach.io/oauth/authorize.
-     */
-    private final String authorizationCode;
-
     /**
      * Credentials representing the application, namely the application
      * identifier, secret, and other metadata
@@ -41,43 +56,115 @@ public class Outreach {
     private final ApplicationCredentials applicationCredentials;
 
     /**
-     * Request access bearer-credential, this short-lived credential is returned
-     * from api.outreach.io/oauth/token.
+     * Bearer credential source, exchanges the authorization code returned
+     * from api.outreach.io/oauth/authorize on first use and refreshes the
+     * short-lived access token from api.outreach.io/oauth/token thereafter.
      */
-    private String requestBearer = null;
+    private final AccessTokenManager tokens;
 
     /**
-     * Refresh token used to generate a new bearer token after the original
-     * authorization code has been consumed.
+     * Connection engine shared by every request made through this instance,
+     * may also be shared between instances.
      */
-    private String refreshBearer = null;
-    
-    private long accessExpires = 0;
+    private final Transport transport;
+
+    private final OutreachListener listener;
 
-    private final KeyStore trustStore;
-    private String apiEndpoint = "";
-    private String authEndpoint = "";
+    private final String apiEndpoint;
+    private final String authEndpoint;
 
     public Outreach(final ApplicationCredentials applicationCredentials, final String authorizationCode) {
-        this(applicationCredentials, authorizationCode, null);
+        this(applicationCredentials, authorizationCode, (KeyStore) null);
     }
 
     public Outreach(final ApplicationCredentials applicationCredentials,
                     final String authorizationCode,
                     final KeyStore trustStore) {
+        this(applicationCredentials, authorizationCode, new CompressingTransport(new PooledTransport(trustStore)));
+    }
+
+    public Outreach(final ApplicationCredentials applicationCredentials,
+                    final String authorizationCode,
+                    final Transport transport) {
+        this(applicationCredentials, authorizationCode, transport, OutreachListener.NONE);
+    }
+
+    /**
+     * @param listener
+     *            notified of token exchanges and response decoding, see
+     *            {@link io.outreach.metrics.InstrumentedTransport} to also
+     *            observe the exchanges themselves.
+     * @throws io.outreach.exception.OutreachException
+     *             if the API configuration cannot be loaded from the
+     *             classpath.
+     * @see OutreachBootstrap
+     */
+    public Outreach(final ApplicationCredentials applicationCredentials,
+                    final String authorizationCode,
+                    final Transport transport,
+                    final OutreachListener listener) {
+        this(applicationCredentials, authorizationCode, transport, OutreachBootstrap.get(), listener);
+    }
+
+    private Outreach(final ApplicationCredentials applicationCredentials,
+                     final String authorizationCode,
+                     final Transport transport,
+                     final OutreachBootstrap bootstrap,
+                     final OutreachListener listener) {
+        this(applicationCredentials, authorizationCode, transport, bootstrap.getEndpoint(), bootstrap.getVersion(), listener);
+    }
+
+    /**
+     * @param applicationCredentials
+     * @param authorizationCode
+     * @param transport
+     * @param endpoint
+     *            the API root, e.g. "https://api.outreach.io", serving the
+     *            OAuth endpoints and the versioned resources.
+     * @param version
+     *            the API version, e.g. "1.0".
+     */
+    public Outreach(final ApplicationCredentials applicationCredentials,
+                    final String authorizationCode,
+                    final Transport transport,
+                    final String endpoint,
+                    final String version) {
+        this(applicationCredentials, authorizationCode, transport, endpoint, version, OutreachListener.NONE);
+    }
+
+    /**
+     * @param applicationCredentials
+     * @param authorizationCode
+     * @param transport
+     * @param endpoint
+     *            the API root, e.g. "https://api.outreach.io", serving the
+     *            OAuth endpoints and the versioned resources.
+     * @param version
+     *            the API version, e.g. "1.0".
+     * @param listener
+     *            notified of token exchanges and response decoding.
+     */
+    public Outreach(final ApplicationCredentials applicationCredentials,
+                    final String authorizationCode,
+                    final Transport transport,
+                    final String endpoint,
+                    final String version,
+                    final OutreachListener listener) {
         this.applicationCredentials = applicationCredentials;
-        this.authorizationCode = authorizationCode;
-        this.trustStore = trustStore;
-        
-        try (FileInputStream propertiesFile = new FileInputStream("src/main/resources/api.properties")) {
-            Properties apiProperties = new Properties();
-            apiProperties.load(propertiesFile);
-
-            this.authEndpoint = apiProperties.getProperty("endpoint");
-            this.apiEndpoint = this.authEndpoint + "/" + apiProperties.getProperty("version");
-        } catch (IOException e) {
-            return;
-        }
+        this.transport = transport;
+        this.listener = listener;
+        // Without an endpoint requests fail on use, as they always have.
+        this.authEndpoint = endpoint != null ? endpoint : "";
+        this.apiEndpoint = endpoint != null ? endpoint + "/" + version : "";
+
+        this.tokens = new AccessTokenManager(transport,
+                                             this.authEndpoint + "/oauth/token",
+                                             applicationCredentials.APP_IDENTIFIER,
+                                             applicationCredentials.APP_SECRET_KEY,
+                                             applicationCredentials.APP_RETURN_URI,
+                                             authorizationCode,
+                                             AccessTokenManager.sharedScheduler(),
+                                             listener);
     }
 
     /**
@@ -91,29 +178,7 @@ public class Outreach {
      * @return a JSONObject blob of the response, containing the prospect metadata.
      */
     public JSONObject modifyProspect(final int prospectId, final String prospectAttributes) {
-        try {
-            // Refresh access token on each request, the first request will use the authorization
-            // code and subsequent requests will use the refresh token from the initial exchange.
-            this.fetchAccessToken();
-
-            final HttpsURLConnection connection = authorizedConnection("POST", this.apiEndpoint + "/prospects/" + prospectId);
-
-            connection.setDoOutput(true);
-            connection.setRequestProperty("X-HTTP-Method-Override", "PATCH"); // Patch isn't supported in Java's HTTPConnection
-
-            try (OutputStreamWriter writer = new OutputStreamWriter(connection.getOutputStream())) {
-                writer.write(prospectAttributes);
-            }
-
-            final JSONObject response;
-            try (BufferedReader readStream = new BufferedReader(new InputStreamReader(connection.getInputStream()))) {
-                response = (JSONObject) JSONValue.parse(readStream);
-            }
-
-            return response;
-        } catch (Throwable throwable) {
-            throw new OutreachSecurityException(throwable);
-        }
+        return update("/prospects/" + prospectId, RequestBody.of(prospectAttributes), true);
     }
     
     /**
@@ -122,31 +187,39 @@ public class Outreach {
      *
      * @param prospect
      *            the JSONObject API-formatted request containing the prospect
-     *            to be created, this should ideally be wrapped in a domain
-     *            object.
+     *            to be created, see {@link #addProspect(Prospect)} for the
+     *            typed equivalent.
      * @return a JSONObject blob of the response, containing the created
      *         prospect identifier and creation/update timestamps.
      */
     public JSONObject addProspect(final String prospect) {
-        try {
-            // Refresh access token on each request, the first request will use the authorization
-            // code and subsequent requests will use the refresh token from the initial exchange.
-            this.fetchAccessToken();
-
-            final HttpsURLConnection connection = authorizedConnection("POST", this.apiEndpoint + "/prospects");
-
-            connection.setDoOutput(true);
-
-            try (OutputStreamWriter writer = new OutputStreamWriter(connection.getOutputStream())) {
-                writer.write(prospect);
-            }
+        return create("/prospects", prospect);
+    }
 
-            final JSONObject response;
-            try (BufferedReader readStream = new BufferedReader(new InputStreamReader(connection.getInputStream()))) {
-                response = (JSONObject) JSONValue.parse(readStream);
-            }
+    /**
+     * Creates a prospect from its typed model, the entity is written straight
+     * from the record's members.
+     *
+     * @param prospect
+     * @return the created prospect, carrying its identifier and
+     *         creation/update timestamps.
+     */
+    public Prospect addProspect(final Prospect prospect) {
+        return create("/prospects", prospect, ProspectCodec.INSTANCE);
+    }
 
-            return response;
+    /**
+     * Modifies a prospect from its typed model, only the members set on the
+     * given record are sent.
+     *
+     * @param prospectId
+     * @param changes
+     * @return the modified prospect.
+     */
+    public Prospect modifyProspect(final int prospectId, final Prospect changes) {
+        try {
+            final Request request = updateRequest("/prospects/" + prospectId, RequestBody.of(changes, ProspectCodec.INSTANCE), true);
+            return first(sendRecords(request, ProspectCodec.INSTANCE));
         } catch (Throwable throwable) {
             throw new OutreachSecurityException(throwable);
         }
@@ -159,22 +232,7 @@ public class Outreach {
      * @return a JSONObject blob of the response, containing the prospects.
      */
     public JSONObject getProspect(final int prospectId) {
-        try {
-            // Refresh access token on each request, the first request will use the authorization
-            // code and subsequent requests will use the refresh token from the initial exchange.
-            this.fetchAccessToken();
-
-            final HttpsURLConnection connection = authorizedConnection("GET", this.apiEndpoint + "/prospects/" + prospectId);
-
-            final JSONObject response;
-            try (BufferedReader readStream = new BufferedReader(new InputStreamReader(connection.getInputStream()))) {
-                response = (JSONObject) JSONValue.parse(readStream);
-            }
-
-            return response;
-        } catch (Throwable throwable) {
-            throw new OutreachSecurityException(throwable);
-        }
+        return fetch("/prospects/" + prospectId);
     }
 
     /**
@@ -188,43 +246,12 @@ public class Outreach {
      * @return a JSONObject blob of the response, containing the prospects.
      */
     public JSONObject getProspects(final String firstName, final String lastName, final String companyName, final String email, final Integer page) {
-        try {
-            // Refresh access token on each request, the first request will use the authorization
-            // code and subsequent requests will use the refresh token from the initial exchange.
-            this.fetchAccessToken();
-
-            String query = "/prospects?";
-
-            // TODO: Fix this with something less aweful.
-            if (page != null) {
-                query += "page[number]=" + page.toString() + "&";
-            }
-            if (firstName != null) {
-                query += "filter[personal/name/first]=" + firstName + "&";
-            }
-            if (lastName != null) {
-                query += "filter[personal/name/last]=" + lastName + "&";
-            }
-            if (email != null) {
-                query += "filter[contact/email]=" + email.replaceAll("@", "%40") + "&"; // Ghetto URI encoding
-            }
-            if (companyName != null) {
-                query += "filter[company/name]=" + companyName + "&";
-            }
-
-            query = query.substring(0, query.length() - 1); // last character will always be a superfluous ? or &
-
-            final HttpsURLConnection connection = authorizedConnection("GET", this.apiEndpoint + query);
-
-            final JSONObject response;
-            try (BufferedReader readStream = new BufferedReader(new InputStreamReader(connection.getInputStream()))) {
-                response = (JSONObject) JSONValue.parse(readStream);
-            }
-
-            return response;
-        } catch (Throwable throwable) {
-            throw new OutreachSecurityException(throwable);
-        }
+        return fetch("/prospects", new Query()
+            .page(page)
+            .filter("personal/name/first", firstName)
+            .filter("personal/name/last", lastName)
+            .filter("contact/email", email)
+            .filter("company/name", companyName));
     }
     
     /**
@@ -234,22 +261,7 @@ public class Outreach {
      * @return a JSONObject blob of the response, containing the prospects.
      */
     public JSONObject getSequences(final int page) {
-        try {
-            // Refresh access token on each request, the first request will use the authorization
-            // code and subsequent requests will use the refresh token from the initial exchange.
-            this.fetchAccessToken();
-
-            final HttpsURLConnection connection = authorizedConnection("GET", this.apiEndpoint + "/sequences?page[number]=" + page);
-
-            final JSONObject response;
-            try (BufferedReader readStream = new BufferedReader(new InputStreamReader(connection.getInputStream()))) {
-                response = (JSONObject) JSONValue.parse(readStream);
-            }
-
-            return response;
-        } catch (Throwable throwable) {
-            throw new OutreachSecurityException(throwable);
-        }
+        return fetch("/sequences", new Query().page(page));
     }
     
     /**
@@ -261,132 +273,692 @@ public class Outreach {
      * @return a JSONObject blob of the response, containing the batch metadata.
      */
     public JSONObject addProspectsToSequence(final int sequenceId, final String payload) {
-        try {
-            // Refresh access token on each request, the first request will use the authorization
-            // code and subsequent requests will use the refresh token from the initial exchange.
-            this.fetchAccessToken();
+        return update("/sequences/" + sequenceId, RequestBody.of(payload), false); // Each association starts a sequence state
+    }
 
-            final HttpsURLConnection connection = authorizedConnection("POST", this.apiEndpoint + "/sequences/" + sequenceId);
+    /**
+     * Additively associates prospects with a sequence, streaming the request
+     * entity from the identifiers rather than building it in memory.
+     *
+     * @param sequenceId
+     * @param prospectIds
+     *            iterated once per attempt, so must not change until the call
+     *            returns.
+     * @return a JSONObject blob of the response, containing the batch metadata.
+     */
+    public JSONObject addProspectsToSequence(final int sequenceId, final Iterable<Long> prospectIds) {
+        return update("/sequences/" + sequenceId, RequestBody.stream(out -> {
+            final JsonWriter json = new JsonWriter(out);
+            json.beginObject().name("data").beginObject().name("relationships").beginObject().name("prospects").beginArray();
+            for (Long prospectId : prospectIds) {
+                json.beginObject().name("data").beginObject().member("id", prospectId.toString()).endObject().endObject();
+            }
+            json.endArray().endObject().endObject().endObject();
+        }), false);
+    }
+    
+    /**
+     * Allows fetching metadata associated with the bound authorization token
+     *
+     * @return a JSONObject blob of the response, containing the user email and application metadata.
+     */
+    public JSONObject getInfo() {
+        return fetch("/info");
+    }
 
-            connection.setDoOutput(true);
-            connection.setRequestProperty("X-HTTP-Method-Override", "PATCH"); // Patch isn't supported in Java's HTTPConnection
+    /**
+     * Creates an account.
+     *
+     * @param account
+     *            the JSONObject API-formatted request containing the account
+     *            attributes.
+     * @return a JSONObject blob of the response, containing the created
+     *         account identifier.
+     */
+    public JSONObject addAccount(final String account) {
+        return create("/accounts", account);
+    }
 
-            try (OutputStreamWriter writer = new OutputStreamWriter(connection.getOutputStream())) {
-                writer.write(payload);
-            }
+    /**
+     * Creates an account from its typed model.
+     *
+     * @param account
+     * @return the created account.
+     */
+    public Account addAccount(final Account account) {
+        return create("/accounts", account, AccountCodec.INSTANCE);
+    }
 
-            final JSONObject response;
-            try (BufferedReader readStream = new BufferedReader(new InputStreamReader(connection.getInputStream()))) {
-                response = (JSONObject) JSONValue.parse(readStream);
-            }
+    /**
+     * Fetches a single account given its identifier.
+     *
+     * @param accountId
+     * @return a JSONObject blob of the response, containing the account.
+     */
+    public JSONObject getAccount(final int accountId) {
+        return fetch("/accounts/" + accountId);
+    }
+
+    /**
+     * Fetches a set of accounts given various query filters, sorted by name in
+     * ascending order.
+     *
+     * @param companyName
+     * @param companyDomain
+     * @param page
+     * @return a JSONObject blob of the response, containing the accounts.
+     */
+    public JSONObject getAccounts(final String companyName, final String companyDomain, final Integer page) {
+        return fetch("/accounts", new Query()
+            .page(page)
+            .filter("company/name", companyName)
+            .filter("company/domain", companyDomain));
+    }
+
+    /**
+     * Fetches the activities of a prospect.
+     *
+     * @param prospectId
+     * @param page
+     * @return a JSONObject blob of the response, containing the activities.
+     */
+    public JSONObject getActivities(final int prospectId, final Integer page) {
+        return fetch("/activities", new Query().page(page).filter("prospect/id", prospectId));
+    }
+
+    /**
+     * Creates a call record.
+     *
+     * @param call
+     *            the JSONObject API-formatted request containing the call
+     *            attributes.
+     * @return a JSONObject blob of the response, containing the created call
+     *         identifier.
+     */
+    public JSONObject addCall(final String call) {
+        return create("/calls", call);
+    }
 
-            return response;
+    /**
+     * Creates a call record from its typed model.
+     *
+     * @param call
+     * @return the created call.
+     */
+    public Call addCall(final Call call) {
+        return create("/calls", call, CallCodec.INSTANCE);
+    }
+
+    /**
+     * Fetches a single call given its identifier.
+     *
+     * @param callId
+     * @return a JSONObject blob of the response, containing the call.
+     */
+    public JSONObject getCall(final int callId) {
+        return fetch("/calls/" + callId);
+    }
+
+    /**
+     * Fetches a set of calls, optionally only those sourced by a user.
+     *
+     * @param userId
+     * @param page
+     * @return a JSONObject blob of the response, containing the calls.
+     */
+    public JSONObject getCalls(final Integer userId, final Integer page) {
+        return fetch("/calls", new Query().page(page).filter("user/id", userId));
+    }
+
+    /**
+     * Fetches a page of the call dispositions visible to the bound user.
+     *
+     * @param page
+     * @return a JSONObject blob of the response, containing the dispositions.
+     */
+    public JSONObject getCallDispositions(final Integer page) {
+        return getPage("/call_dispositions", new Query(), pageNumber(page), PageIterator.MAX_PAGE_SIZE);
+    }
+
+    /**
+     * Fetches a page of the call purposes visible to the bound user.
+     *
+     * @param page
+     * @return a JSONObject blob of the response, containing the purposes.
+     */
+    public JSONObject getCallPurposes(final Integer page) {
+        return getPage("/call_purposes", new Query(), pageNumber(page), PageIterator.MAX_PAGE_SIZE);
+    }
+
+    /**
+     * Fetches a single mailing given its identifier.
+     *
+     * @param mailingId
+     * @return a JSONObject blob of the response, containing the mailing.
+     */
+    public JSONObject getMailing(final int mailingId) {
+        return fetch("/mailings/" + mailingId);
+    }
+
+    /**
+     * Fetches the mappings of a plugin.
+     *
+     * @param pluginId
+     * @param pluginTypeId
+     * @param page
+     * @return a JSONObject blob of the response, containing the mappings.
+     */
+    public JSONObject getMappings(final String pluginId, final String pluginTypeId, final Integer page) {
+        return fetch("/mappings", new Query()
+            .page(page)
+            .filter("plugin/id", pluginId)
+            .filter("plugin/type/id", pluginTypeId));
+    }
+
+    /**
+     * Fetches a page of the plugins installed for the bound user.
+     *
+     * @param page
+     * @return a JSONObject blob of the response, containing the plugins.
+     */
+    public JSONObject getPlugins(final Integer page) {
+        return fetch("/plugins", new Query().page(page));
+    }
+
+    /**
+     * Fetches a single user given its identifier.
+     *
+     * @param userId
+     * @return a JSONObject blob of the response, containing the user.
+     */
+    public JSONObject getUser(final int userId) {
+        return fetch("/users/" + userId);
+    }
+
+    /**
+     * Fetches a set of users given various query filters, sorted by last name
+     * in ascending order.
+     *
+     * @param firstName
+     * @param lastName
+     * @param page
+     * @return a JSONObject blob of the response, containing the users.
+     */
+    public JSONObject getUsers(final String firstName, final String lastName, final Integer page) {
+        return getPage("/users", new Query()
+            .filter("metadata/first_name", firstName)
+            .filter("metadata/last_name", lastName), pageNumber(page), PageIterator.MAX_PAGE_SIZE);
+    }
+
+    /**
+     * Lazily streams every prospect matching the given query filters, walking
+     * each page in turn while prefetching the next.
+     *
+     * @param firstName
+     * @param lastName
+     * @param companyName
+     * @param email
+     * @return a sequential stream of prospect records, which should be closed
+     *         if abandoned before the end.
+     */
+    public Stream<JSONObject> streamProspects(final String firstName, final String lastName, final String companyName, final String email) {
+        return stream("/prospects", new Query()
+            .filter("personal/name/first", firstName)
+            .filter("personal/name/last", lastName)
+            .filter("contact/email", email)
+            .filter("company/name", companyName));
+    }
+
+    /**
+     * Lazily streams every sequence, sorted by name in ascending order.
+     */
+    public Stream<JSONObject> streamSequences() {
+        return stream("/sequences", new Query());
+    }
+
+    /**
+     * Lazily streams every account matching the given query filters.
+     *
+     * @param companyName
+     * @param companyDomain
+     */
+    public Stream<JSONObject> streamAccounts(final String companyName, final String companyDomain) {
+        return stream("/accounts", new Query()
+            .filter("company/name", companyName)
+            .filter("company/domain", companyDomain));
+    }
+
+    /**
+     * Lazily streams every call, optionally only those sourced by a user.
+     *
+     * @param userId
+     */
+    public Stream<JSONObject> streamCalls(final Integer userId) {
+        return stream("/calls", new Query().filter("user/id", userId));
+    }
+
+    /**
+     * Lazily streams every user matching the given query filters.
+     *
+     * @param firstName
+     * @param lastName
+     */
+    public Stream<JSONObject> streamUsers(final String firstName, final String lastName) {
+        return stream("/users", new Query()
+            .filter("metadata/first_name", firstName)
+            .filter("metadata/last_name", lastName));
+    }
+
+    /**
+     * Lazily streams every activity of a prospect.
+     *
+     * @param prospectId
+     */
+    public Stream<JSONObject> streamActivities(final int prospectId) {
+        return stream("/activities", new Query().filter("prospect/id", prospectId));
+    }
+
+    /**
+     * Lazily streams every call disposition visible to the bound user.
+     */
+    public Stream<JSONObject> streamCallDispositions() {
+        return stream("/call_dispositions", new Query());
+    }
+
+    /**
+     * Lazily streams every call purpose visible to the bound user.
+     */
+    public Stream<JSONObject> streamCallPurposes() {
+        return stream("/call_purposes", new Query());
+    }
+
+    /**
+     * Lazily streams every mapping of a plugin.
+     *
+     * @param pluginId
+     * @param pluginTypeId
+     */
+    public Stream<JSONObject> streamMappings(final String pluginId, final String pluginTypeId) {
+        return stream("/mappings", new Query()
+            .filter("plugin/id", pluginId)
+            .filter("plugin/type/id", pluginTypeId));
+    }
+
+    /**
+     * Lazily streams every plugin installed for the bound user.
+     */
+    public Stream<JSONObject> streamPlugins() {
+        return stream("/plugins", new Query());
+    }
+
+    /**
+     * Lazily streams every record of a collection endpoint.
+     *
+     * @param resource
+     *            the collection path relative to the API version, e.g. "/prospects".
+     * @param filters
+     *            query filters applied to every page, paging parameters are
+     *            managed by the stream.
+     */
+    public Stream<JSONObject> stream(final String resource, final Query filters) {
+        return pages(resource, filters, null).stream();
+    }
+
+    /**
+     * Lazily streams every record of a collection endpoint, decoding only the
+     * selected fields of each record.
+     *
+     * @param resource
+     * @param filters
+     * @param fields
+     *            '/' separated attribute paths to keep, e.g. "id" or
+     *            "attributes/contact/email", or null to keep every field.
+     */
+    public Stream<JSONObject> stream(final String resource, final Query filters, final Collection<String> fields) {
+        return pages(resource, filters, fields).stream();
+    }
+
+    /**
+     * Creates a prefetching iterator over the pages of a collection endpoint.
+     *
+     * @param resource
+     * @param filters
+     * @param fields
+     *            attribute paths to keep, or null to keep every field.
+     */
+    public PageIterator<JSONObject> pages(final String resource, final Query filters, final Collection<String> fields) {
+        final FieldSelection selection = fields != null ? FieldSelection.of(fields) : null;
+        return new PageIterator<>(page -> Page.of(getPage(resource, filters, page, PageIterator.MAX_PAGE_SIZE, selection)),
+                                  WorkerExecutors.shared(),
+                                  PageIterator.MAX_PAGE_SIZE);
+    }
+
+    /**
+     * Lazily streams every record of a collection endpoint as typed records,
+     * decoded straight from each response without building a document.
+     *
+     * @param resource
+     * @param filters
+     * @param codec
+     *            maps the resource onto its record type, e.g.
+     *            {@link ProspectCodec#INSTANCE}.
+     */
+    public <T> Stream<T> stream(final String resource, final Query filters, final RecordCodec<T> codec) {
+        return new PageIterator<>(page -> getPage(resource, filters, page, PageIterator.MAX_PAGE_SIZE, codec),
+                                  WorkerExecutors.shared(),
+                                  PageIterator.MAX_PAGE_SIZE).stream();
+    }
+
+    /**
+     * Streams every prospect matching the filters for a bulk export, with up
+     * to {@code parallelism} page requests in flight at once.
+     *
+     * @param filters
+     *            query filters applied to every page.
+     * @param parallelism
+     *            maximum number of concurrent page requests.
+     * @param rateLimiter
+     *            request budget shared with other callers, or null.
+     * @param ordered
+     *            whether records are returned in page order, unordered streams
+     *            return each page as soon as it arrives.
+     */
+    public Stream<JSONObject> exportProspects(final Query filters,
+                                              final int parallelism,
+                                              final RateLimiter rateLimiter,
+                                              final boolean ordered) {
+        return export("/prospects", filters, parallelism, rateLimiter, ordered).stream();
+    }
+
+    /**
+     * Creates an iterator fetching the pages of a collection endpoint
+     * concurrently.
+     *
+     * @see #exportProspects(Query, int, RateLimiter, boolean)
+     */
+    public ParallelPageIterator<JSONObject> export(final String resource,
+                                                   final Query filters,
+                                                   final int parallelism,
+                                                   final RateLimiter rateLimiter,
+                                                   final boolean ordered) {
+        return new ParallelPageIterator<>(page -> Page.of(getPage(resource, filters, page, PageIterator.MAX_PAGE_SIZE)),
+                                          WorkerExecutors.shared(),
+                                          PageIterator.MAX_PAGE_SIZE,
+                                          parallelism,
+                                          rateLimiter,
+                                          ordered);
+    }
+
+    /**
+     * Fetches a single page of a collection endpoint.
+     *
+     * @param resource
+     * @param filters
+     * @param page
+     * @param pageSize
+     * @return a JSONObject blob of the response, containing the page records.
+     */
+    public JSONObject getPage(final String resource, final Query filters, final int page, final int pageSize) {
+        return getPage(resource, filters, page, pageSize, (FieldSelection) null);
+    }
+
+    /**
+     * Fetches a single page of a collection endpoint, decoding only the
+     * selected fields of each record.
+     *
+     * @param resource
+     * @param filters
+     * @param page
+     * @param pageSize
+     * @param fields
+     *            attribute paths to keep, or null to keep every field.
+     * @return a JSONObject blob of the response, containing the page records.
+     */
+    public JSONObject getPage(final String resource,
+                              final Query filters,
+                              final int page,
+                              final int pageSize,
+                              final Collection<String> fields) {
+        return getPage(resource, filters, page, pageSize, fields != null ? FieldSelection.of(fields) : null);
+    }
+
+    private JSONObject getPage(final String resource,
+                               final Query filters,
+                               final int page,
+                               final int pageSize,
+                               final FieldSelection fields) {
+        try {
+            final Request request = authorizedRequest("GET", this.apiEndpoint + resource + filters.copy().page(page).pageSize(pageSize));
+            return fields == null ? send(request) : sendProjected(request, fields);
         } catch (Throwable throwable) {
             throw new OutreachSecurityException(throwable);
         }
     }
-    
+
     /**
-     * Allows fetching metadata associated with the bound authorization token
+     * Fetches a single page of a collection endpoint as typed records.
      *
-     * @return a JSONObject blob of the response, containing the user email and application metadata.
+     * @param resource
+     * @param filters
+     * @param page
+     * @param pageSize
+     * @param codec
+     * @return the page's records and metadata.
      */
-    public JSONObject getInfo() {
+    public <T> Page<T> getPage(final String resource,
+                               final Query filters,
+                               final int page,
+                               final int pageSize,
+                               final RecordCodec<T> codec) {
         try {
-            // Refresh access token on each request, the first request will use the authorization
-            // code and subsequent requests will use the refresh token from the initial exchange.
-            this.fetchAccessToken();
+            final Request request = authorizedRequest("GET", this.apiEndpoint + resource + filters.copy().page(page).pageSize(pageSize));
+            return sendRecords(request, codec);
+        } catch (Throwable throwable) {
+            throw new OutreachSecurityException(throwable);
+        }
+    }
 
-            final HttpsURLConnection connection = authorizedConnection("GET", this.apiEndpoint + "/info");
+    /**
+     * Fetches a single record as its typed model.
+     *
+     * @param resource
+     *            the record path relative to the API version, e.g. "/prospects/42".
+     * @param codec
+     * @return the record, or null if the response holds none.
+     */
+    public <T> T get(final String resource, final RecordCodec<T> codec) {
+        try {
+            return first(sendRecords(authorizedRequest("GET", this.apiEndpoint + resource), codec));
+        } catch (Throwable throwable) {
+            throw new OutreachSecurityException(throwable);
+        }
+    }
 
-            final JSONObject response;
-            try (BufferedReader readStream = new BufferedReader(new InputStreamReader(connection.getInputStream()))) {
-                response = (JSONObject) JSONValue.parse(readStream);
-            }
+    /**
+     * @return the versioned API root requests are made against, e.g.
+     *         "https://api.outreach.io/1.0".
+     */
+    public String getApiEndpoint() {
+        return apiEndpoint;
+    }
 
-            return response;
+    /**
+     * @return the connection engine backing this instance.
+     */
+    public Transport getTransport() {
+        return transport;
+    }
+
+    /**
+     * @return the manager issuing bearer tokens for this instance's grant.
+     */
+    public AccessTokenManager getTokenManager() {
+        return tokens;
+    }
+
+    /**
+     * Fetches a resource, every read endpoint goes through here.
+     *
+     * @param resource
+     *            the path relative to the API version.
+     * @param query
+     */
+    private JSONObject fetch(final String resource, final Query query) {
+        try {
+            return send(authorizedRequest("GET", this.apiEndpoint + resource + query));
         } catch (Throwable throwable) {
             throw new OutreachSecurityException(throwable);
         }
     }
 
-    private HttpsURLConnection connectTo(String verb, String urlString) throws IOException, NoSuchAlgorithmException, KeyManagementException {
-        return connectTo(verb, new URL(urlString));
+    private JSONObject fetch(final String resource) {
+        return fetch(resource, new Query());
     }
 
-    private HttpsURLConnection connectTo(String verb, URL url) throws IOException, NoSuchAlgorithmException, KeyManagementException {
-        HttpsURLConnection connection = (HttpsURLConnection) url.openConnection();
+    /**
+     * @return the page number, the first page when none is given.
+     */
+    private static int pageNumber(final Integer page) {
+        return page == null ? 1 : page;
+    }
 
-        if (trustStore != null) {
-            connection.setSSLSocketFactory(TrustedSSLSocketFactory.get(trustStore));
-            connection.setHostnameVerifier(new TrustedHostnameVerifier(trustStore));
+    /**
+     * Creates a record from an API-formatted payload.
+     */
+    private JSONObject create(final String resource, final String payload) {
+        try {
+            return send(authorizedRequest("POST", this.apiEndpoint + resource).body(payload));
+        } catch (Throwable throwable) {
+            throw new OutreachSecurityException(throwable);
         }
-        
-        connection.setRequestMethod(verb);
+    }
 
-        return connection;
+    /**
+     * Creates a record from its typed model, decoding the created record.
+     */
+    private <T> T create(final String resource, final T record, final RecordCodec<T> codec) {
+        try {
+            final Request request = authorizedRequest("POST", this.apiEndpoint + resource).body(RequestBody.of(record, codec));
+            return first(sendRecords(request, codec));
+        } catch (Throwable throwable) {
+            throw new OutreachSecurityException(throwable);
+        }
     }
-    
-    private HttpsURLConnection authorizedConnection(String verb, String url) throws IOException, NoSuchAlgorithmException, KeyManagementException {
-    	final HttpsURLConnection connection = connectTo(verb, url);
-        connection.setRequestProperty("Authorization", new String("Bearer " + this.requestBearer));
-        connection.setRequestProperty("Content-Type", "application/json");
-        
-        return connection;
-    }
-
-    /**
-     * Creates a new bearer token associated with this instance, this must be
-     * done before any calls to the API can be made. This is automatically
-     * called on all API requests, which is somewhat overkill since the access
-     * token should be valid for a period of time (TTL is specified in the
-     * response payload below). <br />
-     * <br />
-     * <b>NOTE</b>: Authorization codes will only grant a single bearer token
-     * which expires after timeout or use; to generate a new one either get a
-     * new authorize code or use the refresh token in the response (change:
-     * &code and &grant_type).
-     */
-    private void fetchAccessToken() {
+
+    /**
+     * Modifies a record from an API-formatted entity.
+     *
+     * @param idempotent
+     *            whether repeating the update leaves the record as a single
+     *            update would, allowing it to be retried after any failure.
+     */
+    private JSONObject update(final String resource, final RequestBody payload, final boolean idempotent) {
         try {
-        	// If access token hasn't expired (with some leeway for clock skew) use existing access token
-        	if (this.accessExpires - 1000 > System.currentTimeMillis()) {
-        		return;
-        	}
+            return send(updateRequest(resource, payload, idempotent));
+        } catch (Throwable throwable) {
+            throw new OutreachSecurityException(throwable);
+        }
+    }
 
-        	final HttpsURLConnection connection = connectTo("POST", this.authEndpoint + "/oauth/token");
+    private Request updateRequest(final String resource, final RequestBody payload, final boolean idempotent)
+        throws MalformedURLException {
+        return authorizedRequest("POST", this.apiEndpoint + resource)
+            .header("X-HTTP-Method-Override", "PATCH") // Patch isn't supported in Java's HTTPConnection
+            .idempotent(idempotent)
+            .body(payload);
+    }
 
-            connection.setDoOutput(true);
+    /**
+     * Builds a request carrying a current bearer token, the first request will
+     * use the authorization code and subsequent requests will use the refresh
+     * token from the previous exchange.
+     */
+    private Request authorizedRequest(String verb, String url) throws MalformedURLException {
+        return new Request(verb, url)
+            .header("Authorization", "Bearer " + this.tokens.getAccessToken())
+            .header("Content-Type", "application/json");
+    }
 
-            // Use a refresh token if one was previously provided.
-            final String token;
-            if (this.refreshBearer != null) {
-                token = "&grant_type=refresh_token&refresh_token=" + this.refreshBearer;
-            } else {
-                token = "&grant_type=authorization_code&code=" + this.authorizationCode;
+    /**
+     * Executes the request and parses the response entity, the connection is
+     * released to the transport once the entity has been consumed.
+     */
+    private JSONObject send(final Request request) throws IOException {
+        try (Response response = transport.execute(request)) {
+            if (!response.isSuccessful()) {
+                throw new HttpStatusException(response.getStatusCode(), "Server returned HTTP response code: "
+                                            + response.getStatusCode() + " for URL: " + request.getUrl());
             }
 
-            try (OutputStreamWriter writer = new OutputStreamWriter(connection.getOutputStream())) {
-                writer.write("client_id=" + this.applicationCredentials.APP_IDENTIFIER + "&client_secret="
-                           + this.applicationCredentials.APP_SECRET_KEY + "&redirect_uri="
-                           + this.applicationCredentials.APP_RETURN_URI + token);
+            final long start = System.nanoTime();
+            try (Reader readStream = new InputStreamReader(response.getBody(), StandardCharsets.UTF_8)) {
+                final JSONObject entity = (JSONObject) Json.parse(readStream);
+                listener.entityParsed(request, System.nanoTime() - start);
+                return entity;
+            } catch (ParseException exception) {
+                return null; // Malformed entities have always been returned as null
             }
+        }
+    }
 
-            if (connection.getResponseCode() == 401) {
-                System.out.println("Server returned unauthorized response, verify that the authorize_code hasn't already been used.");
+    /**
+     * Executes the request and decodes every record of the response with the
+     * given codec.
+     */
+    private <T> Page<T> sendRecords(final Request request, final RecordCodec<T> codec) throws IOException {
+        try (Response response = transport.execute(request)) {
+            if (!response.isSuccessful()) {
+                throw new HttpStatusException(response.getStatusCode(), "Server returned HTTP response code: "
+                                            + response.getStatusCode() + " for URL: " + request.getUrl());
             }
 
-            final JSONObject response;
-            try (BufferedReader readStream = new BufferedReader(new InputStreamReader(connection.getInputStream()))) {
-                response = (JSONObject) JSONValue.parse(readStream);
+            final long start = System.nanoTime();
+            try (RecordReader<T> records = codec.reader(new InputStreamReader(response.getBody(), StandardCharsets.UTF_8))) {
+                final List<T> data = new ArrayList<>(PageIterator.MAX_PAGE_SIZE);
+                while (records.hasNext()) {
+                    data.add(records.next());
+                }
+                records.skipToEnd();
+                listener.entityParsed(request, System.nanoTime() - start);
+                return new Page<>(data, records.getMeta());
             }
+        }
+    }
 
-            this.requestBearer = response.get("access_token").toString();
-            this.refreshBearer = response.get("refresh_token").toString();
-            // Expires_in is defined in seconds
-            this.accessExpires = System.currentTimeMillis() + (Long.parseLong(response.get("expires_in").toString()) * 1000);
-        } catch (Throwable throwable) {
-            throw new OutreachSecurityException(throwable);
+    private static <T> T first(final Page<T> page) {
+        return page.size() == 0 ? null : page.getRecords().get(0);
+    }
+
+    /**
+     * Executes the request and decodes the response records one at a time,
+     * keeping only the selected fields of each.
+     *
+     * @return a page of the same shape as the API response, whose data array
+     *         holds the projected records.
+     */
+    @SuppressWarnings("unchecked")
+    private JSONObject sendProjected(final Request request, final FieldSelection fields) throws IOException {
+        try (Response response = transport.execute(request)) {
+            if (!response.isSuccessful()) {
+                throw new HttpStatusException(response.getStatusCode(), "Server returned HTTP response code: "
+                                            + response.getStatusCode() + " for URL: " + request.getUrl());
+            }
+
+            final long start = System.nanoTime();
+            try (JsonRecordReader records = new JsonRecordReader(new InputStreamReader(response.getBody(), StandardCharsets.UTF_8), fields)) {
+                final JSONArray data = new JSONArray();
+                while (records.hasNext()) {
+                    data.add(records.next());
+                }
+                records.skipToEnd();
+                listener.entityParsed(request, System.nanoTime() - start);
+
+                final JSONObject page = new JSONObject();
+                page.put("data", data);
+                page.put("meta", records.getMeta());
+                page.put("links", records.getLinks());
+                return page;
+            }
         }
     }
 
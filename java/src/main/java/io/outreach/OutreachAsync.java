@@ -0,0 +1,165 @@
+package io.outreach;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.json.simple.JSONObject;
+
+import io.outreach.concurrent.LimitedExecutor;
+import io.outreach.concurrent.WorkerExecutors;
+
+/**
+ * Asynchronous counterpart to {@link Outreach}, every endpoint returns a
+ * {@link CompletableFuture} completed with the same JSONObject response (or
+ * exceptionally with the same {@link io.outreach.exception.OutreachException})
+ * as its blocking equivalent. <br />
+ * <br />
+ * Requests are run on a worker executor, using virtual threads where the
+ * runtime provides them, behind a concurrency limit. Requests over the limit
+ * are queued without holding a thread, so many thousands of calls may be
+ * submitted at once while only {@code maxConcurrency} are on the wire.
+ */
+public class OutreachAsync {
+
+    private final Outreach outreach;
+    private final LimitedExecutor executor;
+
+    /**
+     * Limits concurrency to the size of the client's connection pool.
+     */
+    public OutreachAsync(final Outreach outreach) {
+        this(outreach, outreach.getTransport().stats().getMaxConnections());
+    }
+
+    public OutreachAsync(final Outreach outreach, final int maxConcurrency) {
+        this(outreach, WorkerExecutors.newWorkerExecutor("outreach-async"), maxConcurrency);
+    }
+
+    /**
+     * @param outreach
+     *            the blocking client requests are delegated to.
+     * @param executor
+     *            the executor requests are run on.
+     * @param maxConcurrency
+     *            upper bound on requests in flight at once.
+     */
+    public OutreachAsync(final Outreach outreach, final Executor executor, final int maxConcurrency) {
+        this.outreach = outreach;
+        this.executor = new LimitedExecutor(executor, maxConcurrency);
+    }
+
+    /**
+     * @see Outreach#modifyProspect(int, String)
+     */
+    public CompletableFuture<JSONObject> modifyProspect(final int prospectId, final String prospectAttributes) {
+        return submit(() -> outreach.modifyProspect(prospectId, prospectAttributes));
+    }
+
+    /**
+     * @see Outreach#addProspect(String)
+     */
+    public CompletableFuture<JSONObject> addProspect(final String prospect) {
+        return submit(() -> outreach.addProspect(prospect));
+    }
+
+    /**
+     * @see Outreach#getProspect(int)
+     */
+    public CompletableFuture<JSONObject> getProspect(final int prospectId) {
+        return submit(() -> outreach.getProspect(prospectId));
+    }
+
+    /**
+     * @see Outreach#getProspects(String, String, String, String, Integer)
+     */
+    public CompletableFuture<JSONObject> getProspects(final String firstName,
+                                                      final String lastName,
+                                                      final String companyName,
+                                                      final String email,
+                                                      final Integer page) {
+        return submit(() -> outreach.getProspects(firstName, lastName, companyName, email, page));
+    }
+
+    /**
+     * @see Outreach#getSequences(int)
+     */
+    public CompletableFuture<JSONObject> getSequences(final int page) {
+        return submit(() -> outreach.getSequences(page));
+    }
+
+    /**
+     * @see Outreach#addProspectsToSequence(int, String)
+     */
+    public CompletableFuture<JSONObject> addProspectsToSequence(final int sequenceId, final String payload) {
+        return submit(() -> outreach.addProspectsToSequence(sequenceId, payload));
+    }
+
+    /**
+     * @see Outreach#addProspectsToSequence(int, Iterable)
+     */
+    public CompletableFuture<JSONObject> addProspectsToSequence(final int sequenceId, final Iterable<Long> prospectIds) {
+        return submit(() -> outreach.addProspectsToSequence(sequenceId, prospectIds));
+    }
+
+    /**
+     * @see Outreach#getInfo()
+     */
+    public CompletableFuture<JSONObject> getInfo() {
+        return submit(outreach::getInfo);
+    }
+
+    /**
+     * Runs any blocking endpoint, or sequence of calls, behind the same
+     * concurrency limit, e.g. {@code call(outreach -> outreach.getAccount(42))}.
+     *
+     * @param call
+     *            invoked with the blocking client on a worker thread.
+     */
+    public <T> CompletableFuture<T> call(final Function<? super Outreach, ? extends T> call) {
+        return submit(() -> call.apply(outreach));
+    }
+
+    /**
+     * @return the number of requests currently on the wire.
+     */
+    public int getInFlight() {
+        return executor.getRunning();
+    }
+
+    /**
+     * @return the number of requests waiting for a concurrency slot.
+     */
+    public int getQueued() {
+        return executor.getQueued();
+    }
+
+    /**
+     * @return the blocking client backing this instance.
+     */
+    public Outreach getOutreach() {
+        return outreach;
+    }
+
+    private <T> CompletableFuture<T> submit(final Supplier<T> call) {
+        final CompletableFuture<T> result = new CompletableFuture<>();
+        executor.execute(new LimitedExecutor.Task() {
+            @Override
+            public void run() {
+                try {
+                    result.complete(call.get());
+                } catch (Throwable throwable) {
+                    result.completeExceptionally(throwable);
+                }
+            }
+
+            @Override
+            public void reject(final RejectedExecutionException exception) {
+                result.completeExceptionally(exception);
+            }
+        });
+        return result;
+    }
+}
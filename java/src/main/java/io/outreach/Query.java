@@ -0,0 +1,88 @@
+package io.outreach;
+
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Query-string parameters for collection endpoints, values are encoded as
+ * ECMA URI components while the bracketed parameter names are sent verbatim.
+ * Null values are ignored so optional filters may be passed straight through.
+ */
+public class Query {
+
+    private final Map<String, String> parameters;
+
+    public Query() {
+        this.parameters = new LinkedHashMap<>();
+    }
+
+    private Query(final Map<String, String> parameters) {
+        this.parameters = new LinkedHashMap<>(parameters);
+    }
+
+    /**
+     * @param attribute
+     *            the filtered attribute path, e.g. "personal/name/first".
+     * @param value
+     */
+    public Query filter(final String attribute, final Object value) {
+        return with("filter[" + attribute + "]", value);
+    }
+
+    public Query page(final Integer number) {
+        return with("page[number]", number);
+    }
+
+    public Query pageSize(final Integer size) {
+        return with("page[size]", size);
+    }
+
+    public Query with(final String name, final Object value) {
+        if (value != null) {
+            parameters.put(name, value.toString());
+        }
+        return this;
+    }
+
+    public String get(final String name) {
+        return parameters.get(name);
+    }
+
+    public Query copy() {
+        return new Query(parameters);
+    }
+
+    /**
+     * @return the encoded query including the leading '?', or an empty string
+     *         when no parameters are set.
+     */
+    @Override
+    public String toString() {
+        if (parameters.isEmpty()) {
+            return "";
+        }
+        final StringBuilder query = new StringBuilder(16 * parameters.size());
+        char separator = '?';
+        for (Map.Entry<String, String> parameter : parameters.entrySet()) {
+            query.append(separator).append(parameter.getKey()).append('=').append(encode(parameter.getValue()));
+            separator = '&';
+        }
+        return query.toString();
+    }
+
+    static String encode(final String value) {
+        try {
+            return URLEncoder.encode(value, "UTF-8")
+                             .replace("+", "%20")
+                             .replace("%21", "!")
+                             .replace("%27", "'")
+                             .replace("%28", "(")
+                             .replace("%29", ")")
+                             .replace("%7E", "~");
+        } catch (UnsupportedEncodingException impossible) {
+            throw new IllegalStateException(impossible);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package io.outreach.auth;
+
+/**
+ * Immutable bearer credential returned from api.outreach.io/oauth/token.
+ */
+public class AccessToken {
+
+    private final String bearer;
+    private final String refreshToken;
+    private final long issuedAt;
+    private final long expiresAt;
+
+    /**
+     * @param bearer
+     *            the access token sent with API requests.
+     * @param refreshToken
+     *            the one-use token exchanged for the next access token.
+     * @param issuedAt
+     *            epoch milliseconds at which the token was granted.
+     * @param expiresAt
+     *            epoch milliseconds after which the token is rejected.
+     */
+    public AccessToken(final String bearer, final String refreshToken, final long issuedAt, final long expiresAt) {
+        this.bearer = bearer;
+        this.refreshToken = refreshToken;
+        this.issuedAt = issuedAt;
+        this.expiresAt = expiresAt;
+    }
+
+    public String getBearer() {
+        return bearer;
+    }
+
+    public String getRefreshToken() {
+        return refreshToken;
+    }
+
+    public long getIssuedAt() {
+        return issuedAt;
+    }
+
+    public long getExpiresAt() {
+        return expiresAt;
+    }
+
+    /**
+     * @param now
+     *            epoch milliseconds.
+     * @param leeway
+     *            milliseconds subtracted from the expiry to allow for clock
+     *            skew and request latency.
+     */
+    public boolean isValid(final long now, final long leeway) {
+        return expiresAt - leeway > now;
+    }
+}
@@ -0,0 +1,279 @@
+package io.outreach.auth;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.json.simple.JSONObject;
+import org.json.simple.parser.ParseException;
+
+import io.outreach.concurrent.WorkerExecutors;
+import io.outreach.exception.OutreachSecurityException;
+import io.outreach.json.Json;
+import io.outreach.metrics.OutreachListener;
+import io.outreach.transport.HttpStatusException;
+import io.outreach.transport.Request;
+import io.outreach.transport.Response;
+import io.outreach.transport.Transport;
+
+/**
+ * Owns the OAuth credential of a single authorization grant and hands out
+ * bearer tokens to concurrent callers. <br />
+ * <br />
+ * The hot path is a single volatile read of the current token. When the token
+ * has expired only one caller performs the exchange, every other caller waits
+ * on its result, so the one-use refresh token is never spent twice. Once a
+ * token is granted a refresh is scheduled ahead of its expiry so API calls do
+ * not normally wait on the exchange at all. <br />
+ * <br />
+ * <b>NOTE</b>: Authorization codes will only grant a single bearer token
+ * which expires after timeout or use; subsequent exchanges use the refresh
+ * token returned with the previous grant.
+ */
+public class AccessTokenManager implements AutoCloseable {
+
+    /**
+     * Leeway for clock skew when deciding if the current token has expired.
+     */
+    private static final long EXPIRY_LEEWAY_MILLIS = 1000;
+
+    /**
+     * Upper bound on how far ahead of expiry a background refresh is run.
+     */
+    private static final long MAX_REFRESH_AHEAD_MILLIS = 60 * 1000;
+
+    private final Transport transport;
+    private final String tokenEndpoint;
+    private final String clientCredentials;
+    private final String authorizationCode;
+    private final ScheduledExecutorService scheduler;
+    private final OutreachListener listener;
+
+    private volatile AccessToken current = null;
+
+    /**
+     * The exchange in progress, guarded by this.
+     */
+    private CompletableFuture<AccessToken> inflight = null;
+
+    /**
+     * The pending background refresh, guarded by this.
+     */
+    private ScheduledFuture<?> scheduledRefresh = null;
+
+    public AccessTokenManager(final Transport transport,
+                              final String tokenEndpoint,
+                              final String clientIdentifier,
+                              final String clientSecret,
+                              final String redirectUri,
+                              final String authorizationCode) {
+        this(transport, tokenEndpoint, clientIdentifier, clientSecret, redirectUri, authorizationCode, SharedScheduler.INSTANCE);
+    }
+
+    /**
+     * @param scheduler
+     *            times background refreshes ahead of expiry, which run on the
+     *            shared worker executor, or null to only refresh on demand.
+     */
+    public AccessTokenManager(final Transport transport,
+                              final String tokenEndpoint,
+                              final String clientIdentifier,
+                              final String clientSecret,
+                              final String redirectUri,
+                              final String authorizationCode,
+                              final ScheduledExecutorService scheduler) {
+        this(transport, tokenEndpoint, clientIdentifier, clientSecret, redirectUri, authorizationCode, scheduler, OutreachListener.NONE);
+    }
+
+    /**
+     * @param scheduler
+     *            times background refreshes ahead of expiry, which run on the
+     *            shared worker executor, or null to only refresh on demand.
+     * @param listener
+     *            notified of every token exchange.
+     */
+    public AccessTokenManager(final Transport transport,
+                              final String tokenEndpoint,
+                              final String clientIdentifier,
+                              final String clientSecret,
+                              final String redirectUri,
+                              final String authorizationCode,
+                              final ScheduledExecutorService scheduler,
+                              final OutreachListener listener) {
+        this.transport = transport;
+        this.tokenEndpoint = tokenEndpoint;
+        this.clientCredentials = "client_id=" + clientIdentifier + "&client_secret=" + clientSecret + "&redirect_uri=" + redirectUri;
+        this.authorizationCode = authorizationCode;
+        this.scheduler = scheduler;
+        this.listener = listener;
+    }
+
+    /**
+     * @return a bearer token valid for at least the expiry leeway, exchanging
+     *         the grant for a new one if required.
+     */
+    public String getAccessToken() {
+        final AccessToken token = current;
+        if (token != null && token.isValid(System.currentTimeMillis(), EXPIRY_LEEWAY_MILLIS)) {
+            return token.getBearer();
+        }
+        return refresh(token).getBearer();
+    }
+
+    /**
+     * @return the current credential, or null if none has been granted yet.
+     */
+    public AccessToken getCurrent() {
+        return current;
+    }
+
+    /**
+     * Replaces the token observed as {@code stale}, joining an exchange already
+     * in flight rather than starting a second one.
+     */
+    private AccessToken refresh(final AccessToken stale) {
+        final CompletableFuture<AccessToken> flight;
+        final AccessToken previous;
+        boolean owner = false;
+        synchronized (this) {
+            previous = current;
+            if (previous != stale && previous != null && previous.isValid(System.currentTimeMillis(), EXPIRY_LEEWAY_MILLIS)) {
+                return previous; // Another caller already replaced it.
+            }
+            if (inflight == null) {
+                inflight = new CompletableFuture<>();
+                owner = true;
+            }
+            flight = inflight;
+        }
+
+        if (owner) {
+            exchange(previous, flight);
+        }
+
+        try {
+            return flight.join();
+        } catch (CompletionException exception) {
+            final Throwable cause = exception.getCause();
+            throw cause instanceof OutreachSecurityException ? (OutreachSecurityException) cause
+                                                             : new OutreachSecurityException(cause);
+        }
+    }
+
+    /**
+     * Performs the exchange on the calling thread, concurrent callers wait on
+     * the future rather than on the monitor.
+     */
+    private void exchange(final AccessToken previous, final CompletableFuture<AccessToken> flight) {
+        AccessToken granted = null;
+        Throwable failure = null;
+        final long start = System.nanoTime();
+        try {
+            granted = request(previous);
+            listener.tokenRefreshed(System.nanoTime() - start);
+        } catch (Throwable throwable) {
+            listener.tokenRefreshFailed(throwable, System.nanoTime() - start);
+            failure = throwable instanceof OutreachSecurityException ? throwable : new OutreachSecurityException(throwable);
+        }
+
+        synchronized (this) {
+            if (granted != null) {
+                current = granted;
+                schedule(granted);
+            }
+            inflight = null;
+        }
+
+        if (granted != null) {
+            flight.complete(granted);
+        } else {
+            flight.completeExceptionally(failure);
+        }
+    }
+
+    private AccessToken request(final AccessToken previous) throws IOException {
+        // Use a refresh token if one was previously provided.
+        final String grant;
+        if (previous != null && previous.getRefreshToken() != null) {
+            grant = "&grant_type=refresh_token&refresh_token=" + previous.getRefreshToken();
+        } else {
+            grant = "&grant_type=authorization_code&code=" + authorizationCode;
+        }
+
+        final long issuedAt = System.currentTimeMillis();
+        final JSONObject response;
+        try (Response exchange = transport.execute(new Request("POST", tokenEndpoint).body(clientCredentials + grant))) {
+            if (exchange.getStatusCode() == 401) {
+                throw new HttpStatusException(401, "Server returned unauthorized response for URL: " + tokenEndpoint
+                                            + ", verify that the authorization code hasn't already been used");
+            }
+            if (!exchange.isSuccessful()) {
+                throw new HttpStatusException(exchange.getStatusCode(), "Server returned HTTP response code: "
+                                            + exchange.getStatusCode() + " for URL: " + tokenEndpoint);
+            }
+            try (Reader readStream = new InputStreamReader(exchange.getBody(), StandardCharsets.UTF_8)) {
+                response = (JSONObject) Json.parse(readStream);
+            } catch (ParseException exception) {
+                throw new IOException(exception);
+            }
+        }
+
+        // Expires_in is defined in seconds
+        final long expiresIn = Long.parseLong(response.get("expires_in").toString()) * 1000;
+        return new AccessToken(response.get("access_token").toString(),
+                               response.get("refresh_token").toString(),
+                               issuedAt,
+                               issuedAt + expiresIn);
+    }
+
+    private void schedule(final AccessToken granted) {
+        if (scheduler == null) {
+            return;
+        }
+        if (scheduledRefresh != null) {
+            scheduledRefresh.cancel(false);
+        }
+        final long lifetime = granted.getExpiresAt() - granted.getIssuedAt();
+        final long ahead = Math.min(MAX_REFRESH_AHEAD_MILLIS, lifetime / 10) + EXPIRY_LEEWAY_MILLIS;
+        final long delay = Math.max(0, granted.getExpiresAt() - ahead - System.currentTimeMillis());
+        // The scheduler is only a timer, a slow exchange must not hold up the other managers sharing it.
+        scheduledRefresh = scheduler.schedule(() -> WorkerExecutors.shared().execute(() -> {
+            try {
+                refresh(granted);
+            } catch (RuntimeException ignore) {
+                // The next API call retries the exchange once the token lapses.
+            }
+        }), delay, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Cancels any pending background refresh.
+     */
+    @Override
+    public synchronized void close() {
+        if (scheduledRefresh != null) {
+            scheduledRefresh.cancel(false);
+            scheduledRefresh = null;
+        }
+    }
+
+    /**
+     * @return the daemon scheduler timing background refreshes for managers
+     *         created without one; keep the tasks given to it short.
+     */
+    public static ScheduledExecutorService sharedScheduler() {
+        return SharedScheduler.INSTANCE;
+    }
+
+    private static class SharedScheduler {
+        static final ScheduledExecutorService INSTANCE =
+            Executors.newSingleThreadScheduledExecutor(WorkerExecutors.daemonThreadFactory("outreach-token-refresh"));
+    }
+}
@@ -0,0 +1,150 @@
+package io.outreach.bootstrap;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.UnknownHostException;
+import java.security.KeyStore;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+
+import io.outreach.Outreach;
+import io.outreach.concurrent.WorkerExecutors;
+import io.outreach.exception.OutreachException;
+import io.outreach.security.TrustStore;
+import io.outreach.transport.CompressingTransport;
+import io.outreach.transport.PooledTransport;
+import io.outreach.transport.Transport;
+
+/**
+ * Process-wide startup state: the API configuration and trust material,
+ * each loaded once from the classpath, and a pinned transport shared by the
+ * clients created here, so they also share warm connections and TLS
+ * sessions. <br />
+ * <br />
+ * Autoscaled workers may {@link #prewarm(Outreach)} a client while starting,
+ * moving the DNS lookup, TLS handshake and token exchange off the first real
+ * call.
+ */
+public final class OutreachBootstrap {
+
+    public static final String API_PROPERTIES = "/api.properties";
+
+    private static volatile OutreachBootstrap shared;
+
+    private final String endpoint;
+    private final String version;
+
+    private volatile Transport transport;
+
+    private OutreachBootstrap(final String endpoint, final String version) {
+        this.endpoint = endpoint;
+        this.version = version;
+    }
+
+    /**
+     * @return the shared bootstrap, loading the configuration on first use.
+     * @throws OutreachException
+     *             if {@value #API_PROPERTIES} is missing, unreadable or
+     *             incomplete, loading is retried on the next call.
+     */
+    public static OutreachBootstrap get() {
+        OutreachBootstrap bootstrap = shared;
+        if (bootstrap == null) {
+            synchronized (OutreachBootstrap.class) {
+                bootstrap = shared;
+                if (bootstrap == null) {
+                    shared = bootstrap = load();
+                }
+            }
+        }
+        return bootstrap;
+    }
+
+    private static OutreachBootstrap load() {
+        final Properties properties = new Properties();
+        try (InputStream stream = OutreachBootstrap.class.getResourceAsStream(API_PROPERTIES)) {
+            if (stream == null) {
+                throw new OutreachException("API configuration " + API_PROPERTIES + " is not on the classpath");
+            }
+            properties.load(stream);
+        } catch (IOException exception) {
+            throw new OutreachException("Cannot load API configuration " + API_PROPERTIES, exception);
+        }
+        final String endpoint = properties.getProperty("endpoint");
+        final String version = properties.getProperty("version");
+        if (endpoint == null || version == null) {
+            throw new OutreachException("API configuration " + API_PROPERTIES + " needs an endpoint and version");
+        }
+        return new OutreachBootstrap(endpoint, version);
+    }
+
+    /**
+     * @return the API root, e.g. "https://api.outreach.io".
+     */
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    /**
+     * @return the API version, e.g. "1.0".
+     */
+    public String getVersion() {
+        return version;
+    }
+
+    /**
+     * @return the shared trust store pinning the API.
+     * @see TrustStore#get()
+     */
+    public KeyStore getTrustStore() {
+        return TrustStore.get();
+    }
+
+    /**
+     * @return the compressing, pinned connection pool shared by the clients
+     *         created here, built on first use.
+     */
+    public Transport getTransport() {
+        Transport current = transport;
+        if (current == null) {
+            synchronized (this) {
+                current = transport;
+                if (current == null) {
+                    transport = current = new CompressingTransport(new PooledTransport(getTrustStore()));
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * @return a client of the configured API over the shared transport.
+     */
+    public Outreach newClient(final Outreach.ApplicationCredentials applicationCredentials,
+                              final String authorizationCode) {
+        return new Outreach(applicationCredentials, authorizationCode, getTransport(), endpoint, version);
+    }
+
+    /**
+     * Resolves the client's API host and exchanges its authorization code in
+     * the background. The exchange opens, and leaves pooled, a connection to
+     * the API, so the first real call finds DNS cached, a TLS session to
+     * resume and a valid token.
+     *
+     * @return completed once warm, or exceptionally if the host does not
+     *         resolve or the exchange fails.
+     */
+    public static CompletableFuture<Void> prewarm(final Outreach client) {
+        return CompletableFuture.runAsync(() -> {
+            try {
+                InetAddress.getAllByName(new URL(client.getApiEndpoint()).getHost());
+            } catch (MalformedURLException | UnknownHostException exception) {
+                throw new OutreachException(exception);
+            }
+            client.getTokenManager().getAccessToken();
+        }, WorkerExecutors.shared());
+    }
+}
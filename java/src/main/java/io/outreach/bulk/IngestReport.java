@@ -0,0 +1,120 @@
+package io.outreach.bulk;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Summary of a completed bulk ingest. Created identifiers are kept in a
+ * primitive array indexed by input position, and only failed records are kept
+ * as {@link IngestResult} objects, so large imports report in compact form.
+ */
+public class IngestReport {
+
+    private static final long NONE = Long.MIN_VALUE;
+
+    private long[] createdIds = new long[1024];
+    private final List<IngestResult> failures = new ArrayList<>();
+    private long submitted = 0;
+    private long created = 0;
+    private long retries = 0;
+    private long elapsedNanos = 0;
+    private long listenerFailures = 0;
+    private RuntimeException listenerFailure = null;
+
+    IngestReport() {
+        Arrays.fill(createdIds, NONE);
+    }
+
+    synchronized void record(final IngestResult result) {
+        retries += Math.max(0, result.getAttempts() - 1);
+        if (result.isSuccessful()) {
+            created++;
+            final int index = Math.toIntExact(result.getIndex());
+            if (index >= createdIds.length) {
+                final int previous = createdIds.length;
+                createdIds = Arrays.copyOf(createdIds, Math.max(index + 1, previous * 2));
+                Arrays.fill(createdIds, previous, createdIds.length, NONE);
+            }
+            createdIds[index] = result.getProspectId();
+        } else {
+            failures.add(result);
+        }
+    }
+
+    synchronized void listenerFailed(final RuntimeException failure) {
+        if (listenerFailures++ == 0) {
+            listenerFailure = failure;
+        }
+    }
+
+    synchronized void complete(final long submitted, final long elapsedNanos) {
+        this.submitted = submitted;
+        this.elapsedNanos = elapsedNanos;
+        Collections.sort(failures, (a, b) -> Long.compare(a.getIndex(), b.getIndex()));
+    }
+
+    public synchronized long getSubmitted() {
+        return submitted;
+    }
+
+    public synchronized long getCreated() {
+        return created;
+    }
+
+    public synchronized long getFailed() {
+        return failures.size();
+    }
+
+    /**
+     * @return the number of requests repeated after a transient failure.
+     */
+    public synchronized long getRetries() {
+        return retries;
+    }
+
+    /**
+     * @return the number of outcomes whose listener threw.
+     */
+    public synchronized long getListenerFailures() {
+        return listenerFailures;
+    }
+
+    /**
+     * @return the first exception thrown by the listener, or null.
+     */
+    public synchronized RuntimeException getListenerFailure() {
+        return listenerFailure;
+    }
+
+    public synchronized long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * @param index
+     *            the 0-based position of the record in the submitted input.
+     * @return the identifier of the created prospect, or null if the record
+     *         failed.
+     */
+    public synchronized Long getCreatedId(final long index) {
+        if (index < 0 || index >= createdIds.length || createdIds[(int) index] == NONE) {
+            return null;
+        }
+        return createdIds[(int) index];
+    }
+
+    /**
+     * @return the failed records in input order.
+     */
+    public synchronized List<IngestResult> getFailures() {
+        return Collections.unmodifiableList(new ArrayList<>(failures));
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "IngestReport[submitted=" + submitted + ", created=" + created + ", failed=" + failures.size()
+             + ", retries=" + retries + ", elapsedMillis=" + elapsedNanos / 1000000 + "]";
+    }
+}
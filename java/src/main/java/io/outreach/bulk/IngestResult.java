@@ -0,0 +1,59 @@
+package io.outreach.bulk;
+
+import io.outreach.exception.OutreachException;
+
+/**
+ * Outcome of a single record submitted to a {@link ProspectIngest}.
+ */
+public class IngestResult {
+
+    private final long index;
+    private final Long prospectId;
+    private final OutreachException failure;
+    private final int attempts;
+
+    IngestResult(final long index, final Long prospectId, final OutreachException failure, final int attempts) {
+        this.index = index;
+        this.prospectId = prospectId;
+        this.failure = failure;
+        this.attempts = attempts;
+    }
+
+    /**
+     * @return the 0-based position of the record in the submitted input.
+     */
+    public long getIndex() {
+        return index;
+    }
+
+    /**
+     * @return the identifier of the created prospect, or null if it failed.
+     */
+    public Long getProspectId() {
+        return prospectId;
+    }
+
+    /**
+     * @return the error from the final attempt, or null if it succeeded.
+     */
+    public OutreachException getFailure() {
+        return failure;
+    }
+
+    public boolean isSuccessful() {
+        return failure == null;
+    }
+
+    /**
+     * @return the number of requests made for the record.
+     */
+    public int getAttempts() {
+        return attempts;
+    }
+
+    @Override
+    public String toString() {
+        return isSuccessful() ? "IngestResult[" + index + " -> " + prospectId + "]"
+                              : "IngestResult[" + index + " failed after " + attempts + " attempts: " + failure + "]";
+    }
+}
@@ -0,0 +1,150 @@
+package io.outreach.bulk;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import io.outreach.concurrent.WorkerExecutors;
+
+/**
+ * Collects work per key into batches which are handed off once they have
+ * lingered for {@code lingerMillis} since their first addition, or as soon as
+ * they are full, whichever is first. <br />
+ * <br />
+ * A batch is sealed when it is handed off, an addition racing with the
+ * hand-off goes to the key's next batch. Additions to a batch are made under
+ * its lock, so the batch itself needs no synchronization.
+ *
+ * @param <K>
+ *            the key work is batched by.
+ * @param <B>
+ *            the batch accumulating the work.
+ */
+final class KeyedBatcher<K, B> implements AutoCloseable {
+
+    /**
+     * Receives each sealed batch, on the timer or on the thread which filled
+     * or flushed it.
+     */
+    @FunctionalInterface
+    interface Sink<K, B> {
+        void send(K key, B batch);
+    }
+
+    private final long lingerMillis;
+    private final Function<? super K, ? extends B> factory;
+    private final Sink<K, B> sink;
+    private final Executor executor;
+    private final ScheduledExecutorService scheduler;
+
+    private final ConcurrentHashMap<K, Window> pending = new ConcurrentHashMap<>();
+
+    /**
+     * @param threadName
+     *            name of the linger timer's thread.
+     * @param lingerMillis
+     *            maximum time a batch waits to fill.
+     * @param factory
+     *            creates the empty batch of a key.
+     * @param sink
+     *            receives each batch once sealed.
+     */
+    KeyedBatcher(final String threadName,
+                 final long lingerMillis,
+                 final Function<? super K, ? extends B> factory,
+                 final Sink<K, B> sink) {
+        this.lingerMillis = lingerMillis;
+        this.factory = factory;
+        this.sink = sink;
+        this.executor = WorkerExecutors.shared();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(WorkerExecutors.daemonThreadFactory(threadName));
+    }
+
+    /**
+     * Adds to the key's open batch, opening one if needed.
+     *
+     * @param key
+     * @param addition
+     *            applied to the batch under its lock, its result is returned.
+     * @param full
+     *            tested after the addition, a full batch is handed off
+     *            immediately.
+     */
+    <R> R add(final K key, final Function<? super B, ? extends R> addition, final Predicate<? super B> full) {
+        while (true) {
+            final Window window = pending.computeIfAbsent(key, this::open);
+            final R result;
+            final boolean filled;
+            synchronized (window) {
+                if (window.sealed) {
+                    pending.remove(key, window); // Sealed by a concurrent flush, start the next batch.
+                    continue;
+                }
+                result = addition.apply(window.batch);
+                filled = full.test(window.batch);
+            }
+            if (filled) {
+                window.flush();
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Hands off every open batch without waiting for it to fill.
+     */
+    void flush() {
+        for (Window window : pending.values()) {
+            window.flush();
+        }
+    }
+
+    /**
+     * Flushes open batches and stops the linger timer, batches opened after
+     * closing are handed off as soon as possible.
+     */
+    @Override
+    public void close() {
+        scheduler.shutdown();
+        flush();
+    }
+
+    private Window open(final K key) {
+        final Window window = new Window(key, factory.apply(key));
+        if (scheduler.isShutdown()) {
+            executor.execute(window::flush);
+        } else {
+            scheduler.schedule(window::flush, lingerMillis, TimeUnit.MILLISECONDS);
+        }
+        return window;
+    }
+
+    /**
+     * A key's open batch, the mutable fields are guarded by the window.
+     */
+    private final class Window {
+        private final K key;
+        private final B batch;
+        private boolean sealed = false;
+
+        Window(final K key, final B batch) {
+            this.key = key;
+            this.batch = batch;
+        }
+
+        void flush() {
+            synchronized (this) {
+                if (sealed) {
+                    return;
+                }
+                sealed = true;
+            }
+            pending.remove(key, this);
+            sink.send(key, batch);
+        }
+    }
+}
@@ -0,0 +1,264 @@
+package io.outreach.bulk;
+
+import java.util.Iterator;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import org.json.simple.JSONObject;
+
+import io.outreach.Outreach;
+import io.outreach.concurrent.WorkerExecutors;
+import io.outreach.exception.OutreachException;
+import io.outreach.exception.OutreachSecurityException;
+import io.outreach.retry.RetryPolicy;
+
+/**
+ * Bulk prospect creation pipeline. <br />
+ * <br />
+ * The calling thread feeds prospect payloads into a bounded queue drained by
+ * a fixed number of sender tasks, each creating one prospect per request. When
+ * the senders fall behind the queue fills and the feeding thread blocks, so an
+ * input of any size is consumed at the rate the API accepts it. <br />
+ * <br />
+ * Creating a prospect is not idempotent, so the {@link RetryPolicy} only
+ * retries a failed record when the request provably never reached the server
+ * (connection failures) or the server rejected it unprocessed (429 and 503
+ * responses). <br />
+ * <br />
+ * <b>NOTE</b> Over a {@link io.outreach.retry.RetryingTransport} each attempt
+ * is already retried by the transport, use {@link RetryPolicy#NONE} so the
+ * attempts are not multiplied.
+ */
+public class ProspectIngest {
+
+    /**
+     * How often a blocked feeder checks whether the senders are still alive.
+     */
+    private static final long LIVENESS_MILLIS = 100;
+
+    private static final Item END = new Item(-1, null);
+
+    private final Outreach outreach;
+    private final Executor executor;
+    private final int senders;
+    private final int queueCapacity;
+    private final RetryPolicy retryPolicy;
+
+    /**
+     * @param outreach
+     *            the client prospects are created through.
+     * @param senders
+     *            number of concurrent create requests.
+     * @param queueCapacity
+     *            number of records buffered ahead of the senders.
+     * @param retryPolicy
+     *            decides whether and when a failed record is sent again.
+     */
+    public ProspectIngest(final Outreach outreach, final int senders, final int queueCapacity, final RetryPolicy retryPolicy) {
+        this(outreach, WorkerExecutors.shared(), senders, queueCapacity, retryPolicy);
+    }
+
+    public ProspectIngest(final Outreach outreach,
+                          final Executor executor,
+                          final int senders,
+                          final int queueCapacity,
+                          final RetryPolicy retryPolicy) {
+        if (senders < 1 || queueCapacity < 1) {
+            throw new IllegalArgumentException("senders and queueCapacity must be positive");
+        }
+        this.outreach = outreach;
+        this.executor = executor;
+        this.senders = senders;
+        this.queueCapacity = queueCapacity;
+        this.retryPolicy = retryPolicy;
+    }
+
+    public IngestReport ingest(final Iterable<String> prospects) {
+        return ingest(prospects.iterator(), null);
+    }
+
+    public IngestReport ingest(final Stream<String> prospects) {
+        return ingest(prospects.iterator(), null);
+    }
+
+    /**
+     * Creates every prospect in the input, blocking until all records have
+     * been processed.
+     *
+     * @param prospects
+     *            API-formatted prospect creation payloads.
+     * @param listener
+     *            notified of each record's outcome from the sender threads as
+     *            it completes, or null. Exceptions it throws are counted in
+     *            the report and do not stop the ingest.
+     * @return the report of created identifiers and failures; records left
+     *         unsent because every sender stopped early, or none could be
+     *         started as the executor was shut down, are reported failed after
+     *         0 attempts.
+     */
+    public IngestReport ingest(final Iterator<String> prospects, final Consumer<IngestResult> listener) {
+        final long start = System.nanoTime();
+        final IngestReport report = new IngestReport();
+        final BlockingQueue<Item> queue = new ArrayBlockingQueue<>(queueCapacity);
+        final CountDownLatch finished = new CountDownLatch(senders);
+
+        int started = 0;
+        long submitted = 0;
+        try {
+            try {
+                for (; started < senders; started++) {
+                    executor.execute(() -> {
+                        try {
+                            drain(queue, report, listener);
+                        } finally {
+                            finished.countDown();
+                        }
+                    });
+                }
+            } catch (RejectedExecutionException exception) {
+                // Fed to the senders which did start, if any.
+            }
+            while (prospects.hasNext()) {
+                if (!put(queue, new Item(submitted, prospects.next()), finished)) {
+                    break; // Every sender has stopped, nothing would take the record.
+                }
+                submitted++;
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        } finally {
+            for (int i = started; i < senders; i++) {
+                finished.countDown();
+            }
+            for (int i = 0; i < started; i++) {
+                if (!putUninterruptibly(queue, END, finished)) {
+                    break;
+                }
+            }
+            awaitUninterruptibly(finished);
+        }
+
+        for (Item unsent = queue.poll(); unsent != null; unsent = queue.poll()) {
+            if (unsent != END) {
+                report.record(new IngestResult(unsent.index, null, new OutreachException("Ingest stopped before the record was sent"), 0));
+            }
+        }
+        report.complete(submitted, System.nanoTime() - start);
+        return report;
+    }
+
+    private void drain(final BlockingQueue<Item> queue, final IngestReport report, final Consumer<IngestResult> listener) {
+        while (true) {
+            final Item item;
+            try {
+                item = queue.take();
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (item == END) {
+                return;
+            }
+
+            final IngestResult result = send(item);
+            report.record(result);
+            if (listener != null) {
+                try {
+                    listener.accept(result);
+                } catch (RuntimeException exception) {
+                    report.listenerFailed(exception);
+                }
+            }
+        }
+    }
+
+    private IngestResult send(final Item item) {
+        final long deadline = System.currentTimeMillis() + retryPolicy.getDeadline(TimeUnit.MILLISECONDS);
+        int attempts = 0;
+        while (true) {
+            attempts++;
+            try {
+                final JSONObject response = outreach.addProspect(item.payload);
+                final JSONObject data = (JSONObject) response.get("data");
+                return new IngestResult(item.index, Long.parseLong(data.get("id").toString()), null, attempts);
+            } catch (Throwable throwable) {
+                final OutreachException failure = throwable instanceof OutreachException ? (OutreachException) throwable
+                                                                                         : new OutreachSecurityException(throwable);
+                final long delay = retryPolicy.delay(attempts);
+                if (attempts >= retryPolicy.getMaxAttempts() || System.currentTimeMillis() + delay >= deadline
+                    || !retryPolicy.isRetryable(false, failure)) {
+                    return new IngestResult(item.index, null, failure, attempts);
+                }
+                try {
+                    Thread.sleep(delay);
+                } catch (InterruptedException exception) {
+                    Thread.currentThread().interrupt();
+                    return new IngestResult(item.index, null, failure, attempts);
+                }
+            }
+        }
+    }
+
+    /**
+     * Waits for space in the queue while any sender is still taking from it.
+     *
+     * @return false if every sender stopped before the item was queued.
+     */
+    private static boolean put(final BlockingQueue<Item> queue, final Item item, final CountDownLatch finished)
+        throws InterruptedException {
+        while (!queue.offer(item, LIVENESS_MILLIS, TimeUnit.MILLISECONDS)) {
+            if (finished.getCount() == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean putUninterruptibly(final BlockingQueue<Item> queue, final Item item, final CountDownLatch finished) {
+        boolean interrupted = false;
+        try {
+            while (true) {
+                try {
+                    return put(queue, item, finished);
+                } catch (InterruptedException exception) {
+                    interrupted = true;
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static void awaitUninterruptibly(final CountDownLatch latch) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                latch.await();
+                break;
+            } catch (InterruptedException exception) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static class Item {
+        final long index;
+        final String payload;
+
+        Item(final long index, final String payload) {
+            this.index = index;
+            this.payload = payload;
+        }
+    }
+}
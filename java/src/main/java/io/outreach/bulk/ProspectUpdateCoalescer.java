@@ -0,0 +1,295 @@
+package io.outreach.bulk;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.json.simple.JSONObject;
+import org.json.simple.parser.ParseException;
+
+import io.outreach.Outreach;
+import io.outreach.cache.ExpiringLruCache;
+import io.outreach.concurrent.WorkerExecutors;
+import io.outreach.json.Json;
+
+/**
+ * Write-behind for {@link Outreach#modifyProspect(int, String)}, coalescing
+ * the updates of each prospect made within a short window into a single
+ * request. <br />
+ * <br />
+ * The first update of a prospect opens its window, later updates within it
+ * are deep-merged into the pending patch, later values winning. When the
+ * window closes, attributes equal to the last state the API returned for the
+ * prospect are dropped and only the remainder is sent; a patch left empty is
+ * not sent at all. Updates of one prospect are sent in order, a window closing
+ * while the previous request is in flight waits for it. <br />
+ * <br />
+ * Every update's future completes once the request carrying it has been
+ * accepted, with its response, or exceptionally with its failure. <br />
+ * <br />
+ * <b>NOTE</b> The last known state is kept for {@code knownStateMillis}, a
+ * change made elsewhere within that time may cause an update restoring the
+ * previous value to be suppressed.
+ */
+public class ProspectUpdateCoalescer implements AutoCloseable {
+
+    private final Outreach outreach;
+    private final Executor executor;
+
+    /**
+     * The last response of each prospect, its attributes are the state
+     * patches are reduced against.
+     */
+    private final ExpiringLruCache<Integer, JSONObject> known;
+
+    private final KeyedBatcher<Integer, Patch> patches;
+
+    /**
+     * The send of each prospect's most recent patch, the next one follows it.
+     */
+    private final ConcurrentHashMap<Integer, CompletableFuture<Void>> sending = new ConcurrentHashMap<>();
+
+    private final AtomicLong updates = new AtomicLong();
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong suppressed = new AtomicLong();
+
+    public ProspectUpdateCoalescer(final Outreach outreach) {
+        this(outreach, 200, 10000, TimeUnit.MINUTES.toMillis(1));
+    }
+
+    /**
+     * @param outreach
+     *            the client updates are sent through.
+     * @param lingerMillis
+     *            how long a prospect's first update waits for more.
+     * @param maxKnownStates
+     *            the most prospects whose last state is remembered.
+     * @param knownStateMillis
+     *            how long a prospect's last state is trusted.
+     */
+    public ProspectUpdateCoalescer(final Outreach outreach,
+                                   final long lingerMillis,
+                                   final int maxKnownStates,
+                                   final long knownStateMillis) {
+        this.outreach = outreach;
+        this.known = new ExpiringLruCache<>(maxKnownStates, knownStateMillis, TimeUnit.MILLISECONDS);
+        this.executor = WorkerExecutors.shared();
+        this.patches = new KeyedBatcher<>("outreach-update-coalescer", lingerMillis, prospectId -> new Patch(),
+                                          (prospectId, patch) -> send(prospectId, patch.entity, patch.update));
+    }
+
+    /**
+     * Queues an update of a prospect.
+     *
+     * @param prospectId
+     * @param prospectAttributes
+     *            the JSONObject API-formatted request containing the prospect
+     *            attributes to be modified.
+     * @return a future completed with the response of the request which
+     *         carried the update, shared by the updates merged with it.
+     * @throws IllegalArgumentException
+     *             if the request is not a JSON object.
+     */
+    public CompletableFuture<JSONObject> modify(final int prospectId, final String prospectAttributes) {
+        final Object entity;
+        try {
+            entity = Json.parse(new StringReader(prospectAttributes));
+        } catch (IOException | ParseException exception) {
+            throw new IllegalArgumentException("Malformed prospect update", exception);
+        }
+        if (!(entity instanceof JSONObject)) {
+            throw new IllegalArgumentException("Expected a JSON object");
+        }
+        return modify(prospectId, (JSONObject) entity);
+    }
+
+    /**
+     * @see #modify(int, String)
+     */
+    public CompletableFuture<JSONObject> modify(final int prospectId, final JSONObject prospectAttributes) {
+        updates.incrementAndGet();
+        return patches.add(prospectId, patch -> {
+            merge(patch.entity, prospectAttributes);
+            return patch.update;
+        }, patch -> false);
+    }
+
+    /**
+     * Sends every pending patch without waiting for its window to close.
+     */
+    public void flush() {
+        patches.flush();
+    }
+
+    /**
+     * Flushes pending patches and stops the linger timer, updates made after
+     * closing are sent immediately.
+     */
+    @Override
+    public void close() {
+        patches.close();
+    }
+
+    /**
+     * @return the number of updates accepted.
+     */
+    public long getUpdates() {
+        return updates.get();
+    }
+
+    /**
+     * @return the number of update requests sent.
+     */
+    public long getRequests() {
+        return requests.get();
+    }
+
+    /**
+     * @return the number of patches not sent as they changed nothing.
+     */
+    public long getSuppressed() {
+        return suppressed.get();
+    }
+
+    private void send(final int prospectId, final JSONObject entity, final CompletableFuture<JSONObject> update) {
+        if (entity.isEmpty()) {
+            update.complete(null); // Sealed before any update was merged, no one waits on it.
+            return;
+        }
+        final CompletableFuture<Void> sent = new CompletableFuture<>();
+        final CompletableFuture<Void> previous = sending.put(prospectId, sent);
+        final Runnable write = () -> {
+            try {
+                write(prospectId, entity, update);
+            } finally {
+                sending.remove(prospectId, sent);
+                sent.complete(null);
+            }
+        };
+        if (previous == null) {
+            executor.execute(write);
+        } else {
+            previous.whenComplete((ignore, failure) -> executor.execute(write));
+        }
+    }
+
+    private void write(final int prospectId, final JSONObject entity, final CompletableFuture<JSONObject> update) {
+        try {
+            final JSONObject last = known.getIfPresent(prospectId);
+            final JSONObject minimal = reduce(entity, last);
+            if (minimal == null) {
+                suppressed.incrementAndGet();
+                update.complete(last);
+                return;
+            }
+            requests.incrementAndGet();
+            final JSONObject response = outreach.modifyProspect(prospectId, minimal.toJSONString());
+            if (response != null) {
+                known.put(prospectId, response);
+            }
+            update.complete(response);
+        } catch (Throwable throwable) {
+            known.invalidate(prospectId);
+            update.completeExceptionally(throwable);
+        }
+    }
+
+    /**
+     * @return the entity less the attributes equal to the last response's, or
+     *         null if it would change nothing.
+     */
+    @SuppressWarnings("unchecked")
+    static JSONObject reduce(final JSONObject entity, final JSONObject last) {
+        final JSONObject data = child(entity, "data");
+        final JSONObject attributes = child(data, "attributes");
+        final JSONObject knownAttributes = child(child(last, "data"), "attributes");
+        if (data == null || attributes == null || knownAttributes == null) {
+            return entity;
+        }
+        final JSONObject changed = difference(attributes, knownAttributes);
+        boolean other = false;
+        for (Object key : data.keySet()) {
+            other |= !key.equals("attributes") && !key.equals("type") && !key.equals("id");
+        }
+        if (changed.isEmpty() && !other) {
+            return null;
+        }
+        final JSONObject reducedData = new JSONObject();
+        reducedData.putAll(data);
+        reducedData.put("attributes", changed);
+        final JSONObject reduced = new JSONObject();
+        reduced.putAll(entity);
+        reduced.put("data", reducedData);
+        return reduced;
+    }
+
+    /**
+     * @return the members of the patch whose values differ from the known
+     *         ones, descending into objects present in both.
+     */
+    @SuppressWarnings("unchecked")
+    private static JSONObject difference(final JSONObject patch, final JSONObject known) {
+        final JSONObject changed = new JSONObject();
+        for (Map.Entry<Object, Object> member : (Iterable<Map.Entry<Object, Object>>) patch.entrySet()) {
+            final Object value = member.getValue();
+            final Object current = known.get(member.getKey());
+            if (value instanceof JSONObject && current instanceof JSONObject) {
+                final JSONObject nested = difference((JSONObject) value, (JSONObject) current);
+                if (!nested.isEmpty()) {
+                    changed.put(member.getKey(), nested);
+                }
+            } else if (!known.containsKey(member.getKey()) || !equal(value, current)) {
+                changed.put(member.getKey(), value);
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Compares JSON values, whole numbers equal whatever their boxed type.
+     */
+    private static boolean equal(final Object a, final Object b) {
+        if (a instanceof Number && b instanceof Number && !(a instanceof Double || a instanceof Float)
+            && !(b instanceof Double || b instanceof Float)) {
+            return ((Number) a).longValue() == ((Number) b).longValue();
+        }
+        return a == null ? b == null : a.equals(b);
+    }
+
+    /**
+     * Merges the patch into the target, copying objects so later merges never
+     * modify the caller's.
+     */
+    @SuppressWarnings("unchecked")
+    static void merge(final JSONObject target, final JSONObject patch) {
+        for (Map.Entry<Object, Object> member : (Iterable<Map.Entry<Object, Object>>) patch.entrySet()) {
+            final Object value = member.getValue();
+            if (value instanceof JSONObject) {
+                final Object existing = target.get(member.getKey());
+                final JSONObject nested = existing instanceof JSONObject ? (JSONObject) existing : new JSONObject();
+                merge(nested, (JSONObject) value);
+                target.put(member.getKey(), nested);
+            } else {
+                target.put(member.getKey(), value);
+            }
+        }
+    }
+
+    private static JSONObject child(final JSONObject parent, final String name) {
+        final Object child = parent == null ? null : parent.get(name);
+        return child instanceof JSONObject ? (JSONObject) child : null;
+    }
+
+    /**
+     * Updates pending for one prospect, merged into a single entity.
+     */
+    private static class Patch {
+        final JSONObject entity = new JSONObject();
+        final CompletableFuture<JSONObject> update = new CompletableFuture<>();
+    }
+}
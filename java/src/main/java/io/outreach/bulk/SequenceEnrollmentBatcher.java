@@ -0,0 +1,144 @@
+package io.outreach.bulk;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.json.simple.JSONObject;
+
+import io.outreach.Outreach;
+import io.outreach.concurrent.WorkerExecutors;
+
+/**
+ * Coalesces individual sequence enrollments from any number of threads into
+ * one {@link Outreach#addProspectsToSequence(int, String)} request per
+ * sequence. <br />
+ * <br />
+ * Enrollments for a sequence are collected until either the batch holds
+ * {@code maxBatchSize} prospects or {@code lingerMillis} have passed since its
+ * first enrollment, whichever is first. Every enrollment in the batch is then
+ * completed with the batch response, or exceptionally with its failure.
+ */
+public class SequenceEnrollmentBatcher implements AutoCloseable {
+
+    /**
+     * Maximum number of prospects accepted per sequence update.
+     */
+    public static final int MAX_BATCH_SIZE = 50;
+
+    private final Outreach outreach;
+    private final int maxBatchSize;
+    private final Executor executor;
+
+    /**
+     * Enrollments pending per sequence, repeated enrollments of a prospect
+     * share the batch's single entry.
+     */
+    private final KeyedBatcher<Integer, Map<Long, CompletableFuture<JSONObject>>> batches;
+
+    private final AtomicLong enrollments = new AtomicLong();
+    private final AtomicLong requests = new AtomicLong();
+
+    public SequenceEnrollmentBatcher(final Outreach outreach) {
+        this(outreach, MAX_BATCH_SIZE, 200);
+    }
+
+    /**
+     * @param outreach
+     *            the client batches are sent through.
+     * @param maxBatchSize
+     *            number of prospects which triggers an immediate flush, at
+     *            most {@link #MAX_BATCH_SIZE}.
+     * @param lingerMillis
+     *            maximum time an enrollment waits for its batch to fill.
+     */
+    public SequenceEnrollmentBatcher(final Outreach outreach, final int maxBatchSize, final long lingerMillis) {
+        if (maxBatchSize < 1 || maxBatchSize > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("maxBatchSize must be between 1 and " + MAX_BATCH_SIZE);
+        }
+        this.outreach = outreach;
+        this.maxBatchSize = maxBatchSize;
+        this.executor = WorkerExecutors.shared();
+        this.batches = new KeyedBatcher<>("outreach-enrollment-batcher", lingerMillis, sequenceId -> new LinkedHashMap<>(), this::send);
+    }
+
+    /**
+     * Queues a prospect to be added to a sequence.
+     *
+     * @param sequenceId
+     * @param prospectId
+     * @return a future completed with the response of the batch request which
+     *         carried the enrollment.
+     */
+    public CompletableFuture<JSONObject> enroll(final int sequenceId, final long prospectId) {
+        enrollments.incrementAndGet();
+        return batches.add(sequenceId,
+                           batch -> batch.computeIfAbsent(prospectId, id -> new CompletableFuture<>()),
+                           batch -> batch.size() >= maxBatchSize);
+    }
+
+    /**
+     * Sends every pending batch without waiting for it to fill.
+     */
+    public void flush() {
+        batches.flush();
+    }
+
+    /**
+     * Flushes pending batches and stops the linger timer, enrollments made
+     * after closing are sent immediately.
+     */
+    @Override
+    public void close() {
+        batches.close();
+    }
+
+    /**
+     * @return the number of enrollments accepted.
+     */
+    public long getEnrollments() {
+        return enrollments.get();
+    }
+
+    /**
+     * @return the number of sequence update requests sent.
+     */
+    public long getRequests() {
+        return requests.get();
+    }
+
+    private void send(final int sequenceId, final Map<Long, CompletableFuture<JSONObject>> enrollments) {
+        if (enrollments.isEmpty()) {
+            return;
+        }
+        requests.incrementAndGet();
+        executor.execute(() -> {
+            try {
+                final JSONObject response = outreach.addProspectsToSequence(sequenceId, payload(enrollments.keySet()));
+                for (CompletableFuture<JSONObject> enrollment : enrollments.values()) {
+                    enrollment.complete(response);
+                }
+            } catch (Throwable throwable) {
+                for (CompletableFuture<JSONObject> enrollment : enrollments.values()) {
+                    enrollment.completeExceptionally(throwable);
+                }
+            }
+        });
+    }
+
+    static String payload(final Iterable<Long> prospectIds) {
+        final StringBuilder payload = new StringBuilder(64 + 32 * MAX_BATCH_SIZE);
+        payload.append("{\"data\":{\"relationships\":{\"prospects\":[");
+        boolean first = true;
+        for (Long prospectId : prospectIds) {
+            if (!first) {
+                payload.append(',');
+            }
+            payload.append("{\"data\":{\"id\":\"").append(prospectId).append("\"}}");
+            first = false;
+        }
+        return payload.append("]}}}").toString();
+    }
+}
@@ -0,0 +1,65 @@
+package io.outreach.cache;
+
+/**
+ * Immutable snapshot of a {@link ExpiringLruCache}'s counters.
+ */
+public class CacheStats {
+
+    private final long hits;
+    private final long misses;
+    private final long loads;
+    private final long evictions;
+    private final int size;
+
+    public CacheStats(final long hits, final long misses, final long loads, final long evictions, final int size) {
+        this.hits = hits;
+        this.misses = misses;
+        this.loads = loads;
+        this.evictions = evictions;
+        this.size = size;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    /**
+     * @return the number of lookups not served from the cache, including
+     *         those which waited on another caller's load.
+     */
+    public long getMisses() {
+        return misses;
+    }
+
+    /**
+     * @return the number of loader invocations, at most one per key at a time.
+     */
+    public long getLoads() {
+        return loads;
+    }
+
+    /**
+     * @return the number of entries dropped to stay within the size bound.
+     */
+    public long getEvictions() {
+        return evictions;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * @return the fraction of lookups served from the cache, or 0 before the
+     *         first lookup.
+     */
+    public double getHitRate() {
+        final long lookups = hits + misses;
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+
+    @Override
+    public String toString() {
+        return "CacheStats[hits=" + hits + ", misses=" + misses + ", loads=" + loads + ", evictions=" + evictions + ", size=" + size + "]";
+    }
+}
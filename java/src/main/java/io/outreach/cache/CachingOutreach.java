@@ -0,0 +1,253 @@
+package io.outreach.cache;
+
+import java.io.StringReader;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+
+import io.outreach.Outreach;
+import io.outreach.Query;
+import io.outreach.json.Json;
+import io.outreach.model.Prospect;
+import io.outreach.transport.Transport;
+
+/**
+ * {@link Outreach} serving repeated reads from memory: single prospects,
+ * sequence pages and pages of the small reference collections are cached for
+ * a bounded time, with concurrent misses on the same record sharing one
+ * request. <br />
+ * <br />
+ * Writes made through this instance invalidate the entries they affect,
+ * writes made elsewhere become visible once the entries expire. <br />
+ * <br />
+ * <b>NOTE</b> Cached responses are shared between callers and must not be
+ * modified.
+ */
+public class CachingOutreach extends Outreach {
+
+    public static final int DEFAULT_MAX_PROSPECTS = 10000;
+    public static final long DEFAULT_PROSPECT_TTL_MILLIS = 30000;
+    public static final long DEFAULT_REFERENCE_TTL_MILLIS = 300000;
+
+    private static final int MAX_PAGES = 512;
+
+    /**
+     * Collections whose pages are cached, they change rarely and are read
+     * alongside most prospect work.
+     */
+    public static final Set<String> REFERENCE_RESOURCES = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+        "/call_dispositions",
+        "/call_purposes",
+        "/users")));
+
+    private final ExpiringLruCache<Integer, JSONObject> prospects;
+    private final ExpiringLruCache<String, JSONObject> pages;
+
+    public CachingOutreach(final ApplicationCredentials applicationCredentials,
+                           final String authorizationCode,
+                           final Transport transport) {
+        this(applicationCredentials, authorizationCode, transport,
+             DEFAULT_MAX_PROSPECTS, DEFAULT_PROSPECT_TTL_MILLIS, DEFAULT_REFERENCE_TTL_MILLIS);
+    }
+
+    /**
+     * @param applicationCredentials
+     * @param authorizationCode
+     * @param transport
+     * @param maxProspects
+     *            the most prospects held, least recently used are evicted.
+     * @param prospectTtlMillis
+     *            how long a fetched prospect is served from memory.
+     * @param referenceTtlMillis
+     *            how long a page of sequences or reference records is served
+     *            from memory.
+     */
+    public CachingOutreach(final ApplicationCredentials applicationCredentials,
+                           final String authorizationCode,
+                           final Transport transport,
+                           final int maxProspects,
+                           final long prospectTtlMillis,
+                           final long referenceTtlMillis) {
+        super(applicationCredentials, authorizationCode, transport);
+        this.prospects = new ExpiringLruCache<>(maxProspects, prospectTtlMillis, TimeUnit.MILLISECONDS);
+        this.pages = new ExpiringLruCache<>(MAX_PAGES, referenceTtlMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @param applicationCredentials
+     * @param authorizationCode
+     * @param transport
+     * @param endpoint
+     *            the API root, e.g. "https://api.outreach.io".
+     * @param version
+     *            the API version, e.g. "1.0".
+     * @param maxProspects
+     *            the most prospects held, least recently used are evicted.
+     * @param prospectTtlMillis
+     *            how long a fetched prospect is served from memory.
+     * @param referenceTtlMillis
+     *            how long a page of sequences or reference records is served
+     *            from memory.
+     */
+    public CachingOutreach(final ApplicationCredentials applicationCredentials,
+                           final String authorizationCode,
+                           final Transport transport,
+                           final String endpoint,
+                           final String version,
+                           final int maxProspects,
+                           final long prospectTtlMillis,
+                           final long referenceTtlMillis) {
+        super(applicationCredentials, authorizationCode, transport, endpoint, version);
+        this.prospects = new ExpiringLruCache<>(maxProspects, prospectTtlMillis, TimeUnit.MILLISECONDS);
+        this.pages = new ExpiringLruCache<>(MAX_PAGES, referenceTtlMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public JSONObject getProspect(final int prospectId) {
+        return prospects.get(prospectId, super::getProspect);
+    }
+
+    @Override
+    public JSONObject getSequences(final int page) {
+        return pages.get("/sequences" + new Query().page(page), key -> super.getSequences(page));
+    }
+
+    /**
+     * Pages of the {@link #REFERENCE_RESOURCES} are served from the cache,
+     * other collections are always fetched.
+     */
+    @Override
+    public JSONObject getPage(final String resource, final Query filters, final int page, final int pageSize) {
+        if (!REFERENCE_RESOURCES.contains(resource)) {
+            return super.getPage(resource, filters, page, pageSize);
+        }
+        return pages.get(resource + filters.copy().page(page).pageSize(pageSize),
+                         key -> super.getPage(resource, filters, page, pageSize));
+    }
+
+    @Override
+    public JSONObject modifyProspect(final int prospectId, final String prospectAttributes) {
+        try {
+            return super.modifyProspect(prospectId, prospectAttributes);
+        } finally {
+            prospects.invalidate(prospectId); // A failed write may still have been applied
+        }
+    }
+
+    @Override
+    public Prospect modifyProspect(final int prospectId, final Prospect changes) {
+        try {
+            return super.modifyProspect(prospectId, changes);
+        } finally {
+            prospects.invalidate(prospectId);
+        }
+    }
+
+    /**
+     * Evicts any entry held under the created prospect's identifier.
+     */
+    @Override
+    public JSONObject addProspect(final String prospect) {
+        final JSONObject response = super.addProspect(prospect);
+        final Object data = response == null ? null : response.get("data");
+        if (data instanceof JSONObject) {
+            final Long id = asId(((JSONObject) data).get("id"));
+            if (id != null) {
+                prospects.invalidate(id.intValue());
+            }
+        }
+        return response;
+    }
+
+    @Override
+    public Prospect addProspect(final Prospect prospect) {
+        final Prospect created = super.addProspect(prospect);
+        if (created != null && created.getId() != null) {
+            prospects.invalidate(created.getId().intValue());
+        }
+        return created;
+    }
+
+    /**
+     * Evicts the cached sequence pages and every enrolled prospect, whose
+     * sequence state changes with the enrollment.
+     */
+    @Override
+    public JSONObject addProspectsToSequence(final int sequenceId, final String payload) {
+        try {
+            return super.addProspectsToSequence(sequenceId, payload);
+        } finally {
+            pages.invalidateIf(key -> key.startsWith("/sequences"));
+            invalidateEnrolled(payload);
+        }
+    }
+
+    /**
+     * Evicts the cached sequence pages and every enrolled prospect, as
+     * {@link #addProspectsToSequence(int, String)} does.
+     */
+    @Override
+    public JSONObject addProspectsToSequence(final int sequenceId, final Iterable<Long> prospectIds) {
+        try {
+            return super.addProspectsToSequence(sequenceId, prospectIds);
+        } finally {
+            pages.invalidateIf(key -> key.startsWith("/sequences"));
+            for (Long prospectId : prospectIds) {
+                prospects.invalidate(prospectId.intValue());
+            }
+        }
+    }
+
+    /**
+     * @return hit and miss counts of the prospect cache.
+     */
+    public CacheStats getProspectStats() {
+        return prospects.getStats();
+    }
+
+    /**
+     * @return hit and miss counts of the sequence and reference page cache.
+     */
+    public CacheStats getPageStats() {
+        return pages.getStats();
+    }
+
+    /**
+     * Drops every cached entry.
+     */
+    public void invalidateAll() {
+        prospects.invalidateAll();
+        pages.invalidateAll();
+    }
+
+    private void invalidateEnrolled(final String payload) {
+        try {
+            final JSONObject data = (JSONObject) ((JSONObject) Json.parse(new StringReader(payload))).get("data");
+            final JSONObject relationships = (JSONObject) data.get("relationships");
+            for (Object prospect : (JSONArray) relationships.get("prospects")) {
+                final Long id = asId(((JSONObject) ((JSONObject) prospect).get("data")).get("id"));
+                if (id != null) {
+                    prospects.invalidate(id.intValue());
+                }
+            }
+        } catch (Exception exception) {
+            prospects.invalidateAll(); // Unrecognized payload, the enrolled prospects are unknown
+        }
+    }
+
+    private static Long asId(final Object id) {
+        if (id instanceof Number) {
+            return ((Number) id).longValue();
+        }
+        try {
+            return id == null ? null : Long.valueOf(id.toString());
+        } catch (NumberFormatException exception) {
+            return null;
+        }
+    }
+}
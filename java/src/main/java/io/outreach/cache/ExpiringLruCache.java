@@ -0,0 +1,221 @@
+package io.outreach.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Size-bounded, least-recently-used cache whose entries expire a fixed time
+ * after they are loaded. <br />
+ * <br />
+ * Concurrent misses on the same key share a single load, later callers wait
+ * for the first caller's result instead of invoking the loader again. An
+ * invalidation racing with a load wins, the loaded value is handed to its
+ * waiters but not stored, and a miss after the invalidation starts a load of
+ * its own rather than waiting on one which may predate it. <br />
+ * <br />
+ * <b>NOTE</b> Null values are returned to the caller but never cached.
+ *
+ * @param <K>
+ * @param <V>
+ */
+public class ExpiringLruCache<K, V> {
+
+    private final long ttlNanos;
+    private final LinkedHashMap<K, Timed<V>> entries;
+    private final ConcurrentHashMap<K, Load<V>> loading = new ConcurrentHashMap<>();
+
+    /**
+     * Incremented by every invalidation, guarded by this.
+     */
+    private long epoch = 0;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * @param maxEntries
+     *            the most entries held, least recently used entries are
+     *            evicted beyond it.
+     * @param ttl
+     *            how long an entry is served after it is loaded.
+     * @param unit
+     */
+    public ExpiringLruCache(final int maxEntries, final long ttl, final TimeUnit unit) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("maxEntries must be positive");
+        }
+        this.ttlNanos = unit.toNanos(ttl);
+        this.entries = new LinkedHashMap<K, Timed<V>>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<K, Timed<V>> eldest) {
+                if (size() > maxEntries) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached value for the key, loading it on a miss.
+     *
+     * @param key
+     * @param loader
+     *            computes the value on a miss, its exceptions propagate to
+     *            every caller waiting on the load.
+     */
+    public V get(final K key, final Function<? super K, ? extends V> loader) {
+        final long loadEpoch;
+        synchronized (this) {
+            final Timed<V> entry = entries.get(key);
+            if (entry != null) {
+                if (entry.expiresAt - System.nanoTime() > 0) {
+                    hits.increment();
+                    return entry.value;
+                }
+                entries.remove(key);
+            }
+            loadEpoch = epoch;
+        }
+        misses.increment();
+
+        final Load<V> load = new Load<>(loadEpoch);
+        while (true) {
+            final Load<V> existing = loading.putIfAbsent(key, load);
+            if (existing == null) {
+                break;
+            }
+            if (existing.epoch >= loadEpoch) {
+                return await(existing);
+            }
+            // Started before an invalidation seen by this caller, its value may be stale.
+            if (loading.replace(key, existing, load)) {
+                break;
+            }
+        }
+
+        try {
+            loads.increment();
+            final V value = loader.apply(key);
+            if (value != null) {
+                synchronized (this) {
+                    if (epoch == loadEpoch) {
+                        entries.put(key, new Timed<>(value, System.nanoTime() + ttlNanos));
+                    }
+                }
+            }
+            load.complete(value);
+            return value;
+        } catch (RuntimeException | Error failure) {
+            load.completeExceptionally(failure);
+            throw failure;
+        } finally {
+            loading.remove(key, load);
+        }
+    }
+
+    /**
+     * Returns the cached value for the key without loading it on a miss.
+     *
+     * @param key
+     * @return the value, or null if absent or expired.
+     */
+    public V getIfPresent(final K key) {
+        synchronized (this) {
+            final Timed<V> entry = entries.get(key);
+            if (entry != null) {
+                if (entry.expiresAt - System.nanoTime() > 0) {
+                    hits.increment();
+                    return entry.value;
+                }
+                entries.remove(key);
+            }
+        }
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * Stores a value known to be current, e.g. the response of a write.
+     */
+    public synchronized void put(final K key, final V value) {
+        epoch++;
+        entries.put(key, new Timed<>(value, System.nanoTime() + ttlNanos));
+    }
+
+    public synchronized void invalidate(final K key) {
+        epoch++;
+        entries.remove(key);
+    }
+
+    public synchronized void invalidateIf(final Predicate<? super K> condition) {
+        epoch++;
+        for (Iterator<K> keys = entries.keySet().iterator(); keys.hasNext();) {
+            if (condition.test(keys.next())) {
+                keys.remove();
+            }
+        }
+    }
+
+    public synchronized void invalidateAll() {
+        epoch++;
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public CacheStats getStats() {
+        return new CacheStats(hits.sum(), misses.sum(), loads.sum(), evictions.sum(), size());
+    }
+
+    private static <V> V await(final CompletableFuture<V> load) {
+        try {
+            return load.join();
+        } catch (CompletionException exception) {
+            final Throwable cause = exception.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw exception;
+        }
+    }
+
+    /**
+     * An in-flight load, tagged with the epoch it started in.
+     */
+    private static class Load<V> extends CompletableFuture<V> {
+        final long epoch;
+
+        Load(final long epoch) {
+            this.epoch = epoch;
+        }
+    }
+
+    private static class Timed<V> {
+        final V value;
+        final long expiresAt;
+
+        Timed(final V value, final long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
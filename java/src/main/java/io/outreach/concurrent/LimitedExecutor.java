@@ -0,0 +1,118 @@
+package io.outreach.concurrent;
+
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executor which caps the number of concurrently running tasks on top of a
+ * delegate executor. Tasks over the limit wait in an unbounded queue rather
+ * than on a thread, and are dispatched as running tasks complete. <br />
+ * <br />
+ * Once the delegate rejects a task no later dispatch can be relied upon, so
+ * the rejected task and every task queued behind it are failed with the
+ * {@link RejectedExecutionException}: a {@link Task} through its
+ * {@link Task#reject} hook, and a submission which observed the rejection by
+ * the exception being thrown. <br />
+ * <br />
+ * <b>NOTE</b> A plain {@link Runnable} has no way to be failed and is dropped,
+ * submit a {@link Task} when its caller waits on the outcome.
+ */
+public class LimitedExecutor implements Executor {
+
+    /**
+     * A task which can be failed without running.
+     */
+    public interface Task extends Runnable {
+
+        /**
+         * Called instead of {@link #run()} when the task will never run.
+         *
+         * @param exception
+         *            the delegate's rejection.
+         */
+        void reject(RejectedExecutionException exception);
+    }
+
+    private final Executor delegate;
+    private final int maxConcurrency;
+    private final ConcurrentLinkedDeque<Runnable> queue = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger running = new AtomicInteger();
+
+    public LimitedExecutor(final Executor delegate, final int maxConcurrency) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("maxConcurrency must be positive");
+        }
+        this.delegate = delegate;
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    @Override
+    public void execute(final Runnable task) {
+        queue.add(task);
+        dispatch();
+    }
+
+    private void dispatch() {
+        while (!queue.isEmpty()) {
+            final int current = running.get();
+            if (current >= maxConcurrency) {
+                return;
+            }
+            if (!running.compareAndSet(current, current + 1)) {
+                continue;
+            }
+            final Runnable task = queue.poll();
+            if (task == null) {
+                running.decrementAndGet();
+                continue;
+            }
+            try {
+                delegate.execute(() -> {
+                    try {
+                        task.run();
+                    } finally {
+                        running.decrementAndGet();
+                        try {
+                            dispatch();
+                        } catch (RejectedExecutionException exception) {
+                            // Already failed every queued task
+                        }
+                    }
+                });
+            } catch (RejectedExecutionException exception) {
+                running.decrementAndGet();
+                reject(task, exception);
+                for (Runnable queued = queue.poll(); queued != null; queued = queue.poll()) {
+                    reject(queued, exception);
+                }
+                throw exception;
+            }
+        }
+    }
+
+    private static void reject(final Runnable task, final RejectedExecutionException exception) {
+        if (task instanceof Task) {
+            ((Task) task).reject(exception);
+        }
+    }
+
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    /**
+     * @return the number of tasks currently executing.
+     */
+    public int getRunning() {
+        return running.get();
+    }
+
+    /**
+     * @return the number of tasks waiting for a free slot.
+     */
+    public int getQueued() {
+        return queue.size();
+    }
+}
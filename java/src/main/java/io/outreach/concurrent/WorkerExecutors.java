@@ -0,0 +1,61 @@
+package io.outreach.concurrent;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Factories for the executors the SDK runs blocking requests on.
+ */
+public final class WorkerExecutors {
+
+    private WorkerExecutors() {
+    }
+
+    /**
+     * Creates an executor for blocking I/O work. On runtimes with virtual
+     * threads (JDK 21+) each task gets its own virtual thread, otherwise an
+     * unbounded pool of daemon threads is used; callers are expected to bound
+     * concurrency with a {@link LimitedExecutor}.
+     *
+     * @param name
+     *            prefix for the worker thread names.
+     */
+    public static ExecutorService newWorkerExecutor(final String name) {
+        try {
+            final Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException unavailable) {
+            return Executors.newCachedThreadPool(daemonThreadFactory(name));
+        }
+    }
+
+    /**
+     * @return a lazily created worker executor shared by background work
+     *         which is bounded elsewhere, such as page prefetching.
+     */
+    public static ExecutorService shared() {
+        return Shared.INSTANCE;
+    }
+
+    /**
+     * @param name
+     *            prefix for the thread names.
+     * @return a thread factory producing daemon threads, so SDK workers never
+     *         hold the JVM open.
+     */
+    public static ThreadFactory daemonThreadFactory(final String name) {
+        final AtomicInteger sequence = new AtomicInteger();
+        return runnable -> {
+            final Thread thread = new Thread(runnable, name + "-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private static class Shared {
+        static final ExecutorService INSTANCE = newWorkerExecutor("outreach-worker");
+    }
+}
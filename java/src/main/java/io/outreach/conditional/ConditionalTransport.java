@@ -0,0 +1,184 @@
+package io.outreach.conditional;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.outreach.transport.Request;
+import io.outreach.transport.Response;
+import io.outreach.transport.Transport;
+import io.outreach.transport.TransportStats;
+
+/**
+ * {@link Transport} decorator revalidating GET requests against previously
+ * received responses, so an unchanged resource costs a 304 and no entity.
+ * <br />
+ * <br />
+ * Successful responses carrying an ETag or Last-Modified validator are stored
+ * in full, repeat requests for the same URL send If-None-Match and
+ * If-Modified-Since and a 304 is answered with the stored response. <br />
+ * <br />
+ * Entries are keyed by URL and a SHA-256 digest of the Authorization header,
+ * so a store shared between users or organizations never revalidates one
+ * credential's response on behalf of another. A refreshed access token starts
+ * a fresh set of entries. <br />
+ * <br />
+ * <b>NOTE</b> Stack this above
+ * {@link io.outreach.transport.CompressingTransport} so stored entities are
+ * already decoded.
+ */
+public class ConditionalTransport implements Transport {
+
+    /**
+     * Default size above which a response is passed through without being
+     * stored.
+     */
+    public static final int DEFAULT_MAX_ENTRY_BYTES = 1024 * 1024;
+
+    private static final ThreadLocal<MessageDigest> DIGEST = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException impossible) {
+            throw new IllegalStateException(impossible);
+        }
+    });
+
+    private final Transport delegate;
+    private final ResponseStore store;
+    private final int maxEntryBytes;
+
+    private final AtomicLong notModified = new AtomicLong();
+    private final AtomicLong bytesSaved = new AtomicLong();
+
+    public ConditionalTransport(final Transport delegate) {
+        this(delegate, new MemoryResponseStore(), DEFAULT_MAX_ENTRY_BYTES);
+    }
+
+    /**
+     * @param delegate
+     * @param store
+     *            holds the responses to revalidate.
+     * @param maxEntryBytes
+     *            the largest entity stored.
+     */
+    public ConditionalTransport(final Transport delegate, final ResponseStore store, final int maxEntryBytes) {
+        this.delegate = delegate;
+        this.store = store;
+        this.maxEntryBytes = maxEntryBytes;
+    }
+
+    @Override
+    public Response execute(final Request request) throws IOException {
+        if (!"GET".equals(request.getVerb()) || request.getHeader("X-HTTP-Method-Override") != null) {
+            return delegate.execute(request);
+        }
+
+        final String key = key(request);
+        final StoredResponse stored = store.get(key);
+        Request conditional = request;
+        if (stored != null) {
+            conditional = request.copy();
+            if (stored.getEtag() != null) {
+                conditional.header("If-None-Match", stored.getEtag());
+            }
+            if (stored.getLastModified() != null) {
+                conditional.header("If-Modified-Since", stored.getLastModified());
+            }
+        }
+
+        final Response response = delegate.execute(conditional);
+        if (response.getStatusCode() == 304 && stored != null) {
+            response.close();
+            notModified.incrementAndGet();
+            bytesSaved.addAndGet(stored.getBody().length);
+            return stored.toResponse();
+        }
+        if (response.getStatusCode() != 200) {
+            return response;
+        }
+
+        final String etag = response.getHeader("ETag");
+        final String lastModified = response.getHeader("Last-Modified");
+        if (etag == null && lastModified == null) {
+            store.remove(key);
+            return response;
+        }
+        return capture(key, response, etag, lastModified);
+    }
+
+    @Override
+    public TransportStats stats() {
+        return delegate.stats();
+    }
+
+    /**
+     * @return the number of requests answered from the store after a 304.
+     */
+    public long getNotModified() {
+        return notModified.get();
+    }
+
+    /**
+     * @return the entity bytes served from the store instead of the network.
+     */
+    public long getBytesSaved() {
+        return bytesSaved.get();
+    }
+
+    /**
+     * @return the request URL, prefixed with the digest of its credential.
+     */
+    static String key(final Request request) {
+        final String url = request.getUrl().toString();
+        final String authorization = request.getHeader("Authorization");
+        if (authorization == null) {
+            return url;
+        }
+        final byte[] digest = DIGEST.get().digest(authorization.getBytes(StandardCharsets.UTF_8));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(digest) + ' ' + url;
+    }
+
+    /**
+     * Buffers the entity to store it, or hands back the buffered prefix and
+     * the rest of the stream once it outgrows the entry limit.
+     */
+    private Response capture(final String key, final Response response, final String etag, final String lastModified) throws IOException {
+        final InputStream body = response.getBody();
+        final ByteArrayOutputStream buffer = new ByteArrayOutputStream(8192);
+        final byte[] chunk = new byte[8192];
+        try {
+            int read;
+            while ((read = body.read(chunk)) >= 0) {
+                buffer.write(chunk, 0, read);
+                if (buffer.size() > maxEntryBytes) {
+                    store.remove(key);
+                    final InputStream rest = new SequenceInputStream(new ByteArrayInputStream(buffer.toByteArray()), body);
+                    return new Response(response.getStatusCode(), response.getHeaders(), rest, () -> closeQuietly(response));
+                }
+            }
+        } catch (IOException | RuntimeException exception) {
+            response.close();
+            throw exception;
+        }
+        response.close();
+
+        final StoredResponse stored = new StoredResponse(response.getHeaders(), buffer.toByteArray(), etag, lastModified);
+        store.put(key, stored);
+        return stored.toResponse();
+    }
+
+    private static void closeQuietly(final Response response) {
+        try {
+            response.close();
+        } catch (IOException exception) {
+            // The entity stream has already been closed by the reader
+        }
+    }
+}
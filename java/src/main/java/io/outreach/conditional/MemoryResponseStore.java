@@ -0,0 +1,69 @@
+package io.outreach.conditional;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * {@link ResponseStore} in memory, bounded by the total size of the stored
+ * entities and evicting the least recently used first.
+ */
+public class MemoryResponseStore implements ResponseStore {
+
+    public static final long DEFAULT_MAX_BYTES = 16L * 1024 * 1024;
+
+    private final long maxBytes;
+    private final LinkedHashMap<String, StoredResponse> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long bytes = 0;
+
+    public MemoryResponseStore() {
+        this(DEFAULT_MAX_BYTES);
+    }
+
+    /**
+     * @param maxBytes
+     *            the most entity bytes held.
+     */
+    public MemoryResponseStore(final long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    @Override
+    public synchronized StoredResponse get(final String key) {
+        return entries.get(key);
+    }
+
+    @Override
+    public synchronized void put(final String key, final StoredResponse response) {
+        if (response.getBody().length > maxBytes) {
+            remove(key);
+            return;
+        }
+        final StoredResponse previous = entries.put(key, response);
+        if (previous != null) {
+            bytes -= previous.getBody().length;
+        }
+        bytes += response.getBody().length;
+
+        for (Iterator<Map.Entry<String, StoredResponse>> eldest = entries.entrySet().iterator(); bytes > maxBytes && eldest.hasNext();) {
+            bytes -= eldest.next().getValue().getBody().length;
+            eldest.remove();
+        }
+    }
+
+    @Override
+    public synchronized void remove(final String key) {
+        final StoredResponse previous = entries.remove(key);
+        if (previous != null) {
+            bytes -= previous.getBody().length;
+        }
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long getBytes() {
+        return bytes;
+    }
+}
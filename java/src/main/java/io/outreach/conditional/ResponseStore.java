@@ -0,0 +1,17 @@
+package io.outreach.conditional;
+
+/**
+ * Holds responses for {@link ConditionalTransport} to revalidate, keyed by
+ * request URL and a digest of the credential the request carried.
+ */
+public interface ResponseStore {
+
+    /**
+     * @return the stored response, or null.
+     */
+    StoredResponse get(String key);
+
+    void put(String key, StoredResponse response);
+
+    void remove(String key);
+}
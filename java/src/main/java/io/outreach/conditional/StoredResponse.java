@@ -0,0 +1,52 @@
+package io.outreach.conditional;
+
+import java.io.ByteArrayInputStream;
+import java.util.List;
+import java.util.Map;
+
+import io.outreach.transport.Response;
+
+/**
+ * A successful response held for revalidation, with the validators the server
+ * sent alongside it.
+ */
+public class StoredResponse {
+
+    private final Map<String, List<String>> headers;
+    private final byte[] body;
+    private final String etag;
+    private final String lastModified;
+
+    public StoredResponse(final Map<String, List<String>> headers,
+                          final byte[] body,
+                          final String etag,
+                          final String lastModified) {
+        this.headers = headers;
+        this.body = body;
+        this.etag = etag;
+        this.lastModified = lastModified;
+    }
+
+    public Map<String, List<String>> getHeaders() {
+        return headers;
+    }
+
+    public byte[] getBody() {
+        return body;
+    }
+
+    public String getEtag() {
+        return etag;
+    }
+
+    public String getLastModified() {
+        return lastModified;
+    }
+
+    /**
+     * @return the stored response replayed as a fresh 200 response.
+     */
+    public Response toResponse() {
+        return new Response(200, headers, new ByteArrayInputStream(body));
+    }
+}
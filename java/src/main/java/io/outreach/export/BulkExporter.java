@@ -0,0 +1,70 @@
+package io.outreach.export;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import io.outreach.Outreach;
+import io.outreach.Query;
+import io.outreach.json.RecordCodec;
+import io.outreach.model.AccountCodec;
+import io.outreach.model.CallCodec;
+import io.outreach.model.ProspectCodec;
+
+/**
+ * Streams every record of a collection endpoint into a record file, one page
+ * in memory at a time. <br />
+ * <br />
+ * Records are decoded from each page straight into their typed model and
+ * appended to the file, the pages themselves are never held as documents.
+ */
+public class BulkExporter {
+
+    private final Outreach outreach;
+
+    public BulkExporter(final Outreach outreach) {
+        this.outreach = outreach;
+    }
+
+    /**
+     * @param filters
+     *            query filters applied to every page.
+     * @param file
+     * @return the number of prospects written.
+     */
+    public long exportProspects(final Query filters, final Path file) throws IOException {
+        return export("/prospects", filters, ProspectCodec.INSTANCE, file);
+    }
+
+    public long exportAccounts(final Query filters, final Path file) throws IOException {
+        return export("/accounts", filters, AccountCodec.INSTANCE, file);
+    }
+
+    public long exportCalls(final Query filters, final Path file) throws IOException {
+        return export("/calls", filters, CallCodec.INSTANCE, file);
+    }
+
+    /**
+     * @param resource
+     *            the collection path relative to the API version.
+     * @param filters
+     * @param codec
+     *            decodes each record and encodes it into the file.
+     * @param file
+     * @return the number of records written.
+     */
+    public <T> long export(final String resource, final Query filters, final RecordCodec<T> codec, final Path file) throws IOException {
+        final RecordFileWriter<T> writer = new RecordFileWriter<>(file, codec);
+        try (Stream<T> records = outreach.stream(resource, filters, codec)) {
+            for (Iterator<T> iterator = records.iterator(); iterator.hasNext();) {
+                writer.write(iterator.next());
+            }
+        } catch (IOException | RuntimeException exception) {
+            writer.abandon(); // The records so far stay readable, the file is marked incomplete
+            throw exception;
+        }
+        writer.close();
+        return writer.getCount();
+    }
+}
@@ -0,0 +1,23 @@
+package io.outreach.export;
+
+/**
+ * Layout of the record files written by {@link RecordFileWriter}. <br />
+ * <br />
+ * A 16 byte header, the magic number, the format version, two reserved bytes
+ * and the record count, followed by each record as a 4 byte length and that
+ * many bytes of UTF-8 JSON. All integers are big-endian. The count is written
+ * when the file is closed and is {@link #INCOMPLETE} until then, so an
+ * interrupted export is recognizable and its complete records still readable.
+ */
+final class RecordFileFormat {
+
+    static final int MAGIC = 0x4F524558; // "OREX"
+    static final short VERSION = 1;
+    static final int HEADER_SIZE = 16;
+    static final int COUNT_OFFSET = 8;
+    static final long INCOMPLETE = -1;
+    static final int LENGTH_SIZE = 4;
+
+    private RecordFileFormat() {
+    }
+}
@@ -0,0 +1,230 @@
+package io.outreach.export;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import io.outreach.exception.OutreachSecurityException;
+import io.outreach.json.RecordCodec;
+
+/**
+ * Scans a file written by {@link RecordFileWriter} through memory mappings,
+ * exposing each record as a read-only view of the mapped bytes. <br />
+ * <br />
+ * The file is mapped in windows of at most {@link #MAX_WINDOW} bytes, so files
+ * of any size are scanned with a bounded address-space and heap footprint.
+ * Records are decoded only on request. <br />
+ * <br />
+ * <b>NOTE</b> A view returned by {@link #record()} is only valid until the next
+ * call to {@link #next()}.
+ */
+public class RecordFileReader implements Closeable {
+
+    static final int MAX_WINDOW = 1 << 30;
+
+    private final FileChannel channel;
+    private final int windowSize;
+    private final long size;
+    private final long count;
+
+    private MappedByteBuffer window = null;
+    private long windowStart = 0;
+    private long position = RecordFileFormat.HEADER_SIZE;
+    private ByteBuffer current = null;
+
+    public RecordFileReader(final Path file) throws IOException {
+        this(file, MAX_WINDOW);
+    }
+
+    /**
+     * @param file
+     * @param windowSize
+     *            the most bytes mapped at once, at least the largest record.
+     */
+    RecordFileReader(final Path file, final int windowSize) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        this.windowSize = windowSize;
+        try {
+            this.size = channel.size();
+            final ByteBuffer header = ByteBuffer.allocate(RecordFileFormat.HEADER_SIZE);
+            while (header.hasRemaining() && channel.read(header, header.position()) >= 0) {
+                // Read the full header
+            }
+            header.flip();
+            if (header.remaining() < RecordFileFormat.HEADER_SIZE || header.getInt() != RecordFileFormat.MAGIC) {
+                throw new IOException(file + " is not a record file");
+            }
+            final short version = header.getShort();
+            if (version != RecordFileFormat.VERSION) {
+                throw new IOException(file + " has unsupported version " + version);
+            }
+            header.getShort();
+            this.count = header.getLong();
+        } catch (IOException | RuntimeException exception) {
+            channel.close();
+            throw exception;
+        }
+    }
+
+    /**
+     * @return the number of records, or -1 if the export was interrupted
+     *         before it closed the file.
+     */
+    public long getCount() {
+        return count;
+    }
+
+    public boolean isComplete() {
+        return count != RecordFileFormat.INCOMPLETE;
+    }
+
+    /**
+     * Advances to the next record. A record cut short by an interrupted
+     * export ends the scan.
+     *
+     * @return whether there is a record.
+     */
+    public boolean next() throws IOException {
+        current = null;
+        if (size - position < RecordFileFormat.LENGTH_SIZE) {
+            return false;
+        }
+        final int length = slice(position, RecordFileFormat.LENGTH_SIZE).getInt();
+        final long end = position + RecordFileFormat.LENGTH_SIZE + length;
+        if (length < 0 || end > size) {
+            return false;
+        }
+        current = slice(position + RecordFileFormat.LENGTH_SIZE, length);
+        position = end;
+        return true;
+    }
+
+    /**
+     * @return the current record's UTF-8 JSON, a read-only view of the mapping.
+     */
+    public ByteBuffer record() {
+        if (current == null) {
+            throw new NoSuchElementException();
+        }
+        return current.duplicate();
+    }
+
+    /**
+     * Decodes the current record.
+     */
+    public <T> T decode(final RecordCodec<T> codec) throws IOException {
+        return codec.decodeRecord(new InputStreamReader(new BufferStream(record()), StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return a stream decoding every remaining record, closing the stream
+     *         closes the file.
+     */
+    public <T> Stream<T> stream(final RecordCodec<T> codec) {
+        final Iterator<T> records = new Iterator<T>() {
+            private Boolean ready = null;
+
+            @Override
+            public boolean hasNext() {
+                if (ready == null) {
+                    try {
+                        ready = RecordFileReader.this.next();
+                    } catch (IOException exception) {
+                        throw new OutreachSecurityException(exception);
+                    }
+                }
+                return ready;
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                ready = null;
+                try {
+                    return decode(codec);
+                } catch (IOException exception) {
+                    throw new OutreachSecurityException(exception);
+                }
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(records, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                            .onClose(() -> {
+                                try {
+                                    close();
+                                } catch (IOException exception) {
+                                    throw new OutreachSecurityException(exception);
+                                }
+                            });
+    }
+
+    @Override
+    public void close() throws IOException {
+        window = null; // Unmapped once collected
+        current = null;
+        channel.close();
+    }
+
+    /**
+     * @return a read-only view of the file region, remapping the window when
+     *         the region falls outside it.
+     */
+    private ByteBuffer slice(final long offset, final int length) throws IOException {
+        if (length > windowSize) {
+            throw new IOException("Record of " + length + " bytes exceeds the mapping window");
+        }
+        if (window == null || offset < windowStart || offset + length > windowStart + window.capacity()) {
+            windowStart = offset;
+            window = channel.map(FileChannel.MapMode.READ_ONLY, offset, Math.min(windowSize, size - offset));
+        }
+        final ByteBuffer view = window.duplicate();
+        view.position((int) (offset - windowStart));
+        view.limit(view.position() + length);
+        return view.slice().asReadOnlyBuffer();
+    }
+
+    /**
+     * Reads a buffer's remaining bytes without copying them to the heap first.
+     */
+    private static class BufferStream extends InputStream {
+        private final ByteBuffer buffer;
+
+        BufferStream(final ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xff : -1;
+        }
+
+        @Override
+        public int read(final byte[] bytes, final int offset, final int length) {
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            final int read = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, read);
+            return read;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package io.outreach.export;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import io.outreach.json.JsonWriter;
+import io.outreach.json.RecordCodec;
+
+/**
+ * Appends typed records to a length-prefixed record file, see
+ * {@link RecordFileReader} to scan it. <br />
+ * <br />
+ * Records are encoded into a reused buffer and handed to the file channel in
+ * large direct-buffer writes, so the heap held is one record and one block
+ * regardless of the size of the export.
+ *
+ * @param <T>
+ *            the record type.
+ */
+public class RecordFileWriter<T> implements Closeable {
+
+    private static final int BLOCK_SIZE = 1 << 20;
+
+    private final FileChannel channel;
+    private final RecordCodec<T> codec;
+    private final ByteBuffer block = ByteBuffer.allocateDirect(BLOCK_SIZE);
+
+    private final Encoded encoded = new Encoded();
+    private final Writer text = new OutputStreamWriter(encoded, StandardCharsets.UTF_8);
+    private final JsonWriter json = new JsonWriter(text);
+
+    private long count = 0;
+    private boolean closed = false;
+
+    /**
+     * Creates the file, replacing any existing file.
+     *
+     * @param file
+     * @param codec
+     *            encodes each record.
+     */
+    public RecordFileWriter(final Path file, final RecordCodec<T> codec) throws IOException {
+        this.channel = FileChannel.open(file,
+                                        StandardOpenOption.CREATE,
+                                        StandardOpenOption.TRUNCATE_EXISTING,
+                                        StandardOpenOption.WRITE);
+        this.codec = codec;
+        block.putInt(RecordFileFormat.MAGIC)
+             .putShort(RecordFileFormat.VERSION)
+             .putShort((short) 0)
+             .putLong(RecordFileFormat.INCOMPLETE);
+    }
+
+    public void write(final T record) throws IOException {
+        encoded.reset();
+        codec.writeRecord(record, json);
+        text.flush();
+
+        final int length = encoded.size();
+        if (block.remaining() < RecordFileFormat.LENGTH_SIZE + length) {
+            drain();
+        }
+        if (block.remaining() < RecordFileFormat.LENGTH_SIZE + length) {
+            // Larger than a block, write it straight through.
+            final ByteBuffer prefix = ByteBuffer.allocate(RecordFileFormat.LENGTH_SIZE).putInt(length);
+            prefix.flip();
+            writeFully(prefix);
+            writeFully(encoded.buffer());
+        } else {
+            block.putInt(length).put(encoded.bytes(), 0, length);
+        }
+        count++;
+    }
+
+    /**
+     * @return the number of records written.
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Writes the remaining records and the record count, marking the file
+     * complete. <br />
+     * <br />
+     * The records are forced to the device before the count is written, so a
+     * crash can leave the file marked incomplete but never counting records
+     * which were not stored.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            drain();
+            channel.force(false);
+            final ByteBuffer total = ByteBuffer.allocate(8).putLong(count);
+            total.flip();
+            while (total.hasRemaining()) {
+                channel.write(total, RecordFileFormat.COUNT_OFFSET + total.position());
+            }
+            channel.force(false);
+        } finally {
+            channel.close();
+        }
+    }
+
+    /**
+     * Closes the file without writing the record count, leaving it marked
+     * incomplete, e.g. when the source failed part way.
+     */
+    public void abandon() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            drain();
+        } finally {
+            channel.close();
+        }
+    }
+
+    private void drain() throws IOException {
+        block.flip();
+        writeFully(block);
+        block.clear();
+    }
+
+    private void writeFully(final ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /**
+     * Byte sink exposing its array, so encoded records are copied once, into
+     * the block.
+     */
+    private static class Encoded extends ByteArrayOutputStream {
+        Encoded() {
+            super(1024);
+        }
+
+        byte[] bytes() {
+            return buf;
+        }
+
+        ByteBuffer buffer() {
+            return ByteBuffer.wrap(buf, 0, count);
+        }
+    }
+}
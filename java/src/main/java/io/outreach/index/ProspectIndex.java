@@ -0,0 +1,309 @@
+package io.outreach.index;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import io.outreach.Outreach;
+import io.outreach.Query;
+import io.outreach.exception.OutreachSecurityException;
+import io.outreach.json.JsonWriter;
+import io.outreach.json.RecordReader;
+import io.outreach.model.Prospect;
+import io.outreach.model.ProspectCodec;
+import io.outreach.sync.DeltaSync;
+import io.outreach.sync.MemoryCheckpointStore;
+import io.outreach.sync.SyncResult;
+
+/**
+ * Local replica of an organization's prospects, answering the attribute
+ * filters of {@link Outreach#getProspects} from memory. <br />
+ * <br />
+ * The replica is kept fresh by {@link #sync()}, which pulls the prospects
+ * updated since the previous call and is meant to be scheduled by the caller.
+ * Lookups are served locally while the last sync is younger than the maximum
+ * staleness, and go to the API otherwise. Exact-match secondary indexes on
+ * email, first name, last name and company name are case-insensitive, like
+ * the API's filters. <br />
+ * <br />
+ * A snapshot of the replica, together with its sync checkpoint, may be saved
+ * to disk and loaded on the next start so only the changes since are pulled.
+ * <br />
+ * <br />
+ * <b>NOTE</b> Returned prospects are shared with the replica and must not be
+ * modified. Deletions are not visible to the delta sync, a deleted prospect
+ * remains until the replica is rebuilt.
+ */
+public class ProspectIndex {
+
+    private static final String SCOPE = "prospects";
+
+    private final Outreach outreach;
+    private final long maxStalenessNanos;
+    private final MemoryCheckpointStore checkpoints = new MemoryCheckpointStore();
+    private final DeltaSync sync;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Prospect> byId = new HashMap<>();
+    private final Map<String, Set<Long>> byEmail = new HashMap<>();
+    private final Map<String, Set<Long>> byFirstName = new HashMap<>();
+    private final Map<String, Set<Long>> byLastName = new HashMap<>();
+    private final Map<String, Set<Long>> byCompany = new HashMap<>();
+
+    /**
+     * {@link System#nanoTime()} of the last completed sync, 0 before the first.
+     */
+    private volatile long syncedAt = 0;
+
+    /**
+     * @param outreach
+     * @param maxStaleness
+     *            how long after a sync the replica answers lookups.
+     * @param unit
+     */
+    public ProspectIndex(final Outreach outreach, final long maxStaleness, final TimeUnit unit) {
+        this.outreach = outreach;
+        this.maxStalenessNanos = unit.toNanos(maxStaleness);
+        this.sync = new DeltaSync(outreach, checkpoints, SCOPE);
+    }
+
+    /**
+     * Pulls every prospect updated since the previous sync into the replica,
+     * or every prospect on the first call.
+     */
+    public SyncResult sync() {
+        final SyncResult result = sync.run(this::upsert);
+        syncedAt = System.nanoTime();
+        return result;
+    }
+
+    /**
+     * @return whether lookups would currently go to the API.
+     */
+    public boolean isStale() {
+        final long synced = syncedAt;
+        return synced == 0 || System.nanoTime() - synced > maxStalenessNanos;
+    }
+
+    /**
+     * Finds prospects matching every given filter, null filters are ignored.
+     * Answered from the replica unless it is stale.
+     *
+     * @param firstName
+     * @param lastName
+     * @param companyName
+     * @param email
+     */
+    public List<Prospect> find(final String firstName, final String lastName, final String companyName, final String email) {
+        if (!isStale()) {
+            return findLocal(firstName, lastName, companyName, email);
+        }
+
+        final Query filters = new Query()
+            .filter("personal/name/first", firstName)
+            .filter("personal/name/last", lastName)
+            .filter("contact/email", email)
+            .filter("company/name", companyName);
+        try (Stream<Prospect> prospects = outreach.stream("/prospects", filters, ProspectCodec.INSTANCE)) {
+            final List<Prospect> found = prospects.collect(Collectors.toList());
+            found.forEach(this::upsert);
+            return found;
+        }
+    }
+
+    /**
+     * @return whether a prospect with the email exists, the usual check
+     *         before creating one.
+     */
+    public boolean containsEmail(final String email) {
+        return !find(null, null, null, email).isEmpty();
+    }
+
+    /**
+     * Finds prospects matching every given filter in the replica alone,
+     * regardless of staleness.
+     */
+    public List<Prospect> findLocal(final String firstName, final String lastName, final String companyName, final String email) {
+        lock.readLock().lock();
+        try {
+            Set<Long> candidates = null;
+            candidates = narrow(candidates, byEmail, email);
+            candidates = narrow(candidates, byLastName, lastName);
+            candidates = narrow(candidates, byFirstName, firstName);
+            candidates = narrow(candidates, byCompany, companyName);
+
+            final Collection<Long> ids = candidates != null ? candidates : byId.keySet();
+            final List<Prospect> found = new ArrayList<>(ids.size());
+            for (Long id : ids) {
+                found.add(byId.get(id));
+            }
+            return found;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Prospect get(final long prospectId) {
+        lock.readLock().lock();
+        try {
+            return byId.get(prospectId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return byId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Adds or replaces a prospect in the replica, e.g. one just created
+     * through the API.
+     */
+    public void upsert(final Prospect prospect) {
+        if (prospect.getId() == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            final Prospect previous = byId.put(prospect.getId(), prospect);
+            if (previous != null) {
+                unindex(previous);
+            }
+            index(byEmail, prospect.getEmail(), prospect.getId());
+            index(byFirstName, prospect.getFirstName(), prospect.getId());
+            index(byLastName, prospect.getLastName(), prospect.getId());
+            index(byCompany, prospect.getCompanyName(), prospect.getId());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Writes every prospect and the sync checkpoint to the file, replacing it
+     * atomically.
+     */
+    public void save(final Path file) throws IOException {
+        final Path directory = file.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        final Path temporary = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+        try {
+            lock.readLock().lock();
+            try (Writer writer = Files.newBufferedWriter(temporary, StandardCharsets.UTF_8)) {
+                final JsonWriter out = new JsonWriter(writer);
+                out.beginObject().name("data").beginArray();
+                for (Prospect prospect : byId.values()) {
+                    ProspectCodec.INSTANCE.writeRecord(prospect, out);
+                }
+                out.endArray()
+                   .name("meta").beginObject().member("checkpoint", checkpoints.load(SCOPE)).endObject()
+                   .endObject();
+            } finally {
+                lock.readLock().unlock();
+            }
+            try {
+                Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException exception) {
+                Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    /**
+     * Loads a snapshot written by {@link #save(Path)}, the next sync pulls
+     * only the prospects updated since it was taken. The replica counts as
+     * stale until then.
+     */
+    public void load(final Path file) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8);
+             RecordReader<Prospect> records = ProspectCodec.INSTANCE.reader(reader)) {
+            while (records.hasNext()) {
+                upsert(records.next());
+            }
+            records.skipToEnd();
+            final Object checkpoint = records.getMeta() == null ? null : records.getMeta().get("checkpoint");
+            if (checkpoint != null) {
+                checkpoints.save(SCOPE, checkpoint.toString());
+            }
+        } catch (OutreachSecurityException exception) {
+            throw new IOException("Unreadable prospect snapshot " + file, exception);
+        }
+    }
+
+    /**
+     * @return the candidates also matching the filter, or the candidates
+     *         unchanged when the filter is null.
+     */
+    private static Set<Long> narrow(final Set<Long> candidates, final Map<String, Set<Long>> index, final String value) {
+        if (value == null) {
+            return candidates;
+        }
+        final Set<Long> matches = index.getOrDefault(key(value), Collections.<Long>emptySet());
+        if (candidates == null) {
+            return matches;
+        }
+        final Set<Long> smaller = candidates.size() <= matches.size() ? candidates : matches;
+        final Set<Long> larger = smaller == candidates ? matches : candidates;
+        final Set<Long> both = new HashSet<>(smaller.size());
+        for (Long id : smaller) {
+            if (larger.contains(id)) {
+                both.add(id);
+            }
+        }
+        return both;
+    }
+
+    private void unindex(final Prospect prospect) {
+        unindex(byEmail, prospect.getEmail(), prospect.getId());
+        unindex(byFirstName, prospect.getFirstName(), prospect.getId());
+        unindex(byLastName, prospect.getLastName(), prospect.getId());
+        unindex(byCompany, prospect.getCompanyName(), prospect.getId());
+    }
+
+    private static void index(final Map<String, Set<Long>> index, final String value, final Long id) {
+        if (value != null) {
+            index.computeIfAbsent(key(value), key -> new HashSet<>(2)).add(id);
+        }
+    }
+
+    private static void unindex(final Map<String, Set<Long>> index, final String value, final Long id) {
+        if (value == null) {
+            return;
+        }
+        final String key = key(value);
+        final Set<Long> ids = index.get(key);
+        if (ids != null && ids.remove(id) && ids.isEmpty()) {
+            index.remove(key);
+        }
+    }
+
+    private static String key(final String value) {
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,57 @@
+package io.outreach.json;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A set of attribute paths to decode, e.g. "id" or
+ * "attributes/contact/email". Selecting a path keeps its whole subtree, and
+ * the objects enclosing it are kept with only the selected members.
+ */
+public final class FieldSelection {
+
+    /**
+     * Selects every field.
+     */
+    public static final FieldSelection ALL = new FieldSelection();
+
+    private final Map<String, FieldSelection> children = new HashMap<>();
+
+    private FieldSelection() {
+    }
+
+    /**
+     * @param paths
+     *            '/' separated attribute paths, or null to select everything.
+     */
+    public static FieldSelection of(final Collection<String> paths) {
+        if (paths == null) {
+            return ALL;
+        }
+        final FieldSelection root = new FieldSelection();
+        for (String path : paths) {
+            final String[] keys = path.split("/");
+            FieldSelection node = root;
+            for (int i = 0; i < keys.length; i++) {
+                if (node == ALL) {
+                    break;
+                }
+                if (i == keys.length - 1) {
+                    node.children.put(keys[i], ALL);
+                } else {
+                    node = node.children.computeIfAbsent(keys[i], key -> new FieldSelection());
+                }
+            }
+        }
+        return root;
+    }
+
+    /**
+     * @param key
+     * @return the selection within the member, or null if it is not selected.
+     */
+    public FieldSelection child(final String key) {
+        return this == ALL ? ALL : children.get(key);
+    }
+}
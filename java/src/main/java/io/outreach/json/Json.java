@@ -0,0 +1,58 @@
+package io.outreach.json;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.json.simple.parser.JSONParser;
+import org.json.simple.parser.ParseException;
+
+/**
+ * Pooled json-simple parsers. {@code JSONValue.parse} creates a new parser,
+ * and with it a 16K lexer buffer, for every document; parsers borrowed from
+ * the pool keep their buffers between documents.
+ */
+public final class Json {
+
+    private static final int MAX_POOLED = 64;
+
+    private static final ConcurrentLinkedQueue<JSONParser> POOL = new ConcurrentLinkedQueue<>();
+    private static final AtomicInteger POOLED = new AtomicInteger();
+
+    private Json() {
+    }
+
+    /**
+     * Parses a complete JSON document.
+     *
+     * @param reader
+     * @return a JSONObject, JSONArray, String, Number, Boolean or null.
+     */
+    public static Object parse(final Reader reader) throws IOException, ParseException {
+        final JSONParser parser = borrow();
+        try {
+            return parser.parse(reader);
+        } finally {
+            release(parser);
+        }
+    }
+
+    static JSONParser borrow() {
+        final JSONParser parser = POOL.poll();
+        if (parser == null) {
+            return new JSONParser();
+        }
+        POOLED.decrementAndGet();
+        return parser;
+    }
+
+    static void release(final JSONParser parser) {
+        parser.reset(null); // Drops the reference to the reader, the buffer is kept.
+        if (POOLED.incrementAndGet() <= MAX_POOLED) {
+            POOL.offer(parser);
+        } else {
+            POOLED.decrementAndGet();
+        }
+    }
+}
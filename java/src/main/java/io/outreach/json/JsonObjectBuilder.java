@@ -0,0 +1,129 @@
+package io.outreach.json;
+
+import java.util.ArrayDeque;
+
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+
+/**
+ * Builds records as json-simple objects, keeping only the selected fields.
+ */
+class JsonObjectBuilder implements RecordBuilder<JSONObject> {
+
+    private final FieldSelection fields;
+    private final ArrayDeque<Frame> frames = new ArrayDeque<>();
+
+    /**
+     * Nesting depth within a value outside the selection.
+     */
+    private int skipping = 0;
+
+    JsonObjectBuilder(final FieldSelection fields) {
+        this.fields = fields;
+    }
+
+    @Override
+    public void startRecord() {
+        frames.clear();
+        skipping = 0;
+        frames.push(new Frame(new JSONObject(), fields));
+    }
+
+    @Override
+    public void startObject() {
+        if (skipping > 0) {
+            skipping++;
+        } else {
+            open(new JSONObject());
+        }
+    }
+
+    @Override
+    public void endObject() {
+        if (skipping > 0) {
+            skipping--;
+        } else {
+            frames.pop();
+        }
+    }
+
+    @Override
+    public void startArray() {
+        if (skipping > 0) {
+            skipping++;
+        } else {
+            open(new JSONArray());
+        }
+    }
+
+    @Override
+    public void endArray() {
+        endObject();
+    }
+
+    @Override
+    public void key(final String key) {
+        if (skipping == 0) {
+            final Frame frame = frames.peek();
+            frame.key = key;
+            frame.valueSelection = frame.selection.child(key);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void value(final Object value) {
+        if (skipping > 0) {
+            return;
+        }
+        final Frame frame = frames.peek();
+        if (frame.container instanceof JSONArray) {
+            ((JSONArray) frame.container).add(value);
+        } else if (frame.valueSelection != null) {
+            ((JSONObject) frame.container).put(frame.key, value);
+        }
+    }
+
+    @Override
+    public JSONObject endRecord() {
+        final JSONObject record = (JSONObject) frames.pop().container;
+        frames.clear();
+        return record;
+    }
+
+    /**
+     * Attaches a nested container to the current frame, or skips it when it
+     * falls outside the selection.
+     */
+    @SuppressWarnings("unchecked")
+    private void open(final Object container) {
+        final Frame parent = frames.peek();
+        final FieldSelection selection;
+        if (parent.container instanceof JSONArray) {
+            ((JSONArray) parent.container).add(container);
+            selection = parent.selection;
+        } else if (parent.valueSelection != null) {
+            ((JSONObject) parent.container).put(parent.key, container);
+            selection = parent.valueSelection;
+        } else {
+            skipping = 1;
+            return;
+        }
+        frames.push(new Frame(container, selection));
+    }
+
+    /**
+     * A container being decoded, with the selection applying to its members.
+     */
+    private static class Frame {
+        final Object container;
+        final FieldSelection selection;
+        String key = null;
+        FieldSelection valueSelection = null;
+
+        Frame(final Object container, final FieldSelection selection) {
+            this.container = container;
+            this.selection = selection;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package io.outreach.json;
+
+import java.io.Reader;
+import java.util.Collection;
+
+import org.json.simple.JSONObject;
+
+/**
+ * {@link RecordReader} producing each record as a json-simple object holding
+ * only the selected fields; members outside the selection are lexed but never
+ * built.
+ */
+public class JsonRecordReader extends RecordReader<JSONObject> {
+
+    public JsonRecordReader(final Reader reader) {
+        this(reader, (FieldSelection) null);
+    }
+
+    /**
+     * @param reader
+     * @param fields
+     *            attribute paths to decode within each record, or null for all.
+     */
+    public JsonRecordReader(final Reader reader, final Collection<String> fields) {
+        this(reader, FieldSelection.of(fields));
+    }
+
+    public JsonRecordReader(final Reader reader, final FieldSelection fields) {
+        super(reader, new JsonObjectBuilder(fields != null ? fields : FieldSelection.ALL));
+    }
+}
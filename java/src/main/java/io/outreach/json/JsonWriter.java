@@ -0,0 +1,196 @@
+package io.outreach.json;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Minimal streaming JSON writer, emitting tokens straight to the underlying
+ * writer without building a document first. <br />
+ * <br />
+ * <b>NOTE</b> The writer tracks separators only, it does not validate that
+ * members and values are written in a well-formed order.
+ */
+public class JsonWriter {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+    private static final int MAX_DEPTH = 64;
+
+    private final Writer out;
+
+    /**
+     * Whether the container at each depth already holds a member.
+     */
+    private final boolean[] populated = new boolean[MAX_DEPTH];
+    private int depth = 0;
+    private boolean afterName = false;
+
+    public JsonWriter(final Writer out) {
+        this.out = out;
+    }
+
+    public JsonWriter beginObject() throws IOException {
+        open('{');
+        return this;
+    }
+
+    public JsonWriter endObject() throws IOException {
+        depth--;
+        out.write('}');
+        return this;
+    }
+
+    public JsonWriter beginArray() throws IOException {
+        open('[');
+        return this;
+    }
+
+    public JsonWriter endArray() throws IOException {
+        depth--;
+        out.write(']');
+        return this;
+    }
+
+    /**
+     * Writes the name of the next object member.
+     */
+    public JsonWriter name(final String name) throws IOException {
+        separate();
+        string(name);
+        out.write(':');
+        afterName = true;
+        return this;
+    }
+
+    public JsonWriter value(final String value) throws IOException {
+        separate();
+        if (value == null) {
+            out.write("null");
+        } else {
+            string(value);
+        }
+        return this;
+    }
+
+    public JsonWriter value(final Number value) throws IOException {
+        separate();
+        out.write(value == null ? "null" : value.toString());
+        return this;
+    }
+
+    public JsonWriter value(final long value) throws IOException {
+        separate();
+        out.write(Long.toString(value));
+        return this;
+    }
+
+    public JsonWriter value(final Boolean value) throws IOException {
+        separate();
+        out.write(value == null ? "null" : value.booleanValue() ? "true" : "false");
+        return this;
+    }
+
+    /**
+     * Writes the member only when the value is present.
+     */
+    public JsonWriter member(final String name, final String value) throws IOException {
+        return value == null ? this : name(name).value(value);
+    }
+
+    public JsonWriter member(final String name, final Number value) throws IOException {
+        return value == null ? this : name(name).value(value);
+    }
+
+    public JsonWriter member(final String name, final Boolean value) throws IOException {
+        return value == null ? this : name(name).value(value);
+    }
+
+    /**
+     * Writes the member as an array of strings, null elements included, only
+     * when the list is present.
+     */
+    public JsonWriter member(final String name, final Iterable<String> values) throws IOException {
+        if (values == null) {
+            return this;
+        }
+        name(name).beginArray();
+        for (String value : values) {
+            value(value);
+        }
+        return endArray();
+    }
+
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    private void open(final char token) throws IOException {
+        separate();
+        if (depth == MAX_DEPTH - 1) {
+            throw new IllegalStateException("Nesting deeper than " + (MAX_DEPTH - 1));
+        }
+        out.write(token);
+        populated[++depth] = false;
+    }
+
+    /**
+     * Writes the comma preceding a member or element, unless it follows its
+     * member name or opens its container.
+     */
+    private void separate() throws IOException {
+        if (afterName) {
+            afterName = false;
+            return;
+        }
+        if (depth > 0) {
+            if (populated[depth]) {
+                out.write(',');
+            }
+            populated[depth] = true;
+        }
+    }
+
+    private void string(final String value) throws IOException {
+        out.write('"');
+        int start = 0;
+        final int length = value.length();
+        for (int i = 0; i < length; i++) {
+            final char c = value.charAt(i);
+            if (c >= 0x20 && c != '"' && c != '\\' && c != '\u2028' && c != '\u2029') {
+                continue;
+            }
+            out.write(value, start, i - start);
+            start = i + 1;
+            switch (c) {
+            case '"':
+                out.write("\\\"");
+                break;
+            case '\\':
+                out.write("\\\\");
+                break;
+            case '\n':
+                out.write("\\n");
+                break;
+            case '\r':
+                out.write("\\r");
+                break;
+            case '\t':
+                out.write("\\t");
+                break;
+            case '\b':
+                out.write("\\b");
+                break;
+            case '\f':
+                out.write("\\f");
+                break;
+            default:
+                out.write("\\u");
+                out.write(HEX[c >> 12 & 0xf]);
+                out.write(HEX[c >> 8 & 0xf]);
+                out.write(HEX[c >> 4 & 0xf]);
+                out.write(HEX[c & 0xf]);
+            }
+        }
+        out.write(value, start, length - start);
+        out.write('"');
+    }
+}
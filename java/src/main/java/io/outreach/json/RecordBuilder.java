@@ -0,0 +1,40 @@
+package io.outreach.json;
+
+/**
+ * Receives the parse events of a single record from a {@link RecordReader}
+ * and assembles the record from them. The record's own braces are reported as
+ * {@link #startRecord()} and {@link #endRecord()}, every nested value in
+ * between is reported as it is lexed.
+ *
+ * @param <T>
+ *            the record type produced.
+ */
+public interface RecordBuilder<T> {
+
+    void startRecord();
+
+    void startObject();
+
+    void endObject();
+
+    void startArray();
+
+    void endArray();
+
+    /**
+     * @param key
+     *            the name of the object member whose value follows.
+     */
+    void key(String key);
+
+    /**
+     * @param value
+     *            a String, Long, Double, Boolean or null.
+     */
+    void value(Object value);
+
+    /**
+     * @return the completed record.
+     */
+    T endRecord();
+}
@@ -0,0 +1,380 @@
+package io.outreach.json;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+import org.json.simple.parser.ContentHandler;
+import org.json.simple.parser.JSONParser;
+import org.json.simple.parser.ParseException;
+
+/**
+ * Maps an API resource onto a typed record class without an intermediate
+ * document tree. <br />
+ * <br />
+ * Decoding walks a trie of the registered attribute paths as the parser
+ * reports each token, assigning primitives straight to the record and skipping
+ * members nobody registered. Encoding is left to subclasses, which write the
+ * record's attributes token by token with a {@link JsonWriter}.
+ *
+ * @param <T>
+ *            the record type.
+ */
+public abstract class RecordCodec<T> {
+
+    private final Supplier<T> factory;
+    private final Node<T> root = new Node<>();
+
+    /**
+     * @param factory
+     *            creates an empty record to decode into.
+     */
+    protected RecordCodec(final Supplier<T> factory) {
+        this.factory = factory;
+    }
+
+    /**
+     * Registers a primitive member.
+     *
+     * @param path
+     *            '/' separated path within the record, e.g.
+     *            "attributes/contact/email".
+     * @param setter
+     *            receives the decoded String, Long, Double, Boolean or null.
+     */
+    protected final void field(final String path, final BiConsumer<T, Object> setter) {
+        node(path).setter = setter;
+    }
+
+    /**
+     * Registers an array of primitives, the adder receives each element in
+     * turn.
+     */
+    protected final void list(final String path, final BiConsumer<T, Object> adder) {
+        final Node<T> node = node(path);
+        node.setter = adder;
+        node.list = true;
+    }
+
+    /**
+     * Writes the record's {@code attributes} object.
+     *
+     * @param record
+     * @param out
+     */
+    public abstract void writeAttributes(T record, JsonWriter out) throws IOException;
+
+    /**
+     * Writes the record as an element of a response's {@code data} array, in
+     * the form {@link #reader(Reader)} decodes. Subclasses include the
+     * server-assigned members left out of request entities.
+     *
+     * @param record
+     * @param out
+     */
+    public void writeRecord(final T record, final JsonWriter out) throws IOException {
+        out.beginObject().name("attributes");
+        writeAttributes(record, out);
+        out.endObject();
+    }
+
+    /**
+     * Writes the record as a request entity, {@code {"data":{"attributes":...}}}.
+     *
+     * @param record
+     * @param out
+     */
+    public void encode(final T record, final Writer out) throws IOException {
+        final JsonWriter json = new JsonWriter(out);
+        json.beginObject().name("data").beginObject().name("attributes");
+        writeAttributes(record, json);
+        json.endObject().endObject();
+    }
+
+    /**
+     * @return the record as a request entity.
+     */
+    public String encode(final T record) {
+        final StringWriter out = new StringWriter(256);
+        try {
+            encode(record, out);
+        } catch (IOException exception) {
+            throw new IllegalStateException(exception); // StringWriter does not throw
+        }
+        return out.toString();
+    }
+
+    /**
+     * @return a cursor decoding each record of a response.
+     */
+    public RecordReader<T> reader(final Reader in) {
+        return new RecordReader<>(in, builder());
+    }
+
+    /**
+     * Decodes a single-record response.
+     *
+     * @return the record, or null if the response holds none.
+     */
+    public T decode(final Reader in) throws IOException {
+        try (RecordReader<T> records = reader(in)) {
+            return records.hasNext() ? records.next() : null;
+        }
+    }
+
+    /**
+     * Decodes a bare record, as written by {@link #writeRecord}, rather than a
+     * response document.
+     */
+    public T decodeRecord(final Reader in) throws IOException {
+        final RecordBuilder<T> builder = builder();
+        final JSONParser parser = Json.borrow();
+        try {
+            final BareRecordHandler<T> handler = new BareRecordHandler<>(builder);
+            parser.parse(in, handler);
+            return handler.record;
+        } catch (ParseException exception) {
+            throw new IOException("Malformed record", exception);
+        } finally {
+            Json.release(parser);
+        }
+    }
+
+    /**
+     * @return a fresh builder assembling records from parse events.
+     */
+    public RecordBuilder<T> builder() {
+        return new TypedBuilder();
+    }
+
+    private Node<T> node(final String path) {
+        Node<T> node = root;
+        for (String key : path.split("/")) {
+            Node<T> child = node.children.get(key);
+            if (child == null) {
+                child = new Node<>();
+                node.children.put(key, child);
+            }
+            node = child;
+        }
+        return node;
+    }
+
+    protected static String asString(final Object value) {
+        return value == null ? null : value.toString();
+    }
+
+    /**
+     * @return the value as a Long, parsing numeric strings, or null if it is
+     *         not a whole number.
+     */
+    protected static Long asLong(final Object value) {
+        if (value instanceof Long) {
+            return (Long) value;
+        }
+        if (value instanceof Number) {
+            return ((Number) value).longValue();
+        }
+        if (value instanceof String) {
+            try {
+                return Long.valueOf((String) value);
+            } catch (NumberFormatException exception) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    protected static Boolean asBoolean(final Object value) {
+        if (value instanceof Boolean) {
+            return (Boolean) value;
+        }
+        return value instanceof String ? Boolean.valueOf((String) value) : null;
+    }
+
+    /**
+     * Forwards the events of a document holding a single record to a builder.
+     */
+    private static class BareRecordHandler<T> implements ContentHandler {
+        private final RecordBuilder<T> builder;
+        private int depth = 0;
+        private T record = null;
+
+        BareRecordHandler(final RecordBuilder<T> builder) {
+            this.builder = builder;
+        }
+
+        @Override
+        public void startJSON() {
+        }
+
+        @Override
+        public void endJSON() {
+        }
+
+        @Override
+        public boolean startObject() {
+            if (depth++ == 0) {
+                builder.startRecord();
+            } else {
+                builder.startObject();
+            }
+            return true;
+        }
+
+        @Override
+        public boolean endObject() {
+            if (--depth == 0) {
+                record = builder.endRecord();
+            } else {
+                builder.endObject();
+            }
+            return true;
+        }
+
+        @Override
+        public boolean startArray() {
+            depth++;
+            builder.startArray();
+            return true;
+        }
+
+        @Override
+        public boolean endArray() {
+            depth--;
+            builder.endArray();
+            return true;
+        }
+
+        @Override
+        public boolean startObjectEntry(final String key) {
+            builder.key(key);
+            return true;
+        }
+
+        @Override
+        public boolean endObjectEntry() {
+            return true;
+        }
+
+        @Override
+        public boolean primitive(final Object value) {
+            if (depth > 0) {
+                builder.value(value);
+            }
+            return true;
+        }
+    }
+
+    /**
+     * A registered path segment.
+     */
+    private static class Node<T> {
+        final Map<String, Node<T>> children = new HashMap<>();
+        BiConsumer<T, Object> setter = null;
+        boolean list = false;
+    }
+
+    /**
+     * Follows the parse events through the path trie, holding only the record
+     * being decoded and the stack of open containers.
+     */
+    private class TypedBuilder implements RecordBuilder<T> {
+        private final ArrayDeque<Node<T>> path = new ArrayDeque<>();
+        private T record = null;
+
+        /**
+         * The registered node of the member whose value comes next.
+         */
+        private Node<T> pending = null;
+
+        /**
+         * Whether the innermost open container is a registered list.
+         */
+        private boolean inList = false;
+
+        /**
+         * Nesting depth within an unregistered value.
+         */
+        private int skipping = 0;
+
+        @Override
+        public void startRecord() {
+            record = factory.get();
+            path.clear();
+            path.push(root);
+            pending = null;
+            inList = false;
+            skipping = 0;
+        }
+
+        @Override
+        public void startObject() {
+            if (skipping > 0 || inList || pending == null || pending.children.isEmpty()) {
+                skipping++;
+                return;
+            }
+            path.push(pending);
+            pending = null;
+        }
+
+        @Override
+        public void endObject() {
+            if (skipping > 0) {
+                skipping--;
+            } else {
+                path.pop();
+            }
+        }
+
+        @Override
+        public void startArray() {
+            if (skipping > 0 || inList || pending == null || !pending.list) {
+                skipping++;
+                return;
+            }
+            inList = true;
+        }
+
+        @Override
+        public void endArray() {
+            if (skipping > 0) {
+                skipping--;
+            } else {
+                inList = false;
+                pending = null;
+            }
+        }
+
+        @Override
+        public void key(final String key) {
+            if (skipping == 0) {
+                pending = path.peek().children.get(key);
+            }
+        }
+
+        @Override
+        public void value(final Object value) {
+            if (skipping > 0 || pending == null || pending.setter == null) {
+                return;
+            }
+            pending.setter.accept(record, value);
+            if (!inList) {
+                pending = null;
+            }
+        }
+
+        @Override
+        public T endRecord() {
+            final T completed = record;
+            record = null;
+            return completed;
+        }
+    }
+}
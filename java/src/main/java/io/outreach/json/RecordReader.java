@@ -0,0 +1,284 @@
+package io.outreach.json;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import org.json.simple.JSONObject;
+import org.json.simple.parser.ContentHandler;
+import org.json.simple.parser.JSONParser;
+import org.json.simple.parser.ParseException;
+
+import io.outreach.exception.OutreachSecurityException;
+
+/**
+ * Cursor over the records of an API response, decoding one element of the
+ * top-level {@code data} member at a time straight from the response stream.
+ * <br />
+ * <br />
+ * Only the current record is assembled, by the given {@link RecordBuilder},
+ * and the rest of the document is lexed without building any values. The
+ * top-level {@code meta} and {@code links} members are decoded in full and
+ * available once the records before them have been read. A single-record
+ * response, whose {@code data} is an object, yields one record.
+ *
+ * @param <T>
+ *            the record type produced by the builder.
+ */
+public class RecordReader<T> implements Iterator<T>, Closeable {
+
+    private final Reader reader;
+    private final OuterHandler handler;
+    private JSONParser parser;
+
+    private T next = null;
+    private boolean started = false;
+    private boolean finished = false;
+
+    public RecordReader(final Reader reader, final RecordBuilder<T> builder) {
+        this.reader = reader;
+        this.handler = new OuterHandler(builder);
+        this.parser = Json.borrow();
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next != null) {
+            return true;
+        }
+        if (finished) {
+            return false;
+        }
+        try {
+            parser.parse(reader, handler, started);
+            started = true;
+        } catch (IOException | ParseException exception) {
+            finish();
+            throw new OutreachSecurityException(exception);
+        }
+        next = handler.take();
+        if (next == null) {
+            finish();
+        }
+        return next != null;
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        final T record = next;
+        next = null;
+        return record;
+    }
+
+    /**
+     * Reads past any remaining records to the end of the document.
+     */
+    public void skipToEnd() {
+        handler.discardRecords = true;
+        while (hasNext()) {
+            next();
+        }
+    }
+
+    /**
+     * @return the response's {@code meta} member, or null if it has not been
+     *         read yet (see {@link #skipToEnd()}).
+     */
+    public JSONObject getMeta() {
+        return handler.meta;
+    }
+
+    /**
+     * @return the response's {@code links} member, or null if it has not been
+     *         read yet.
+     */
+    public JSONObject getLinks() {
+        return handler.links;
+    }
+
+    @Override
+    public void close() throws IOException {
+        finish();
+        reader.close();
+    }
+
+    private void finish() {
+        finished = true;
+        if (parser != null) {
+            Json.release(parser);
+            parser = null;
+        }
+    }
+
+    /**
+     * Tracks the document structure around the records, forwarding the events
+     * within a record to its builder and pausing the parser each time a record
+     * is complete.
+     */
+    private class OuterHandler implements ContentHandler {
+        private static final String RECORD = "data";
+
+        private final RecordBuilder<T> records;
+
+        /**
+         * Depth of the outer document: 1 within the root object, 2 within the
+         * data array.
+         */
+        private int depth = 0;
+        private String topKey = null;
+
+        /**
+         * Nesting depth within a skipped value.
+         */
+        private int skipping = 0;
+
+        /**
+         * Nesting depth within the value being built, 1 at its own braces.
+         */
+        private int building = 0;
+        private RecordBuilder<?> active = null;
+        private String role = null;
+
+        private T completed = null;
+        private boolean discardRecords = false;
+        private JSONObject meta = null;
+        private JSONObject links = null;
+
+        OuterHandler(final RecordBuilder<T> records) {
+            this.records = records;
+        }
+
+        T take() {
+            final T record = completed;
+            completed = null;
+            return record;
+        }
+
+        @Override
+        public void startJSON() {
+        }
+
+        @Override
+        public void endJSON() {
+        }
+
+        @Override
+        public boolean startObject() {
+            if (skipping > 0) {
+                skipping++;
+            } else if (building > 0) {
+                building++;
+                active.startObject();
+            } else if (depth == 0) {
+                depth = 1;
+            } else if (depth == 1 && RECORD.equals(topKey) || depth == 2) {
+                if (discardRecords) {
+                    skipping = 1;
+                } else {
+                    begin(records, RECORD);
+                }
+            } else if (depth == 1 && ("meta".equals(topKey) || "links".equals(topKey))) {
+                begin(new JsonObjectBuilder(FieldSelection.ALL), topKey);
+            } else {
+                skipping = 1;
+            }
+            return true;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public boolean endObject() {
+            if (skipping > 0) {
+                skipping--;
+                return true;
+            }
+            if (building == 0) {
+                depth = 0;
+                return true;
+            }
+            if (--building > 0) {
+                active.endObject();
+                return true;
+            }
+
+            final Object value = active.endRecord();
+            active = null;
+            if (RECORD.equals(role)) {
+                completed = (T) value;
+                return false;
+            }
+            if ("meta".equals(role)) {
+                meta = (JSONObject) value;
+            } else {
+                links = (JSONObject) value;
+            }
+            return true;
+        }
+
+        @Override
+        public boolean startArray() {
+            if (skipping > 0) {
+                skipping++;
+            } else if (building > 0) {
+                building++;
+                active.startArray();
+            } else if (depth == 1 && RECORD.equals(topKey)) {
+                depth = 2;
+            } else {
+                skipping = 1;
+            }
+            return true;
+        }
+
+        @Override
+        public boolean endArray() {
+            if (skipping > 0) {
+                skipping--;
+            } else if (building > 0) {
+                building--;
+                active.endArray();
+            } else if (depth == 2) {
+                depth = 1;
+            }
+            return true;
+        }
+
+        @Override
+        public boolean startObjectEntry(final String key) {
+            if (skipping > 0) {
+                return true;
+            }
+            if (building > 0) {
+                active.key(key);
+            } else if (depth == 1) {
+                topKey = key;
+            }
+            return true;
+        }
+
+        @Override
+        public boolean endObjectEntry() {
+            return true;
+        }
+
+        @Override
+        public boolean primitive(final Object value) {
+            if (skipping == 0 && building > 0) {
+                active.value(value);
+            }
+            return true;
+        }
+
+        private void begin(final RecordBuilder<?> builder, final String role) {
+            this.active = builder;
+            this.role = role;
+            this.building = 1;
+            builder.startRecord();
+        }
+    }
+}
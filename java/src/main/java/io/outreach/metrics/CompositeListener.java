@@ -0,0 +1,77 @@
+package io.outreach.metrics;
+
+import java.util.List;
+
+import io.outreach.transport.Request;
+
+/**
+ * Forwards every event to a fixed list of listeners.
+ */
+class CompositeListener implements OutreachListener {
+
+    private final OutreachListener[] listeners;
+
+    CompositeListener(final List<OutreachListener> listeners) {
+        this.listeners = listeners.toArray(new OutreachListener[0]);
+    }
+
+    @Override
+    public void requestStarted(final Request request) {
+        for (OutreachListener listener : listeners) {
+            listener.requestStarted(request);
+        }
+    }
+
+    @Override
+    public void requestCompleted(final Request request,
+                                 final int statusCode,
+                                 final long elapsedNanos,
+                                 final long bytesOut,
+                                 final long bytesIn) {
+        for (OutreachListener listener : listeners) {
+            listener.requestCompleted(request, statusCode, elapsedNanos, bytesOut, bytesIn);
+        }
+    }
+
+    @Override
+    public void requestFailed(final Request request, final Throwable failure, final long elapsedNanos) {
+        for (OutreachListener listener : listeners) {
+            listener.requestFailed(request, failure, elapsedNanos);
+        }
+    }
+
+    @Override
+    public void retryScheduled(final Request request, final int attempt, final long delayMillis) {
+        for (OutreachListener listener : listeners) {
+            listener.retryScheduled(request, attempt, delayMillis);
+        }
+    }
+
+    @Override
+    public void connectionWaited(final long waitNanos) {
+        for (OutreachListener listener : listeners) {
+            listener.connectionWaited(waitNanos);
+        }
+    }
+
+    @Override
+    public void tokenRefreshed(final long elapsedNanos) {
+        for (OutreachListener listener : listeners) {
+            listener.tokenRefreshed(elapsedNanos);
+        }
+    }
+
+    @Override
+    public void tokenRefreshFailed(final Throwable failure, final long elapsedNanos) {
+        for (OutreachListener listener : listeners) {
+            listener.tokenRefreshFailed(failure, elapsedNanos);
+        }
+    }
+
+    @Override
+    public void entityParsed(final Request request, final long elapsedNanos) {
+        for (OutreachListener listener : listeners) {
+            listener.entityParsed(request, elapsedNanos);
+        }
+    }
+}
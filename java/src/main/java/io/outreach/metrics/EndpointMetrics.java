@@ -0,0 +1,90 @@
+package io.outreach.metrics;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters and latency histograms for a single endpoint, e.g.
+ * "GET /1.0/prospects/{id}".
+ */
+public class EndpointMetrics {
+
+    private final String endpoint;
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LatencyHistogram parsing = new LatencyHistogram();
+    private final Map<Integer, LongAdder> statusCodes = new ConcurrentHashMap<>();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder bytesIn = new LongAdder();
+    private final LongAdder bytesOut = new LongAdder();
+
+    EndpointMetrics(final String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    void completed(final int statusCode, final long elapsedNanos, final long sent, final long received) {
+        latency.record(elapsedNanos);
+        statusCodes.computeIfAbsent(statusCode, code -> new LongAdder()).increment();
+        bytesOut.add(sent);
+        bytesIn.add(received);
+    }
+
+    void failed(final long elapsedNanos) {
+        latency.record(elapsedNanos);
+        failures.increment();
+    }
+
+    void parsed(final long elapsedNanos) {
+        parsing.record(elapsedNanos);
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    /**
+     * @return the latency of every response and failure.
+     */
+    public LatencyHistogram getLatency() {
+        return latency;
+    }
+
+    /**
+     * @return the decoding time of successful response entities.
+     */
+    public LatencyHistogram getParsing() {
+        return parsing;
+    }
+
+    /**
+     * @return responses received by status code, in ascending order.
+     */
+    public Map<Integer, Long> getStatusCodes() {
+        final Map<Integer, Long> counts = new TreeMap<>();
+        for (Map.Entry<Integer, LongAdder> status : statusCodes.entrySet()) {
+            counts.put(status.getKey(), status.getValue().sum());
+        }
+        return counts;
+    }
+
+    /**
+     * @return requests which received no response.
+     */
+    public long getFailures() {
+        return failures.sum();
+    }
+
+    public long getBytesIn() {
+        return bytesIn.sum();
+    }
+
+    public long getBytesOut() {
+        return bytesOut.sum();
+    }
+
+    @Override
+    public String toString() {
+        return endpoint + " " + getStatusCodes() + ", failures=" + getFailures() + ", " + latency;
+    }
+}
@@ -0,0 +1,139 @@
+package io.outreach.metrics;
+
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import io.outreach.transport.Request;
+import io.outreach.transport.RequestBody;
+import io.outreach.transport.Response;
+import io.outreach.transport.Transport;
+import io.outreach.transport.TransportStats;
+
+/**
+ * Transport decorator reporting every exchange to an {@link OutreachListener}.
+ * A request completes when its response is closed, so the reported latency
+ * and received bytes cover the whole entity as consumed by the caller. <br />
+ * <br />
+ * Placed outermost the listener sees each call once, including any retries
+ * and throttling delays beneath it; placed directly over the pool it sees
+ * every attempt on the wire.
+ */
+public class InstrumentedTransport implements Transport {
+
+    private final Transport delegate;
+    private final OutreachListener listener;
+
+    public InstrumentedTransport(final Transport delegate, final OutreachListener listener) {
+        this.delegate = delegate;
+        this.listener = listener;
+    }
+
+    @Override
+    public Response execute(final Request request) throws IOException {
+        listener.requestStarted(request);
+        final long start = System.nanoTime();
+        final RequestBody entity = request.getEntity();
+        // Streamed entities are measured as the delegate writes them.
+        final CountingBody counted = entity != null && entity.contentLength() < 0 ? new CountingBody(entity) : null;
+        final Response response;
+        try {
+            response = delegate.execute(counted == null ? request : request.copy().body(counted));
+        } catch (IOException | RuntimeException exception) {
+            listener.requestFailed(request, exception, System.nanoTime() - start);
+            throw exception;
+        }
+
+        final long bytesOut = entity == null ? 0 : counted == null ? entity.contentLength() : counted.count;
+        final CountingInputStream body = new CountingInputStream(response.getBody());
+        return new Response(response.getStatusCode(), response.getHeaders(), body, () -> {
+            try {
+                response.close();
+            } catch (IOException ignore) {
+                // The connection is discarded, the exchange itself completed.
+            } finally {
+                listener.requestCompleted(request, response.getStatusCode(), System.nanoTime() - start, bytesOut, body.count);
+            }
+        });
+    }
+
+    @Override
+    public TransportStats stats() {
+        return delegate.stats();
+    }
+
+    /**
+     * Counts the bytes of the last attempt to write the entity.
+     */
+    private static final class CountingBody extends RequestBody {
+        private final RequestBody entity;
+        volatile long count = 0;
+
+        CountingBody(final RequestBody entity) {
+            this.entity = entity;
+        }
+
+        @Override
+        public long contentLength() {
+            return -1;
+        }
+
+        @Override
+        public void writeTo(final OutputStream out) throws IOException {
+            final long[] written = { 0 };
+            entity.writeTo(new FilterOutputStream(out) {
+                @Override
+                public void write(final int b) throws IOException {
+                    out.write(b);
+                    written[0]++;
+                }
+
+                @Override
+                public void write(final byte[] bytes, final int offset, final int length) throws IOException {
+                    out.write(bytes, offset, length);
+                    written[0] += length;
+                }
+            });
+            count = written[0];
+        }
+    }
+
+    /**
+     * Counts entity bytes as the caller reads them, only ever read by one
+     * thread at a time.
+     */
+    private static final class CountingInputStream extends FilterInputStream {
+        long count = 0;
+
+        CountingInputStream(final InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            final int read = super.read();
+            if (read >= 0) {
+                count++;
+            }
+            return read;
+        }
+
+        @Override
+        public int read(final byte[] buffer, final int offset, final int length) throws IOException {
+            final int read = super.read(buffer, offset, length);
+            if (read > 0) {
+                count += read;
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(final long n) throws IOException {
+            final long skipped = super.skip(n);
+            count += skipped;
+            return skipped;
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package io.outreach.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Exposes an {@link OutreachMetrics} instance as a platform MXBean, so it can
+ * be read by JConsole or any JMX-capable monitoring agent without adding a
+ * metrics library to the client.
+ */
+public class JmxMetrics implements OutreachMetricsMXBean {
+
+    private final OutreachMetrics metrics;
+
+    public JmxMetrics(final OutreachMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Registers the metrics with the platform MBean server.
+     *
+     * @param name
+     *            distinguishes clients, e.g. a tenant or application name.
+     * @return the registered object name, to unregister with.
+     * @throws JMException
+     *             if the name is malformed or already registered.
+     */
+    public static ObjectName register(final OutreachMetrics metrics, final String name) throws JMException {
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        final ObjectName objectName = new ObjectName("io.outreach:type=OutreachMetrics,name=" + ObjectName.quote(name));
+        server.registerMBean(new JmxMetrics(metrics), objectName);
+        return objectName;
+    }
+
+    @Override
+    public long getRequests() {
+        return metrics.getLatency().getCount();
+    }
+
+    @Override
+    public long getFailures() {
+        long failures = 0;
+        for (EndpointMetrics endpoint : metrics.getEndpoints().values()) {
+            failures += endpoint.getFailures();
+        }
+        return failures;
+    }
+
+    @Override
+    public long getBytesIn() {
+        return metrics.getBytesIn();
+    }
+
+    @Override
+    public long getBytesOut() {
+        return metrics.getBytesOut();
+    }
+
+    @Override
+    public long getRetries() {
+        return metrics.getRetries();
+    }
+
+    @Override
+    public long getTokenRefreshes() {
+        return metrics.getTokenRefreshes();
+    }
+
+    @Override
+    public long getTokenRefreshFailures() {
+        return metrics.getTokenRefreshFailures();
+    }
+
+    @Override
+    public long getConnectionWaits() {
+        return metrics.getConnectionWaits().getCount();
+    }
+
+    @Override
+    public double getLatencyMean() {
+        return metrics.getLatency().getMean(TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public double getLatency50thPercentile() {
+        return metrics.getLatency().getPercentile(0.5, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public double getLatency99thPercentile() {
+        return metrics.getLatency().getPercentile(0.99, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public double getLatencyMax() {
+        return metrics.getLatency().getPercentile(1, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public double getConnectionWait99thPercentile() {
+        return metrics.getConnectionWaits().getPercentile(0.99, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public Map<String, Long> getRequestsByEndpoint() {
+        final Map<String, Long> requests = new TreeMap<>();
+        for (EndpointMetrics endpoint : metrics.getEndpoints().values()) {
+            requests.put(endpoint.getEndpoint(), endpoint.getLatency().getCount());
+        }
+        return requests;
+    }
+
+    @Override
+    public Map<String, Double> getLatency99thPercentileByEndpoint() {
+        final Map<String, Double> latencies = new TreeMap<>();
+        for (EndpointMetrics endpoint : metrics.getEndpoints().values()) {
+            latencies.put(endpoint.getEndpoint(), endpoint.getLatency().getPercentile(0.99, TimeUnit.MILLISECONDS));
+        }
+        return latencies;
+    }
+
+    @Override
+    public Map<String, Double> getParsing99thPercentileByEndpoint() {
+        final Map<String, Double> latencies = new TreeMap<>();
+        for (EndpointMetrics endpoint : metrics.getEndpoints().values()) {
+            latencies.put(endpoint.getEndpoint(), endpoint.getParsing().getPercentile(0.99, TimeUnit.MILLISECONDS));
+        }
+        return latencies;
+    }
+}
@@ -0,0 +1,125 @@
+package io.outreach.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock-free log-linear histogram of durations in nanoseconds, in the manner
+ * of HdrHistogram. Each power of two is split into {@value #SUB_BUCKETS}
+ * linear buckets, so any recorded value is reported within 1/16th (6.25%) of
+ * its true value, from a nanosecond up to centuries, in a fixed 7.5KB of
+ * counters. <br />
+ * <br />
+ * Recording is a single atomic increment and is safe from any number of
+ * threads; reads observe a consistent-enough view for monitoring without
+ * pausing writers.
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    /**
+     * Linear buckets below {@code SUB_BUCKETS}, then one group per remaining
+     * power of two up to 2^62.
+     */
+    private static final int BUCKETS = (63 - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * @param nanos
+     *            the duration to record, negative values are recorded as 0.
+     */
+    public void record(final long nanos) {
+        final long value = Math.max(0, nanos);
+        counts.incrementAndGet(index(value));
+        count.increment();
+        sum.add(value);
+        long current;
+        while (value > (current = max.get()) && !max.compareAndSet(current, value)) {
+            // Lost a race with a larger or concurrent maximum, re-check.
+        }
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getMax(final TimeUnit unit) {
+        return unit.convert(max.get(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * @return the mean in the given unit as a fraction, or 0 if empty.
+     */
+    public double getMean(final TimeUnit unit) {
+        final long recorded = count.sum();
+        return recorded == 0 ? 0 : (double) sum.sum() / recorded / unit.toNanos(1);
+    }
+
+    /**
+     * @param quantile
+     *            in [0, 1], e.g. 0.99 for the 99th percentile.
+     * @return the highest value equivalent to the quantile's bucket in the
+     *         given unit as a fraction, or 0 if empty.
+     */
+    public double getPercentile(final double quantile, final TimeUnit unit) {
+        if (quantile < 0 || quantile > 1) {
+            throw new IllegalArgumentException("Quantile must be between 0 and 1");
+        }
+        final long[] snapshot = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = counts.get(i);
+            total += snapshot[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+
+        final long rank = Math.max(1, (long) Math.ceil(quantile * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                final long highest = i + 1 < BUCKETS ? lowerBound(i + 1) - 1 : Long.MAX_VALUE;
+                return (double) Math.min(highest, max.get()) / unit.toNanos(1);
+            }
+        }
+        return (double) max.get() / unit.toNanos(1);
+    }
+
+    static int index(final long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        final int exponent = 63 - Long.numberOfLeadingZeros(value);
+        final int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) - SUB_BUCKETS;
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    static long lowerBound(final int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        final int exponent = index / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        final long subBucket = index % SUB_BUCKETS;
+        return (SUB_BUCKETS + subBucket) << (exponent - SUB_BUCKET_BITS);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("count=%d, mean=%.3fms, p50=%.3fms, p99=%.3fms, max=%.3fms",
+                             getCount(),
+                             getMean(TimeUnit.MILLISECONDS),
+                             getPercentile(0.5, TimeUnit.MILLISECONDS),
+                             getPercentile(0.99, TimeUnit.MILLISECONDS),
+                             (double) max.get() / TimeUnit.MILLISECONDS.toNanos(1));
+    }
+}
@@ -0,0 +1,102 @@
+package io.outreach.metrics;
+
+import java.util.Arrays;
+
+import io.outreach.transport.Request;
+
+/**
+ * Receives instrumentation events from the client, every method defaults to a
+ * no-op so implementations override only what they need. <br />
+ * <br />
+ * Events are delivered synchronously on the thread performing the work, so
+ * implementations must be thread-safe and should return quickly. A request's
+ * events all carry the same {@link Request} instance, which tracing hooks may
+ * use to correlate them; {@link #requestStarted(Request)} may also add
+ * headers, e.g. to propagate a trace context.
+ *
+ * @see OutreachMetrics
+ * @see InstrumentedTransport
+ */
+public interface OutreachListener {
+
+    /**
+     * Ignores every event.
+     */
+    OutreachListener NONE = new OutreachListener() {
+    };
+
+    /**
+     * A request is about to be sent.
+     */
+    default void requestStarted(final Request request) {
+    }
+
+    /**
+     * A response was received and its entity consumed or discarded.
+     *
+     * @param elapsedNanos
+     *            from sending the request until the response was closed.
+     * @param bytesOut
+     *            the encoded size of the request entity.
+     * @param bytesIn
+     *            entity bytes read from the response, still compressed when
+     *            instrumented beneath a
+     *            {@link io.outreach.transport.CompressingTransport}.
+     */
+    default void requestCompleted(final Request request,
+                                  final int statusCode,
+                                  final long elapsedNanos,
+                                  final long bytesOut,
+                                  final long bytesIn) {
+    }
+
+    /**
+     * No response was received.
+     */
+    default void requestFailed(final Request request, final Throwable failure, final long elapsedNanos) {
+    }
+
+    /**
+     * A failed attempt will be repeated after the delay.
+     *
+     * @param attempt
+     *            the attempt which failed, starting at 1.
+     */
+    default void retryScheduled(final Request request, final int attempt, final long delayMillis) {
+    }
+
+    /**
+     * A request waited for a pooled connection to become available.
+     */
+    default void connectionWaited(final long waitNanos) {
+    }
+
+    /**
+     * An access token was granted by the token endpoint.
+     */
+    default void tokenRefreshed(final long elapsedNanos) {
+    }
+
+    /**
+     * The token exchange failed.
+     */
+    default void tokenRefreshFailed(final Throwable failure, final long elapsedNanos) {
+    }
+
+    /**
+     * A successful response entity was decoded.
+     *
+     * @param elapsedNanos
+     *            decoding time, including reading the entity from the wire.
+     */
+    default void entityParsed(final Request request, final long elapsedNanos) {
+    }
+
+    /**
+     * @return a listener forwarding every event to each of the given
+     *         listeners in turn.
+     */
+    static OutreachListener all(final OutreachListener... listeners) {
+        return new CompositeListener(Arrays.asList(listeners.clone()));
+    }
+}
@@ -0,0 +1,171 @@
+package io.outreach.metrics;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import io.outreach.transport.Request;
+
+/**
+ * A listener aggregating events into per-endpoint counters and latency
+ * histograms, along with client-wide token, retry and connection pool
+ * metrics. Requests are grouped by verb and path with numeric identifiers
+ * replaced, so "GET /1.0/prospects/42" is counted as
+ * "GET /1.0/prospects/{id}". <br />
+ * <br />
+ * A single instance is typically shared by every instrumented component of
+ * a client, and may be exported with {@link JmxMetrics}.
+ */
+public class OutreachMetrics implements OutreachListener {
+
+    private final Map<String, EndpointMetrics> endpoints = new ConcurrentHashMap<>();
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LatencyHistogram connectionWaits = new LatencyHistogram();
+    private final LatencyHistogram tokenExchanges = new LatencyHistogram();
+    private final LongAdder tokenRefreshFailures = new LongAdder();
+    private final LongAdder retries = new LongAdder();
+
+    @Override
+    public void requestCompleted(final Request request,
+                                 final int statusCode,
+                                 final long elapsedNanos,
+                                 final long bytesOut,
+                                 final long bytesIn) {
+        latency.record(elapsedNanos);
+        endpoint(request).completed(statusCode, elapsedNanos, bytesOut, bytesIn);
+    }
+
+    @Override
+    public void requestFailed(final Request request, final Throwable failure, final long elapsedNanos) {
+        latency.record(elapsedNanos);
+        endpoint(request).failed(elapsedNanos);
+    }
+
+    @Override
+    public void retryScheduled(final Request request, final int attempt, final long delayMillis) {
+        retries.increment();
+    }
+
+    @Override
+    public void connectionWaited(final long waitNanos) {
+        connectionWaits.record(waitNanos);
+    }
+
+    @Override
+    public void tokenRefreshed(final long elapsedNanos) {
+        tokenExchanges.record(elapsedNanos);
+    }
+
+    @Override
+    public void tokenRefreshFailed(final Throwable failure, final long elapsedNanos) {
+        tokenExchanges.record(elapsedNanos);
+        tokenRefreshFailures.increment();
+    }
+
+    @Override
+    public void entityParsed(final Request request, final long elapsedNanos) {
+        endpoint(request).parsed(elapsedNanos);
+    }
+
+    /**
+     * @return metrics for each endpoint requested so far, by name.
+     */
+    public Map<String, EndpointMetrics> getEndpoints() {
+        return new TreeMap<>(endpoints);
+    }
+
+    /**
+     * @return the latency of every request across endpoints.
+     */
+    public LatencyHistogram getLatency() {
+        return latency;
+    }
+
+    /**
+     * @return time spent waiting for a pooled connection, recorded only for
+     *         requests which had to wait.
+     */
+    public LatencyHistogram getConnectionWaits() {
+        return connectionWaits;
+    }
+
+    /**
+     * @return the duration of every token exchange, successful or not.
+     */
+    public LatencyHistogram getTokenExchanges() {
+        return tokenExchanges;
+    }
+
+    public long getTokenRefreshes() {
+        return tokenExchanges.getCount() - tokenRefreshFailures.sum();
+    }
+
+    public long getTokenRefreshFailures() {
+        return tokenRefreshFailures.sum();
+    }
+
+    public long getRetries() {
+        return retries.sum();
+    }
+
+    public long getBytesIn() {
+        long total = 0;
+        for (EndpointMetrics endpoint : endpoints.values()) {
+            total += endpoint.getBytesIn();
+        }
+        return total;
+    }
+
+    public long getBytesOut() {
+        long total = 0;
+        for (EndpointMetrics endpoint : endpoints.values()) {
+            total += endpoint.getBytesOut();
+        }
+        return total;
+    }
+
+    private EndpointMetrics endpoint(final Request request) {
+        final String name = name(request);
+        final EndpointMetrics metrics = endpoints.get(name);
+        return metrics != null ? metrics : endpoints.computeIfAbsent(name, EndpointMetrics::new);
+    }
+
+    /**
+     * @return the verb, honouring a method override, and the path with
+     *         numeric segments replaced by "{id}".
+     */
+    static String name(final Request request) {
+        final String override = request.getHeader("X-HTTP-Method-Override");
+        final String path = request.getUrl().getPath();
+        final StringBuilder name = new StringBuilder(path.length() + 12)
+            .append(override != null ? override : request.getVerb())
+            .append(' ');
+        int start = 0;
+        while (start < path.length()) {
+            int end = path.indexOf('/', start + 1);
+            if (end < 0) {
+                end = path.length();
+            }
+            if (isIdentifier(path, start + 1, end)) {
+                name.append("/{id}");
+            } else {
+                name.append(path, start, end);
+            }
+            start = end;
+        }
+        return name.toString();
+    }
+
+    private static boolean isIdentifier(final String path, final int from, final int to) {
+        if (from >= to) {
+            return false;
+        }
+        for (int i = from; i < to; i++) {
+            if (!Character.isDigit(path.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,44 @@
+package io.outreach.metrics;
+
+import java.util.Map;
+
+/**
+ * Management interface of {@link JmxMetrics}, latencies are in milliseconds.
+ */
+public interface OutreachMetricsMXBean {
+
+    long getRequests();
+
+    long getFailures();
+
+    long getBytesIn();
+
+    long getBytesOut();
+
+    long getRetries();
+
+    long getTokenRefreshes();
+
+    long getTokenRefreshFailures();
+
+    long getConnectionWaits();
+
+    double getLatencyMean();
+
+    double getLatency50thPercentile();
+
+    double getLatency99thPercentile();
+
+    double getLatencyMax();
+
+    double getConnectionWait99thPercentile();
+
+    /**
+     * @return requests by endpoint, including failures.
+     */
+    Map<String, Long> getRequestsByEndpoint();
+
+    Map<String, Double> getLatency99thPercentileByEndpoint();
+
+    Map<String, Double> getParsing99thPercentileByEndpoint();
+}
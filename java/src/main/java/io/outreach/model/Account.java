@@ -0,0 +1,115 @@
+package io.outreach.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An account record, flattening the company and metadata attributes.
+ *
+ * @see AccountCodec
+ */
+public class Account {
+
+    private Long id;
+
+    // company
+    private String name;
+    private String naturalName;
+    private String domain;
+    private String website;
+    private String type;
+    private String industry;
+
+    // metadata
+    private String description;
+    private List<String> tags;
+
+    public Long getId() {
+        return id;
+    }
+
+    public Account setId(final Long id) {
+        this.id = id;
+        return this;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Account setName(final String name) {
+        this.name = name;
+        return this;
+    }
+
+    public String getNaturalName() {
+        return naturalName;
+    }
+
+    public Account setNaturalName(final String naturalName) {
+        this.naturalName = naturalName;
+        return this;
+    }
+
+    public String getDomain() {
+        return domain;
+    }
+
+    public Account setDomain(final String domain) {
+        this.domain = domain;
+        return this;
+    }
+
+    public String getWebsite() {
+        return website;
+    }
+
+    public Account setWebsite(final String website) {
+        this.website = website;
+        return this;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public Account setType(final String type) {
+        this.type = type;
+        return this;
+    }
+
+    public String getIndustry() {
+        return industry;
+    }
+
+    public Account setIndustry(final String industry) {
+        this.industry = industry;
+        return this;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public Account setDescription(final String description) {
+        this.description = description;
+        return this;
+    }
+
+    public List<String> getTags() {
+        return tags;
+    }
+
+    public Account setTags(final List<String> tags) {
+        this.tags = tags;
+        return this;
+    }
+
+    public Account addTag(final String value) {
+        if (tags == null) {
+            tags = new ArrayList<>();
+        }
+        tags.add(value);
+        return this;
+    }
+}
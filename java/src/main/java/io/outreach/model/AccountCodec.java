@@ -0,0 +1,57 @@
+package io.outreach.model;
+
+import java.io.IOException;
+
+import io.outreach.json.JsonWriter;
+import io.outreach.json.RecordCodec;
+
+/**
+ * Codec for {@link Account} records, following the 1.0 account schema.
+ */
+public class AccountCodec extends RecordCodec<Account> {
+
+    public static final AccountCodec INSTANCE = new AccountCodec();
+
+    public AccountCodec() {
+        super(Account::new);
+        field("id", (a, v) -> a.setId(asLong(v)));
+        field("attributes/company/name", (a, v) -> a.setName(asString(v)));
+        field("attributes/company/natural_name", (a, v) -> a.setNaturalName(asString(v)));
+        field("attributes/company/domain", (a, v) -> a.setDomain(asString(v)));
+        field("attributes/company/website", (a, v) -> a.setWebsite(asString(v)));
+        field("attributes/company/type", (a, v) -> a.setType(asString(v)));
+        field("attributes/company/industry", (a, v) -> a.setIndustry(asString(v)));
+        field("attributes/metadata/description", (a, v) -> a.setDescription(asString(v)));
+        list("attributes/metadata/tags", (a, v) -> a.addTag(asString(v)));
+    }
+
+    @Override
+    public void writeRecord(final Account a, final JsonWriter out) throws IOException {
+        out.beginObject().member("id", a.getId()).name("attributes");
+        writeAttributes(a, out);
+        out.endObject();
+    }
+
+    @Override
+    public void writeAttributes(final Account a, final JsonWriter out) throws IOException {
+        out.beginObject();
+        if (a.getName() != null || a.getNaturalName() != null || a.getDomain() != null
+         || a.getWebsite() != null || a.getType() != null || a.getIndustry() != null) {
+            out.name("company").beginObject()
+               .member("name", a.getName())
+               .member("natural_name", a.getNaturalName())
+               .member("domain", a.getDomain())
+               .member("website", a.getWebsite())
+               .member("type", a.getType())
+               .member("industry", a.getIndustry())
+               .endObject();
+        }
+        if (a.getDescription() != null || a.getTags() != null) {
+            out.name("metadata").beginObject()
+               .member("description", a.getDescription())
+               .member("tags", a.getTags())
+               .endObject();
+        }
+        out.endObject();
+    }
+}
@@ -0,0 +1,96 @@
+package io.outreach.model;
+
+/**
+ * A call record, flattening the connection and relationship attributes.
+ *
+ * @see CallCodec
+ */
+public class Call {
+
+    private Long id;
+
+    // connection
+    private String from;
+    private String to;
+    private Boolean outbound;
+
+    // relationships
+    private Long prospectId;
+    private Long purposeId;
+    private Long dispositionId;
+
+    // metadata
+    private String note;
+
+    public Long getId() {
+        return id;
+    }
+
+    public Call setId(final Long id) {
+        this.id = id;
+        return this;
+    }
+
+    public String getFrom() {
+        return from;
+    }
+
+    public Call setFrom(final String from) {
+        this.from = from;
+        return this;
+    }
+
+    public String getTo() {
+        return to;
+    }
+
+    public Call setTo(final String to) {
+        this.to = to;
+        return this;
+    }
+
+    public Boolean getOutbound() {
+        return outbound;
+    }
+
+    public Call setOutbound(final Boolean outbound) {
+        this.outbound = outbound;
+        return this;
+    }
+
+    public Long getProspectId() {
+        return prospectId;
+    }
+
+    public Call setProspectId(final Long prospectId) {
+        this.prospectId = prospectId;
+        return this;
+    }
+
+    public Long getPurposeId() {
+        return purposeId;
+    }
+
+    public Call setPurposeId(final Long purposeId) {
+        this.purposeId = purposeId;
+        return this;
+    }
+
+    public Long getDispositionId() {
+        return dispositionId;
+    }
+
+    public Call setDispositionId(final Long dispositionId) {
+        this.dispositionId = dispositionId;
+        return this;
+    }
+
+    public String getNote() {
+        return note;
+    }
+
+    public Call setNote(final String note) {
+        this.note = note;
+        return this;
+    }
+}
@@ -0,0 +1,59 @@
+package io.outreach.model;
+
+import java.io.IOException;
+
+import io.outreach.json.JsonWriter;
+import io.outreach.json.RecordCodec;
+
+/**
+ * Codec for {@link Call} records, following the 1.0 call schema.
+ */
+public class CallCodec extends RecordCodec<Call> {
+
+    public static final CallCodec INSTANCE = new CallCodec();
+
+    public CallCodec() {
+        super(Call::new);
+        field("id", (c, v) -> c.setId(asLong(v)));
+        field("attributes/connection/from", (c, v) -> c.setFrom(asString(v)));
+        field("attributes/connection/to", (c, v) -> c.setTo(asString(v)));
+        field("attributes/connection/outbound", (c, v) -> c.setOutbound(asBoolean(v)));
+        field("attributes/prospect/id", (c, v) -> c.setProspectId(asLong(v)));
+        field("attributes/purpose/id", (c, v) -> c.setPurposeId(asLong(v)));
+        field("attributes/disposition/id", (c, v) -> c.setDispositionId(asLong(v)));
+        field("attributes/metadata/note", (c, v) -> c.setNote(asString(v)));
+    }
+
+    @Override
+    public void writeRecord(final Call c, final JsonWriter out) throws IOException {
+        out.beginObject().member("id", c.getId()).name("attributes");
+        writeAttributes(c, out);
+        out.endObject();
+    }
+
+    @Override
+    public void writeAttributes(final Call c, final JsonWriter out) throws IOException {
+        out.beginObject();
+        out.name("connection").beginObject()
+           .member("from", c.getFrom())
+           .member("to", c.getTo())
+           .member("outbound", c.getOutbound())
+           .endObject();
+        reference(out, "purpose", c.getPurposeId());
+        reference(out, "disposition", c.getDispositionId());
+        reference(out, "prospect", c.getProspectId());
+        if (c.getNote() != null) {
+            out.name("metadata").beginObject().member("note", c.getNote()).endObject();
+        }
+        out.endObject();
+    }
+
+    /**
+     * Related records are referenced by their id, sent as a string.
+     */
+    private static void reference(final JsonWriter out, final String name, final Long id) throws IOException {
+        if (id != null) {
+            out.name(name).beginObject().name("id").value(id.toString()).endObject();
+        }
+    }
+}
@@ -0,0 +1,391 @@
+package io.outreach.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A prospect record, flattening the nested attribute objects of the API into
+ * a single allocation per record. <br />
+ * <br />
+ * Unset members are null and are left out when the record is encoded, so a
+ * record holding only the members to change can be sent as a modification.
+ *
+ * @see ProspectCodec
+ */
+public class Prospect {
+
+    private Long id;
+    private String created;
+    private String updated;
+
+    // address
+    private String addressCity;
+    private String addressState;
+    private String addressCountry;
+    private List<String> addressStreet;
+    private Long addressZip;
+
+    // company
+    private String companyName;
+    private String companyType;
+    private String companyIndustry;
+    private Long companySize;
+    private String companyLocality;
+
+    // contact
+    private String timezone;
+    private String email;
+    private String personalPhone;
+    private String workPhone;
+
+    // personal
+    private String firstName;
+    private String lastName;
+    private String gender;
+    private String occupation;
+    private String title;
+
+    // social
+    private String website;
+    private String facebook;
+    private String linkedIn;
+    private String plus;
+    private String quora;
+    private String twitter;
+
+    // metadata
+    private Boolean optedOut;
+    private String source;
+    private List<String> notes;
+    private List<String> tags;
+    private List<String> custom;
+
+    public Long getId() {
+        return id;
+    }
+
+    public Prospect setId(final Long id) {
+        this.id = id;
+        return this;
+    }
+
+    public String getCreated() {
+        return created;
+    }
+
+    public Prospect setCreated(final String created) {
+        this.created = created;
+        return this;
+    }
+
+    public String getUpdated() {
+        return updated;
+    }
+
+    public Prospect setUpdated(final String updated) {
+        this.updated = updated;
+        return this;
+    }
+
+    public String getAddressCity() {
+        return addressCity;
+    }
+
+    public Prospect setAddressCity(final String addressCity) {
+        this.addressCity = addressCity;
+        return this;
+    }
+
+    public String getAddressState() {
+        return addressState;
+    }
+
+    public Prospect setAddressState(final String addressState) {
+        this.addressState = addressState;
+        return this;
+    }
+
+    public String getAddressCountry() {
+        return addressCountry;
+    }
+
+    public Prospect setAddressCountry(final String addressCountry) {
+        this.addressCountry = addressCountry;
+        return this;
+    }
+
+    public List<String> getAddressStreet() {
+        return addressStreet;
+    }
+
+    public Prospect setAddressStreet(final List<String> addressStreet) {
+        this.addressStreet = addressStreet;
+        return this;
+    }
+
+    public Prospect addStreet(final String value) {
+        if (addressStreet == null) {
+            addressStreet = new ArrayList<>();
+        }
+        addressStreet.add(value);
+        return this;
+    }
+
+    public Long getAddressZip() {
+        return addressZip;
+    }
+
+    public Prospect setAddressZip(final Long addressZip) {
+        this.addressZip = addressZip;
+        return this;
+    }
+
+    public String getCompanyName() {
+        return companyName;
+    }
+
+    public Prospect setCompanyName(final String companyName) {
+        this.companyName = companyName;
+        return this;
+    }
+
+    public String getCompanyType() {
+        return companyType;
+    }
+
+    public Prospect setCompanyType(final String companyType) {
+        this.companyType = companyType;
+        return this;
+    }
+
+    public String getCompanyIndustry() {
+        return companyIndustry;
+    }
+
+    public Prospect setCompanyIndustry(final String companyIndustry) {
+        this.companyIndustry = companyIndustry;
+        return this;
+    }
+
+    public Long getCompanySize() {
+        return companySize;
+    }
+
+    public Prospect setCompanySize(final Long companySize) {
+        this.companySize = companySize;
+        return this;
+    }
+
+    public String getCompanyLocality() {
+        return companyLocality;
+    }
+
+    public Prospect setCompanyLocality(final String companyLocality) {
+        this.companyLocality = companyLocality;
+        return this;
+    }
+
+    public String getTimezone() {
+        return timezone;
+    }
+
+    public Prospect setTimezone(final String timezone) {
+        this.timezone = timezone;
+        return this;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public Prospect setEmail(final String email) {
+        this.email = email;
+        return this;
+    }
+
+    public String getPersonalPhone() {
+        return personalPhone;
+    }
+
+    public Prospect setPersonalPhone(final String personalPhone) {
+        this.personalPhone = personalPhone;
+        return this;
+    }
+
+    public String getWorkPhone() {
+        return workPhone;
+    }
+
+    public Prospect setWorkPhone(final String workPhone) {
+        this.workPhone = workPhone;
+        return this;
+    }
+
+    public String getFirstName() {
+        return firstName;
+    }
+
+    public Prospect setFirstName(final String firstName) {
+        this.firstName = firstName;
+        return this;
+    }
+
+    public String getLastName() {
+        return lastName;
+    }
+
+    public Prospect setLastName(final String lastName) {
+        this.lastName = lastName;
+        return this;
+    }
+
+    public String getGender() {
+        return gender;
+    }
+
+    public Prospect setGender(final String gender) {
+        this.gender = gender;
+        return this;
+    }
+
+    public String getOccupation() {
+        return occupation;
+    }
+
+    public Prospect setOccupation(final String occupation) {
+        this.occupation = occupation;
+        return this;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public Prospect setTitle(final String title) {
+        this.title = title;
+        return this;
+    }
+
+    public String getWebsite() {
+        return website;
+    }
+
+    public Prospect setWebsite(final String website) {
+        this.website = website;
+        return this;
+    }
+
+    public String getFacebook() {
+        return facebook;
+    }
+
+    public Prospect setFacebook(final String facebook) {
+        this.facebook = facebook;
+        return this;
+    }
+
+    public String getLinkedIn() {
+        return linkedIn;
+    }
+
+    public Prospect setLinkedIn(final String linkedIn) {
+        this.linkedIn = linkedIn;
+        return this;
+    }
+
+    public String getPlus() {
+        return plus;
+    }
+
+    public Prospect setPlus(final String plus) {
+        this.plus = plus;
+        return this;
+    }
+
+    public String getQuora() {
+        return quora;
+    }
+
+    public Prospect setQuora(final String quora) {
+        this.quora = quora;
+        return this;
+    }
+
+    public String getTwitter() {
+        return twitter;
+    }
+
+    public Prospect setTwitter(final String twitter) {
+        this.twitter = twitter;
+        return this;
+    }
+
+    public Boolean getOptedOut() {
+        return optedOut;
+    }
+
+    public Prospect setOptedOut(final Boolean optedOut) {
+        this.optedOut = optedOut;
+        return this;
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    public Prospect setSource(final String source) {
+        this.source = source;
+        return this;
+    }
+
+    public List<String> getNotes() {
+        return notes;
+    }
+
+    public Prospect setNotes(final List<String> notes) {
+        this.notes = notes;
+        return this;
+    }
+
+    public Prospect addNote(final String value) {
+        if (notes == null) {
+            notes = new ArrayList<>();
+        }
+        notes.add(value);
+        return this;
+    }
+
+    public List<String> getTags() {
+        return tags;
+    }
+
+    public Prospect setTags(final List<String> tags) {
+        this.tags = tags;
+        return this;
+    }
+
+    public Prospect addTag(final String value) {
+        if (tags == null) {
+            tags = new ArrayList<>();
+        }
+        tags.add(value);
+        return this;
+    }
+
+    public List<String> getCustom() {
+        return custom;
+    }
+
+    public Prospect setCustom(final List<String> custom) {
+        this.custom = custom;
+        return this;
+    }
+
+    public Prospect addCustom(final String value) {
+        if (custom == null) {
+            custom = new ArrayList<>();
+        }
+        custom.add(value);
+        return this;
+    }
+}
@@ -0,0 +1,151 @@
+package io.outreach.model;
+
+import java.io.IOException;
+
+import io.outreach.json.JsonWriter;
+import io.outreach.json.RecordCodec;
+
+/**
+ * Codec for {@link Prospect} records, following the 1.0 prospect schema.
+ */
+public class ProspectCodec extends RecordCodec<Prospect> {
+
+    public static final ProspectCodec INSTANCE = new ProspectCodec();
+
+    public ProspectCodec() {
+        super(Prospect::new);
+        field("id", (p, v) -> p.setId(asLong(v)));
+        field("attributes/created", (p, v) -> p.setCreated(asString(v)));
+        field("attributes/updated", (p, v) -> p.setUpdated(asString(v)));
+        field("attributes/metadata/created", (p, v) -> p.setCreated(asString(v)));
+        field("attributes/metadata/updated", (p, v) -> p.setUpdated(asString(v)));
+
+        field("attributes/address/city", (p, v) -> p.setAddressCity(asString(v)));
+        field("attributes/address/state", (p, v) -> p.setAddressState(asString(v)));
+        field("attributes/address/country", (p, v) -> p.setAddressCountry(asString(v)));
+        list("attributes/address/street", (p, v) -> p.addStreet(asString(v)));
+        field("attributes/address/zip", (p, v) -> p.setAddressZip(asLong(v)));
+
+        field("attributes/company/name", (p, v) -> p.setCompanyName(asString(v)));
+        field("attributes/company/type", (p, v) -> p.setCompanyType(asString(v)));
+        field("attributes/company/industry", (p, v) -> p.setCompanyIndustry(asString(v)));
+        field("attributes/company/size", (p, v) -> p.setCompanySize(asLong(v)));
+        field("attributes/company/locality", (p, v) -> p.setCompanyLocality(asString(v)));
+
+        field("attributes/contact/timezone", (p, v) -> p.setTimezone(asString(v)));
+        field("attributes/contact/email", (p, v) -> p.setEmail(asString(v)));
+        field("attributes/contact/phone/personal", (p, v) -> p.setPersonalPhone(asString(v)));
+        field("attributes/contact/phone/work", (p, v) -> p.setWorkPhone(asString(v)));
+
+        field("attributes/personal/name/first", (p, v) -> p.setFirstName(asString(v)));
+        field("attributes/personal/name/last", (p, v) -> p.setLastName(asString(v)));
+        field("attributes/personal/gender", (p, v) -> p.setGender(asString(v)));
+        field("attributes/personal/occupation", (p, v) -> p.setOccupation(asString(v)));
+        field("attributes/personal/title", (p, v) -> p.setTitle(asString(v)));
+
+        field("attributes/social/website", (p, v) -> p.setWebsite(asString(v)));
+        field("attributes/social/facebook", (p, v) -> p.setFacebook(asString(v)));
+        field("attributes/social/linkedin", (p, v) -> p.setLinkedIn(asString(v)));
+        field("attributes/social/plus", (p, v) -> p.setPlus(asString(v)));
+        field("attributes/social/quora", (p, v) -> p.setQuora(asString(v)));
+        field("attributes/social/twitter", (p, v) -> p.setTwitter(asString(v)));
+
+        field("attributes/metadata/opted_out", (p, v) -> p.setOptedOut(asBoolean(v)));
+        field("attributes/metadata/source", (p, v) -> p.setSource(asString(v)));
+        list("attributes/metadata/notes", (p, v) -> p.addNote(asString(v)));
+        list("attributes/metadata/tags", (p, v) -> p.addTag(asString(v)));
+        list("attributes/metadata/custom", (p, v) -> p.addCustom(asString(v)));
+    }
+
+    @Override
+    public void writeAttributes(final Prospect p, final JsonWriter out) throws IOException {
+        write(p, out, false);
+    }
+
+    @Override
+    public void writeRecord(final Prospect p, final JsonWriter out) throws IOException {
+        out.beginObject().member("id", p.getId()).name("attributes");
+        write(p, out, true);
+        out.endObject();
+    }
+
+    /**
+     * @param timestamps
+     *            whether to include the server-assigned timestamps, which
+     *            requests must not carry.
+     */
+    private static void write(final Prospect p, final JsonWriter out, final boolean timestamps) throws IOException {
+        out.beginObject();
+        if (timestamps) {
+            out.member("created", p.getCreated()).member("updated", p.getUpdated());
+        }
+        if (p.getAddressCity() != null || p.getAddressState() != null || p.getAddressCountry() != null
+         || p.getAddressStreet() != null || p.getAddressZip() != null) {
+            out.name("address").beginObject()
+               .member("city", p.getAddressCity())
+               .member("state", p.getAddressState())
+               .member("country", p.getAddressCountry())
+               .member("street", p.getAddressStreet())
+               .member("zip", p.getAddressZip())
+               .endObject();
+        }
+        if (p.getCompanyName() != null || p.getCompanyType() != null || p.getCompanyIndustry() != null
+         || p.getCompanySize() != null || p.getCompanyLocality() != null) {
+            out.name("company").beginObject()
+               .member("name", p.getCompanyName())
+               .member("type", p.getCompanyType())
+               .member("industry", p.getCompanyIndustry())
+               .member("size", p.getCompanySize())
+               .member("locality", p.getCompanyLocality())
+               .endObject();
+        }
+        if (p.getTimezone() != null || p.getEmail() != null || p.getPersonalPhone() != null || p.getWorkPhone() != null) {
+            out.name("contact").beginObject()
+               .member("timezone", p.getTimezone())
+               .member("email", p.getEmail());
+            if (p.getPersonalPhone() != null || p.getWorkPhone() != null) {
+                out.name("phone").beginObject()
+                   .member("personal", p.getPersonalPhone())
+                   .member("work", p.getWorkPhone())
+                   .endObject();
+            }
+            out.endObject();
+        }
+        if (p.getFirstName() != null || p.getLastName() != null || p.getGender() != null
+         || p.getOccupation() != null || p.getTitle() != null) {
+            out.name("personal").beginObject();
+            if (p.getFirstName() != null || p.getLastName() != null) {
+                out.name("name").beginObject()
+                   .member("first", p.getFirstName())
+                   .member("last", p.getLastName())
+                   .endObject();
+            }
+            out.member("gender", p.getGender())
+               .member("occupation", p.getOccupation())
+               .member("title", p.getTitle())
+               .endObject();
+        }
+        if (p.getWebsite() != null || p.getFacebook() != null || p.getLinkedIn() != null
+         || p.getPlus() != null || p.getQuora() != null || p.getTwitter() != null) {
+            out.name("social").beginObject()
+               .member("website", p.getWebsite())
+               .member("facebook", p.getFacebook())
+               .member("linkedin", p.getLinkedIn())
+               .member("plus", p.getPlus())
+               .member("quora", p.getQuora())
+               .member("twitter", p.getTwitter())
+               .endObject();
+        }
+        if (p.getOptedOut() != null || p.getSource() != null || p.getNotes() != null
+         || p.getTags() != null || p.getCustom() != null) {
+            out.name("metadata").beginObject()
+               .member("opted_out", p.getOptedOut())
+               .member("source", p.getSource())
+               .member("notes", p.getNotes())
+               .member("tags", p.getTags())
+               .member("custom", p.getCustom())
+               .endObject();
+        }
+        out.endObject();
+    }
+}
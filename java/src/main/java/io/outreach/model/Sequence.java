@@ -0,0 +1,30 @@
+package io.outreach.model;
+
+/**
+ * A sequence record.
+ *
+ * @see SequenceCodec
+ */
+public class Sequence {
+
+    private Long id;
+    private String name;
+
+    public Long getId() {
+        return id;
+    }
+
+    public Sequence setId(final Long id) {
+        this.id = id;
+        return this;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Sequence setName(final String name) {
+        this.name = name;
+        return this;
+    }
+}
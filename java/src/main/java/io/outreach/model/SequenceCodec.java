@@ -0,0 +1,32 @@
+package io.outreach.model;
+
+import java.io.IOException;
+
+import io.outreach.json.JsonWriter;
+import io.outreach.json.RecordCodec;
+
+/**
+ * Codec for {@link Sequence} records.
+ */
+public class SequenceCodec extends RecordCodec<Sequence> {
+
+    public static final SequenceCodec INSTANCE = new SequenceCodec();
+
+    public SequenceCodec() {
+        super(Sequence::new);
+        field("id", (s, v) -> s.setId(asLong(v)));
+        field("attributes/name", (s, v) -> s.setName(asString(v)));
+    }
+
+    @Override
+    public void writeRecord(final Sequence s, final JsonWriter out) throws IOException {
+        out.beginObject().member("id", s.getId()).name("attributes");
+        writeAttributes(s, out);
+        out.endObject();
+    }
+
+    @Override
+    public void writeAttributes(final Sequence s, final JsonWriter out) throws IOException {
+        out.beginObject().member("name", s.getName()).endObject();
+    }
+}
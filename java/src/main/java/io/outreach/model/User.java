@@ -0,0 +1,40 @@
+package io.outreach.model;
+
+/**
+ * A user record.
+ *
+ * @see UserCodec
+ */
+public class User {
+
+    private Long id;
+    private String firstName;
+    private String lastName;
+
+    public Long getId() {
+        return id;
+    }
+
+    public User setId(final Long id) {
+        this.id = id;
+        return this;
+    }
+
+    public String getFirstName() {
+        return firstName;
+    }
+
+    public User setFirstName(final String firstName) {
+        this.firstName = firstName;
+        return this;
+    }
+
+    public String getLastName() {
+        return lastName;
+    }
+
+    public User setLastName(final String lastName) {
+        this.lastName = lastName;
+        return this;
+    }
+}
@@ -0,0 +1,40 @@
+package io.outreach.model;
+
+import java.io.IOException;
+
+import io.outreach.json.JsonWriter;
+import io.outreach.json.RecordCodec;
+
+/**
+ * Codec for {@link User} records.
+ */
+public class UserCodec extends RecordCodec<User> {
+
+    public static final UserCodec INSTANCE = new UserCodec();
+
+    public UserCodec() {
+        super(User::new);
+        field("id", (u, v) -> u.setId(asLong(v)));
+        field("attributes/metadata/first_name", (u, v) -> u.setFirstName(asString(v)));
+        field("attributes/metadata/last_name", (u, v) -> u.setLastName(asString(v)));
+    }
+
+    @Override
+    public void writeRecord(final User u, final JsonWriter out) throws IOException {
+        out.beginObject().member("id", u.getId()).name("attributes");
+        writeAttributes(u, out);
+        out.endObject();
+    }
+
+    @Override
+    public void writeAttributes(final User u, final JsonWriter out) throws IOException {
+        out.beginObject();
+        if (u.getFirstName() != null || u.getLastName() != null) {
+            out.name("metadata").beginObject()
+               .member("first_name", u.getFirstName())
+               .member("last_name", u.getLastName())
+               .endObject();
+        }
+        out.endObject();
+    }
+}
@@ -0,0 +1,59 @@
+package io.outreach.paging;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+
+/**
+ * The records of one page of a collection endpoint, together with the
+ * response's {@code meta} member.
+ *
+ * @param <T>
+ *            the record type.
+ */
+public class Page<T> {
+
+    private final List<T> records;
+    private final JSONObject meta;
+
+    /**
+     * @param records
+     *            the page's records, or null for none.
+     * @param meta
+     *            the response metadata, or null if absent.
+     */
+    public Page(final List<T> records, final JSONObject meta) {
+        this.records = records != null ? records : Collections.<T>emptyList();
+        this.meta = meta;
+    }
+
+    /**
+     * @param response
+     *            a decoded page response, or null.
+     * @return the records of the response's {@code data} array.
+     */
+    @SuppressWarnings("unchecked")
+    public static Page<JSONObject> of(final JSONObject response) {
+        if (response == null) {
+            return new Page<>(null, null);
+        }
+        final Object data = response.get("data");
+        final Object meta = response.get("meta");
+        return new Page<>(data instanceof JSONArray ? (List<JSONObject>) data : null,
+                          meta instanceof JSONObject ? (JSONObject) meta : null);
+    }
+
+    public List<T> getRecords() {
+        return records;
+    }
+
+    public JSONObject getMeta() {
+        return meta;
+    }
+
+    public int size() {
+        return records.size();
+    }
+}
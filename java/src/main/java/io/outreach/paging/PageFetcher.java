@@ -0,0 +1,18 @@
+package io.outreach.paging;
+
+/**
+ * Fetches a single page of a collection endpoint.
+ *
+ * @param <T>
+ *            the record type.
+ */
+@FunctionalInterface
+public interface PageFetcher<T> {
+
+    /**
+     * @param pageNumber
+     *            the 1-based page number.
+     * @return the page's records and metadata.
+     */
+    Page<T> fetch(int pageNumber);
+}
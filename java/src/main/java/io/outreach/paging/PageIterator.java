@@ -0,0 +1,160 @@
+package io.outreach.paging;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.json.simple.JSONObject;
+
+import io.outreach.exception.OutreachException;
+import io.outreach.exception.OutreachSecurityException;
+
+/**
+ * Lazily walks every page of a collection endpoint, handing out the records
+ * of each page's {@code data} array one at a time. <br />
+ * <br />
+ * While the records of one page are consumed the next page is fetched in the
+ * background, so at most two pages are held in memory regardless of the size
+ * of the collection.
+ *
+ * @param <T>
+ *            the record type.
+ */
+public class PageIterator<T> implements Iterator<T> {
+
+    /**
+     * Maximum page size accepted by the collection endpoints.
+     */
+    public static final int MAX_PAGE_SIZE = 50;
+
+    private final PageFetcher<T> fetcher;
+    private final Executor executor;
+    private final int pageSize;
+
+    private List<T> records = Collections.emptyList();
+    private int index = 0;
+    private int pageNumber = 0;
+    private CompletableFuture<Page<T>> next;
+
+    /**
+     * @param fetcher
+     *            fetches pages by number, requesting {@code pageSize} records.
+     * @param executor
+     *            runs the background prefetch of the following page.
+     * @param pageSize
+     *            the page size requested by the fetcher, a short page marks
+     *            the end of the collection.
+     */
+    public PageIterator(final PageFetcher<T> fetcher, final Executor executor, final int pageSize) {
+        this.fetcher = fetcher;
+        this.executor = executor;
+        this.pageSize = pageSize;
+        this.next = prefetch(1);
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (index >= records.size()) {
+            if (next == null) {
+                return false;
+            }
+            advance();
+        }
+        return true;
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return records.get(index++);
+    }
+
+    /**
+     * @return the number of the last page received.
+     */
+    public int getPageNumber() {
+        return pageNumber;
+    }
+
+    /**
+     * Abandons the iteration, cancelling any prefetch in flight.
+     */
+    public void cancel() {
+        if (next != null) {
+            next.cancel(false);
+            next = null;
+        }
+        records = Collections.emptyList();
+    }
+
+    /**
+     * @return a sequential, ordered stream over the remaining records, closing
+     *         the stream cancels any prefetch in flight.
+     */
+    public Stream<T> stream() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                            .onClose(this::cancel);
+    }
+
+    private void advance() {
+        final Page<T> page;
+        try {
+            page = next.join();
+        } catch (CompletionException exception) {
+            next = null;
+            final Throwable cause = exception.getCause();
+            throw cause instanceof OutreachException ? (OutreachException) cause : new OutreachSecurityException(cause);
+        }
+
+        pageNumber++;
+        records = page == null ? Collections.<T>emptyList() : page.getRecords();
+        index = 0;
+
+        next = isLastPage(page == null ? null : page.getMeta(), records.size(), pageNumber, pageSize) ? null : prefetch(pageNumber + 1);
+    }
+
+    private CompletableFuture<Page<T>> prefetch(final int number) {
+        return CompletableFuture.supplyAsync(() -> fetcher.fetch(number), executor);
+    }
+
+    /**
+     * @return the number of the last page according to the response metadata,
+     *         or {@link Integer#MAX_VALUE} when the response carries no totals.
+     */
+    static int lastPageNumber(final JSONObject meta, final int pageSize) {
+        if (meta != null) {
+            final Object paging = meta.get("page");
+            if (paging instanceof JSONObject) {
+                final Object maximum = ((JSONObject) paging).get("maximum");
+                if (maximum instanceof Number) {
+                    return ((Number) maximum).intValue();
+                }
+            }
+            final Object results = meta.get("results");
+            if (results instanceof JSONObject) {
+                final Object total = ((JSONObject) results).get("total");
+                if (total instanceof Number) {
+                    return (int) Math.max(1, (((Number) total).longValue() + pageSize - 1) / pageSize);
+                }
+            }
+        }
+        return Integer.MAX_VALUE;
+    }
+
+    /**
+     * A page is the last when it is short, or when its metadata says so.
+     */
+    static boolean isLastPage(final JSONObject meta, final int entries, final int number, final int pageSize) {
+        return entries < pageSize || number >= lastPageNumber(meta, pageSize);
+    }
+}
@@ -0,0 +1,226 @@
+package io.outreach.paging;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.SortedMap;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import io.outreach.exception.OutreachException;
+import io.outreach.exception.OutreachSecurityException;
+import io.outreach.throttle.RateLimiter;
+
+/**
+ * Walks every page of a collection endpoint with up to {@code parallelism}
+ * page requests in flight, for bulk exports where one page at a time leaves
+ * the connection idle for most of each round trip. <br />
+ * <br />
+ * The first page is fetched on its own to learn the size of the collection,
+ * following pages are then requested concurrently. When the response carries
+ * no totals pages are requested speculatively and the walk stops at the first
+ * short page. In ordered mode records are returned in page order, holding at
+ * most {@code parallelism} pages in memory; unordered mode returns each page
+ * as soon as it arrives.
+ *
+ * @param <T>
+ *            the record type.
+ */
+public class ParallelPageIterator<T> implements Iterator<T> {
+
+    private static final int UNKNOWN = Integer.MAX_VALUE;
+
+    private final PageFetcher<T> fetcher;
+    private final Executor executor;
+    private final int pageSize;
+    private final int parallelism;
+    private final RateLimiter rateLimiter;
+    private final boolean ordered;
+
+    /**
+     * Requests in flight in either mode, by page number.
+     */
+    private final TreeMap<Integer, CompletableFuture<Numbered<T>>> inFlight = new TreeMap<>();
+
+    /**
+     * Numbers of completed requests, in completion order; used in unordered
+     * mode. May name requests already dropped from {@link #inFlight}.
+     */
+    private final LinkedBlockingQueue<Integer> completed = new LinkedBlockingQueue<>();
+
+    private int nextPage = 1;
+    private int lastPage = UNKNOWN;
+    private int pagesReceived = 0;
+
+    private List<T> records = Collections.emptyList();
+    private int index = 0;
+
+    /**
+     * @param fetcher
+     *            fetches pages by number, requesting {@code pageSize} records.
+     * @param executor
+     *            runs the page requests, must allow {@code parallelism}
+     *            concurrent tasks.
+     * @param pageSize
+     * @param parallelism
+     *            maximum number of page requests in flight.
+     * @param rateLimiter
+     *            budget each page request draws a permit from, or null.
+     * @param ordered
+     *            whether records are returned in page order.
+     */
+    public ParallelPageIterator(final PageFetcher<T> fetcher,
+                                final Executor executor,
+                                final int pageSize,
+                                final int parallelism,
+                                final RateLimiter rateLimiter,
+                                final boolean ordered) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be positive");
+        }
+        this.fetcher = fetcher;
+        this.executor = executor;
+        this.pageSize = pageSize;
+        this.parallelism = parallelism;
+        this.rateLimiter = rateLimiter;
+        this.ordered = ordered;
+        fill();
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (index >= records.size()) {
+            if (inFlight.isEmpty()) {
+                return false;
+            }
+            advance();
+        }
+        return true;
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return records.get(index++);
+    }
+
+    /**
+     * Abandons the export, cancelling requests in flight.
+     */
+    public void cancel() {
+        lastPage = 0;
+        drop(0);
+        completed.clear();
+        records = Collections.emptyList();
+    }
+
+    /**
+     * @return a sequential stream over the remaining records, closing the
+     *         stream cancels any requests in flight.
+     */
+    public Stream<T> stream() {
+        final int characteristics = Spliterator.NONNULL | (ordered ? Spliterator.ORDERED : 0);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this, characteristics), false)
+                            .onClose(this::cancel);
+    }
+
+    private void fill() {
+        // Until the first page arrives the size of the collection is unknown.
+        final int limit = pagesReceived == 0 ? 1 : parallelism;
+        while (inFlight.size() < limit && nextPage <= lastPage) {
+            final int number = nextPage++;
+            final CompletableFuture<Numbered<T>> request = request(number);
+            inFlight.put(number, request);
+            if (!ordered) {
+                request.whenComplete((page, failure) -> completed.add(number));
+            }
+        }
+    }
+
+    private CompletableFuture<Numbered<T>> request(final int number) {
+        return CompletableFuture.supplyAsync(() -> {
+            if (rateLimiter != null) {
+                try {
+                    rateLimiter.acquire();
+                } catch (InterruptedException exception) {
+                    Thread.currentThread().interrupt();
+                    throw new OutreachSecurityException(exception);
+                }
+            }
+            return new Numbered<>(number, fetcher.fetch(number));
+        }, executor);
+    }
+
+    private void advance() {
+        CompletableFuture<Numbered<T>> request;
+        if (ordered) {
+            request = inFlight.pollFirstEntry().getValue();
+        } else {
+            do {
+                try {
+                    request = inFlight.remove(completed.take());
+                } catch (InterruptedException exception) {
+                    Thread.currentThread().interrupt();
+                    throw new OutreachSecurityException(exception);
+                }
+            } while (request == null); // Dropped past the end of the collection.
+        }
+
+        final Numbered<T> page;
+        try {
+            page = request.join();
+        } catch (CompletionException exception) {
+            cancel();
+            final Throwable cause = exception.getCause();
+            throw cause instanceof OutreachException ? (OutreachException) cause : new OutreachSecurityException(cause);
+        }
+
+        pagesReceived++;
+        records = page.page == null ? Collections.<T>emptyList() : page.page.getRecords();
+        index = 0;
+
+        if (records.size() < pageSize) {
+            lastPage = Math.min(lastPage, page.number);
+        }
+        if (page.number == 1 && page.page != null) {
+            lastPage = Math.min(lastPage, PageIterator.lastPageNumber(page.page.getMeta(), pageSize));
+        }
+        drop(lastPage);
+        fill();
+    }
+
+    /**
+     * Cancels and forgets the requests for pages after {@code last}.
+     */
+    private void drop(final int last) {
+        final SortedMap<Integer, CompletableFuture<Numbered<T>>> beyond = inFlight.tailMap(last, false);
+        for (CompletableFuture<Numbered<T>> request : beyond.values()) {
+            request.cancel(false);
+        }
+        beyond.clear();
+    }
+
+    /**
+     * A page tagged with its number, so out-of-order completions can still
+     * bound the walk.
+     */
+    private static class Numbered<T> {
+        final int number;
+        final Page<T> page;
+
+        Numbered(final int number, final Page<T> page) {
+            this.number = number;
+            this.page = page;
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package io.outreach.retry;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.NoRouteToHostException;
+import java.net.UnknownHostException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import javax.net.ssl.SSLHandshakeException;
+import javax.net.ssl.SSLPeerUnverifiedException;
+
+import io.outreach.transport.HttpStatusException;
+import io.outreach.transport.Request;
+
+/**
+ * Decides whether and when a failed request is repeated. <br />
+ * <br />
+ * Idempotent requests are retried after I/O failures and after 408, 429, 500,
+ * 502, 503 and 504 responses. A failed TLS handshake or an unverified peer is
+ * never retried, nor is any failure raised by the client itself rather than by
+ * I/O. Other requests are only retried when the server provably did not process
+ * them: the connection could not be established, or the server answered 429 or
+ * 503. Delays grow exponentially from {@code baseDelay} up to {@code maxDelay}
+ * with a random jitter, and no retry is scheduled past the deadline measured
+ * from the first attempt.
+ */
+public class RetryPolicy {
+
+    public static final RetryPolicy DEFAULT = new RetryPolicy(4, 200, 10000, 0.5, 60000);
+
+    public static final RetryPolicy NONE = new RetryPolicy(1, 0, 0, 0, 0);
+
+    private final int maxAttempts;
+    private final long baseDelayMillis;
+    private final long maxDelayMillis;
+    private final double jitter;
+    private final long deadlineMillis;
+
+    /**
+     * @param maxAttempts
+     *            total attempts including the first.
+     * @param baseDelayMillis
+     *            delay before the first retry, doubled on each retry.
+     * @param maxDelayMillis
+     *            upper bound on a single delay.
+     * @param jitter
+     *            fraction of each delay which is randomized, in [0, 1].
+     * @param deadlineMillis
+     *            overall time budget from the first attempt.
+     */
+    public RetryPolicy(final int maxAttempts,
+                       final long baseDelayMillis,
+                       final long maxDelayMillis,
+                       final double jitter,
+                       final long deadlineMillis) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("maxAttempts must be positive");
+        }
+        if (jitter < 0 || jitter > 1) {
+            throw new IllegalArgumentException("jitter must be between 0 and 1");
+        }
+        this.maxAttempts = maxAttempts;
+        this.baseDelayMillis = baseDelayMillis;
+        this.maxDelayMillis = maxDelayMillis;
+        this.jitter = jitter;
+        this.deadlineMillis = deadlineMillis;
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    public long getDeadline(final TimeUnit unit) {
+        return unit.convert(deadlineMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @param request
+     * @param statusCode
+     * @return true if a response with the given status should be retried.
+     */
+    public boolean isRetryable(final Request request, final int statusCode) {
+        return isRetryable(request.isIdempotent(), statusCode);
+    }
+
+    /**
+     * @param idempotent
+     *            whether repeating the failed operation is safe.
+     * @param statusCode
+     * @return true if a response with the given status should be retried.
+     */
+    public boolean isRetryable(final boolean idempotent, final int statusCode) {
+        if (statusCode == 429 || statusCode == 503) {
+            return true;
+        }
+        if (!idempotent) {
+            return false;
+        }
+        return statusCode == 408 || statusCode == 500 || statusCode == 502 || statusCode == 504;
+    }
+
+    /**
+     * @param request
+     * @param failure
+     * @return true if a request failing with the given error should be retried.
+     */
+    public boolean isRetryable(final Request request, final Throwable failure) {
+        return isRetryable(request.isIdempotent(), failure);
+    }
+
+    /**
+     * For callers repeating a whole operation rather than a single request.
+     *
+     * @param idempotent
+     *            whether repeating the failed operation is safe.
+     * @param failure
+     * @return true if an operation failing with the given error should be
+     *         retried.
+     */
+    public boolean isRetryable(final boolean idempotent, final Throwable failure) {
+        boolean io = false;
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof HttpStatusException) {
+                return isRetryable(idempotent, ((HttpStatusException) cause).getStatusCode());
+            }
+            if (cause instanceof SSLHandshakeException || cause instanceof SSLPeerUnverifiedException) {
+                return false; // Repeating the handshake meets the same certificate
+            }
+            io |= cause instanceof IOException;
+        }
+        return io && (idempotent || isConnectFailure(failure));
+    }
+
+    /**
+     * @param attempt
+     *            the 1-based number of the attempt which failed.
+     * @return milliseconds to wait before the next attempt.
+     */
+    public long delay(final int attempt) {
+        final long exponential = Math.min(maxDelayMillis, baseDelayMillis << Math.min(attempt - 1, 30));
+        final long jittered = (long) (exponential * jitter * ThreadLocalRandom.current().nextDouble());
+        return exponential - jittered;
+    }
+
+    /**
+     * @return true if the failure happened before the request reached the
+     *         server, so repeating it cannot duplicate its effect.
+     */
+    public static boolean isConnectFailure(final Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConnectException || cause instanceof UnknownHostException || cause instanceof NoRouteToHostException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,50 @@
+package io.outreach.retry;
+
+/**
+ * Immutable snapshot of a {@link RetryingTransport}'s counters.
+ */
+public class RetryStats {
+
+    private final long requests;
+    private final long retries;
+    private final long recovered;
+    private final long giveUps;
+
+    public RetryStats(final long requests, final long retries, final long recovered, final long giveUps) {
+        this.requests = requests;
+        this.retries = retries;
+        this.recovered = recovered;
+        this.giveUps = giveUps;
+    }
+
+    public long getRequests() {
+        return requests;
+    }
+
+    /**
+     * @return the number of repeated attempts.
+     */
+    public long getRetries() {
+        return retries;
+    }
+
+    /**
+     * @return the number of requests which succeeded after at least one retry.
+     */
+    public long getRecovered() {
+        return recovered;
+    }
+
+    /**
+     * @return the number of retryable failures returned to the caller because
+     *         attempts or the deadline ran out.
+     */
+    public long getGiveUps() {
+        return giveUps;
+    }
+
+    @Override
+    public String toString() {
+        return "RetryStats[requests=" + requests + ", retries=" + retries + ", recovered=" + recovered + ", giveUps=" + giveUps + "]";
+    }
+}
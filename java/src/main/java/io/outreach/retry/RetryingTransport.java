@@ -0,0 +1,116 @@
+package io.outreach.retry;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.outreach.metrics.OutreachListener;
+import io.outreach.throttle.ThrottlingTransport;
+import io.outreach.transport.Request;
+import io.outreach.transport.Response;
+import io.outreach.transport.Transport;
+import io.outreach.transport.TransportStats;
+
+/**
+ * Transport decorator repeating failed requests according to a
+ * {@link RetryPolicy}. A {@code Retry-After} header on a retryable response
+ * extends the delay before the next attempt. The final response or error is
+ * returned to the caller unchanged once the policy gives up.
+ */
+public class RetryingTransport implements Transport {
+
+    private final Transport delegate;
+    private final RetryPolicy policy;
+    private final OutreachListener listener;
+
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong retries = new AtomicLong();
+    private final AtomicLong recovered = new AtomicLong();
+    private final AtomicLong giveUps = new AtomicLong();
+
+    public RetryingTransport(final Transport delegate) {
+        this(delegate, RetryPolicy.DEFAULT);
+    }
+
+    public RetryingTransport(final Transport delegate, final RetryPolicy policy) {
+        this(delegate, policy, OutreachListener.NONE);
+    }
+
+    /**
+     * @param listener
+     *            notified of every retry before its delay.
+     */
+    public RetryingTransport(final Transport delegate, final RetryPolicy policy, final OutreachListener listener) {
+        this.delegate = delegate;
+        this.policy = policy;
+        this.listener = listener;
+    }
+
+    @Override
+    public Response execute(final Request request) throws IOException {
+        requests.incrementAndGet();
+        final long deadline = System.currentTimeMillis() + policy.getDeadline(TimeUnit.MILLISECONDS);
+
+        for (int attempt = 1;; attempt++) {
+            final long delay;
+            try {
+                final Response response = delegate.execute(request);
+                if (!policy.isRetryable(request, response.getStatusCode())) {
+                    if (attempt > 1 && response.isSuccessful()) {
+                        recovered.incrementAndGet();
+                    }
+                    return response;
+                }
+                final long retryAfter = ThrottlingTransport.parseRetryAfter(response.getHeader("Retry-After"), System.currentTimeMillis());
+                delay = Math.max(policy.delay(attempt), retryAfter - System.currentTimeMillis());
+                if (!canRetry(attempt, delay, deadline)) {
+                    giveUps.incrementAndGet();
+                    return response;
+                }
+                response.close();
+            } catch (IOException | RuntimeException exception) {
+                if (!policy.isRetryable(request, exception)) {
+                    throw exception;
+                }
+                final long backoff = policy.delay(attempt);
+                if (!canRetry(attempt, backoff, deadline)) {
+                    giveUps.incrementAndGet();
+                    throw exception;
+                }
+                listener.retryScheduled(request, attempt, backoff);
+                sleep(backoff);
+                retries.incrementAndGet();
+                continue;
+            }
+            listener.retryScheduled(request, attempt, delay);
+            sleep(delay);
+            retries.incrementAndGet();
+        }
+    }
+
+    private boolean canRetry(final int attempt, final long delay, final long deadline) {
+        return attempt < policy.getMaxAttempts() && System.currentTimeMillis() + delay < deadline;
+    }
+
+    private static void sleep(final long millis) throws IOException {
+        try {
+            TimeUnit.MILLISECONDS.sleep(millis);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting to retry", exception);
+        }
+    }
+
+    public RetryPolicy getPolicy() {
+        return policy;
+    }
+
+    public RetryStats getRetryStats() {
+        return new RetryStats(requests.get(), retries.get(), recovered.get(), giveUps.get());
+    }
+
+    @Override
+    public TransportStats stats() {
+        return delegate.stats();
+    }
+}
@@ -0,0 +1,124 @@
+package io.outreach.security;
+
+import java.security.KeyStore;
+import java.security.KeyStoreException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.cert.Certificate;
+import java.security.cert.CertificateEncodingException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable SHA-256 fingerprints of a trust store, computed once when built. <br />
+ * <br />
+ * Public key pins hash each certificate's SubjectPublicKeyInfo, so a peer is
+ * trusted with a single hash lookup however many certificates are pinned;
+ * host pins hash the whole certificate stored under each hostname alias.
+ */
+public final class PinSet {
+
+	private static final String SHA_256 = "SHA-256";
+
+	private static final ThreadLocal<MessageDigest> DIGEST = ThreadLocal.withInitial(() -> {
+		try {
+			return MessageDigest.getInstance(SHA_256);
+		} catch (NoSuchAlgorithmException impossible) {
+			throw new IllegalStateException(impossible);
+		}
+	});
+
+	private final Set<Fingerprint> publicKeys;
+	private final Map<String, Fingerprint> hosts;
+
+	private PinSet(Set<Fingerprint> publicKeys, Map<String, Fingerprint> hosts) {
+		this.publicKeys = Collections.unmodifiableSet(publicKeys);
+		this.hosts = Collections.unmodifiableMap(hosts);
+	}
+
+	/**
+	 * @param trustStore
+	 * @return the pins of every certificate in the trust store.
+	 * @throws KeyStoreException
+	 *             if the trust store cannot be read.
+	 */
+	public static PinSet of(KeyStore trustStore) throws KeyStoreException {
+		Set<Fingerprint> publicKeys = new HashSet<>();
+		Map<String, Fingerprint> hosts = new HashMap<>();
+		Enumeration<String> aliases = trustStore.aliases();
+		while (aliases.hasMoreElements()) {
+			String alias = aliases.nextElement();
+			Certificate certificate = trustStore.getCertificate(alias);
+			if (certificate == null) {
+				continue;
+			}
+			publicKeys.add(publicKey(certificate));
+			try {
+				hosts.put(alias.toLowerCase(Locale.ROOT), certificate(certificate));
+			} catch (CertificateEncodingException exception) {
+				throw new KeyStoreException(exception);
+			}
+		}
+		return new PinSet(publicKeys, hosts);
+	}
+
+	/**
+	 * @return true if the certificate's public key matches any pinned key.
+	 */
+	public boolean isTrusted(Certificate peerCertificate) {
+		return publicKeys.contains(publicKey(peerCertificate));
+	}
+
+	/**
+	 * @return true if the certificate is the one pinned for the hostname.
+	 * @throws CertificateEncodingException
+	 *             if the certificate cannot be encoded.
+	 */
+	public boolean isPinned(String hostname, Certificate peerCertificate) throws CertificateEncodingException {
+		Fingerprint pinned = hosts.get(hostname.toLowerCase(Locale.ROOT));
+		return pinned != null && pinned.equals(certificate(peerCertificate));
+	}
+
+	public int size() {
+		return publicKeys.size();
+	}
+
+	private static Fingerprint publicKey(Certificate certificate) {
+		return new Fingerprint(DIGEST.get().digest(certificate.getPublicKey().getEncoded()));
+	}
+
+	private static Fingerprint certificate(Certificate certificate) throws CertificateEncodingException {
+		return new Fingerprint(DIGEST.get().digest(certificate.getEncoded()));
+	}
+
+	/**
+	 * A digest with its hash code computed once.
+	 */
+	private static final class Fingerprint {
+
+		private final byte[] digest;
+		private final int hash;
+
+		Fingerprint(byte[] digest) {
+			this.digest = digest;
+			this.hash = Arrays.hashCode(digest);
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			return other instanceof Fingerprint && Arrays.equals(digest, ((Fingerprint) other).digest);
+		}
+	}
+
+}
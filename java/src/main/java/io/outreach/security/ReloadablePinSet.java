@@ -0,0 +1,43 @@
+package io.outreach.security;
+
+import java.security.KeyStore;
+import java.security.KeyStoreException;
+
+/**
+ * Holds the current {@link PinSet}, which may be replaced while connections
+ * are being verified. A reload is a single atomic swap: each handshake sees
+ * either the old or the new pins in full, and sessions verified against the
+ * old pins are verified again.
+ */
+public class ReloadablePinSet {
+
+	private volatile PinSet current;
+
+	public ReloadablePinSet(PinSet pins) {
+		this.current = pins;
+	}
+
+	/**
+	 * @throws KeyStoreException
+	 *             if the trust store cannot be read.
+	 */
+	public ReloadablePinSet(KeyStore trustStore) throws KeyStoreException {
+		this(PinSet.of(trustStore));
+	}
+
+	public PinSet get() {
+		return current;
+	}
+
+	/**
+	 * Pins the given trust store in place of the current one.
+	 *
+	 * @throws KeyStoreException
+	 *             if the trust store cannot be read, the current pins are
+	 *             kept.
+	 */
+	public void reload(KeyStore trustStore) throws KeyStoreException {
+		current = PinSet.of(trustStore);
+	}
+
+}
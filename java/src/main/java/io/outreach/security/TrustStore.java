@@ -1,27 +1,56 @@
 package io.outreach.security;
 
-import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.security.GeneralSecurityException;
 import java.security.KeyStore;
 import java.util.Arrays;
 
+import io.outreach.exception.OutreachSecurityException;
+
+/**
+ * The trust store pinning the Outreach API, loaded once from the classpath
+ * resource {@value #RESOURCE} and shared thereafter.
+ */
 public class TrustStore {
 
+	public static final String RESOURCE = "/outreach.truststore";
+
+	private static volatile KeyStore shared;
+
+	/**
+	 * @return the shared trust store, which must not be modified.
+	 * @throws OutreachSecurityException
+	 *             if the resource is missing or unreadable, loading is
+	 *             retried on the next call.
+	 */
 	public static KeyStore get() {
-		try {
-			KeyStore keyStore = KeyStore.getInstance("JKS");
-			char[] password = "outreach".toCharArray();
-			keyStore.load(stream(), password);
-			Arrays.fill(password, '\0');
-			return keyStore;
-		} catch (Exception ignore) {
-			return null;
+		KeyStore keyStore = shared;
+		if (keyStore == null) {
+			synchronized (TrustStore.class) {
+				keyStore = shared;
+				if (keyStore == null) {
+					shared = keyStore = load();
+				}
+			}
 		}
+		return keyStore;
 	}
 
-	private static InputStream stream() throws IOException {
-		return new FileInputStream("src/main/resources/outreach.truststore");
+	private static KeyStore load() {
+		char[] password = "outreach".toCharArray();
+		try (InputStream stream = TrustStore.class.getResourceAsStream(RESOURCE)) {
+			if (stream == null) {
+				throw new OutreachSecurityException("Trust store " + RESOURCE + " is not on the classpath");
+			}
+			KeyStore keyStore = KeyStore.getInstance("JKS");
+			keyStore.load(stream, password);
+			return keyStore;
+		} catch (IOException | GeneralSecurityException exception) {
+			throw new OutreachSecurityException("Cannot load trust store " + RESOURCE, exception);
+		} finally {
+			Arrays.fill(password, '\0');
+		}
 	}
 
 }
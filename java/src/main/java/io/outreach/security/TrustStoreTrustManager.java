@@ -2,21 +2,40 @@ package io.outreach.security;
 
 import java.security.KeyStore;
 import java.security.KeyStoreException;
-import java.security.PublicKey;
-import java.security.cert.Certificate;
 import java.security.cert.CertificateException;
 import java.security.cert.X509Certificate;
-import java.util.Arrays;
-import java.util.Enumeration;
 
 import javax.net.ssl.X509TrustManager;
 
+import io.outreach.exception.OutreachSecurityException;
+
+/**
+ * Trusts a peer whose leaf certificate carries a public key pinned in the
+ * trust store, checked with one lookup in the current {@link PinSet}.
+ */
 public class TrustStoreTrustManager implements X509TrustManager {
 
-	private final KeyStore trustStore;
+	private final ReloadablePinSet pins;
 
 	public TrustStoreTrustManager(KeyStore trustStore) {
-		this.trustStore = trustStore;
+		this(pin(trustStore));
+	}
+
+	/**
+	 * @param pins
+	 *            the pins to verify against, which may be reloaded while in
+	 *            use.
+	 */
+	public TrustStoreTrustManager(ReloadablePinSet pins) {
+		this.pins = pins;
+	}
+
+	static ReloadablePinSet pin(KeyStore trustStore) {
+		try {
+			return new ReloadablePinSet(trustStore);
+		} catch (KeyStoreException exception) {
+			throw new OutreachSecurityException(exception);
+		}
 	}
 
 	@Override
@@ -29,29 +48,9 @@ public class TrustStoreTrustManager implements X509TrustManager {
 			throw new CertificateException();
 		}
 		X509Certificate peerCertificate = peerCertificates[0];
-		checkPeerCertificateTrusted(peerCertificate);
-	}
-
-	private void checkPeerCertificateTrusted(X509Certificate peerCertificate) throws CertificateException {
-		PublicKey peerPublicKey = peerCertificate.getPublicKey();
-		try {
-			checkPublicKeyTrusted(peerPublicKey);
-		} catch (KeyStoreException exception) {
-			throw new CertificateException(exception);
-		}
-	}
-
-	private void checkPublicKeyTrusted(PublicKey peerPublicKey) throws KeyStoreException, CertificateException {
-		Enumeration<String> aliases = trustStore.aliases();
-		while (aliases.hasMoreElements()) {
-			String alias = aliases.nextElement();
-			Certificate trustedCertificate = trustStore.getCertificate(alias);
-			PublicKey trustedPublicKey = trustedCertificate.getPublicKey();
-			if (equals(peerPublicKey, trustedPublicKey)) {
-				return;
-			}
+		if (!pins.get().isTrusted(peerCertificate)) {
+			throw new CertificateException();
 		}
-		throw new CertificateException();
 	}
 
 	@Override
@@ -59,10 +58,6 @@ public class TrustStoreTrustManager implements X509TrustManager {
 		checkPeerCertificateChainTrusted(peerCertificates);
 	}
 
-	private boolean equals(PublicKey a, PublicKey b) {
-		return Arrays.equals(a.getEncoded(), b.getEncoded());
-	}
-
 	@Override
 	public X509Certificate[] getAcceptedIssuers() {
 		return null;
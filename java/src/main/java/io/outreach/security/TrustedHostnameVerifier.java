@@ -1,8 +1,8 @@
 package io.outreach.security;
 
 import java.security.KeyStore;
-import java.security.KeyStoreException;
 import java.security.cert.Certificate;
+import java.security.cert.CertificateEncodingException;
 
 import javax.net.ssl.HostnameVerifier;
 import javax.net.ssl.SSLPeerUnverifiedException;
@@ -10,33 +10,72 @@ import javax.net.ssl.SSLSession;
 
 import io.outreach.exception.OutreachSecurityException;
 
+/**
+ * Accepts a host whose leaf certificate is the one stored under its name in
+ * the trust store. <br />
+ * <br />
+ * A verified session is marked as such, so connections resuming it from the
+ * pool skip hashing the peer's certificate; the mark is tied to the pins it
+ * was checked against and lapses when they are reloaded.
+ */
 public class TrustedHostnameVerifier implements HostnameVerifier {
 
-	private final KeyStore trustStore;
+	private static final String VERIFIED = TrustedHostnameVerifier.class.getName();
+
+	private final ReloadablePinSet pins;
 	
 	public TrustedHostnameVerifier(KeyStore trustStore) {
-		this.trustStore = trustStore;
+		this(TrustStoreTrustManager.pin(trustStore));
+	}
+
+	/**
+	 * @param pins
+	 *            the pins to verify against, which may be reloaded while in
+	 *            use.
+	 */
+	public TrustedHostnameVerifier(ReloadablePinSet pins) {
+		this.pins = pins;
 	}
 	
 	@Override
 	public boolean verify(String hostname, SSLSession session) {
+		PinSet current = pins.get();
+		Object verified = session.getValue(VERIFIED);
+		if (verified instanceof Verification && ((Verification) verified).matches(current, hostname)) {
+			return true;
+		}
 		try {
-			Certificate trustedCertificate = trustStore.getCertificate(hostname);
-			if(trustedCertificate == null) {
-				return false;
-			}
 			Certificate [] peerCertificates = session.getPeerCertificates();
 			if(peerCertificates == null || peerCertificates.length < 1) {
 				return false;
 			}
 			Certificate peerCertificate = peerCertificates[0];
-			if(trustedCertificate.equals(peerCertificate)) {
+			if(current.isPinned(hostname, peerCertificate)) {
+				session.putValue(VERIFIED, new Verification(current, hostname));
 				return true;
 			}
-		} catch (KeyStoreException | SSLPeerUnverifiedException exception) {
+		} catch (CertificateEncodingException | SSLPeerUnverifiedException exception) {
 			throw new OutreachSecurityException(exception);
 		}
 		return false;
 	}
 
+	/**
+	 * The host and pins a session was verified against.
+	 */
+	private static final class Verification {
+
+		private final PinSet pins;
+		private final String hostname;
+
+		Verification(PinSet pins, String hostname) {
+			this.pins = pins;
+			this.hostname = hostname;
+		}
+
+		boolean matches(PinSet current, String hostname) {
+			return pins == current && this.hostname.equals(hostname);
+		}
+	}
+
 }
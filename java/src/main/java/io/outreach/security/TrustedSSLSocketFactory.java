@@ -15,7 +15,20 @@ public class TrustedSSLSocketFactory {
 	private static final String SSL_CONTEXT_TLS = "TLS";
 
 	public static SSLSocketFactory get(KeyStore trustStore) throws NoSuchAlgorithmException, KeyManagementException {
-		TrustManager[] trustManagers = new TrustManager[] { new TrustStoreTrustManager(trustStore) };
+		return get(new TrustStoreTrustManager(trustStore));
+	}
+
+	/**
+	 * @param pins
+	 *            the pins to verify against, which may be reloaded while
+	 *            sockets are in use.
+	 */
+	public static SSLSocketFactory get(ReloadablePinSet pins) throws NoSuchAlgorithmException, KeyManagementException {
+		return get(new TrustStoreTrustManager(pins));
+	}
+
+	private static SSLSocketFactory get(TrustManager trustManager) throws NoSuchAlgorithmException, KeyManagementException {
+		TrustManager[] trustManagers = new TrustManager[] { trustManager };
 		SSLContext context = SSLContext.getInstance(SSL_CONTEXT_TLS);
 		KeyManager[] keyManagers = new KeyManager[0];
 		SecureRandom random = new SecureRandom();
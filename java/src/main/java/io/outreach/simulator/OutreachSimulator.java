@@ -0,0 +1,751 @@
+package io.outreach.simulator;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.StringReader;
+import java.io.UnsupportedEncodingException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+import org.json.simple.JSONValue;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import io.outreach.Outreach;
+import io.outreach.concurrent.WorkerExecutors;
+import io.outreach.model.Prospect;
+import io.outreach.model.ProspectCodec;
+import io.outreach.paging.PageIterator;
+import io.outreach.throttle.RateLimiter;
+import io.outreach.transport.CompressingTransport;
+import io.outreach.transport.PooledTransport;
+import io.outreach.transport.Transport;
+
+/**
+ * An embeddable, in-process stand-in for the Outreach API, serving the
+ * documented {@code /oauth/token}, {@code /1.0/prospects},
+ * {@code /1.0/sequences} and {@code /1.0/info} contracts over loopback HTTP so
+ * throughput, retry and pooling behaviour can be exercised offline. <br />
+ * <br />
+ * Prospects and sequences are held in memory and paginated as the API does.
+ * The other collections in {@link #RESOURCES} are listed, filtered, fetched and
+ * created generically, records seeded through {@link #addRecord}.
+ * Latency, injected errors, 429 throttling and token lifetime may be changed
+ * at any time, including while clients are running, and apply to API requests
+ * only; the token exchange is never delayed, throttled or failed. <br />
+ * <br />
+ * <b>NOTE</b>: Authorization codes are single use, as with the API, so every
+ * client needs its own code; {@link #newClient()} supplies a fresh one.
+ */
+public class OutreachSimulator implements AutoCloseable {
+
+    public static final String VERSION = "1.0";
+
+    private static final String API_PREFIX = "/" + VERSION;
+
+    /**
+     * Collections served generically, with the attribute path each is listed
+     * by.
+     */
+    public static final Map<String, String> RESOURCES;
+
+    static {
+        final Map<String, String> resources = new LinkedHashMap<>();
+        resources.put("/accounts", "company/name");
+        resources.put("/activities", "metadata/created");
+        resources.put("/calls", "metadata/created");
+        resources.put("/call_dispositions", "name");
+        resources.put("/call_purposes", "name");
+        resources.put("/mailings", "metadata/created");
+        resources.put("/mappings", "metadata/created");
+        resources.put("/plugins", "name");
+        resources.put("/users", "metadata/last_name");
+        RESOURCES = Collections.unmodifiableMap(resources);
+    }
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    private final SimulatedCollection prospects = new SimulatedCollection("prospect", "/prospects", "personal/name/last");
+    private final SimulatedCollection sequences = new SimulatedCollection("sequence", "/sequences", "name");
+    private final Map<Long, Set<Long>> enrollments = new ConcurrentHashMap<>();
+    private final Map<String, SimulatedCollection> collections = new HashMap<>();
+
+    /**
+     * Access tokens to their expiry in epoch milliseconds.
+     */
+    private final Map<String, Long> accessTokens = new ConcurrentHashMap<>();
+    private final Set<String> refreshTokens = ConcurrentHashMap.newKeySet();
+    private final Set<String> spentCodes = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger codes = new AtomicInteger();
+
+    private volatile long minLatencyNanos = 0;
+    private volatile long maxLatencyNanos = 0;
+    private volatile double errorRate = 0;
+    private volatile int errorStatus = 500;
+    private final AtomicInteger failures = new AtomicInteger();
+    private volatile int failureStatus = 500;
+    private volatile RateLimiter rateLimiter = null;
+    private volatile long tokenLifetimeSeconds = TimeUnit.HOURS.toSeconds(2);
+
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong throttled = new AtomicLong();
+    private final AtomicLong injectedErrors = new AtomicLong();
+    private final AtomicLong unauthorized = new AtomicLong();
+    private final AtomicLong tokensIssued = new AtomicLong();
+
+    /**
+     * Listens on an ephemeral loopback port.
+     */
+    public OutreachSimulator() throws IOException {
+        this(0);
+    }
+
+    /**
+     * @param port
+     *            the loopback port to listen on, or 0 for an ephemeral port.
+     */
+    public OutreachSimulator(final int port) throws IOException {
+        for (Map.Entry<String, String> resource : RESOURCES.entrySet()) {
+            final String name = resource.getKey().substring(1);
+            final String type = name.endsWith("ies") ? name.substring(0, name.length() - 3) + "y" : name.substring(0, name.length() - 1);
+            collections.put(name, new SimulatedCollection(type, resource.getKey(), resource.getValue()));
+        }
+        this.executor = WorkerExecutors.newWorkerExecutor("outreach-simulator");
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        this.server.setExecutor(executor);
+        this.server.createContext("/", this::handle);
+        this.server.start();
+    }
+
+    /**
+     * @return the API root to configure clients with, e.g.
+     *         "http://127.0.0.1:54321".
+     */
+    public String getEndpoint() {
+        final InetSocketAddress address = server.getAddress();
+        return "http://" + address.getAddress().getHostAddress() + ":" + address.getPort();
+    }
+
+    /**
+     * @return a client of this simulator on the default transport stack.
+     */
+    public Outreach newClient() {
+        return newClient(new CompressingTransport(new PooledTransport()));
+    }
+
+    /**
+     * @param transport
+     *            the transport under test.
+     * @return a client of this simulator holding a fresh authorization code.
+     */
+    public Outreach newClient(final Transport transport) {
+        return new Outreach(new Outreach.ApplicationCredentials("simulator", "secret", "urn:simulator"),
+                            "code-" + codes.incrementAndGet(),
+                            transport,
+                            getEndpoint(),
+                            VERSION);
+    }
+
+    /**
+     * Delays every API response by a uniformly random duration in the range.
+     */
+    public OutreachSimulator setLatency(final long min, final long max, final TimeUnit unit) {
+        if (min < 0 || max < min) {
+            throw new IllegalArgumentException("Latency range must satisfy 0 <= min <= max");
+        }
+        this.minLatencyNanos = unit.toNanos(min);
+        this.maxLatencyNanos = unit.toNanos(max);
+        return this;
+    }
+
+    /**
+     * @param rate
+     *            the probability, from 0 to 1, that an API request fails.
+     * @param statusCode
+     *            the status failed requests are answered with.
+     */
+    public OutreachSimulator setErrorRate(final double rate, final int statusCode) {
+        if (rate < 0 || rate > 1) {
+            throw new IllegalArgumentException("Error rate must be between 0 and 1");
+        }
+        this.errorStatus = statusCode;
+        this.errorRate = rate;
+        return this;
+    }
+
+    /**
+     * Fails the next {@code count} API requests deterministically, ahead of
+     * any random errors.
+     */
+    public OutreachSimulator failNext(final int count, final int statusCode) {
+        this.failureStatus = statusCode;
+        this.failures.set(count);
+        return this;
+    }
+
+    /**
+     * Answers API requests over the rate with 429 and a {@code Retry-After}
+     * header.
+     *
+     * @param requestsPerSecond
+     *            the sustained rate, or 0 to disable throttling.
+     * @param burst
+     *            requests allowed back-to-back.
+     */
+    public OutreachSimulator setRateLimit(final double requestsPerSecond, final int burst) {
+        this.rateLimiter = requestsPerSecond > 0 ? new RateLimiter(requestsPerSecond, burst) : null;
+        return this;
+    }
+
+    /**
+     * Sets the lifetime of subsequently granted access tokens, requests with
+     * an expired token are answered with 401.
+     */
+    public OutreachSimulator setTokenLifetime(final long seconds) {
+        if (seconds < 1) {
+            throw new IllegalArgumentException("Token lifetime must be at least a second");
+        }
+        this.tokenLifetimeSeconds = seconds;
+        return this;
+    }
+
+    /**
+     * Revokes every granted access token, as if each had expired; refresh
+     * tokens remain valid.
+     */
+    public void expireTokens() {
+        accessTokens.clear();
+    }
+
+    /**
+     * Stamps the creation and update times of prospects and sequences from
+     * the clock, e.g. a fixed clock to seed records with past updates.
+     */
+    public OutreachSimulator setClock(final Clock clock) {
+        prospects.setClock(clock);
+        sequences.setClock(clock);
+        for (SimulatedCollection collection : collections.values()) {
+            collection.setClock(clock);
+        }
+        return this;
+    }
+
+    /**
+     * @return the identifier of the stored prospect.
+     */
+    public long addProspect(final Prospect prospect) {
+        final JSONObject entity = (JSONObject) JSONValue.parse(ProspectCodec.INSTANCE.encode(prospect));
+        return (Long) prospects.create(attributes((JSONObject) entity.get("data"))).get("id");
+    }
+
+    /**
+     * Seeds synthetic prospects named "First{n} Last{n}" with unique emails.
+     */
+    public void addProspects(final int count) {
+        final int base = prospects.size();
+        for (int i = base; i < base + count; i++) {
+            addProspect(new Prospect()
+                .setFirstName("First" + i)
+                .setLastName("Last" + i)
+                .setEmail("prospect" + i + "@example.com")
+                .setCompanyName("Company " + (i % 10)));
+        }
+    }
+
+    /**
+     * @return the stored prospect, or null if not found.
+     */
+    public Prospect getProspect(final long id) {
+        final String record = prospects.get(id);
+        if (record == null) {
+            return null;
+        }
+        try {
+            return ProspectCodec.INSTANCE.decodeRecord(new StringReader(record));
+        } catch (IOException impossible) {
+            throw new IllegalStateException(impossible);
+        }
+    }
+
+    /**
+     * @return the identifier of the stored sequence.
+     */
+    @SuppressWarnings("unchecked")
+    public long addSequence(final String name) {
+        final JSONObject attributes = new JSONObject();
+        attributes.put("name", name);
+        return (Long) sequences.create(attributes).get("id");
+    }
+
+    /**
+     * Stores a record in one of the generic {@link #RESOURCES}, filters match
+     * against its attribute paths.
+     *
+     * @param resource
+     *            the collection path, e.g. "/accounts".
+     * @param attributes
+     *            the record's attributes, stamped with its creation time.
+     * @return the identifier of the stored record.
+     */
+    public long addRecord(final String resource, final JSONObject attributes) {
+        final SimulatedCollection collection = collections.get(resource.substring(1));
+        if (collection == null) {
+            throw new IllegalArgumentException("Not a simulated collection: " + resource);
+        }
+        return (Long) collection.create(attributes).get("id");
+    }
+
+    /**
+     * @return the prospects associated with the sequence so far.
+     */
+    public Set<Long> getSequenceProspects(final long sequenceId) {
+        final Set<Long> prospectIds = enrollments.get(sequenceId);
+        return prospectIds == null ? Collections.<Long>emptySet() : new HashSet<>(prospectIds);
+    }
+
+    /**
+     * @return API requests received, excluding the token exchange.
+     */
+    public long getRequests() {
+        return requests.get();
+    }
+
+    public long getThrottled() {
+        return throttled.get();
+    }
+
+    public long getInjectedErrors() {
+        return injectedErrors.get();
+    }
+
+    public long getUnauthorized() {
+        return unauthorized.get();
+    }
+
+    public long getTokensIssued() {
+        return tokensIssued.get();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(final HttpExchange exchange) throws IOException {
+        try {
+            final String body = read(exchange.getRequestBody());
+            final String path = exchange.getRequestURI().getPath();
+            final Reply reply;
+            if (path.equals("/oauth/token")) {
+                reply = token(exchange.getRequestMethod(), body);
+            } else {
+                requests.incrementAndGet();
+                delay();
+                reply = api(exchange, path, body);
+            }
+            send(exchange, reply);
+        } catch (RuntimeException exception) {
+            send(exchange, Reply.error(500, String.valueOf(exception)));
+        } finally {
+            exchange.close();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Reply token(final String method, final String body) {
+        if (!method.equals("POST")) {
+            return Reply.error(405, "Method not allowed");
+        }
+        final Map<String, String> parameters = parse(body);
+        final String grantType = parameters.get("grant_type");
+        if ("authorization_code".equals(grantType)) {
+            final String code = parameters.get("code");
+            if (code == null || !spentCodes.add(code)) {
+                return Reply.error(401, "invalid_grant");
+            }
+        } else if ("refresh_token".equals(grantType)) {
+            final String refreshToken = parameters.get("refresh_token");
+            if (refreshToken == null || !refreshTokens.remove(refreshToken)) {
+                return Reply.error(401, "invalid_grant");
+            }
+        } else {
+            return Reply.error(400, "unsupported_grant_type");
+        }
+
+        final long lifetime = tokenLifetimeSeconds;
+        final String accessToken = UUID.randomUUID().toString();
+        final String refreshToken = UUID.randomUUID().toString();
+        accessTokens.put(accessToken, System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(lifetime));
+        refreshTokens.add(refreshToken);
+        tokensIssued.incrementAndGet();
+
+        final JSONObject grant = new JSONObject();
+        grant.put("access_token", accessToken);
+        grant.put("refresh_token", refreshToken);
+        grant.put("expires_in", lifetime);
+        return new Reply(200, grant.toJSONString());
+    }
+
+    private Reply api(final HttpExchange exchange, final String path, final String body) {
+        final RateLimiter limiter = rateLimiter;
+        if (limiter != null && !limiter.tryAcquire()) {
+            throttled.incrementAndGet();
+            return Reply.error(429, "Rate limit exceeded").header("Retry-After", "1");
+        }
+        if (!authorized(exchange.getRequestHeaders().getFirst("Authorization"))) {
+            unauthorized.incrementAndGet();
+            return Reply.error(401, "Invalid or expired access token");
+        }
+        final Reply injected = inject();
+        if (injected != null) {
+            return injected;
+        }
+        if (!path.startsWith(API_PREFIX + "/")) {
+            return Reply.error(404, "Not found");
+        }
+
+        // The client tunnels PATCH through POST, as HttpURLConnection rejects it.
+        final String override = exchange.getRequestHeaders().getFirst("X-HTTP-Method-Override");
+        final String method = override != null && exchange.getRequestMethod().equals("POST") ? override : exchange.getRequestMethod();
+        final String[] segments = path.substring(API_PREFIX.length() + 1).split("/");
+        final Map<String, String> query = parse(exchange.getRequestURI().getRawQuery());
+        try {
+            switch (segments[0]) {
+            case "info":
+                return segments.length == 1 && method.equals("GET") ? info() : Reply.error(405, "Method not allowed");
+            case "prospects":
+                return segments.length == 1 ? prospects(method, query, body) : prospect(method, segments, body);
+            case "sequences":
+                return segments.length == 1 ? sequences(method, query) : sequence(method, segments, body);
+            default:
+                final SimulatedCollection collection = collections.get(segments[0]);
+                if (collection == null) {
+                    return Reply.error(404, "Not found");
+                }
+                return segments.length == 1 ? records(collection, method, query, body) : record(collection, method, segments);
+            }
+        } catch (NumberFormatException | DateTimeParseException | ClassCastException malformed) {
+            return Reply.error(400, "Malformed request: " + malformed.getMessage());
+        }
+    }
+
+    private boolean authorized(final String authorization) {
+        if (authorization == null || !authorization.startsWith("Bearer ")) {
+            return false;
+        }
+        final Long expiresAt = accessTokens.get(authorization.substring("Bearer ".length()).trim());
+        return expiresAt != null && expiresAt > System.currentTimeMillis();
+    }
+
+    private Reply inject() {
+        int remaining;
+        while ((remaining = failures.get()) > 0) {
+            if (failures.compareAndSet(remaining, remaining - 1)) {
+                injectedErrors.incrementAndGet();
+                return Reply.error(failureStatus, "Injected failure");
+            }
+        }
+        final double rate = errorRate;
+        if (rate > 0 && ThreadLocalRandom.current().nextDouble() < rate) {
+            injectedErrors.incrementAndGet();
+            return Reply.error(errorStatus, "Injected failure");
+        }
+        return null;
+    }
+
+    private Reply prospects(final String method, final Map<String, String> query, final String body) {
+        switch (method) {
+        case "GET":
+            return page(prospects, query);
+        case "POST":
+            final JSONObject entity = entity(body);
+            if (entity == null) {
+                return Reply.error(400, "Expected a data object");
+            }
+            return new Reply(201, "{\"data\":" + prospects.create(attributes(entity)).toJSONString() + "}");
+        default:
+            return Reply.error(405, "Method not allowed");
+        }
+    }
+
+    private Reply prospect(final String method, final String[] segments, final String body) {
+        if (segments.length != 2) {
+            return Reply.error(404, "Not found");
+        }
+        final long id = Long.parseLong(segments[1]);
+        final String record;
+        switch (method) {
+        case "GET":
+            record = prospects.get(id);
+            break;
+        case "PATCH":
+            final JSONObject entity = entity(body);
+            if (entity == null) {
+                return Reply.error(400, "Expected a data object");
+            }
+            record = prospects.update(id, attributes(entity));
+            break;
+        default:
+            return Reply.error(405, "Method not allowed");
+        }
+        return record == null ? Reply.error(404, "Prospect not found") : new Reply(200, "{\"data\":" + record + "}");
+    }
+
+    private Reply records(final SimulatedCollection collection, final String method, final Map<String, String> query, final String body) {
+        switch (method) {
+        case "GET":
+            return page(collection, query);
+        case "POST":
+            final JSONObject entity = entity(body);
+            if (entity == null) {
+                return Reply.error(400, "Expected a data object");
+            }
+            return new Reply(201, "{\"data\":" + collection.create(attributes(entity)).toJSONString() + "}");
+        default:
+            return Reply.error(405, "Method not allowed");
+        }
+    }
+
+    private Reply record(final SimulatedCollection collection, final String method, final String[] segments) {
+        if (segments.length != 2) {
+            return Reply.error(404, "Not found");
+        }
+        if (!method.equals("GET")) {
+            return Reply.error(405, "Method not allowed");
+        }
+        final String record = collection.get(Long.parseLong(segments[1]));
+        return record == null ? Reply.error(404, "Record not found") : new Reply(200, "{\"data\":" + record + "}");
+    }
+
+    private Reply sequences(final String method, final Map<String, String> query) {
+        return method.equals("GET") ? page(sequences, query) : Reply.error(405, "Method not allowed");
+    }
+
+    @SuppressWarnings("unchecked")
+    private Reply sequence(final String method, final String[] segments, final String body) {
+        if (segments.length != 2) {
+            return Reply.error(404, "Not found");
+        }
+        if (!method.equals("PATCH")) {
+            return Reply.error(405, "Method not allowed");
+        }
+        final long sequenceId = Long.parseLong(segments[1]);
+        if (!sequences.contains(sequenceId)) {
+            return Reply.error(404, "Sequence not found");
+        }
+        final JSONObject entity = entity(body);
+        final Object relationships = entity == null ? null : entity.get("relationships");
+        final Object associated = relationships instanceof JSONObject ? ((JSONObject) relationships).get("prospects") : null;
+        if (!(associated instanceof JSONArray) || ((JSONArray) associated).isEmpty()) {
+            return Reply.error(400, "Expected at least one prospect");
+        }
+        final JSONArray prospectData = (JSONArray) associated;
+        if (prospectData.size() > PageIterator.MAX_PAGE_SIZE) {
+            return Reply.error(400, "At most " + PageIterator.MAX_PAGE_SIZE + " prospects per request");
+        }
+
+        final Set<Long> prospectIds = new HashSet<>();
+        for (Object reference : prospectData) {
+            final JSONObject data = (JSONObject) ((JSONObject) reference).get("data");
+            final long prospectId = Long.parseLong(String.valueOf(data.get("id")));
+            if (!prospects.contains(prospectId)) {
+                return Reply.error(404, "Prospect " + prospectId + " not found");
+            }
+            prospectIds.add(prospectId);
+        }
+        enrollments.computeIfAbsent(sequenceId, id -> ConcurrentHashMap.newKeySet()).addAll(prospectIds);
+
+        final String now = Instant.now().toString();
+        final JSONObject attributes = new JSONObject();
+        attributes.put("created", now);
+        attributes.put("updated", now);
+        final JSONObject batch = new JSONObject();
+        batch.put("id", UUID.randomUUID().toString());
+        batch.put("type", "batch");
+        batch.put("attributes", attributes);
+        return new Reply(200, "{\"data\":" + batch.toJSONString() + "}");
+    }
+
+    @SuppressWarnings("unchecked")
+    private Reply info() {
+        final RateLimiter limiter = rateLimiter;
+        final JSONObject user = new JSONObject();
+        user.put("email", "simulator@example.com");
+        final JSONObject requestCounts = new JSONObject();
+        requestCounts.put("current", requests.get());
+        requestCounts.put("maximum", limiter == null ? -1 : limiter.getBurst());
+        final JSONObject versions = new JSONObject();
+        versions.put("self", VERSION);
+        versions.put("last", VERSION);
+        final JSONArray permissions = new JSONArray();
+        permissions.add("create_prospects");
+        permissions.add("read_prospects");
+        permissions.add("update_prospects");
+        permissions.add("read_sequences");
+        permissions.add("update_sequences");
+        final JSONObject api = new JSONObject();
+        api.put("application", "simulator");
+        api.put("permissions", permissions);
+        api.put("requests", requestCounts);
+        api.put("versions", versions);
+        final JSONObject meta = new JSONObject();
+        meta.put("user", user);
+        meta.put("api", api);
+        return new Reply(200, "{\"meta\":" + meta.toJSONString() + "}");
+    }
+
+    private Reply page(final SimulatedCollection collection, final Map<String, String> query) {
+        final String number = query.get("page[number]");
+        final String size = query.get("page[size]");
+        final int pageNumber = number == null ? 1 : Integer.parseInt(number);
+        final int pageSize = size == null ? PageIterator.MAX_PAGE_SIZE : Integer.parseInt(size);
+        if (pageNumber < 1 || pageSize < 1 || pageSize > PageIterator.MAX_PAGE_SIZE) {
+            return Reply.error(400, "Page number must be positive and page size between 1 and " + PageIterator.MAX_PAGE_SIZE);
+        }
+
+        final Map<String, String> filters = new HashMap<>();
+        for (Map.Entry<String, String> parameter : query.entrySet()) {
+            final String name = parameter.getKey();
+            if (name.startsWith("filter[") && name.endsWith("]")) {
+                filters.put(name.substring("filter[".length(), name.length() - 1), parameter.getValue());
+            }
+        }
+        try {
+            return new Reply(200, collection.page(filters, pageNumber, pageSize, getEndpoint() + API_PREFIX));
+        } catch (DateTimeParseException exception) {
+            return Reply.error(400, "Timestamp filters take a \"yyyy-MM-dd\" date");
+        }
+    }
+
+    private void delay() {
+        final long min = minLatencyNanos;
+        final long max = maxLatencyNanos;
+        if (max == 0) {
+            return;
+        }
+        final long latency = max > min ? ThreadLocalRandom.current().nextLong(min, max + 1) : min;
+        try {
+            TimeUnit.NANOSECONDS.sleep(latency);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * @return the entity's data object, or null if the body is not one.
+     */
+    private static JSONObject entity(final String body) {
+        final Object entity = JSONValue.parse(body);
+        final Object data = entity instanceof JSONObject ? ((JSONObject) entity).get("data") : null;
+        return data instanceof JSONObject ? (JSONObject) data : null;
+    }
+
+    private static JSONObject attributes(final JSONObject data) {
+        final Object attributes = data.get("attributes");
+        return attributes instanceof JSONObject ? (JSONObject) attributes : new JSONObject();
+    }
+
+    /**
+     * Parses a form-encoded body or raw query string, bracketed names are
+     * accepted both escaped and verbatim.
+     */
+    private static Map<String, String> parse(final String encoded) {
+        final Map<String, String> parameters = new LinkedHashMap<>();
+        if (encoded == null || encoded.isEmpty()) {
+            return parameters;
+        }
+        for (String pair : encoded.split("&")) {
+            final int separator = pair.indexOf('=');
+            if (separator > 0) {
+                parameters.put(decode(pair.substring(0, separator)), decode(pair.substring(separator + 1)));
+            }
+        }
+        return parameters;
+    }
+
+    private static String decode(final String value) {
+        try {
+            return URLDecoder.decode(value, "UTF-8");
+        } catch (UnsupportedEncodingException impossible) {
+            throw new IllegalStateException(impossible);
+        }
+    }
+
+    private static String read(final InputStream in) throws IOException {
+        final ByteArrayOutputStream body = new ByteArrayOutputStream();
+        final byte[] buffer = new byte[4096];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            body.write(buffer, 0, read);
+        }
+        return new String(body.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    private static void send(final HttpExchange exchange, final Reply reply) throws IOException {
+        final byte[] body = reply.body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        for (Map.Entry<String, String> header : reply.headers.entrySet()) {
+            exchange.getResponseHeaders().set(header.getKey(), header.getValue());
+        }
+        exchange.sendResponseHeaders(reply.status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    /**
+     * A status, entity and extra headers to answer an exchange with.
+     */
+    private static final class Reply {
+        final int status;
+        final String body;
+        final Map<String, String> headers = new HashMap<>();
+
+        Reply(final int status, final String body) {
+            this.status = status;
+            this.body = body;
+        }
+
+        Reply header(final String name, final String value) {
+            headers.put(name, value);
+            return this;
+        }
+
+        @SuppressWarnings("unchecked")
+        static Reply error(final int status, final String detail) {
+            final JSONObject error = new JSONObject();
+            error.put("status", String.valueOf(status));
+            error.put("detail", detail);
+            final JSONArray errors = new JSONArray();
+            errors.add(error);
+            final JSONObject entity = new JSONObject();
+            entity.put("errors", errors);
+            return new Reply(status, entity.toJSONString());
+        }
+    }
+}
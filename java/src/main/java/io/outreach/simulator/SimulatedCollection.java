@@ -0,0 +1,237 @@
+package io.outreach.simulator;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+
+/**
+ * An in-memory resource collection, records are held as JSON API resource
+ * objects ({@code {"id":..,"type":..,"attributes":{..}}}) and listed in the
+ * documented sort order. All access is synchronized on the collection.
+ */
+final class SimulatedCollection {
+
+    private final String type;
+    private final String resource;
+    private final String[] sortPath;
+    private final Map<Long, JSONObject> records = new HashMap<>();
+    private long nextId = 1;
+    private Clock clock = Clock.systemUTC();
+
+    /**
+     * @param type
+     *            the JSON API type of each record, e.g. "prospect".
+     * @param resource
+     *            the collection path used in page links, e.g. "/prospects".
+     * @param sortPath
+     *            the attribute path records are listed by, ties are broken
+     *            by identifier.
+     */
+    SimulatedCollection(final String type, final String resource, final String sortPath) {
+        this.type = type;
+        this.resource = resource;
+        this.sortPath = sortPath.split("/");
+    }
+
+    /**
+     * Stores the attributes as a new record, stamping its creation time.
+     *
+     * @return the stored record.
+     */
+    @SuppressWarnings("unchecked")
+    synchronized JSONObject create(final JSONObject attributes) {
+        final long id = nextId++;
+        final String now = Instant.now(clock).toString();
+        final JSONObject metadata = child(attributes, "metadata");
+        metadata.put("created", now);
+        metadata.put("updated", now);
+
+        final JSONObject record = new JSONObject();
+        record.put("id", id);
+        record.put("type", type);
+        record.put("attributes", attributes);
+        records.put(id, record);
+        return record;
+    }
+
+    /**
+     * @return the record serialized as a JSON string, or null if not found.
+     */
+    synchronized String get(final long id) {
+        final JSONObject record = records.get(id);
+        return record == null ? null : record.toJSONString();
+    }
+
+    synchronized boolean contains(final long id) {
+        return records.containsKey(id);
+    }
+
+    /**
+     * Deep-merges the patch into the record's attributes, nested objects are
+     * merged member by member while any other value replaces the stored one.
+     *
+     * @return the updated record serialized as a JSON string, or null if not
+     *         found.
+     */
+    @SuppressWarnings("unchecked")
+    synchronized String update(final long id, final JSONObject patch) {
+        final JSONObject record = records.get(id);
+        if (record == null) {
+            return null;
+        }
+        final JSONObject attributes = (JSONObject) record.get("attributes");
+        merge(attributes, patch);
+        child(attributes, "metadata").put("updated", Instant.now(clock).toString());
+        return record.toJSONString();
+    }
+
+    /**
+     * Sets the clock creation and update times are stamped from.
+     */
+    synchronized void setClock(final Clock clock) {
+        this.clock = clock;
+    }
+
+    synchronized int size() {
+        return records.size();
+    }
+
+    /**
+     * Renders one page of the records matching every filter, in the shape of
+     * the documented collection responses.
+     *
+     * @param filters
+     *            attribute paths to required values, paths ending in
+     *            "/after" or "/before" compare timestamps against the start
+     *            of a "yyyy-MM-dd" day.
+     * @param endpoint
+     *            the versioned API root used for page links.
+     */
+    @SuppressWarnings("unchecked")
+    synchronized String page(final Map<String, String> filters, final int number, final int size, final String endpoint) {
+        final List<JSONObject> matches = new ArrayList<>();
+        for (JSONObject record : records.values()) {
+            if (matches(record, filters)) {
+                matches.add(record);
+            }
+        }
+        matches.sort(Comparator.comparing((JSONObject record) -> sortKey(record))
+                               .thenComparing(record -> (Long) record.get("id")));
+
+        final int maximum = Math.max(1, (matches.size() + size - 1) / size);
+        final int from = Math.min(matches.size(), (number - 1) * size);
+        final int to = Math.min(matches.size(), from + size);
+
+        final JSONArray data = new JSONArray();
+        data.addAll(matches.subList(from, to));
+
+        final JSONObject page = new JSONObject();
+        page.put("current", number);
+        page.put("entries", to - from);
+        page.put("maximum", maximum);
+        final JSONObject results = new JSONObject();
+        results.put("total", matches.size());
+        final JSONObject meta = new JSONObject();
+        meta.put("page", page);
+        meta.put("results", results);
+
+        final JSONObject links = new JSONObject();
+        if (number > 1) {
+            links.put("prev", endpoint + resource + "?page[number]=" + (number - 1) + "&page[size]=" + size);
+        }
+        if (number < maximum) {
+            links.put("next", endpoint + resource + "?page[number]=" + (number + 1) + "&page[size]=" + size);
+        }
+
+        final JSONObject response = new JSONObject();
+        response.put("data", data);
+        response.put("meta", meta);
+        response.put("links", links);
+        return response.toJSONString();
+    }
+
+    private String sortKey(final JSONObject record) {
+        final Object value = resolve((JSONObject) record.get("attributes"), sortPath, sortPath.length);
+        return value == null ? "" : value.toString().toLowerCase();
+    }
+
+    private static boolean matches(final JSONObject record, final Map<String, String> filters) {
+        final JSONObject attributes = (JSONObject) record.get("attributes");
+        for (Map.Entry<String, String> filter : filters.entrySet()) {
+            final String[] path = filter.getKey().split("/");
+            final String last = path[path.length - 1];
+            if (last.equals("after") || last.equals("before")) {
+                final Object stored = resolve(attributes, path, path.length - 1);
+                if (stored == null) {
+                    return false;
+                }
+                final int order = Instant.parse(stored.toString()).compareTo(parseTime(filter.getValue()));
+                if (last.equals("after") ? order < 0 : order >= 0) {
+                    return false;
+                }
+            } else {
+                final Object stored = resolve(attributes, path, path.length);
+                if (stored == null || !stored.toString().equalsIgnoreCase(filter.getValue())) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Accepts only the documented "yyyy-MM-dd" format, as the start of that
+     * day in UTC.
+     *
+     * @throws DateTimeParseException
+     *             if the value is not a date.
+     */
+    static Instant parseTime(final String value) {
+        return LocalDate.parse(value).atStartOfDay(ZoneOffset.UTC).toInstant();
+    }
+
+    private static Object resolve(final JSONObject attributes, final String[] path, final int length) {
+        Object value = attributes;
+        for (int i = 0; i < length; i++) {
+            if (!(value instanceof JSONObject)) {
+                return null;
+            }
+            value = ((JSONObject) value).get(path[i]);
+        }
+        return value;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void merge(final JSONObject target, final JSONObject patch) {
+        for (Object entry : patch.entrySet()) {
+            final Map.Entry<Object, Object> member = (Map.Entry<Object, Object>) entry;
+            final Object current = target.get(member.getKey());
+            if (current instanceof JSONObject && member.getValue() instanceof JSONObject) {
+                merge((JSONObject) current, (JSONObject) member.getValue());
+            } else {
+                target.put(member.getKey(), member.getValue());
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static JSONObject child(final JSONObject parent, final String name) {
+        final Object child = parent.get(name);
+        if (child instanceof JSONObject) {
+            return (JSONObject) child;
+        }
+        final JSONObject created = new JSONObject();
+        parent.put(name, created);
+        return created;
+    }
+}
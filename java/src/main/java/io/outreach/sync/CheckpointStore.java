@@ -0,0 +1,26 @@
+package io.outreach.sync;
+
+import java.io.IOException;
+
+/**
+ * Durable storage for the high-water marks of {@link DeltaSync} runs, keyed
+ * by a caller-chosen scope such as an organization name.
+ */
+public interface CheckpointStore {
+
+    /**
+     * @param scope
+     * @return the stored checkpoint, or null if the scope has never completed
+     *         a run.
+     */
+    String load(String scope) throws IOException;
+
+    /**
+     * Stores the checkpoint, replacing any previous value. When this returns
+     * the value must survive a restart.
+     *
+     * @param scope
+     * @param checkpoint
+     */
+    void save(String scope, String checkpoint) throws IOException;
+}
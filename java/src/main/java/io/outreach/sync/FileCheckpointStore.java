@@ -0,0 +1,71 @@
+package io.outreach.sync;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Properties;
+
+/**
+ * {@link CheckpointStore} keeping every scope's checkpoint in one properties
+ * file. <br />
+ * <br />
+ * Each save writes a complete copy to a temporary file beside the target,
+ * forces it to disk and renames it over the target, so a crash leaves either
+ * the previous or the new checkpoints and never a torn file.
+ */
+public class FileCheckpointStore implements CheckpointStore {
+
+    private final Path file;
+
+    public FileCheckpointStore(final Path file) {
+        this.file = file;
+    }
+
+    @Override
+    public synchronized String load(final String scope) throws IOException {
+        return read().getProperty(scope);
+    }
+
+    @Override
+    public synchronized void save(final String scope, final String checkpoint) throws IOException {
+        final Properties checkpoints = read();
+        checkpoints.setProperty(scope, checkpoint);
+
+        final Path directory = file.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        final Path temporary = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+                 OutputStream out = Channels.newOutputStream(channel)) {
+                checkpoints.store(out, "Outreach delta sync checkpoints");
+                out.flush();
+                channel.force(true);
+            }
+            try {
+                Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException exception) {
+                Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    private Properties read() throws IOException {
+        final Properties checkpoints = new Properties();
+        try (InputStream in = Files.newInputStream(file)) {
+            checkpoints.load(in);
+        } catch (NoSuchFileException exception) {
+            // No run has completed yet
+        }
+        return checkpoints;
+    }
+}
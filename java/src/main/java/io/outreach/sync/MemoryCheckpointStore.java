@@ -0,0 +1,22 @@
+package io.outreach.sync;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@link CheckpointStore} held in memory, for tests and for processes whose
+ * replica does not outlive them.
+ */
+public class MemoryCheckpointStore implements CheckpointStore {
+
+    private final ConcurrentHashMap<String, String> checkpoints = new ConcurrentHashMap<>();
+
+    @Override
+    public String load(final String scope) {
+        return checkpoints.get(scope);
+    }
+
+    @Override
+    public void save(final String scope, final String checkpoint) {
+        checkpoints.put(scope, checkpoint);
+    }
+}
@@ -0,0 +1,49 @@
+package io.outreach.sync;
+
+import java.time.Instant;
+
+/**
+ * Outcome of a single {@link DeltaSync} run.
+ */
+public class SyncResult {
+
+    private final Instant since;
+    private final Instant highWaterMark;
+    private final long records;
+
+    public SyncResult(final Instant since, final Instant highWaterMark, final long records) {
+        this.since = since;
+        this.highWaterMark = highWaterMark;
+        this.records = records;
+    }
+
+    /**
+     * @return the checkpoint the run started from, or null for a full sync.
+     */
+    public Instant getSince() {
+        return since;
+    }
+
+    /**
+     * @return the time the run started, now stored as the checkpoint.
+     */
+    public Instant getHighWaterMark() {
+        return highWaterMark;
+    }
+
+    /**
+     * @return the number of records handed to the sink.
+     */
+    public long getRecords() {
+        return records;
+    }
+
+    public boolean isFullSync() {
+        return since == null;
+    }
+
+    @Override
+    public String toString() {
+        return "SyncResult[since=" + since + ", highWaterMark=" + highWaterMark + ", records=" + records + "]";
+    }
+}
@@ -0,0 +1,54 @@
+package io.outreach.tenant;
+
+/**
+ * The share of a {@link TenantRegistry} a single tenant may use: how many of
+ * its calls may run at once and, optionally, the rate of its HTTP requests.
+ */
+public class TenantLimits {
+
+    /**
+     * One call at a time per tenant, without a rate budget.
+     */
+    public static final TenantLimits DEFAULT = new TenantLimits(1, 0, 0);
+
+    private final int maxConcurrency;
+    private final double requestsPerSecond;
+    private final int burst;
+
+    /**
+     * @param maxConcurrency
+     *            calls of the tenant allowed to run at once.
+     * @param requestsPerSecond
+     *            sustained rate of the tenant's HTTP requests, or 0 for no
+     *            rate budget.
+     * @param burst
+     *            requests allowed back-to-back within the rate budget.
+     */
+    public TenantLimits(final int maxConcurrency, final double requestsPerSecond, final int burst) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("maxConcurrency must be positive");
+        }
+        if (requestsPerSecond < 0 || (requestsPerSecond > 0 && burst < 1)) {
+            throw new IllegalArgumentException("A rate budget needs a positive rate and burst");
+        }
+        this.maxConcurrency = maxConcurrency;
+        this.requestsPerSecond = requestsPerSecond;
+        this.burst = burst;
+    }
+
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    public double getRequestsPerSecond() {
+        return requestsPerSecond;
+    }
+
+    public int getBurst() {
+        return burst;
+    }
+
+    public boolean isRateLimited() {
+        return requestsPerSecond > 0;
+    }
+}
@@ -0,0 +1,350 @@
+package io.outreach.tenant;
+
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import io.outreach.Outreach;
+import io.outreach.auth.AccessTokenManager;
+import io.outreach.concurrent.WorkerExecutors;
+import io.outreach.throttle.RateLimiter;
+import io.outreach.throttle.ThrottlingTransport;
+import io.outreach.transport.Transport;
+
+/**
+ * Multiplexes the clients of many customer authorizations, one tenant per
+ * org, over a single shared transport and executor. <br />
+ * <br />
+ * Calls are queued per tenant and dispatched round-robin across the tenants
+ * with work pending, one call per turn, so an org with thousands of queued
+ * calls delays another org's call by at most one turn of the ring. Each
+ * tenant is further held to its {@link TenantLimits}: a cap on its calls in
+ * flight, and an optional rate budget. The budget is drawn on by every HTTP
+ * request of the tenant's client, token exchanges included, through a
+ * {@link ThrottlingTransport} over the shared transport; while it is spent
+ * the tenant is parked, without holding a thread or a slot, until its next
+ * permit accrues. <br />
+ * <br />
+ * Idle tenants hold only their client and token state, a few hundred bytes,
+ * so a single registry comfortably serves tens of thousands of orgs.
+ */
+public class TenantRegistry implements AutoCloseable {
+
+    private final Outreach.ApplicationCredentials credentials;
+    private final Transport transport;
+    private final String endpoint;
+    private final String version;
+    private final Executor executor;
+    private final ExecutorService ownedExecutor;
+    private final int maxConcurrency;
+    private final TenantLimits defaultLimits;
+
+    private final Map<String, Tenant> tenants = new ConcurrentHashMap<>();
+
+    /**
+     * Tenants with pending calls which may run, in dispatch order.
+     */
+    private final Queue<Tenant> ready = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger running = new AtomicInteger();
+
+    /**
+     * Runs calls on a dedicated worker executor, using virtual threads where
+     * the runtime provides them.
+     *
+     * @see #TenantRegistry(Outreach.ApplicationCredentials, Transport, String,
+     *      String, Executor, int, TenantLimits)
+     */
+    public TenantRegistry(final Outreach.ApplicationCredentials credentials,
+                          final Transport transport,
+                          final String endpoint,
+                          final String version,
+                          final int maxConcurrency,
+                          final TenantLimits defaultLimits) {
+        this(credentials, transport, endpoint, version, null, maxConcurrency, defaultLimits);
+    }
+
+    /**
+     * @param credentials
+     *            the application credentials shared by every tenant.
+     * @param transport
+     *            the connection pool shared by every tenant.
+     * @param endpoint
+     *            the API root, e.g. "https://api.outreach.io".
+     * @param version
+     *            the API version, e.g. "1.0".
+     * @param executor
+     *            runs calls, or null for a dedicated worker executor which is
+     *            shut down on {@link #close()}.
+     * @param maxConcurrency
+     *            upper bound on calls in flight across all tenants.
+     * @param defaultLimits
+     *            limits of tenants registered without their own.
+     */
+    public TenantRegistry(final Outreach.ApplicationCredentials credentials,
+                          final Transport transport,
+                          final String endpoint,
+                          final String version,
+                          final Executor executor,
+                          final int maxConcurrency,
+                          final TenantLimits defaultLimits) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("maxConcurrency must be positive");
+        }
+        this.credentials = credentials;
+        this.transport = transport;
+        this.endpoint = endpoint;
+        this.version = version;
+        this.ownedExecutor = executor == null ? WorkerExecutors.newWorkerExecutor("outreach-tenant") : null;
+        this.executor = executor == null ? ownedExecutor : executor;
+        this.maxConcurrency = maxConcurrency;
+        this.defaultLimits = defaultLimits;
+    }
+
+    /**
+     * Registers a tenant with the default limits.
+     *
+     * @see #register(String, String, TenantLimits)
+     */
+    public Outreach register(final String tenantId, final String authorizationCode) {
+        return register(tenantId, authorizationCode, defaultLimits);
+    }
+
+    /**
+     * @param tenantId
+     *            identifies the org, e.g. its customer identifier.
+     * @param authorizationCode
+     *            the code granted by the org's authorization.
+     * @param limits
+     *            the tenant's share of the registry.
+     * @return the tenant's client, calls made on it directly bypass the
+     *         tenant's queue and concurrency cap but still draw on its rate
+     *         budget.
+     * @throws IllegalStateException
+     *             if the tenant is already registered.
+     */
+    public Outreach register(final String tenantId, final String authorizationCode, final TenantLimits limits) {
+        final RateLimiter limiter = limits.isRateLimited() ? new RateLimiter(limits.getRequestsPerSecond(), limits.getBurst()) : null;
+        final Transport tenantTransport = limiter == null ? transport : new ThrottlingTransport(transport, limiter, null);
+        final Tenant tenant = new Tenant(new Outreach(credentials, authorizationCode, tenantTransport, endpoint, version), limits, limiter);
+        if (tenants.putIfAbsent(tenantId, tenant) != null) {
+            throw new IllegalStateException("Tenant " + tenantId + " is already registered");
+        }
+        return tenant.client;
+    }
+
+    /**
+     * Removes the tenant, calls already queued still run.
+     *
+     * @return true if the tenant was registered.
+     */
+    public boolean remove(final String tenantId) {
+        return tenants.remove(tenantId) != null;
+    }
+
+    /**
+     * @return the tenant's client, or null if not registered.
+     */
+    public Outreach get(final String tenantId) {
+        final Tenant tenant = tenants.get(tenantId);
+        return tenant == null ? null : tenant.client;
+    }
+
+    /**
+     * Queues a call on behalf of the tenant, e.g.
+     * {@code submit("org-42", outreach -> outreach.getProspect(7))}.
+     *
+     * @param call
+     *            invoked with the tenant's client on a worker thread.
+     * @return completed with the call's result, or exceptionally with its
+     *         failure.
+     * @throws IllegalArgumentException
+     *             if the tenant is not registered.
+     */
+    public <T> CompletableFuture<T> submit(final String tenantId, final Function<? super Outreach, ? extends T> call) {
+        final Tenant tenant = tenants.get(tenantId);
+        if (tenant == null) {
+            throw new IllegalArgumentException("Tenant " + tenantId + " is not registered");
+        }
+        final CompletableFuture<T> result = new CompletableFuture<>();
+        final Call task = new Call() {
+            @Override
+            public void run() {
+                try {
+                    result.complete(call.apply(tenant.client));
+                } catch (Throwable throwable) {
+                    result.completeExceptionally(throwable);
+                }
+            }
+
+            @Override
+            void reject(final Throwable failure) {
+                result.completeExceptionally(failure);
+            }
+        };
+
+        synchronized (tenant) {
+            if (tenant.pending == null) {
+                tenant.pending = new ArrayDeque<>(4);
+            }
+            tenant.pending.add(task);
+            if (!tenant.queued && tenant.running < tenant.limits.getMaxConcurrency()) {
+                tenant.queued = true;
+                ready.add(tenant);
+            }
+        }
+        dispatch();
+        return result;
+    }
+
+    /**
+     * @return the tenant's calls waiting to run, or 0 if not registered.
+     */
+    public int getQueued(final String tenantId) {
+        final Tenant tenant = tenants.get(tenantId);
+        if (tenant == null) {
+            return 0;
+        }
+        synchronized (tenant) {
+            return tenant.pending == null ? 0 : tenant.pending.size();
+        }
+    }
+
+    /**
+     * @return calls currently running across all tenants.
+     */
+    public int getRunning() {
+        return running.get();
+    }
+
+    public int size() {
+        return tenants.size();
+    }
+
+    public Transport getTransport() {
+        return transport;
+    }
+
+    /**
+     * Shuts down the dedicated executor, if any; the shared transport is left
+     * to its owner.
+     */
+    @Override
+    public void close() {
+        if (ownedExecutor != null) {
+            ownedExecutor.shutdown();
+        }
+    }
+
+    /**
+     * Starts calls from the ready ring while slots are free, taking one call
+     * per tenant per turn.
+     */
+    private void dispatch() {
+        while (true) {
+            final int current = running.get();
+            if (current >= maxConcurrency) {
+                return;
+            }
+            if (!running.compareAndSet(current, current + 1)) {
+                continue;
+            }
+            final Tenant tenant = ready.poll();
+            if (tenant == null) {
+                running.decrementAndGet();
+                if (ready.isEmpty()) {
+                    return;
+                }
+                continue; // A tenant became ready while the slot was held.
+            }
+
+            final Call call;
+            synchronized (tenant) {
+                // The call's requests take the permits, a spent budget parks the tenant up front.
+                final long delay = tenant.limiter == null ? 0 : tenant.limiter.nanosUntilAvailable();
+                if (delay > 0) {
+                    // Parked until its budget refills, the tenant stays queued.
+                    running.decrementAndGet();
+                    AccessTokenManager.sharedScheduler().schedule(() -> {
+                        ready.add(tenant);
+                        dispatch();
+                    }, delay, TimeUnit.NANOSECONDS);
+                    continue;
+                }
+                call = tenant.pending.poll();
+                tenant.running++;
+                if (!tenant.pending.isEmpty() && tenant.running < tenant.limits.getMaxConcurrency()) {
+                    ready.add(tenant);
+                } else {
+                    tenant.queued = false;
+                }
+            }
+
+            try {
+                executor.execute(() -> {
+                    try {
+                        call.run();
+                    } finally {
+                        complete(tenant);
+                    }
+                });
+            } catch (RejectedExecutionException exception) {
+                call.reject(exception);
+                complete(tenant);
+            }
+        }
+    }
+
+    private void complete(final Tenant tenant) {
+        running.decrementAndGet();
+        synchronized (tenant) {
+            tenant.running--;
+            if (!tenant.queued && tenant.pending != null && !tenant.pending.isEmpty()) {
+                tenant.queued = true;
+                ready.add(tenant);
+            }
+        }
+        dispatch();
+    }
+
+    /**
+     * A queued call which can be failed without running.
+     */
+    private abstract static class Call implements Runnable {
+        abstract void reject(Throwable failure);
+    }
+
+    /**
+     * Per-tenant state, the mutable fields are guarded by the tenant.
+     */
+    private static final class Tenant {
+        final Outreach client;
+        final TenantLimits limits;
+        final RateLimiter limiter;
+
+        /**
+         * Allocated on first use, so idle tenants carry no queue.
+         */
+        ArrayDeque<Call> pending;
+        int running;
+
+        /**
+         * True while in the ready ring or parked awaiting its rate budget.
+         */
+        boolean queued;
+
+        Tenant(final Outreach client, final TenantLimits limits, final RateLimiter limiter) {
+            this.client = client;
+            this.limits = limits;
+            this.limiter = limiter;
+        }
+    }
+}
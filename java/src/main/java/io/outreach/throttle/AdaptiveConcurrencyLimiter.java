@@ -0,0 +1,99 @@
+package io.outreach.throttle;
+
+/**
+ * Additive-increase / multiplicative-decrease limit on concurrent requests.
+ * <br />
+ * <br />
+ * Each successful request grows the limit by {@code 1 / limit}, roughly one
+ * extra slot per limit's worth of successes, while each throttled response
+ * cuts the limit by {@code backoffRatio}. The limit therefore settles just
+ * under the concurrency at which the server starts rejecting requests.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+
+    private double limit;
+    private int inFlight = 0;
+    private long throttled = 0;
+
+    /**
+     * @param initialLimit
+     * @param minLimit
+     *            the limit is never reduced below this.
+     * @param maxLimit
+     *            the limit is never grown above this.
+     * @param backoffRatio
+     *            factor the limit is multiplied by on throttling, in (0, 1).
+     */
+    public AdaptiveConcurrencyLimiter(final int initialLimit, final int minLimit, final int maxLimit, final double backoffRatio) {
+        if (minLimit < 1 || maxLimit < minLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Limits must satisfy 1 <= min <= initial <= max");
+        }
+        if (backoffRatio <= 0 || backoffRatio >= 1) {
+            throw new IllegalArgumentException("backoffRatio must be between 0 and 1");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.backoffRatio = backoffRatio;
+        this.limit = initialLimit;
+    }
+
+    /**
+     * Blocks until the number of requests in flight is below the limit.
+     *
+     * @throws InterruptedException
+     */
+    public synchronized void acquire() throws InterruptedException {
+        while (inFlight >= (int) limit) {
+            wait();
+        }
+        inFlight++;
+    }
+
+    /**
+     * Releases a slot after a request completed normally.
+     */
+    public synchronized void onSuccess() {
+        limit = Math.min(maxLimit, limit + 1 / limit);
+        release();
+    }
+
+    /**
+     * Releases a slot after the server throttled the request.
+     */
+    public synchronized void onThrottled() {
+        throttled++;
+        limit = Math.max(minLimit, limit * backoffRatio);
+        release();
+    }
+
+    /**
+     * Releases a slot without adjusting the limit, e.g. after an I/O failure.
+     */
+    public synchronized void onIgnored() {
+        release();
+    }
+
+    private void release() {
+        inFlight--;
+        notifyAll();
+    }
+
+    public synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    /**
+     * @return the number of throttled responses observed.
+     */
+    public synchronized long getThrottled() {
+        return throttled;
+    }
+}
@@ -0,0 +1,107 @@
+package io.outreach.throttle;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token bucket limiting the rate at which requests are started. The bucket
+ * holds up to {@code burst} permits and refills continuously at the configured
+ * rate; a single limiter may be shared by any number of threads and clients
+ * drawing on the same budget.
+ */
+public class RateLimiter {
+
+    private final int burst;
+    private double permitsPerSecond;
+    private double permits;
+    private long refilledAt;
+
+    /**
+     * @param permitsPerSecond
+     *            sustained request rate.
+     * @param burst
+     *            number of requests which may be started back to back after
+     *            an idle period.
+     */
+    public RateLimiter(final double permitsPerSecond, final int burst) {
+        if (permitsPerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("Rate and burst must be positive");
+        }
+        this.permitsPerSecond = permitsPerSecond;
+        this.burst = burst;
+        this.permits = burst;
+        this.refilledAt = System.nanoTime();
+    }
+
+    /**
+     * Blocks until a permit is available.
+     *
+     * @throws InterruptedException
+     */
+    public void acquire() throws InterruptedException {
+        long waitNanos;
+        while ((waitNanos = reserve()) > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+
+    /**
+     * @return true if a permit was taken without waiting.
+     */
+    public boolean tryAcquire() {
+        return reserve() == 0;
+    }
+
+    /**
+     * Checks the budget without taking a permit, for callers which defer work
+     * until a permit is expected and then acquire it.
+     *
+     * @return zero if a permit is available, otherwise the nanoseconds until
+     *         one is expected to be.
+     */
+    public synchronized long nanosUntilAvailable() {
+        refill(System.nanoTime());
+        if (permits >= 1) {
+            return 0;
+        }
+        return Math.max(1, (long) ((1 - permits) / permitsPerSecond * TimeUnit.SECONDS.toNanos(1)));
+    }
+
+    /**
+     * Takes a permit if one is available.
+     *
+     * @return zero if a permit was taken, otherwise the nanoseconds until one
+     *         is expected to be available.
+     */
+    private synchronized long reserve() {
+        refill(System.nanoTime());
+        if (permits >= 1) {
+            permits -= 1;
+            return 0;
+        }
+        return Math.max(1, (long) ((1 - permits) / permitsPerSecond * TimeUnit.SECONDS.toNanos(1)));
+    }
+
+    private void refill(final long now) {
+        permits = Math.min(burst, permits + (now - refilledAt) * permitsPerSecond / TimeUnit.SECONDS.toNanos(1));
+        refilledAt = now;
+    }
+
+    public synchronized double getRate() {
+        return permitsPerSecond;
+    }
+
+    /**
+     * Changes the sustained rate, permits already accrued are kept.
+     */
+    public synchronized void setRate(final double permitsPerSecond) {
+        if (permitsPerSecond <= 0) {
+            throw new IllegalArgumentException("Rate must be positive");
+        }
+        refill(System.nanoTime());
+        this.permitsPerSecond = permitsPerSecond;
+    }
+
+    public int getBurst() {
+        return burst;
+    }
+}
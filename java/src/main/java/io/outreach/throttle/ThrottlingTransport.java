@@ -0,0 +1,178 @@
+package io.outreach.throttle;
+
+import java.io.IOException;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Locale;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+
+import io.outreach.transport.Request;
+import io.outreach.transport.Response;
+import io.outreach.transport.Transport;
+import io.outreach.transport.TransportStats;
+
+/**
+ * Transport decorator keeping request volume under the server's limits. <br />
+ * <br />
+ * Every request draws a permit from a token-bucket {@link RateLimiter} and a
+ * slot from an {@link AdaptiveConcurrencyLimiter}; 429 and 503 responses
+ * shrink the concurrency limit while successful responses slowly grow it
+ * back. A {@code Retry-After} header on a throttled response holds off every
+ * request through this transport until the given time. <br />
+ * <br />
+ * Limits apply to all requests made through the decorator, so wrap a shared
+ * connection pool once per authorization to give each org its own budget, or
+ * share one decorator between clients drawing on the same budget.
+ */
+public class ThrottlingTransport implements Transport {
+
+    private static final String RFC_1123 = "EEE, dd MMM yyyy HH:mm:ss zzz";
+
+    private final Transport delegate;
+    private final RateLimiter rateLimiter;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+
+    /**
+     * Epoch milliseconds before which no request is started.
+     */
+    private volatile long resumeAt = 0;
+
+    /**
+     * @param delegate
+     * @param requestsPerSecond
+     *            sustained request rate, bursts of up to a second's worth of
+     *            requests are allowed.
+     * @param maxConcurrency
+     *            upper bound for the adaptive concurrency limit.
+     */
+    public ThrottlingTransport(final Transport delegate, final double requestsPerSecond, final int maxConcurrency) {
+        this(delegate,
+             new RateLimiter(requestsPerSecond, Math.max(1, (int) requestsPerSecond)),
+             new AdaptiveConcurrencyLimiter(maxConcurrency, 1, maxConcurrency, 0.5));
+    }
+
+    /**
+     * @param delegate
+     * @param rateLimiter
+     *            request budget, or null for no rate limit.
+     * @param concurrencyLimiter
+     *            adaptive concurrency limit, or null for no limit.
+     */
+    public ThrottlingTransport(final Transport delegate,
+                               final RateLimiter rateLimiter,
+                               final AdaptiveConcurrencyLimiter concurrencyLimiter) {
+        this.delegate = delegate;
+        this.rateLimiter = rateLimiter;
+        this.concurrencyLimiter = concurrencyLimiter;
+    }
+
+    @Override
+    public Response execute(final Request request) throws IOException {
+        try {
+            awaitResume();
+            if (rateLimiter != null) {
+                rateLimiter.acquire();
+            }
+            if (concurrencyLimiter != null) {
+                concurrencyLimiter.acquire();
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for request budget", exception);
+        }
+
+        final Response response;
+        try {
+            response = delegate.execute(request);
+        } catch (IOException | RuntimeException exception) {
+            if (concurrencyLimiter != null) {
+                concurrencyLimiter.onIgnored();
+            }
+            throw exception;
+        }
+
+        final boolean throttled = isThrottled(response.getStatusCode());
+        if (throttled) {
+            final long retryAfter = parseRetryAfter(response.getHeader("Retry-After"), System.currentTimeMillis());
+            if (retryAfter > resumeAt) {
+                resumeAt = retryAfter;
+            }
+        }
+        if (concurrencyLimiter == null) {
+            return response;
+        }
+
+        // The slot is held until the entity has been read.
+        return new Response(response.getStatusCode(), response.getHeaders(), response.getBody(), () -> {
+            try {
+                response.close();
+            } catch (IOException ignore) {
+                // Releasing the slot takes priority, the connection is discarded.
+            } finally {
+                if (throttled) {
+                    concurrencyLimiter.onThrottled();
+                } else {
+                    concurrencyLimiter.onSuccess();
+                }
+            }
+        });
+    }
+
+    private void awaitResume() throws InterruptedException {
+        long wait;
+        while ((wait = resumeAt - System.currentTimeMillis()) > 0) {
+            TimeUnit.MILLISECONDS.sleep(wait);
+        }
+    }
+
+    public static boolean isThrottled(final int statusCode) {
+        return statusCode == 429 || statusCode == 503;
+    }
+
+    /**
+     * @param retryAfter
+     *            the header value, either delay-seconds or an HTTP-date.
+     * @param now
+     *            epoch milliseconds.
+     * @return epoch milliseconds at which requests may resume, or 0 if the
+     *         header is absent or malformed.
+     */
+    public static long parseRetryAfter(final String retryAfter, final long now) {
+        if (retryAfter == null || retryAfter.isEmpty()) {
+            return 0;
+        }
+        try {
+            return now + TimeUnit.SECONDS.toMillis(Long.parseLong(retryAfter.trim()));
+        } catch (NumberFormatException notSeconds) {
+            final SimpleDateFormat format = new SimpleDateFormat(RFC_1123, Locale.US);
+            format.setTimeZone(TimeZone.getTimeZone("GMT"));
+            try {
+                return format.parse(retryAfter.trim()).getTime();
+            } catch (ParseException malformed) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * @return epoch milliseconds before which requests are held, in the past
+     *         when requests are flowing.
+     */
+    public long getResumeAt() {
+        return resumeAt;
+    }
+
+    public RateLimiter getRateLimiter() {
+        return rateLimiter;
+    }
+
+    public AdaptiveConcurrencyLimiter getConcurrencyLimiter() {
+        return concurrencyLimiter;
+    }
+
+    @Override
+    public TransportStats stats() {
+        return delegate.stats();
+    }
+}
@@ -0,0 +1,115 @@
+package io.outreach.transport;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * {@link Transport} decorator negotiating compressed responses, advertising
+ * gzip and deflate and decoding the entity before the caller reads it. <br />
+ * <br />
+ * HttpURLConnection leaves the Content-Encoding of a response to the caller,
+ * without this every page is transferred in full.
+ */
+public class CompressingTransport implements Transport {
+
+    public static final String ACCEPT_ENCODING = "gzip, deflate";
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final Transport delegate;
+
+    public CompressingTransport(final Transport delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public Response execute(final Request request) throws IOException {
+        final Request negotiated = request.getHeader("Accept-Encoding") != null
+                                 ? request
+                                 : request.copy().header("Accept-Encoding", ACCEPT_ENCODING);
+
+        final Response response = delegate.execute(negotiated);
+        final String encoding = response.getHeader("Content-Encoding");
+        if (encoding == null || "identity".equalsIgnoreCase(encoding.trim())) {
+            return response;
+        }
+
+        try {
+            final InputStream decoded = decode(encoding.trim().toLowerCase(Locale.ROOT), response.getBody());
+            if (decoded == null) {
+                return response;
+            }
+            return new Response(response.getStatusCode(), withoutEntityHeaders(response.getHeaders()), decoded, () -> {
+                try {
+                    response.close();
+                } catch (IOException exception) {
+                    // The decoded stream already closed the entity
+                }
+            });
+        } catch (IOException | RuntimeException exception) {
+            response.close();
+            throw exception;
+        }
+    }
+
+    @Override
+    public TransportStats stats() {
+        return delegate.stats();
+    }
+
+    /**
+     * @return the decoding stream, or null when the encoding is not one this
+     *         transport advertised.
+     */
+    private static InputStream decode(final String encoding, final InputStream body) throws IOException {
+        final boolean gzip = "gzip".equals(encoding) || "x-gzip".equals(encoding);
+        if (!gzip && !"deflate".equals(encoding)) {
+            return null;
+        }
+
+        final BufferedInputStream buffered = new BufferedInputStream(body, BUFFER_SIZE);
+        buffered.mark(2);
+        final int first = buffered.read();
+        final int second = buffered.read();
+        buffered.reset();
+        if (first < 0) {
+            return buffered; // Error and not-modified responses may declare an encoding without an entity
+        }
+        if (gzip) {
+            return new GZIPInputStream(buffered, BUFFER_SIZE);
+        }
+
+        // Servers disagree on whether deflate carries the zlib wrapper, so check for its header.
+        final boolean zlib = (first & 0x0f) == 8 && second >= 0 && ((first << 8) | second) % 31 == 0;
+        final Inflater inflater = new Inflater(!zlib);
+        return new InflaterInputStream(buffered, inflater, BUFFER_SIZE) {
+            @Override
+            public void close() throws IOException {
+                try {
+                    super.close();
+                } finally {
+                    inflater.end(); // Only a stream's default inflater is released on close
+                }
+            }
+        };
+    }
+
+    /**
+     * The decoded entity no longer matches the encoding or length declared for
+     * the wire.
+     */
+    private static Map<String, List<String>> withoutEntityHeaders(final Map<String, List<String>> headers) {
+        final Map<String, List<String>> copy = new LinkedHashMap<>(headers);
+        copy.keySet().removeIf(name -> name != null
+                                    && ("Content-Encoding".equalsIgnoreCase(name) || "Content-Length".equalsIgnoreCase(name)));
+        return copy;
+    }
+}
@@ -0,0 +1,80 @@
+package io.outreach.transport;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.net.ssl.HandshakeCompletedEvent;
+import javax.net.ssl.HandshakeCompletedListener;
+import javax.net.ssl.SSLSocket;
+import javax.net.ssl.SSLSocketFactory;
+
+/**
+ * Delegating socket factory which counts completed TLS handshakes.
+ */
+class HandshakeCountingSocketFactory extends SSLSocketFactory implements HandshakeCompletedListener {
+
+    private final SSLSocketFactory delegate;
+    private final AtomicLong handshakes = new AtomicLong();
+
+    HandshakeCountingSocketFactory(final SSLSocketFactory delegate) {
+        this.delegate = delegate;
+    }
+
+    long getHandshakes() {
+        return handshakes.get();
+    }
+
+    @Override
+    public void handshakeCompleted(final HandshakeCompletedEvent event) {
+        handshakes.incrementAndGet();
+    }
+
+    private Socket track(final Socket socket) {
+        if (socket instanceof SSLSocket) {
+            ((SSLSocket) socket).addHandshakeCompletedListener(this);
+        }
+        return socket;
+    }
+
+    @Override
+    public String[] getDefaultCipherSuites() {
+        return delegate.getDefaultCipherSuites();
+    }
+
+    @Override
+    public String[] getSupportedCipherSuites() {
+        return delegate.getSupportedCipherSuites();
+    }
+
+    @Override
+    public Socket createSocket() throws IOException {
+        return track(delegate.createSocket());
+    }
+
+    @Override
+    public Socket createSocket(final Socket socket, final String host, final int port, final boolean autoClose) throws IOException {
+        return track(delegate.createSocket(socket, host, port, autoClose));
+    }
+
+    @Override
+    public Socket createSocket(final String host, final int port) throws IOException {
+        return track(delegate.createSocket(host, port));
+    }
+
+    @Override
+    public Socket createSocket(final String host, final int port, final InetAddress localHost, final int localPort) throws IOException {
+        return track(delegate.createSocket(host, port, localHost, localPort));
+    }
+
+    @Override
+    public Socket createSocket(final InetAddress host, final int port) throws IOException {
+        return track(delegate.createSocket(host, port));
+    }
+
+    @Override
+    public Socket createSocket(final InetAddress address, final int port, final InetAddress localAddress, final int localPort) throws IOException {
+        return track(delegate.createSocket(address, port, localAddress, localPort));
+    }
+}
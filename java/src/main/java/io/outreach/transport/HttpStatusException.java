@@ -0,0 +1,22 @@
+package io.outreach.transport;
+
+import java.io.IOException;
+
+/**
+ * Raised when the server answers with a non-successful status code.
+ */
+public class HttpStatusException extends IOException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int statusCode;
+
+    public HttpStatusException(final int statusCode, final String message) {
+        super(message);
+        this.statusCode = statusCode;
+    }
+
+    public int getStatusCode() {
+        return statusCode;
+    }
+}
@@ -0,0 +1,197 @@
+package io.outreach.transport;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.net.ssl.HostnameVerifier;
+import javax.net.ssl.HttpsURLConnection;
+
+import io.outreach.exception.OutreachSecurityException;
+import io.outreach.metrics.OutreachListener;
+import io.outreach.security.ReloadablePinSet;
+import io.outreach.security.TrustedHostnameVerifier;
+import io.outreach.security.TrustedSSLSocketFactory;
+
+/**
+ * Default transport, a bounded pool of keep-alive connections over the JDK's
+ * {@link HttpURLConnection}. <br />
+ * <br />
+ * The SSL context is built once when the transport is created so every
+ * connection shares its TLS session cache, and connections are handed back to
+ * the JDK keep-alive cache when a {@link Response} is closed. At most
+ * {@code maxConnections} exchanges run at once, further callers wait for a
+ * free slot. <br />
+ * <br />
+ * <b>NOTE</b>: The JDK only parks {@code http.maxConnections} idle sockets per
+ * destination (default 5), set the system property to at least the pool size
+ * so that every slot keeps its socket alive between requests.
+ */
+public class PooledTransport implements Transport {
+
+    public static final int DEFAULT_MAX_CONNECTIONS = 20;
+
+    /**
+     * Chunk size of entities of unknown length, matching the encode buffers.
+     */
+    private static final int CHUNK_SIZE = 8192;
+
+    private final int maxConnections;
+    private final Semaphore connections;
+    private final HandshakeCountingSocketFactory socketFactory;
+    private final HostnameVerifier hostnameVerifier;
+    private final ReloadablePinSet pins;
+
+    private final OutreachListener listener;
+
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong waitNanos = new AtomicLong();
+
+    public PooledTransport() {
+        this(null, DEFAULT_MAX_CONNECTIONS);
+    }
+
+    public PooledTransport(final KeyStore trustStore) {
+        this(trustStore, DEFAULT_MAX_CONNECTIONS);
+    }
+
+    public PooledTransport(final KeyStore trustStore, final int maxConnections) {
+        this(trustStore, maxConnections, OutreachListener.NONE);
+    }
+
+    /**
+     * @param trustStore
+     *            the pinned trust material, or null to use the JDK defaults.
+     * @param maxConnections
+     *            upper bound on concurrent exchanges.
+     * @param listener
+     *            notified of every wait for a connection.
+     */
+    public PooledTransport(final KeyStore trustStore, final int maxConnections, final OutreachListener listener) {
+        if (maxConnections < 1) {
+            throw new IllegalArgumentException("maxConnections must be positive");
+        }
+        this.maxConnections = maxConnections;
+        this.listener = listener;
+        this.connections = new Semaphore(maxConnections, true);
+
+        this.pins = pin(trustStore);
+        if (pins != null) {
+            try {
+                this.socketFactory = new HandshakeCountingSocketFactory(TrustedSSLSocketFactory.get(pins));
+            } catch (GeneralSecurityException exception) {
+                throw new OutreachSecurityException(exception);
+            }
+            this.hostnameVerifier = new TrustedHostnameVerifier(pins);
+        } else {
+            this.socketFactory = new HandshakeCountingSocketFactory(HttpsURLConnection.getDefaultSSLSocketFactory());
+            this.hostnameVerifier = null;
+        }
+    }
+
+    private static ReloadablePinSet pin(final KeyStore trustStore) {
+        if (trustStore == null) {
+            return null;
+        }
+        try {
+            return new ReloadablePinSet(trustStore);
+        } catch (GeneralSecurityException exception) {
+            throw new OutreachSecurityException(exception);
+        }
+    }
+
+    @Override
+    public Response execute(final Request request) throws IOException {
+        acquire();
+        boolean leased = false;
+        try {
+            final HttpURLConnection connection = open(request);
+
+            if (request.hasBody()) {
+                final RequestBody entity = request.getEntity();
+                final long length = entity.contentLength();
+                connection.setDoOutput(true);
+                if (length >= 0) {
+                    connection.setFixedLengthStreamingMode(length);
+                } else {
+                    connection.setChunkedStreamingMode(CHUNK_SIZE);
+                }
+                try (OutputStream out = connection.getOutputStream()) {
+                    entity.writeTo(out);
+                }
+            }
+
+            final int statusCode = connection.getResponseCode();
+            final InputStream body = statusCode >= 400 ? connection.getErrorStream() : connection.getInputStream();
+            final Response response = new Response(statusCode, connection.getHeaderFields(), body, connections::release);
+            leased = true;
+            return response;
+        } finally {
+            if (!leased) {
+                connections.release();
+            }
+        }
+    }
+
+    private HttpURLConnection open(final Request request) throws IOException {
+        requests.incrementAndGet();
+        final HttpURLConnection connection = (HttpURLConnection) request.getUrl().openConnection();
+
+        if (connection instanceof HttpsURLConnection) {
+            final HttpsURLConnection secureConnection = (HttpsURLConnection) connection;
+            secureConnection.setSSLSocketFactory(socketFactory);
+            if (hostnameVerifier != null) {
+                secureConnection.setHostnameVerifier(hostnameVerifier);
+            }
+        }
+
+        connection.setRequestMethod(request.getVerb());
+        for (Map.Entry<String, String> header : request.getHeaders().entrySet()) {
+            connection.setRequestProperty(header.getKey(), header.getValue());
+        }
+
+        return connection;
+    }
+
+    private void acquire() throws IOException {
+        if (connections.tryAcquire()) {
+            return;
+        }
+        final long start = System.nanoTime();
+        try {
+            connections.acquire();
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for a connection", exception);
+        } finally {
+            final long waited = System.nanoTime() - start;
+            waitNanos.addAndGet(waited);
+            listener.connectionWaited(waited);
+        }
+    }
+
+    @Override
+    public TransportStats stats() {
+        return new TransportStats(maxConnections,
+                                  maxConnections - connections.availablePermits(),
+                                  connections.getQueueLength(),
+                                  requests.get(),
+                                  socketFactory.getHandshakes(),
+                                  waitNanos.get());
+    }
+
+    /**
+     * @return the pins verifying this pool's connections, reload them to
+     *         rotate certificates without rebuilding the pool; or null if the
+     *         JDK defaults are used.
+     */
+    public ReloadablePinSet getPins() {
+        return pins;
+    }
+}
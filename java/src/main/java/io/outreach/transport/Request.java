@@ -0,0 +1,129 @@
+package io.outreach.transport;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A single HTTP request, the request may be executed more than once so the
+ * body is held as a replayable {@link RequestBody}.
+ */
+public class Request {
+
+    private final String verb;
+    private final URL url;
+    private final Map<String, String> headers = new LinkedHashMap<>();
+    private RequestBody body = null;
+    private Boolean idempotent = null;
+
+    public Request(final String verb, final URL url) {
+        this.verb = verb;
+        this.url = url;
+    }
+
+    public Request(final String verb, final String url) throws MalformedURLException {
+        this(verb, new URL(url));
+    }
+
+    public Request header(final String name, final String value) {
+        this.headers.put(name, value);
+        return this;
+    }
+
+    /**
+     * Sets a fixed-length UTF-8 entity.
+     */
+    public Request body(final String body) {
+        this.body = body == null ? null : RequestBody.of(body);
+        return this;
+    }
+
+    public Request body(final RequestBody body) {
+        this.body = body;
+        return this;
+    }
+
+    /**
+     * Marks whether repeating the request has the same effect as sending it
+     * once, overriding the default derived from the verb.
+     */
+    public Request idempotent(final boolean idempotent) {
+        this.idempotent = idempotent;
+        return this;
+    }
+
+    /**
+     * @return an independent request with the same verb, URL, headers, body
+     *         and idempotency, for decorators adding headers of their own.
+     */
+    public Request copy() {
+        final Request copy = new Request(verb, url);
+        copy.headers.putAll(headers);
+        copy.body = body;
+        copy.idempotent = idempotent;
+        return copy;
+    }
+
+    public String getVerb() {
+        return verb;
+    }
+
+    public URL getUrl() {
+        return url;
+    }
+
+    public Map<String, String> getHeaders() {
+        return Collections.unmodifiableMap(headers);
+    }
+
+    public String getHeader(final String name) {
+        return headers.get(name);
+    }
+
+    /**
+     * @return the entity as text, encoding streamed content in full; meant for
+     *         logging and tests, transports write {@link #getEntity()}.
+     */
+    public String getBody() {
+        return body == null ? null : body.toString();
+    }
+
+    public RequestBody getEntity() {
+        return body;
+    }
+
+    public boolean hasBody() {
+        return body != null;
+    }
+
+    /**
+     * @return whether the request may be repeated safely, by default only
+     *         GET, HEAD, PUT, DELETE and OPTIONS requests without a method
+     *         override are.
+     */
+    public boolean isIdempotent() {
+        if (idempotent != null) {
+            return idempotent;
+        }
+        if (headers.containsKey("X-HTTP-Method-Override")) {
+            return false;
+        }
+        switch (verb) {
+            case "GET":
+            case "HEAD":
+            case "PUT":
+            case "DELETE":
+            case "OPTIONS":
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return verb + " " + url;
+    }
+}
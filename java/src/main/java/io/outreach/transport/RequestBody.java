@@ -0,0 +1,125 @@
+package io.outreach.transport;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+import io.outreach.json.RecordCodec;
+
+/**
+ * A request entity, written to the connection as it is sent rather than
+ * materialized first. <br />
+ * <br />
+ * Entities of known length are sent with a fixed Content-Length, others
+ * chunked. Text is always encoded as UTF-8 through pooled buffers. A request
+ * may be executed more than once, so {@link #writeTo(OutputStream)} must
+ * write the same entity each time it is called.
+ */
+public abstract class RequestBody {
+
+    /**
+     * Writes text content, e.g. with a {@link io.outreach.json.JsonWriter}.
+     */
+    @FunctionalInterface
+    public interface Content {
+        void writeTo(Writer out) throws IOException;
+    }
+
+    /**
+     * @return the encoded length in bytes, or -1 if unknown until written.
+     */
+    public abstract long contentLength();
+
+    /**
+     * Writes the entity, leaving the stream open.
+     *
+     * @param out
+     */
+    public abstract void writeTo(OutputStream out) throws IOException;
+
+    /**
+     * @return a fixed-length entity holding the text.
+     */
+    public static RequestBody of(final String text) {
+        return new TextBody(text);
+    }
+
+    /**
+     * @return a chunked entity, the content is written anew on each attempt.
+     */
+    public static RequestBody stream(final Content content) {
+        return new StreamedBody(content);
+    }
+
+    /**
+     * @return the record as a chunked request entity,
+     *         {@code {"data":{"attributes":...}}}.
+     */
+    public static <T> RequestBody of(final T record, final RecordCodec<T> codec) {
+        return stream(out -> codec.encode(record, out));
+    }
+
+    /**
+     * @return the entity as text, encoding streamed content in full; meant for
+     *         logging and tests.
+     */
+    @Override
+    public String toString() {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream(256);
+        try {
+            writeTo(out);
+        } catch (IOException exception) {
+            throw new IllegalStateException(exception); // ByteArrayOutputStream does not throw
+        }
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    private static final class TextBody extends RequestBody {
+        private final String text;
+        private final long length;
+
+        TextBody(final String text) {
+            this.text = text;
+            this.length = Utf8Writer.length(text);
+        }
+
+        @Override
+        public long contentLength() {
+            return length;
+        }
+
+        @Override
+        public void writeTo(final OutputStream out) throws IOException {
+            try (Utf8Writer writer = new Utf8Writer(out)) {
+                writer.write(text);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return text;
+        }
+    }
+
+    private static final class StreamedBody extends RequestBody {
+        private final Content content;
+
+        StreamedBody(final Content content) {
+            this.content = content;
+        }
+
+        @Override
+        public long contentLength() {
+            return -1;
+        }
+
+        @Override
+        public void writeTo(final OutputStream out) throws IOException {
+            try (Utf8Writer writer = new Utf8Writer(out)) {
+                content.writeTo(writer);
+            }
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package io.outreach.transport;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The status, headers and entity stream of an executed {@link Request}.
+ * Closing the response releases the connection back to its transport.
+ */
+public class Response implements Closeable {
+
+    private static final InputStream EMPTY = new ByteArrayInputStream(new byte[0]);
+
+    private final int statusCode;
+    private final Map<String, List<String>> headers;
+    private final InputStream body;
+    private final Runnable onClose;
+    private boolean closed = false;
+
+    public Response(final int statusCode, final Map<String, List<String>> headers, final InputStream body) {
+        this(statusCode, headers, body, null);
+    }
+
+    public Response(final int statusCode,
+                    final Map<String, List<String>> headers,
+                    final InputStream body,
+                    final Runnable onClose) {
+        this.statusCode = statusCode;
+        this.headers = headers != null ? headers : Collections.<String, List<String>>emptyMap();
+        this.body = body != null ? body : EMPTY;
+        this.onClose = onClose;
+    }
+
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    public boolean isSuccessful() {
+        return statusCode >= 200 && statusCode < 300;
+    }
+
+    public Map<String, List<String>> getHeaders() {
+        return headers;
+    }
+
+    /**
+     * @param name
+     * @return the first value of the named header (case-insensitive), or null.
+     */
+    public String getHeader(final String name) {
+        for (Map.Entry<String, List<String>> header : headers.entrySet()) {
+            if (header.getKey() != null && header.getKey().equalsIgnoreCase(name)) {
+                final List<String> values = header.getValue();
+                return values == null || values.isEmpty() ? null : values.get(0);
+            }
+        }
+        return null;
+    }
+
+    public InputStream getBody() {
+        return body;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            body.close();
+        } finally {
+            if (onClose != null) {
+                onClose.run();
+            }
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package io.outreach.transport;
+
+import java.io.IOException;
+
+/**
+ * Executes HTTP exchanges on behalf of an {@link io.outreach.Outreach} client.
+ * Implementations are expected to be thread-safe and shareable between client
+ * instances, decorators may wrap a transport to layer on additional behaviour.
+ */
+public interface Transport {
+
+    /**
+     * Sends the request and returns the response regardless of status code,
+     * the caller must close the response to release the underlying connection.
+     *
+     * @param request
+     * @return the response, whose body is positioned at the start of the entity.
+     * @throws IOException
+     *             if the exchange could not be completed.
+     */
+    Response execute(Request request) throws IOException;
+
+    /**
+     * @return a point-in-time snapshot of the connection pool statistics.
+     */
+    TransportStats stats();
+}
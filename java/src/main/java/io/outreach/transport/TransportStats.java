@@ -0,0 +1,82 @@
+package io.outreach.transport;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Immutable snapshot of a transport's connection pool.
+ */
+public class TransportStats {
+
+    private final int maxConnections;
+    private final int active;
+    private final int waiting;
+    private final long requests;
+    private final long handshakes;
+    private final long totalWaitNanos;
+
+    public TransportStats(final int maxConnections,
+                          final int active,
+                          final int waiting,
+                          final long requests,
+                          final long handshakes,
+                          final long totalWaitNanos) {
+        this.maxConnections = maxConnections;
+        this.active = active;
+        this.waiting = waiting;
+        this.requests = requests;
+        this.handshakes = handshakes;
+        this.totalWaitNanos = totalWaitNanos;
+    }
+
+    /**
+     * @return the upper bound on concurrent exchanges.
+     */
+    public int getMaxConnections() {
+        return maxConnections;
+    }
+
+    /**
+     * @return the number of exchanges currently holding a connection.
+     */
+    public int getActive() {
+        return active;
+    }
+
+    /**
+     * @return the number of connection slots not currently leased, the
+     *         keep-alive sockets behind them are parked in the JDK's cache.
+     */
+    public int getIdle() {
+        return maxConnections - active;
+    }
+
+    /**
+     * @return the number of callers blocked waiting on a free connection.
+     */
+    public int getWaiting() {
+        return waiting;
+    }
+
+    public long getRequests() {
+        return requests;
+    }
+
+    /**
+     * @return the number of TLS handshakes performed, requests served over a
+     *         kept-alive connection do not handshake.
+     */
+    public long getHandshakes() {
+        return handshakes;
+    }
+
+    public long getWaitTime(final TimeUnit unit) {
+        return unit.convert(totalWaitNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public String toString() {
+        return "TransportStats[max=" + maxConnections + ", active=" + active + ", idle=" + getIdle()
+             + ", waiting=" + waiting + ", requests=" + requests + ", handshakes=" + handshakes
+             + ", waitMillis=" + getWaitTime(TimeUnit.MILLISECONDS) + "]";
+    }
+}
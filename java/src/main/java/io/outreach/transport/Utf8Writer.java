@@ -0,0 +1,161 @@
+package io.outreach.transport;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Encodes characters as UTF-8 straight into a pooled buffer, flushed to the
+ * underlying stream as it fills, whatever the platform default charset. <br />
+ * <br />
+ * Closing the writer flushes it and returns its buffer to the pool, the
+ * underlying stream is left open.
+ */
+final class Utf8Writer extends Writer {
+
+    private static final int BUFFER_SIZE = 8192;
+    private static final int MAX_POOLED = 64;
+
+    private static final ConcurrentLinkedQueue<byte[]> POOL = new ConcurrentLinkedQueue<>();
+    private static final AtomicInteger POOLED = new AtomicInteger();
+
+    private final OutputStream out;
+    private byte[] buffer;
+    private int position = 0;
+
+    /**
+     * A high surrogate awaiting its pair from the next write.
+     */
+    private char pending = 0;
+
+    Utf8Writer(final OutputStream out) {
+        this.out = out;
+        this.buffer = borrow();
+    }
+
+    @Override
+    public void write(final int c) throws IOException {
+        encode((char) c);
+    }
+
+    @Override
+    public void write(final char[] chars, final int offset, final int length) throws IOException {
+        for (int i = offset; i < offset + length; i++) {
+            encode(chars[i]);
+        }
+    }
+
+    @Override
+    public void write(final String string, final int offset, final int length) throws IOException {
+        for (int i = offset; i < offset + length; i++) {
+            encode(string.charAt(i));
+        }
+    }
+
+    private void encode(final char c) throws IOException {
+        if (position > BUFFER_SIZE - 4) {
+            drain();
+        }
+        if (pending != 0) {
+            final char high = pending;
+            pending = 0;
+            if (Character.isLowSurrogate(c)) {
+                final int codePoint = Character.toCodePoint(high, c);
+                buffer[position++] = (byte) (0xf0 | codePoint >> 18);
+                buffer[position++] = (byte) (0x80 | codePoint >> 12 & 0x3f);
+                buffer[position++] = (byte) (0x80 | codePoint >> 6 & 0x3f);
+                buffer[position++] = (byte) (0x80 | codePoint & 0x3f);
+                return;
+            }
+            buffer[position++] = '?'; // An unpaired surrogate, as String.getBytes replaces it.
+        }
+        if (c < 0x80) {
+            buffer[position++] = (byte) c;
+        } else if (c < 0x800) {
+            buffer[position++] = (byte) (0xc0 | c >> 6);
+            buffer[position++] = (byte) (0x80 | c & 0x3f);
+        } else if (Character.isHighSurrogate(c)) {
+            pending = c;
+        } else if (Character.isLowSurrogate(c)) {
+            buffer[position++] = '?';
+        } else {
+            buffer[position++] = (byte) (0xe0 | c >> 12);
+            buffer[position++] = (byte) (0x80 | c >> 6 & 0x3f);
+            buffer[position++] = (byte) (0x80 | c & 0x3f);
+        }
+    }
+
+    private void drain() throws IOException {
+        if (buffer == null) {
+            throw new IOException("Writer closed");
+        }
+        out.write(buffer, 0, position);
+        position = 0;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        drain();
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (buffer == null) {
+            return;
+        }
+        try {
+            if (pending != 0) {
+                pending = 0;
+                buffer[position++] = '?';
+            }
+            drain();
+        } finally {
+            release(buffer);
+            buffer = null;
+        }
+    }
+
+    /**
+     * @return the UTF-8 encoded length of the characters, without encoding
+     *         them.
+     */
+    static long length(final CharSequence value) {
+        long length = 0;
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            if (c < 0x80) {
+                length += 1;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < value.length() && Character.isLowSurrogate(value.charAt(i + 1))) {
+                length += 4;
+                i++;
+            } else if (Character.isSurrogate(c)) {
+                length += 1;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+
+    private static byte[] borrow() {
+        final byte[] buffer = POOL.poll();
+        if (buffer == null) {
+            return new byte[BUFFER_SIZE];
+        }
+        POOLED.decrementAndGet();
+        return buffer;
+    }
+
+    private static void release(final byte[] buffer) {
+        if (POOLED.incrementAndGet() <= MAX_POOLED) {
+            POOL.offer(buffer);
+        } else {
+            POOLED.decrementAndGet();
+        }
+    }
+}
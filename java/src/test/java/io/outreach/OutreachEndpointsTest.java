@@ -0,0 +1,151 @@
+package io.outreach;
+
+import static org.junit.Assert.*;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+import org.json.simple.JSONValue;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.outreach.metrics.InstrumentedTransport;
+import io.outreach.metrics.OutreachListener;
+import io.outreach.model.Account;
+import io.outreach.model.Call;
+import io.outreach.simulator.OutreachSimulator;
+import io.outreach.transport.PooledTransport;
+import io.outreach.transport.Request;
+
+public class OutreachEndpointsTest {
+
+    private OutreachSimulator simulator;
+    private Outreach outreach;
+    private final List<String> urls = new CopyOnWriteArrayList<>();
+
+    @Before
+    public void start() throws Exception {
+        simulator = new OutreachSimulator();
+        outreach = simulator.newClient(new InstrumentedTransport(new PooledTransport(), new OutreachListener() {
+            @Override
+            public void requestStarted(final Request request) {
+                urls.add(request.getUrl().toString());
+            }
+        }));
+    }
+
+    @After
+    public void stop() {
+        simulator.close();
+    }
+
+    private long add(final String resource, final String attributes) {
+        return simulator.addRecord(resource, (JSONObject) JSONValue.parse(attributes));
+    }
+
+    private String lastUrl() {
+        String url = urls.get(urls.size() - 1);
+        return url.substring(url.indexOf("/1.0/") + 4);
+    }
+
+    private static int size(final JSONObject page) {
+        return ((JSONArray) page.get("data")).size();
+    }
+
+    @Test
+    public void accounts() {
+        long acme = add("/accounts", "{\"company\":{\"name\":\"Acme\",\"domain\":\"acme.com\"}}");
+        add("/accounts", "{\"company\":{\"name\":\"Globex\",\"domain\":\"globex.com\"}}");
+
+        assertEquals(1, size(outreach.getAccounts("Acme", "acme.com", 1)));
+        assertEquals("/accounts?page[number]=1&filter[company/name]=Acme&filter[company/domain]=acme.com", lastUrl());
+        assertEquals(2, size(outreach.getAccounts(null, null, null)));
+        assertEquals("/accounts", lastUrl());
+        assertNotNull(outreach.getAccount((int) acme).get("data"));
+        assertEquals("/accounts/" + acme, lastUrl());
+        assertEquals(1, outreach.streamAccounts(null, "globex.com").count());
+
+        Account created = outreach.addAccount(new Account().setName("Initech"));
+        assertEquals("Initech", created.getName());
+        assertNotNull(outreach.addAccount("{\"data\":{\"attributes\":{\"company\":{\"name\":\"Hooli\"}}}}").get("data"));
+        assertEquals(4, outreach.streamAccounts(null, null).count());
+    }
+
+    @Test
+    public void activities() {
+        add("/activities", "{\"prospect\":{\"id\":7},\"metadata\":{\"type\":\"email\"}}");
+        add("/activities", "{\"prospect\":{\"id\":8},\"metadata\":{\"type\":\"call\"}}");
+
+        assertEquals(1, size(outreach.getActivities(7, 1)));
+        assertEquals("/activities?page[number]=1&filter[prospect/id]=7", lastUrl());
+        assertEquals(1, outreach.streamActivities(8).count());
+    }
+
+    @Test
+    public void calls() {
+        long call = add("/calls", "{\"user\":{\"id\":3},\"connection\":{\"to\":\"+15555550100\"}}");
+        add("/calls", "{\"user\":{\"id\":4}}");
+
+        assertEquals(1, size(outreach.getCalls(3, 1)));
+        assertEquals("/calls?page[number]=1&filter[user/id]=3", lastUrl());
+        assertEquals(2, outreach.streamCalls(null).count());
+        assertEquals(1, outreach.streamCalls(4).count());
+        assertNotNull(outreach.getCall((int) call).get("data"));
+        assertEquals("/calls/" + call, lastUrl());
+
+        Call created = outreach.addCall(new Call().setTo("+15555550101").setOutbound(true));
+        assertEquals("+15555550101", created.getTo());
+        assertNotNull(outreach.addCall("{\"data\":{\"attributes\":{\"user\":{\"id\":4}}}}").get("data"));
+        assertEquals(2, outreach.streamCalls(4).count());
+    }
+
+    @Test
+    public void callDispositionsAndPurposes() {
+        add("/call_dispositions", "{\"name\":\"Answered\"}");
+        add("/call_dispositions", "{\"name\":\"No answer\"}");
+        add("/call_purposes", "{\"name\":\"Intro\"}");
+
+        assertEquals(2, size(outreach.getCallDispositions(1)));
+        assertEquals("/call_dispositions?page[number]=1&page[size]=50", lastUrl());
+        assertEquals(2, size(outreach.getCallDispositions(null)));
+        assertEquals(2, outreach.streamCallDispositions().count());
+        assertEquals(1, size(outreach.getCallPurposes(1)));
+        assertEquals("/call_purposes?page[number]=1&page[size]=50", lastUrl());
+        assertEquals(1, outreach.streamCallPurposes().count());
+    }
+
+    @Test
+    public void mailingsMappingsAndPlugins() {
+        long mailing = add("/mailings", "{\"mailing\":{\"subject\":\"Hello\"}}");
+        add("/mappings", "{\"plugin\":{\"id\":\"crm\",\"type\":{\"id\":\"account\"}}}");
+        add("/mappings", "{\"plugin\":{\"id\":\"crm\",\"type\":{\"id\":\"prospect\"}}}");
+        add("/plugins", "{\"name\":\"CRM\"}");
+
+        assertNotNull(outreach.getMailing((int) mailing).get("data"));
+        assertEquals("/mailings/" + mailing, lastUrl());
+        assertEquals(1, size(outreach.getMappings("crm", "account", 1)));
+        assertEquals("/mappings?page[number]=1&filter[plugin/id]=crm&filter[plugin/type/id]=account", lastUrl());
+        assertEquals(2, outreach.streamMappings("crm", null).count());
+        assertEquals(1, size(outreach.getPlugins(1)));
+        assertEquals("/plugins?page[number]=1", lastUrl());
+        assertEquals(1, outreach.streamPlugins().count());
+    }
+
+    @Test
+    public void users() {
+        long ada = add("/users", "{\"metadata\":{\"first_name\":\"Ada\",\"last_name\":\"Lovelace\"}}");
+        add("/users", "{\"metadata\":{\"first_name\":\"Alan\",\"last_name\":\"Turing\"}}");
+
+        assertEquals(1, size(outreach.getUsers("Ada", null, 1)));
+        assertEquals("/users?filter[metadata/first_name]=Ada&page[number]=1&page[size]=50", lastUrl());
+        assertNotNull(outreach.getUser((int) ada).get("data"));
+        assertEquals("/users/" + ada, lastUrl());
+        assertEquals(1, outreach.streamUsers(null, "Turing").count());
+        List<Object> ids = outreach.streamUsers(null, null).map(user -> user.get("id")).collect(Collectors.toList());
+        assertEquals(2, ids.size());
+    }
+}
@@ -0,0 +1,146 @@
+package io.outreach.auth;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import io.outreach.exception.OutreachSecurityException;
+import io.outreach.metrics.OutreachListener;
+import io.outreach.transport.HttpStatusException;
+import io.outreach.transport.Request;
+import io.outreach.transport.Response;
+import io.outreach.transport.Transport;
+import io.outreach.transport.TransportStats;
+
+public class AccessTokenManagerTest {
+
+    /**
+     * Grants sequentially numbered tokens which expire after the given TTL.
+     */
+    private static class TokenServer implements Transport {
+        final AtomicInteger exchanges = new AtomicInteger();
+        final List<String> bodies = new CopyOnWriteArrayList<>();
+        final long expiresIn;
+
+        TokenServer(long expiresIn) {
+            this.expiresIn = expiresIn;
+        }
+
+        @Override
+        public Response execute(Request request) {
+            int grant = exchanges.incrementAndGet();
+            bodies.add(request.getBody());
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            String json = "{\"access_token\":\"access-" + grant + "\",\"refresh_token\":\"refresh-" + grant
+                        + "\",\"expires_in\":" + expiresIn + "}";
+            return new Response(200, Collections.emptyMap(), new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+        }
+
+        @Override
+        public TransportStats stats() {
+            return new TransportStats(1, 0, 0, exchanges.get(), 0, 0);
+        }
+    }
+
+    @Test
+    public void concurrentCallersShareOneExchange() throws Exception {
+        TokenServer server = new TokenServer(7200);
+        AccessTokenManager tokens = new AccessTokenManager(server, "http://localhost/oauth/token", "id", "secret", "uri", "code", null);
+
+        ExecutorService pool = Executors.newFixedThreadPool(16);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<String>> results = new CopyOnWriteArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            results.add(pool.submit(() -> {
+                start.await();
+                return tokens.getAccessToken();
+            }));
+        }
+        start.countDown();
+
+        for (Future<String> result : results) {
+            assertEquals("access-1", result.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, server.exchanges.get());
+        assertTrue(server.bodies.get(0).contains("grant_type=authorization_code&code=code"));
+        pool.shutdown();
+    }
+
+    @Test
+    public void expiredTokenIsRefreshedWithRefreshToken() {
+        TokenServer server = new TokenServer(0);
+        AccessTokenManager tokens = new AccessTokenManager(server, "http://localhost/oauth/token", "id", "secret", "uri", "code", null);
+
+        assertEquals("access-1", tokens.getAccessToken());
+        assertEquals("access-2", tokens.getAccessToken());
+        assertTrue(server.bodies.get(1).contains("grant_type=refresh_token&refresh_token=refresh-1"));
+    }
+
+    @Test
+    public void unauthorizedExchangeIsReportedToListener() {
+        List<Throwable> failures = new CopyOnWriteArrayList<>();
+        OutreachListener listener = new OutreachListener() {
+            @Override
+            public void tokenRefreshFailed(Throwable failure, long elapsedNanos) {
+                failures.add(failure);
+            }
+        };
+        Transport unauthorized = new TokenServer(0) {
+            @Override
+            public Response execute(Request request) {
+                return new Response(401, Collections.emptyMap(), new ByteArrayInputStream(new byte[0]));
+            }
+        };
+        AccessTokenManager tokens = new AccessTokenManager(unauthorized, "http://localhost/oauth/token", "id", "secret", "uri", "used", null, listener);
+
+        try {
+            tokens.getAccessToken();
+            fail("Expected the exchange to fail");
+        } catch (OutreachSecurityException expected) {
+            assertTrue(expected.getCause() instanceof HttpStatusException);
+        }
+        assertEquals(1, failures.size());
+        assertEquals(401, ((HttpStatusException) failures.get(0)).getStatusCode());
+    }
+
+    @Test
+    public void backgroundRefreshRunsOffTheSchedulerThread() throws Exception {
+        List<String> threads = new CopyOnWriteArrayList<>();
+        TokenServer server = new TokenServer(2) {
+            @Override
+            public Response execute(Request request) {
+                threads.add(Thread.currentThread().getName());
+                return super.execute(request);
+            }
+        };
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(task -> new Thread(task, "refresh-timer"));
+        try (AccessTokenManager tokens = new AccessTokenManager(server, "http://localhost/oauth/token", "id", "secret", "uri", "code", scheduler)) {
+            assertEquals("access-1", tokens.getAccessToken());
+            long deadline = System.currentTimeMillis() + 5000;
+            while (server.exchanges.get() < 2 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertEquals(2, threads.size());
+            assertNotEquals("refresh-timer", threads.get(1));
+        } finally {
+            scheduler.shutdown();
+        }
+    }
+}
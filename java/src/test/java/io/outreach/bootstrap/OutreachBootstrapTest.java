@@ -0,0 +1,42 @@
+package io.outreach.bootstrap;
+
+import static org.junit.Assert.*;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import io.outreach.Outreach;
+import io.outreach.security.TrustStore;
+import io.outreach.simulator.OutreachSimulator;
+
+public class OutreachBootstrapTest {
+
+    @Test
+    public void loadsConfigurationAndTrustMaterialOnce() throws Exception {
+        OutreachBootstrap bootstrap = OutreachBootstrap.get();
+        assertSame(bootstrap, OutreachBootstrap.get());
+        assertEquals("https://api.outreach.io", bootstrap.getEndpoint());
+        assertEquals("1.0", bootstrap.getVersion());
+
+        assertSame(TrustStore.get(), bootstrap.getTrustStore());
+        assertNotNull(bootstrap.getTrustStore().getCertificate("api.outreach.io"));
+        assertSame(bootstrap.getTransport(), bootstrap.getTransport());
+
+        Outreach outreach = new Outreach(new Outreach.ApplicationCredentials("id", "secret", "uri"), "code", bootstrap.getTransport());
+        assertEquals("https://api.outreach.io/1.0", outreach.getApiEndpoint());
+    }
+
+    @Test
+    public void prewarmExchangesTheTokenBeforeTheFirstCall() throws Exception {
+        try (OutreachSimulator simulator = new OutreachSimulator()) {
+            Outreach outreach = simulator.newClient();
+            OutreachBootstrap.prewarm(outreach).get(10, TimeUnit.SECONDS);
+            assertEquals(1, simulator.getTokensIssued());
+            assertEquals(0, simulator.getRequests());
+
+            assertNotNull(outreach.getInfo());
+            assertEquals(1, simulator.getTokensIssued());
+        }
+    }
+}
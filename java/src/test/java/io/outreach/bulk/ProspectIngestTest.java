@@ -0,0 +1,137 @@
+package io.outreach.bulk;
+
+import static org.junit.Assert.*;
+
+import java.net.ConnectException;
+import java.net.SocketTimeoutException;
+import java.util.Iterator;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import io.outreach.exception.OutreachSecurityException;
+import io.outreach.retry.RetryPolicy;
+import io.outreach.simulator.OutreachSimulator;
+import io.outreach.transport.HttpStatusException;
+
+public class ProspectIngestTest {
+
+    private static String prospect(final long index) {
+        return "{\"data\":{\"attributes\":{\"personal\":{\"name\":{\"first\":\"P" + index + "\"}}}}}";
+    }
+
+    /**
+     * Yields {@code count} payloads, asserting the feed never runs further
+     * ahead of the completed records than the queue and senders allow.
+     */
+    private static Iterator<String> prospects(final int count, final AtomicInteger completed, final int maxAhead) {
+        return new Iterator<String>() {
+            int fed = 0;
+
+            @Override
+            public boolean hasNext() {
+                return fed < count;
+            }
+
+            @Override
+            public String next() {
+                assertTrue(fed - completed.get() <= maxAhead);
+                return prospect(fed++);
+            }
+        };
+    }
+
+    @Test
+    public void feedIsHeldBackByTheSenders() throws Exception {
+        try (OutreachSimulator simulator = new OutreachSimulator()) {
+            simulator.setLatency(2, 4, TimeUnit.MILLISECONDS);
+            AtomicInteger completed = new AtomicInteger();
+            ProspectIngest ingest = new ProspectIngest(simulator.newClient(), 2, 4, RetryPolicy.NONE);
+
+            IngestReport report = ingest.ingest(prospects(60, completed, 4 + 2 + 1), result -> completed.incrementAndGet());
+
+            assertEquals(60, report.getSubmitted());
+            assertEquals(60, report.getCreated());
+            assertEquals(60, completed.get());
+            assertEquals(60, simulator.getRequests());
+        }
+    }
+
+    @Test
+    public void retriesOnlyRequestsTheServerDidNotProcess() {
+        assertTrue(RetryPolicy.DEFAULT.isRetryable(false, new OutreachSecurityException(new HttpStatusException(429, "Too many requests"))));
+        assertTrue(RetryPolicy.DEFAULT.isRetryable(false, new OutreachSecurityException(new HttpStatusException(503, "Unavailable"))));
+        assertTrue(RetryPolicy.DEFAULT.isRetryable(false, new OutreachSecurityException(new ConnectException("Connection refused"))));
+        assertFalse(RetryPolicy.DEFAULT.isRetryable(false, new OutreachSecurityException(new HttpStatusException(500, "Server error"))));
+        assertFalse(RetryPolicy.DEFAULT.isRetryable(false, new OutreachSecurityException(new HttpStatusException(400, "Bad request"))));
+        assertFalse(RetryPolicy.DEFAULT.isRetryable(false, new OutreachSecurityException(new SocketTimeoutException("Read timed out"))));
+    }
+
+    @Test
+    public void reportsEachRecordsOutcome() throws Exception {
+        try (OutreachSimulator simulator = new OutreachSimulator()) {
+            ProspectIngest ingest = new ProspectIngest(simulator.newClient(), 1, 2, new RetryPolicy(3, 10, 10, 0, 60000));
+
+            // Record 0 is rejected unprocessed twice, record 1 fails outright.
+            simulator.failNext(2, 503);
+            IngestReport first = ingest.ingest(prospects(1, new AtomicInteger(), Integer.MAX_VALUE), null);
+            assertEquals(1, first.getCreated());
+            assertEquals(2, first.getRetries());
+
+            simulator.failNext(1, 500);
+            IngestReport report = ingest.ingest(prospects(3, new AtomicInteger(), Integer.MAX_VALUE), null);
+            assertEquals(3, report.getSubmitted());
+            assertEquals(2, report.getCreated());
+            assertEquals(1, report.getFailed());
+            assertEquals(0, report.getRetries());
+
+            IngestResult failure = report.getFailures().get(0);
+            assertEquals(0, failure.getIndex());
+            assertEquals(1, failure.getAttempts());
+            assertNull(report.getCreatedId(0));
+            assertEquals("P1", simulator.getProspect(report.getCreatedId(1)).getFirstName());
+            assertEquals("P2", simulator.getProspect(report.getCreatedId(2)).getFirstName());
+        }
+    }
+
+    @Test
+    public void throwingListenerDoesNotStallTheIngest() throws Exception {
+        try (OutreachSimulator simulator = new OutreachSimulator()) {
+            ProspectIngest ingest = new ProspectIngest(simulator.newClient(), 2, 1, RetryPolicy.NONE);
+
+            IngestReport report = ingest.ingest(prospects(20, new AtomicInteger(), Integer.MAX_VALUE), result -> {
+                throw new IllegalStateException("listener failed");
+            });
+
+            assertEquals(20, report.getCreated());
+            assertEquals(20, report.getListenerFailures());
+            assertEquals("listener failed", report.getListenerFailure().getMessage());
+        }
+    }
+
+    @Test(timeout = 10000)
+    public void rejectedSenderDoesNotStrandTheOthers() throws Exception {
+        ExecutorService pool = Executors.newCachedThreadPool();
+        try (OutreachSimulator simulator = new OutreachSimulator()) {
+            AtomicInteger starts = new AtomicInteger();
+            Executor onlyOne = task -> {
+                if (starts.incrementAndGet() > 1) {
+                    throw new RejectedExecutionException("Saturated");
+                }
+                pool.execute(task);
+            };
+            ProspectIngest ingest = new ProspectIngest(simulator.newClient(), onlyOne, 3, 2, RetryPolicy.NONE);
+
+            IngestReport report = ingest.ingest(prospects(10, new AtomicInteger(), Integer.MAX_VALUE), null);
+
+            assertEquals(10, report.getCreated());
+            pool.shutdown();
+            assertTrue(pool.awaitTermination(5, TimeUnit.SECONDS));
+        }
+    }
+}
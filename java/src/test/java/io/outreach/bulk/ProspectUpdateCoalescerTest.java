@@ -0,0 +1,82 @@
+package io.outreach.bulk;
+
+import static org.junit.Assert.*;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.json.simple.JSONObject;
+import org.json.simple.JSONValue;
+import org.junit.Test;
+
+import io.outreach.Outreach;
+import io.outreach.model.Prospect;
+import io.outreach.simulator.OutreachSimulator;
+
+public class ProspectUpdateCoalescerTest {
+
+    private static String attributes(final String attributes) {
+        return "{\"data\":{\"attributes\":" + attributes + "}}";
+    }
+
+    @Test
+    public void mergesUpdatesWithinTheWindowAndSuppressesNoOps() throws Exception {
+        try (OutreachSimulator simulator = new OutreachSimulator()) {
+            simulator.addProspects(1);
+            Outreach outreach = simulator.newClient();
+
+            try (ProspectUpdateCoalescer coalescer = new ProspectUpdateCoalescer(outreach, 10000, 100, 60000)) {
+                CompletableFuture<JSONObject> enriched = coalescer.modify(1, attributes("{\"personal\":{\"title\":\"Engineer\"},\"company\":{\"name\":\"Acme\"}}"));
+                CompletableFuture<JSONObject> scored = coalescer.modify(1, attributes("{\"company\":{\"industry\":\"Software\"}}"));
+                CompletableFuture<JSONObject> tagged = coalescer.modify(1, attributes("{\"personal\":{\"title\":\"Staff Engineer\"}}"));
+                assertSame(enriched, scored);
+                assertSame(enriched, tagged);
+                coalescer.flush();
+                assertNotNull(tagged.get(5, TimeUnit.SECONDS));
+
+                Prospect stored = simulator.getProspect(1);
+                assertEquals("Staff Engineer", stored.getTitle());
+                assertEquals("Acme", stored.getCompanyName());
+                assertEquals("Software", stored.getCompanyIndustry());
+                assertEquals(1, simulator.getRequests());
+
+                // Matches the state just returned, so nothing is sent.
+                CompletableFuture<JSONObject> repeated = coalescer.modify(1, attributes("{\"personal\":{\"title\":\"Staff Engineer\"},\"company\":{\"name\":\"Acme\"}}"));
+                coalescer.flush();
+                assertNotNull(repeated.get(5, TimeUnit.SECONDS));
+                assertEquals(1, simulator.getRequests());
+                assertEquals(1, coalescer.getSuppressed());
+                assertEquals(4, coalescer.getUpdates());
+                assertEquals(1, coalescer.getRequests());
+            }
+        }
+    }
+
+    @Test
+    public void failedUpdatesCompleteExceptionally() throws Exception {
+        try (OutreachSimulator simulator = new OutreachSimulator()) {
+            simulator.addProspects(1);
+            simulator.failNext(1, 400);
+
+            try (ProspectUpdateCoalescer coalescer = new ProspectUpdateCoalescer(simulator.newClient(), 10, 100, 60000)) {
+                CompletableFuture<JSONObject> update = coalescer.modify(1, attributes("{\"personal\":{\"title\":\"Engineer\"}}"));
+                try {
+                    update.get(5, TimeUnit.SECONDS);
+                    fail();
+                } catch (ExecutionException expected) {
+                }
+                assertNotEquals("Engineer", simulator.getProspect(1).getTitle());
+                assertEquals(1, coalescer.getRequests());
+            }
+        }
+    }
+
+    @Test
+    public void reducesOnlyUnchangedAttributes() {
+        JSONObject last = (JSONObject) JSONValue.parse(attributes("{\"title\":\"CTO\",\"company\":{\"name\":\"Acme\",\"size\":10}}"));
+        JSONObject patch = (JSONObject) JSONValue.parse(attributes("{\"title\":\"CTO\",\"company\":{\"name\":\"Acme\",\"size\":12}}"));
+        assertEquals(attributes("{\"company\":{\"size\":12}}"), ProspectUpdateCoalescer.reduce(patch, last).toJSONString());
+        assertNull(ProspectUpdateCoalescer.reduce(last, last));
+    }
+}
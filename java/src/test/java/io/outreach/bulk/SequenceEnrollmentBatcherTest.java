@@ -0,0 +1,77 @@
+package io.outreach.bulk;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.json.simple.JSONObject;
+import org.junit.Test;
+
+import io.outreach.Outreach;
+
+public class SequenceEnrollmentBatcherTest {
+
+    /**
+     * Records sequence updates instead of sending them.
+     */
+    private static class RecordingOutreach extends Outreach {
+        final Map<Integer, List<String>> updates = new ConcurrentHashMap<>();
+
+        RecordingOutreach() {
+            super(new Outreach.ApplicationCredentials("id", "secret", "uri"), "code");
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public JSONObject addProspectsToSequence(int sequenceId, String payload) {
+            updates.computeIfAbsent(sequenceId, id -> new CopyOnWriteArrayList<>()).add(payload);
+            JSONObject response = new JSONObject();
+            response.put("sequence", (long) sequenceId);
+            return response;
+        }
+    }
+
+    @Test
+    public void coalescesEnrollmentsPerSequence() throws Exception {
+        RecordingOutreach outreach = new RecordingOutreach();
+        List<CompletableFuture<JSONObject>> enrollments = new ArrayList<>();
+
+        try (SequenceEnrollmentBatcher batcher = new SequenceEnrollmentBatcher(outreach, 50, 10000)) {
+            for (long prospectId = 0; prospectId < 120; prospectId++) {
+                enrollments.add(batcher.enroll((int) (prospectId % 2), prospectId));
+            }
+        }
+
+        for (int i = 0; i < enrollments.size(); i++) {
+            JSONObject response = enrollments.get(i).get(5, TimeUnit.SECONDS);
+            assertEquals((long) (i % 2), response.get("sequence"));
+        }
+        // 60 enrollments per sequence: one full batch of 50 and a remainder flushed on close.
+        assertEquals(2, outreach.updates.get(0).size());
+        assertEquals(2, outreach.updates.get(1).size());
+        // The full batch and the remainder are sent concurrently, in either order.
+        assertTrue(outreach.updates.get(0).stream()
+            .anyMatch(update -> update.startsWith("{\"data\":{\"relationships\":{\"prospects\":[{\"data\":{\"id\":\"0\"}}")));
+    }
+
+    @Test
+    public void flushesAfterLinger() throws Exception {
+        RecordingOutreach outreach = new RecordingOutreach();
+
+        try (SequenceEnrollmentBatcher batcher = new SequenceEnrollmentBatcher(outreach, 50, 20)) {
+            CompletableFuture<JSONObject> first = batcher.enroll(7, 1);
+            CompletableFuture<JSONObject> repeated = batcher.enroll(7, 1);
+
+            assertNotNull(first.get(5, TimeUnit.SECONDS));
+            assertSame(first, repeated);
+            assertEquals(1, batcher.getRequests());
+            assertEquals("{\"data\":{\"relationships\":{\"prospects\":[{\"data\":{\"id\":\"1\"}}]}}}", outreach.updates.get(7).get(0));
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package io.outreach.cache;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+
+import org.json.simple.JSONObject;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.outreach.Outreach;
+import io.outreach.model.Prospect;
+import io.outreach.simulator.OutreachSimulator;
+import io.outreach.transport.CompressingTransport;
+import io.outreach.transport.PooledTransport;
+
+public class CachingOutreachTest {
+
+    private OutreachSimulator simulator;
+    private CachingOutreach outreach;
+
+    @Before
+    public void init() throws Exception {
+        simulator = new OutreachSimulator();
+        simulator.addProspects(3);
+        outreach = new CachingOutreach(new Outreach.ApplicationCredentials("simulator", "secret", "urn:simulator"),
+                                       "code",
+                                       new CompressingTransport(new PooledTransport()),
+                                       simulator.getEndpoint(),
+                                       OutreachSimulator.VERSION,
+                                       100, 60000, 60000);
+    }
+
+    @After
+    public void shutdown() {
+        simulator.close();
+    }
+
+    @Test
+    public void repeatedReadsAreServedFromMemory() {
+        JSONObject first = outreach.getProspect(1);
+
+        assertSame(first, outreach.getProspect(1));
+        assertSame(outreach.getSequences(1), outreach.getSequences(1));
+        assertEquals(2, simulator.getRequests());
+        assertEquals(1, outreach.getProspectStats().getHits());
+    }
+
+    @Test
+    public void modifyingProspectEvictsIt() {
+        outreach.getProspect(1);
+        outreach.modifyProspect(1, "{\"data\":{\"attributes\":{\"personal\":{\"name\":{\"first\":\"Renamed\"}}}}}");
+        outreach.getProspect(2);
+        outreach.modifyProspect(2, new Prospect().setFirstName("Changed"));
+
+        assertTrue(outreach.getProspect(1).toJSONString().contains("Renamed"));
+        assertTrue(outreach.getProspect(2).toJSONString().contains("Changed"));
+        assertEquals(6, simulator.getRequests());
+    }
+
+    @Test
+    public void addingProspectEvictsItsIdentifier() {
+        assertNull(getQuietly(4));
+        Prospect created = outreach.addProspect(new Prospect().setFirstName("Added").setEmail("added@example.com"));
+
+        assertEquals(4, created.getId().intValue());
+        assertTrue(outreach.getProspect(4).toJSONString().contains("Added"));
+    }
+
+    @Test
+    public void enrollingEvictsSequencePagesAndEnrolledProspects() {
+        long sequenceId = simulator.addSequence("Onboarding");
+        outreach.getSequences(1);
+        outreach.getProspect(1);
+        outreach.getProspect(2);
+        outreach.getProspect(3);
+        long before = simulator.getRequests();
+
+        outreach.addProspectsToSequence((int) sequenceId, "{\"data\":{\"relationships\":{\"prospects\":[{\"data\":{\"id\":\"1\"}}]}}}");
+        outreach.getSequences(1);
+        outreach.getProspect(1);
+        outreach.getProspect(2);
+        assertEquals(before + 3, simulator.getRequests());
+
+        outreach.addProspectsToSequence((int) sequenceId, Arrays.asList(2L, 3L));
+        outreach.getSequences(1);
+        outreach.getProspect(1);
+        outreach.getProspect(2);
+        outreach.getProspect(3);
+        assertEquals(before + 3 + 4, simulator.getRequests());
+        assertEquals(3, simulator.getSequenceProspects(sequenceId).size());
+    }
+
+    private JSONObject getQuietly(final int prospectId) {
+        try {
+            return outreach.getProspect(prospectId);
+        } catch (RuntimeException notFound) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package io.outreach.cache;
+
+import static org.junit.Assert.*;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+public class ExpiringLruCacheTest {
+
+    @Test
+    public void servesHitsAndEvictsLeastRecentlyUsed() {
+        ExpiringLruCache<Integer, String> cache = new ExpiringLruCache<>(2, 1, TimeUnit.MINUTES);
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get(1, key -> "one" + loads.incrementAndGet());
+        cache.get(2, key -> "two" + loads.incrementAndGet());
+        assertEquals("one1", cache.get(1, key -> "unused"));
+        cache.get(3, key -> "three" + loads.incrementAndGet()); // evicts 2, 1 was used more recently
+
+        assertEquals("one1", cache.get(1, key -> "unused"));
+        assertEquals("two4", cache.get(2, key -> "two" + loads.incrementAndGet()));
+
+        CacheStats stats = cache.getStats();
+        assertEquals(2, stats.getHits());
+        assertEquals(4, stats.getMisses());
+        assertEquals(2, stats.getEvictions());
+    }
+
+    @Test
+    public void expiredEntriesAreReloaded() throws InterruptedException {
+        ExpiringLruCache<String, Integer> cache = new ExpiringLruCache<>(10, 20, TimeUnit.MILLISECONDS);
+        AtomicInteger loads = new AtomicInteger();
+
+        assertEquals(Integer.valueOf(1), cache.get("k", key -> loads.incrementAndGet()));
+        Thread.sleep(40);
+        assertEquals(Integer.valueOf(2), cache.get("k", key -> loads.incrementAndGet()));
+    }
+
+    @Test
+    public void getIfPresentNeverLoads() throws InterruptedException {
+        ExpiringLruCache<String, String> cache = new ExpiringLruCache<>(10, 20, TimeUnit.MILLISECONDS);
+
+        assertNull(cache.getIfPresent("k"));
+        assertEquals(0, cache.size());
+        cache.put("k", "v");
+        assertEquals("v", cache.getIfPresent("k"));
+        Thread.sleep(40);
+        assertNull(cache.getIfPresent("k"));
+        assertEquals(0, cache.getStats().getLoads());
+    }
+
+    @Test
+    public void concurrentMissesShareOneLoad() throws Exception {
+        ExpiringLruCache<String, String> cache = new ExpiringLruCache<>(10, 1, TimeUnit.MINUTES);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            Future<?>[] lookups = new Future<?>[8];
+            for (int i = 0; i < lookups.length; i++) {
+                lookups[i] = executor.submit(() -> cache.get("hot", key -> {
+                    loads.incrementAndGet();
+                    try {
+                        release.await();
+                    } catch (InterruptedException exception) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return "value";
+                }));
+            }
+            Thread.sleep(50);
+            release.countDown();
+            for (Future<?> lookup : lookups) {
+                assertEquals("value", lookup.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, loads.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void invalidationDuringLoadIsNotOverwritten() {
+        ExpiringLruCache<String, String> cache = new ExpiringLruCache<>(10, 1, TimeUnit.MINUTES);
+
+        assertEquals("stale", cache.get("k", key -> {
+            cache.invalidate("k"); // A write lands while the read is in flight
+            return "stale";
+        }));
+        assertEquals(0, cache.size());
+        assertEquals("fresh", cache.get("k", key -> "fresh"));
+    }
+
+    @Test(timeout = 10000)
+    public void missAfterInvalidationDoesNotJoinAnOlderLoad() throws Exception {
+        ExpiringLruCache<String, String> cache = new ExpiringLruCache<>(10, 1, TimeUnit.MINUTES);
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<String> stale = pool.submit(() -> cache.get("k", key -> {
+            loading.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "before";
+        }));
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+        cache.invalidate("k"); // As after a write.
+
+        assertEquals("after", cache.get("k", key -> "after"));
+        release.countDown();
+        assertEquals("before", stale.get(5, TimeUnit.SECONDS));
+        assertEquals("after", cache.get("k", key -> "unused"));
+        pool.shutdown();
+    }
+}
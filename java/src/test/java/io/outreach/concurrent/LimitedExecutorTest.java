@@ -0,0 +1,103 @@
+package io.outreach.concurrent;
+
+import static org.junit.Assert.*;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+public class LimitedExecutorTest {
+
+    @Test
+    public void neverExceedsConcurrencyLimit() throws InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(16);
+        LimitedExecutor executor = new LimitedExecutor(pool, 3);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(200);
+
+        for (int i = 0; i < 200; i++) {
+            executor.execute(() -> {
+                int now = running.incrementAndGet();
+                peak.accumulateAndGet(now, Math::max);
+                try {
+                    Thread.sleep(1);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                running.decrementAndGet();
+                done.countDown();
+            });
+        }
+
+        assertTrue(done.await(30, TimeUnit.SECONDS));
+        assertTrue(peak.get() <= 3);
+        assertEquals(0, executor.getQueued());
+        pool.shutdown();
+    }
+
+    @Test
+    public void rejectedSubmissionIsWithdrawn() {
+        LimitedExecutor executor = new LimitedExecutor(task -> {
+            throw new RejectedExecutionException("Saturated");
+        }, 1);
+
+        try {
+            executor.execute(() -> fail("Rejected task must not run"));
+            fail("Expected the rejection to reach the submitter");
+        } catch (RejectedExecutionException expected) {
+            assertEquals(0, executor.getQueued());
+            assertEquals(0, executor.getRunning());
+        }
+    }
+
+    @Test
+    public void rejectionOnCompletionFailsQueuedTasks() throws InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        AtomicInteger calls = new AtomicInteger();
+        Executor flaky = task -> {
+            if (calls.incrementAndGet() == 2) {
+                throw new RejectedExecutionException("Saturated");
+            }
+            pool.execute(task);
+        };
+        LimitedExecutor executor = new LimitedExecutor(flaky, 1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch rejected = new CountDownLatch(2);
+        CountDownLatch last = new CountDownLatch(1);
+
+        executor.execute(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        for (int i = 0; i < 2; i++) {
+            executor.execute(new LimitedExecutor.Task() {
+                @Override
+                public void run() {
+                    fail("Rejected task must not run");
+                }
+
+                @Override
+                public void reject(final RejectedExecutionException exception) {
+                    rejected.countDown();
+                }
+            });
+        }
+        release.countDown();
+
+        assertTrue(rejected.await(5, TimeUnit.SECONDS));
+        assertEquals(0, executor.getQueued());
+        executor.execute(last::countDown);
+        assertTrue(last.await(5, TimeUnit.SECONDS));
+        pool.shutdown();
+    }
+}
@@ -0,0 +1,135 @@
+package io.outreach.conditional;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.sun.net.httpserver.HttpServer;
+
+import io.outreach.transport.CompressingTransport;
+import io.outreach.transport.PooledTransport;
+import io.outreach.transport.Request;
+import io.outreach.transport.Response;
+
+public class ConditionalTransportTest {
+    private static final String PAGE = "{\"data\":[{\"id\":1},{\"id\":2}],\"meta\":{\"results\":{\"total\":2}}}";
+
+    private static HttpServer server;
+    private static String endpoint;
+    private static final AtomicInteger fullResponses = new AtomicInteger();
+
+    @BeforeClass
+    public static void init() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/prospects", exchange -> {
+            if ("\"v1\"".equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                exchange.sendResponseHeaders(304, -1);
+                exchange.close();
+                return;
+            }
+            fullResponses.incrementAndGet();
+            byte[] body = gzip(PAGE);
+            exchange.getResponseHeaders().add("ETag", "\"v1\"");
+            exchange.getResponseHeaders().add("Content-Encoding", "gzip");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.createContext("/raw-deflate", exchange -> {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (DeflaterOutputStream out = new DeflaterOutputStream(bytes, new Deflater(Deflater.DEFAULT_COMPRESSION, true))) {
+                out.write(PAGE.getBytes(StandardCharsets.UTF_8));
+            }
+            exchange.getResponseHeaders().add("Content-Encoding", "deflate");
+            exchange.sendResponseHeaders(200, bytes.size());
+            try (OutputStream out = exchange.getResponseBody()) {
+                bytes.writeTo(out);
+            }
+        });
+        server.start();
+        endpoint = "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    @AfterClass
+    public static void shutdown() {
+        server.stop(0);
+    }
+
+    @Test
+    public void unchangedPageIsServedFromStoreAfterNotModified() throws IOException {
+        PooledTransport pool = new PooledTransport(null, 2);
+        ConditionalTransport transport = new ConditionalTransport(new CompressingTransport(pool));
+        fullResponses.set(0);
+
+        for (int i = 0; i < 3; i++) {
+            try (Response response = transport.execute(new Request("GET", endpoint + "/prospects?page[number]=1"))) {
+                assertEquals(200, response.getStatusCode());
+                assertEquals(PAGE, read(response.getBody()));
+                assertNull(response.getHeader("Content-Encoding"));
+            }
+        }
+
+        assertEquals(1, fullResponses.get());
+        assertEquals(2, transport.getNotModified());
+        assertEquals(2L * PAGE.length(), transport.getBytesSaved());
+        assertEquals(0, pool.stats().getActive());
+    }
+
+    @Test
+    public void storedResponsesAreNotSharedAcrossCredentials() throws IOException {
+        ConditionalTransport transport = new ConditionalTransport(new CompressingTransport(new PooledTransport(null, 2)));
+        fullResponses.set(0);
+
+        for (String token : new String[] { "org-a", "org-b", "org-a", "org-b" }) {
+            Request request = new Request("GET", endpoint + "/prospects?page[number]=2").header("Authorization", "Bearer " + token);
+            try (Response response = transport.execute(request)) {
+                assertEquals(PAGE, read(response.getBody()));
+            }
+        }
+
+        assertEquals(2, fullResponses.get());
+        assertEquals(2, transport.getNotModified());
+        assertNotEquals(ConditionalTransport.key(new Request("GET", endpoint).header("Authorization", "Bearer org-a")),
+                ConditionalTransport.key(new Request("GET", endpoint).header("Authorization", "Bearer org-b")));
+    }
+
+    @Test
+    public void decodesDeflateWithoutZlibWrapper() throws IOException {
+        CompressingTransport transport = new CompressingTransport(new PooledTransport(null, 1));
+        try (Response response = transport.execute(new Request("GET", endpoint + "/raw-deflate"))) {
+            assertEquals(PAGE, read(response.getBody()));
+        }
+    }
+
+    private static byte[] gzip(final String text) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+            out.write(text.getBytes(StandardCharsets.UTF_8));
+        }
+        return bytes.toByteArray();
+    }
+
+    private static String read(final InputStream in) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        byte[] chunk = new byte[1024];
+        int read;
+        while ((read = in.read(chunk)) >= 0) {
+            bytes.write(chunk, 0, read);
+        }
+        return new String(bytes.toByteArray(), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,80 @@
+package io.outreach.export;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import io.outreach.model.Prospect;
+import io.outreach.model.ProspectCodec;
+
+public class RecordFileTest {
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void roundTripsRecordsAcrossMappingWindows() throws IOException {
+        Path file = folder.getRoot().toPath().resolve("prospects.orx");
+        try (RecordFileWriter<Prospect> writer = new RecordFileWriter<>(file, ProspectCodec.INSTANCE)) {
+            for (long id = 1; id <= 5000; id++) {
+                writer.write(new Prospect().setId(id).setEmail("p" + id + "@example.com").addTag("bulk"));
+            }
+        }
+
+        // A small window forces remapping every few dozen records.
+        try (RecordFileReader reader = new RecordFileReader(file, 4096)) {
+            assertTrue(reader.isComplete());
+            assertEquals(5000, reader.getCount());
+
+            assertTrue(reader.next());
+            ByteBuffer first = reader.record();
+            assertTrue(first.isReadOnly());
+            byte[] json = new byte[first.remaining()];
+            first.get(json);
+            assertTrue(new String(json, StandardCharsets.UTF_8).startsWith("{\"id\":1,"));
+
+            long id = 1;
+            do {
+                Prospect prospect = reader.decode(ProspectCodec.INSTANCE);
+                assertEquals(Long.valueOf(id), prospect.getId());
+                assertEquals("p" + id + "@example.com", prospect.getEmail());
+                id++;
+            } while (reader.next());
+            assertEquals(5001, id);
+        }
+    }
+
+    @Test
+    public void interruptedExportKeepsCompleteRecords() throws IOException {
+        Path file = folder.getRoot().toPath().resolve("partial.orx");
+        RecordFileWriter<Prospect> writer = new RecordFileWriter<>(file, ProspectCodec.INSTANCE);
+        writer.write(new Prospect().setId(1L));
+        writer.write(new Prospect().setId(2L));
+        writer.abandon();
+
+        // Simulate a crash mid-record by cutting the last record short.
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 3));
+
+        try (Stream<Prospect> prospects = new RecordFileReader(file).stream(ProspectCodec.INSTANCE)) {
+            List<Long> ids = prospects.map(Prospect::getId).collect(Collectors.toList());
+            assertEquals(1, ids.size());
+            assertEquals(Long.valueOf(1), ids.get(0));
+        }
+        try (RecordFileReader reader = new RecordFileReader(file)) {
+            assertFalse(reader.isComplete());
+        }
+    }
+}
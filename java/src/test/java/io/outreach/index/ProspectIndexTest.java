@@ -0,0 +1,104 @@
+package io.outreach.index;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import io.outreach.Outreach;
+import io.outreach.model.Prospect;
+import io.outreach.simulator.OutreachSimulator;
+
+public class ProspectIndexTest {
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private OutreachSimulator simulator;
+    private Outreach outreach;
+
+    @Before
+    public void start() throws IOException {
+        simulator = new OutreachSimulator();
+        outreach = simulator.newClient();
+    }
+
+    @After
+    public void stop() {
+        simulator.close();
+    }
+
+    private static Prospect prospect(long id, String first, String last, String company, String email) {
+        return new Prospect().setId(id).setFirstName(first).setLastName(last).setCompanyName(company).setEmail(email)
+                             .setUpdated("2016-04-0" + id + "T00:00:00Z");
+    }
+
+    /**
+     * Stores the prospect in the simulator, updated on the day of its identifier.
+     */
+    private void add(long id, String first, String last, String company, String email) {
+        simulator.setClock(Clock.fixed(Instant.parse("2016-04-0" + id + "T00:00:00Z"), ZoneOffset.UTC));
+        assertEquals(id, simulator.addProspect(prospect(id, first, last, company, email).setId(null)));
+    }
+
+    @Test
+    public void answersFiltersLocallyOnceSynced() {
+        add(1, "Ada", "Lovelace", "Analytical", "ada@example.com");
+        add(2, "Alan", "Turing", "Bletchley", "alan@example.com");
+        add(3, "Ada", "Byron", "Analytical", "byron@example.com");
+
+        ProspectIndex index = new ProspectIndex(outreach, 1, TimeUnit.HOURS);
+        assertTrue(index.isStale());
+        assertEquals(3, index.sync().getRecords());
+        long afterSync = simulator.getRequests();
+
+        assertEquals(2, index.find("ada", null, null, null).size());
+        assertEquals(1, index.find("Ada", null, "ANALYTICAL", "byron@example.com").size());
+        assertTrue(index.containsEmail("Alan@Example.com"));
+        assertFalse(index.containsEmail("grace@example.com"));
+        assertEquals(afterSync, simulator.getRequests());
+
+        // A changed email moves the prospect between index entries.
+        index.upsert(prospect(2, "Alan", "Turing", "Bletchley", "turing@example.com"));
+        assertFalse(index.containsEmail("alan@example.com"));
+        assertEquals(Long.valueOf(2), index.find(null, null, null, "turing@example.com").get(0).getId());
+    }
+
+    @Test
+    public void staleReplicaFallsBackToTheApi() {
+        add(1, "Ada", "Lovelace", "Analytical", "ada@example.com");
+
+        ProspectIndex index = new ProspectIndex(outreach, 1, TimeUnit.HOURS);
+        assertEquals(1, index.find(null, null, null, "ada@example.com").size());
+        assertEquals(1, simulator.getRequests());
+        assertEquals("Lovelace", index.get(1).getLastName());
+    }
+
+    @Test
+    public void snapshotRestoresRecordsAndCheckpoint() throws IOException {
+        add(1, "Ada", "Lovelace", "Analytical", "ada@example.com");
+        add(2, "Alan", "Turing", "Bletchley", "alan@example.com");
+        ProspectIndex index = new ProspectIndex(outreach, 1, TimeUnit.HOURS);
+        index.sync();
+
+        Path snapshot = folder.getRoot().toPath().resolve("prospects.json");
+        index.save(snapshot);
+
+        ProspectIndex restored = new ProspectIndex(outreach, 1, TimeUnit.HOURS);
+        restored.load(snapshot);
+        assertEquals(2, restored.size());
+        assertEquals("alan@example.com", restored.get(2).getEmail());
+        assertEquals("2016-04-02T00:00:00Z", restored.get(2).getUpdated());
+        assertFalse(restored.sync().isFullSync());
+    }
+}
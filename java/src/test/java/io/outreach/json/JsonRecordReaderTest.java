@@ -0,0 +1,77 @@
+package io.outreach.json;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Arrays;
+
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+import org.junit.Test;
+
+public class JsonRecordReaderTest {
+    private static final String PAGE =
+        "{\"links\":{\"next\":\"https://api.outreach.io/1.0/prospects?page[number]=2\"},"
+      + " \"data\":["
+      + "  {\"id\":1,\"type\":\"prospect\",\"attributes\":{"
+      + "    \"personal\":{\"name\":{\"first\":\"Ada\",\"last\":\"Lovelace\"},\"title\":\"Countess\"},"
+      + "    \"contact\":{\"email\":\"ada@example.com\",\"phone\":{\"work\":\"1\"}},"
+      + "    \"metadata\":{\"tags\":[\"a\",[\"nested\"],{\"deep\":true}],\"custom\":[null,\"x\"]}}},"
+      + "  {\"id\":2,\"type\":\"prospect\",\"attributes\":{\"personal\":{\"name\":{\"first\":\"Alan\"}}}}"
+      + " ],"
+      + " \"meta\":{\"page\":{\"current\":1,\"entries\":2,\"maximum\":1},\"results\":{\"total\":2}}}";
+
+    @Test
+    public void readsEveryRecordInFull() throws IOException {
+        try (JsonRecordReader records = new JsonRecordReader(new StringReader(PAGE))) {
+            JSONObject first = records.next();
+            assertEquals(1L, first.get("id"));
+            JSONObject attributes = (JSONObject) first.get("attributes");
+            JSONObject metadata = (JSONObject) attributes.get("metadata");
+            JSONArray tags = (JSONArray) metadata.get("tags");
+            assertEquals("a", tags.get(0));
+            assertEquals("nested", ((JSONArray) tags.get(1)).get(0));
+            assertEquals(Boolean.TRUE, ((JSONObject) tags.get(2)).get("deep"));
+            assertNull(((JSONArray) metadata.get("custom")).get(0));
+            assertNull(records.getMeta());
+
+            assertEquals(2L, records.next().get("id"));
+            assertFalse(records.hasNext());
+
+            assertEquals(2L, ((JSONObject) records.getMeta().get("results")).get("total"));
+            assertNotNull(records.getLinks().get("next"));
+        }
+    }
+
+    @Test
+    public void keepsOnlySelectedFields() throws IOException {
+        try (JsonRecordReader records = new JsonRecordReader(new StringReader(PAGE),
+                                                             Arrays.asList("id", "attributes/contact/email", "attributes/personal/name"))) {
+            JSONObject first = records.next();
+            assertEquals(2, first.size());
+            JSONObject attributes = (JSONObject) first.get("attributes");
+            assertEquals(2, attributes.size());
+            JSONObject contact = (JSONObject) attributes.get("contact");
+            assertEquals(1, contact.size());
+            assertEquals("ada@example.com", contact.get("email"));
+            JSONObject personal = (JSONObject) attributes.get("personal");
+            assertEquals(1, personal.size());
+            assertEquals("Lovelace", ((JSONObject) personal.get("name")).get("last"));
+
+            JSONObject second = records.next();
+            assertNull(((JSONObject) second.get("attributes")).get("contact"));
+            records.skipToEnd();
+            assertNotNull(records.getMeta());
+        }
+    }
+
+    @Test
+    public void singleRecordResponseYieldsOneRecord() throws IOException {
+        String single = "{\"data\":{\"id\":48438,\"type\":\"prospect\",\"attributes\":{\"created\":\"2015-09-18T22:28:10.959Z\"}}}";
+        try (JsonRecordReader records = new JsonRecordReader(new StringReader(single))) {
+            assertEquals(48438L, records.next().get("id"));
+            assertFalse(records.hasNext());
+        }
+    }
+}
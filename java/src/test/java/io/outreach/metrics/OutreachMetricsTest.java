@@ -0,0 +1,75 @@
+package io.outreach.metrics;
+
+import static org.junit.Assert.*;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import io.outreach.Outreach;
+import io.outreach.retry.RetryPolicy;
+import io.outreach.retry.RetryingTransport;
+import io.outreach.simulator.OutreachSimulator;
+import io.outreach.transport.PooledTransport;
+
+public class OutreachMetricsTest {
+
+    @Test
+    public void histogramPercentilesAreWithinBucketPrecision() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long micros = 1; micros <= 10000; micros++) {
+            histogram.record(TimeUnit.MICROSECONDS.toNanos(micros));
+        }
+
+        assertEquals(10000, histogram.getCount());
+        assertEquals(5000.5, histogram.getMean(TimeUnit.MICROSECONDS), 0.001);
+        assertEquals(5000, histogram.getPercentile(0.5, TimeUnit.MICROSECONDS), 5000 / 16.0);
+        assertEquals(9900, histogram.getPercentile(0.99, TimeUnit.MICROSECONDS), 9900 / 16.0);
+        assertEquals(10000, histogram.getPercentile(1, TimeUnit.MICROSECONDS), 0.001);
+        assertEquals(10, histogram.getMax(TimeUnit.MILLISECONDS));
+
+        for (long value = 0; value < 1 << 20; value = value * 3 + 1) {
+            assertTrue(LatencyHistogram.lowerBound(LatencyHistogram.index(value)) <= value);
+            assertTrue(LatencyHistogram.lowerBound(LatencyHistogram.index(value) + 1) > value);
+        }
+    }
+
+    @Test
+    public void recordsEndpointsRetriesTokensAndParsing() throws Exception {
+        try (OutreachSimulator simulator = new OutreachSimulator()) {
+            simulator.addProspects(3);
+            OutreachMetrics metrics = new OutreachMetrics();
+            // Instrumented beneath the retries, so each attempt is recorded.
+            RetryingTransport transport = new RetryingTransport(new InstrumentedTransport(new PooledTransport(null, 2, metrics), metrics),
+                                                                new RetryPolicy(3, 1, 10, 0, 5000),
+                                                                metrics);
+            Outreach outreach = new Outreach(new Outreach.ApplicationCredentials("id", "secret", "uri"),
+                                             "code",
+                                             transport,
+                                             simulator.getEndpoint(),
+                                             OutreachSimulator.VERSION,
+                                             metrics);
+
+            simulator.failNext(1, 503);
+            outreach.getProspect(2);
+            outreach.getProspects(null, null, null, null, 1);
+
+            Map<String, EndpointMetrics> endpoints = metrics.getEndpoints();
+            EndpointMetrics prospect = endpoints.get("GET /1.0/prospects/{id}");
+            assertEquals(2, prospect.getLatency().getCount());
+            assertEquals(Long.valueOf(1), prospect.getStatusCodes().get(503));
+            assertEquals(Long.valueOf(1), prospect.getStatusCodes().get(200));
+            assertEquals(1, prospect.getParsing().getCount());
+            assertEquals(1, endpoints.get("GET /1.0/prospects").getLatency().getCount());
+            assertEquals(1, endpoints.get("POST /oauth/token").getLatency().getCount());
+
+            assertEquals(1, metrics.getRetries());
+            assertEquals(1, metrics.getTokenRefreshes());
+            assertEquals(0, metrics.getTokenRefreshFailures());
+            assertTrue(metrics.getBytesIn() > 0);
+            assertTrue(metrics.getBytesOut() > 0);
+            assertEquals(4, new JmxMetrics(metrics).getRequests());
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package io.outreach.model;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Arrays;
+
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+import org.json.simple.JSONValue;
+import org.junit.Test;
+
+import io.outreach.json.RecordReader;
+
+public class ProspectCodecTest {
+
+    @Test
+    public void encodesOnlySetMembers() {
+        Prospect prospect = new Prospect()
+            .setFirstName("Ada")
+            .setEmail("ada@example.com")
+            .setAddressZip(12345L)
+            .setOptedOut(false)
+            .addTag("a \"quoted\"\ntag")
+            .addCustom(null)
+            .addCustom("second");
+
+        JSONObject entity = (JSONObject) JSONValue.parse(ProspectCodec.INSTANCE.encode(prospect));
+        JSONObject attributes = (JSONObject) ((JSONObject) entity.get("data")).get("attributes");
+
+        assertEquals(4, attributes.size());
+        assertEquals("Ada", ((JSONObject) ((JSONObject) attributes.get("personal")).get("name")).get("first"));
+        assertEquals(1, ((JSONObject) attributes.get("contact")).size());
+        assertEquals(12345L, ((JSONObject) attributes.get("address")).get("zip"));
+
+        JSONObject metadata = (JSONObject) attributes.get("metadata");
+        assertEquals(Boolean.FALSE, metadata.get("opted_out"));
+        assertEquals("a \"quoted\"\ntag", ((JSONArray) metadata.get("tags")).get(0));
+        assertEquals(Arrays.asList(null, "second"), metadata.get("custom"));
+    }
+
+    @Test
+    public void decodesRegisteredMembersAndSkipsTheRest() throws IOException {
+        String page = "{\"data\":["
+                    + "{\"id\":1,\"type\":\"prospect\",\"attributes\":{"
+                    + "\"personal\":{\"name\":{\"first\":\"Ada\",\"last\":\"Lovelace\"},\"unknown\":{\"x\":[1,{\"y\":2}]}},"
+                    + "\"address\":{\"street\":[\"1 Main\",\"Apt 2\"],\"zip\":\"02139\"},"
+                    + "\"company\":{\"size\":120},"
+                    + "\"metadata\":{\"opted_out\":true,\"tags\":[\"a\",[\"nested\"],\"b\"],\"updated\":\"2016-01-01T00:00:00Z\"}}},"
+                    + "{\"id\":\"2\",\"attributes\":{\"contact\":{\"email\":\"alan@example.com\"}}}],"
+                    + "\"meta\":{\"results\":{\"total\":2}}}";
+
+        try (RecordReader<Prospect> records = ProspectCodec.INSTANCE.reader(new StringReader(page))) {
+            Prospect first = records.next();
+            assertEquals(Long.valueOf(1), first.getId());
+            assertEquals("Ada", first.getFirstName());
+            assertEquals("Lovelace", first.getLastName());
+            assertEquals(Arrays.asList("1 Main", "Apt 2"), first.getAddressStreet());
+            assertEquals(Long.valueOf(2139), first.getAddressZip());
+            assertEquals(Long.valueOf(120), first.getCompanySize());
+            assertEquals(Boolean.TRUE, first.getOptedOut());
+            assertEquals(Arrays.asList("a", "b"), first.getTags());
+            assertEquals("2016-01-01T00:00:00Z", first.getUpdated());
+
+            Prospect second = records.next();
+            assertEquals(Long.valueOf(2), second.getId());
+            assertEquals("alan@example.com", second.getEmail());
+            assertNull(second.getFirstName());
+            assertFalse(records.hasNext());
+            assertNotNull(records.getMeta());
+        }
+    }
+
+    @Test
+    public void roundTripsThroughTheCodec() throws IOException {
+        Prospect prospect = new Prospect()
+            .setFirstName("Grace")
+            .setLastName("Hopper")
+            .setTitle("Rear Admiral")
+            .setWorkPhone("555-0100")
+            .setLinkedIn("https://linkedin.com/in/grace")
+            .addNote("\u2028line separator");
+
+        Prospect decoded = ProspectCodec.INSTANCE.decode(new StringReader(ProspectCodec.INSTANCE.encode(prospect)));
+        assertEquals("Grace", decoded.getFirstName());
+        assertEquals("Hopper", decoded.getLastName());
+        assertEquals("Rear Admiral", decoded.getTitle());
+        assertEquals("555-0100", decoded.getWorkPhone());
+        assertEquals("https://linkedin.com/in/grace", decoded.getLinkedIn());
+        assertEquals(Arrays.asList("\u2028line separator"), decoded.getNotes());
+    }
+}
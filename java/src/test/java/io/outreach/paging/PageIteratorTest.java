@@ -0,0 +1,75 @@
+package io.outreach.paging;
+
+import static org.junit.Assert.*;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+import org.junit.Test;
+
+import io.outreach.exception.OutreachException;
+import io.outreach.exception.OutreachSecurityException;
+
+public class PageIteratorTest {
+
+    /**
+     * Serves {@code total} records numbered from zero in pages of {@code size}.
+     */
+    @SuppressWarnings("unchecked")
+    private static PageFetcher<JSONObject> collection(int total, int size, AtomicInteger fetches) {
+        return page -> {
+            fetches.incrementAndGet();
+            JSONArray data = new JSONArray();
+            for (int i = (page - 1) * size; i < Math.min(total, page * size); i++) {
+                JSONObject record = new JSONObject();
+                record.put("id", (long) i);
+                data.add(record);
+            }
+            JSONObject response = new JSONObject();
+            response.put("data", data);
+            return Page.of(response);
+        };
+    }
+
+    @Test
+    public void walksEveryPageInOrder() {
+        AtomicInteger fetches = new AtomicInteger();
+        PageIterator<JSONObject> pages = new PageIterator<>(collection(120, 50, fetches), ForkJoinPool.commonPool(), 50);
+
+        List<Long> ids = pages.stream().map(record -> (Long) record.get("id")).collect(Collectors.toList());
+
+        assertEquals(120, ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            assertEquals(i, ids.get(i).intValue());
+        }
+        assertEquals(3, fetches.get());
+        assertEquals(3, pages.getPageNumber());
+    }
+
+    @Test
+    public void exactMultipleEndsOnEmptyPage() {
+        AtomicInteger fetches = new AtomicInteger();
+        PageIterator<JSONObject> pages = new PageIterator<>(collection(100, 50, fetches), ForkJoinPool.commonPool(), 50);
+
+        assertEquals(100, pages.stream().count());
+        assertEquals(3, fetches.get());
+    }
+
+    @Test
+    public void fetchFailureSurfacesFromIterator() {
+        PageIterator<JSONObject> pages = new PageIterator<>(page -> {
+            throw new OutreachSecurityException("unavailable");
+        }, ForkJoinPool.commonPool(), 50);
+
+        try {
+            pages.hasNext();
+            fail();
+        } catch (OutreachException expected) {
+            assertEquals("unavailable", expected.getMessage());
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package io.outreach.paging;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+import org.junit.AfterClass;
+import org.junit.Test;
+
+import io.outreach.throttle.RateLimiter;
+
+public class ParallelPageIteratorTest {
+    private static final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @AfterClass
+    public static void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Serves {@code total} records numbered from zero in pages of 50, with
+     * random latency, optionally advertising the total in the metadata.
+     */
+    @SuppressWarnings("unchecked")
+    private static PageFetcher<JSONObject> collection(int total, boolean withTotals, AtomicInteger fetches) {
+        return page -> {
+            fetches.incrementAndGet();
+            try {
+                Thread.sleep(ThreadLocalRandom.current().nextInt(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            JSONArray data = new JSONArray();
+            for (int i = (page - 1) * 50; i < Math.min(total, page * 50); i++) {
+                JSONObject record = new JSONObject();
+                record.put("id", (long) i);
+                data.add(record);
+            }
+            JSONObject response = new JSONObject();
+            response.put("data", data);
+            if (withTotals) {
+                JSONObject results = new JSONObject();
+                results.put("total", (long) total);
+                JSONObject meta = new JSONObject();
+                meta.put("results", results);
+                response.put("meta", meta);
+            }
+            return Page.of(response);
+        };
+    }
+
+    @Test
+    public void orderedExportPreservesPageOrder() {
+        AtomicInteger fetches = new AtomicInteger();
+        ParallelPageIterator<JSONObject> pages = new ParallelPageIterator<>(collection(1010, true, fetches), executor, 50, 8, null, true);
+
+        List<Long> ids = pages.stream().map(record -> (Long) record.get("id")).collect(Collectors.toList());
+
+        assertEquals(1010, ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            assertEquals(i, ids.get(i).intValue());
+        }
+        assertEquals(21, fetches.get());
+    }
+
+    @Test
+    public void unorderedExportWithoutTotalsReturnsEveryRecord() {
+        AtomicInteger fetches = new AtomicInteger();
+        ParallelPageIterator<JSONObject> pages = new ParallelPageIterator<>(collection(777, false, fetches), executor, 50, 4,
+                                                                            new RateLimiter(10000, 100), false);
+
+        Set<Long> ids = pages.stream().map(record -> (Long) record.get("id")).collect(Collectors.toSet());
+
+        assertEquals(777, ids.size());
+        // Speculative requests past the short page are bounded by the parallelism.
+        assertTrue(fetches.get() <= 16 + 4);
+    }
+
+    @Test
+    public void cancelStopsEveryRequestInFlight() {
+        for (boolean ordered : new boolean[] { true, false }) {
+            AtomicInteger fetches = new AtomicInteger();
+            List<Runnable> pending = new ArrayList<>();
+            ParallelPageIterator<JSONObject> pages = new ParallelPageIterator<>(collection(1000, true, fetches), pending::add, 50, 4, null, ordered);
+
+            pending.remove(0).run();
+            assertTrue(pages.hasNext());
+            assertEquals(4, pending.size());
+
+            pages.cancel();
+            pending.forEach(Runnable::run);
+
+            assertEquals(1, fetches.get());
+            assertFalse(pages.hasNext());
+        }
+    }
+
+    @Test
+    public void failuresPastTheLastPageAreDropped() {
+        for (boolean ordered : new boolean[] { true, false }) {
+            AtomicInteger fetches = new AtomicInteger();
+            PageFetcher<JSONObject> collection = collection(120, false, fetches);
+            List<Runnable> pending = new ArrayList<>();
+            ParallelPageIterator<JSONObject> pages = new ParallelPageIterator<>(page -> {
+                if (page > 3) {
+                    throw new IllegalStateException("Page " + page + " is past the end");
+                }
+                return collection.fetch(page);
+            }, pending::add, 50, 4, null, ordered);
+
+            pending.remove(0).run();
+            assertTrue(pages.hasNext());
+            new ArrayList<>(pending).forEach(Runnable::run);
+
+            int records = 0;
+            while (pages.hasNext()) {
+                pages.next();
+                records++;
+            }
+            assertEquals(120, records);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package io.outreach.retry;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.SocketTimeoutException;
+import java.util.Arrays;
+
+import javax.net.ssl.SSLHandshakeException;
+import javax.net.ssl.SSLPeerUnverifiedException;
+
+import org.junit.Test;
+
+import io.outreach.Outreach;
+import io.outreach.exception.OutreachSecurityException;
+import io.outreach.simulator.OutreachSimulator;
+import io.outreach.transport.PooledTransport;
+import io.outreach.transport.Request;
+import io.outreach.transport.ScriptedTransport;
+
+public class RetryingTransportTest {
+    private static final RetryPolicy IMMEDIATE = new RetryPolicy(3, 0, 0, 0, 60000);
+
+    private static Request get() throws IOException {
+        return new Request("GET", "http://localhost/1.0/prospects/1");
+    }
+
+    private static Request create() throws IOException {
+        return new Request("POST", "http://localhost/1.0/prospects").body("{}");
+    }
+
+    @Test
+    public void retriesIdempotentRequestsUntilSuccess() throws IOException {
+        ScriptedTransport server = new ScriptedTransport(502, new SocketTimeoutException(), 200);
+        RetryingTransport transport = new RetryingTransport(server, IMMEDIATE);
+
+        assertEquals(200, transport.execute(get()).getStatusCode());
+        assertEquals(3, server.getCalls());
+        assertEquals(2, transport.getRetryStats().getRetries());
+        assertEquals(1, transport.getRetryStats().getRecovered());
+    }
+
+    @Test
+    public void givesUpAfterMaxAttempts() throws IOException {
+        ScriptedTransport server = new ScriptedTransport(503);
+        RetryingTransport transport = new RetryingTransport(server, IMMEDIATE);
+
+        assertEquals(503, transport.execute(get()).getStatusCode());
+        assertEquals(3, server.getCalls());
+        assertEquals(1, transport.getRetryStats().getGiveUps());
+    }
+
+    @Test
+    public void createIsOnlyRetriedWhenUnprocessed() throws IOException {
+        ScriptedTransport gateway = new ScriptedTransport(502, 200);
+        assertEquals(502, new RetryingTransport(gateway, IMMEDIATE).execute(create()).getStatusCode());
+        assertEquals(1, gateway.getCalls());
+
+        ScriptedTransport throttled = new ScriptedTransport(429, 201);
+        assertEquals(201, new RetryingTransport(throttled, IMMEDIATE).execute(create()).getStatusCode());
+
+        ScriptedTransport refused = new ScriptedTransport(new ConnectException(), 201);
+        assertEquals(201, new RetryingTransport(refused, IMMEDIATE).execute(create()).getStatusCode());
+
+        ScriptedTransport timedOut = new ScriptedTransport(new SocketTimeoutException(), 201);
+        try {
+            new RetryingTransport(timedOut, IMMEDIATE).execute(create());
+            fail();
+        } catch (SocketTimeoutException expected) {
+            assertEquals(1, timedOut.getCalls());
+        }
+    }
+
+    @Test
+    public void overridePatchIsRetriedWhenMarkedIdempotent() throws IOException {
+        ScriptedTransport server = new ScriptedTransport(504, 200);
+        Request patch = new Request("POST", "http://localhost/1.0/prospects/1")
+            .header("X-HTTP-Method-Override", "PATCH")
+            .idempotent(true)
+            .body("{}");
+
+        assertEquals(200, new RetryingTransport(server, IMMEDIATE).execute(patch).getStatusCode());
+        assertEquals(2, server.getCalls());
+    }
+
+    @Test
+    public void onlyIoFailuresOtherThanTlsAreRetried() throws IOException {
+        Request get = get();
+
+        assertTrue(IMMEDIATE.isRetryable(get, new SocketTimeoutException()));
+        assertTrue(IMMEDIATE.isRetryable(get, new IOException(new IllegalStateException("reset"))));
+        assertFalse(IMMEDIATE.isRetryable(get, new SSLHandshakeException("untrusted")));
+        assertFalse(IMMEDIATE.isRetryable(get, new SSLPeerUnverifiedException("unpinned")));
+        assertFalse(IMMEDIATE.isRetryable(get, new IllegalStateException("bug")));
+        assertFalse(IMMEDIATE.isRetryable(get, new OutreachSecurityException(new IllegalArgumentException())));
+    }
+
+    @Test
+    public void sequenceEnrollmentIsNotRetriedButProspectUpdateIs() throws IOException {
+        try (OutreachSimulator simulator = new OutreachSimulator()) {
+            simulator.addProspects(1);
+            long sequenceId = simulator.addSequence("Onboarding");
+            Outreach outreach = simulator.newClient(new RetryingTransport(new PooledTransport(), IMMEDIATE));
+
+            simulator.failNext(1, 502);
+            try {
+                outreach.addProspectsToSequence((int) sequenceId, Arrays.asList(1L));
+                fail("Enrollment retried after a 502");
+            } catch (OutreachSecurityException expected) {
+                assertEquals(1, simulator.getInjectedErrors());
+            }
+
+            simulator.failNext(1, 502);
+            assertNotNull(outreach.modifyProspect(1, "{\"data\":{\"attributes\":{\"personal\":{\"name\":{\"first\":\"Ada\"}}}}}"));
+            assertEquals(2, simulator.getInjectedErrors());
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package io.outreach.security;
+
+import static org.junit.Assert.*;
+
+import java.security.KeyStore;
+import java.security.cert.CertificateException;
+import java.security.cert.X509Certificate;
+
+import org.junit.Test;
+
+public class PinSetTest {
+
+    private static final String HOST = "api.outreach.io";
+
+    @Test
+    public void pinsTheTrustStore() throws Exception {
+        KeyStore trustStore = TrustStore.get();
+        X509Certificate certificate = (X509Certificate) trustStore.getCertificate(HOST);
+        PinSet pins = PinSet.of(trustStore);
+
+        assertEquals(1, pins.size());
+        assertTrue(pins.isTrusted(certificate));
+        assertTrue(pins.isPinned(HOST, certificate));
+        assertTrue(pins.isPinned("API.Outreach.io", certificate));
+        assertFalse(pins.isPinned("outreach.io", certificate));
+    }
+
+    @Test
+    public void reloadSwapsThePinsInUse() throws Exception {
+        KeyStore trustStore = TrustStore.get();
+        X509Certificate[] chain = { (X509Certificate) trustStore.getCertificate(HOST) };
+        ReloadablePinSet pins = new ReloadablePinSet(trustStore);
+        TrustStoreTrustManager trustManager = new TrustStoreTrustManager(pins);
+        trustManager.checkServerTrusted(chain, "RSA");
+
+        KeyStore empty = KeyStore.getInstance(KeyStore.getDefaultType());
+        empty.load(null, null);
+        pins.reload(empty);
+        assertEquals(0, pins.get().size());
+        try {
+            trustManager.checkServerTrusted(chain, "RSA");
+            fail();
+        } catch (CertificateException expected) {
+        }
+
+        pins.reload(trustStore);
+        trustManager.checkServerTrusted(chain, "RSA");
+    }
+}
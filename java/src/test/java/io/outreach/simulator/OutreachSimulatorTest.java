@@ -0,0 +1,120 @@
+package io.outreach.simulator;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.stream.Collectors;
+
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.outreach.Outreach;
+import io.outreach.Query;
+import io.outreach.exception.OutreachSecurityException;
+import io.outreach.model.Prospect;
+import io.outreach.model.ProspectCodec;
+import io.outreach.retry.RetryPolicy;
+import io.outreach.retry.RetryingTransport;
+import io.outreach.transport.HttpStatusException;
+import io.outreach.transport.PooledTransport;
+
+public class OutreachSimulatorTest {
+
+    private OutreachSimulator simulator;
+
+    @Before
+    public void start() throws Exception {
+        simulator = new OutreachSimulator();
+    }
+
+    @After
+    public void stop() {
+        simulator.close();
+    }
+
+    @Test
+    public void servesPaginatedFilteredProspectsAndUpdates() {
+        simulator.addProspects(120);
+        Outreach outreach = simulator.newClient();
+
+        assertEquals(120, outreach.stream("/prospects", new Query(), ProspectCodec.INSTANCE).count());
+
+        JSONObject matches = outreach.getProspects("first7", null, null, null, 1);
+        JSONArray data = (JSONArray) matches.get("data");
+        assertEquals(1, data.size());
+        assertEquals(1L, ((JSONObject) ((JSONObject) matches.get("meta")).get("page")).get("maximum"));
+
+        long id = outreach.addProspect(new Prospect().setFirstName("Grace").setEmail("grace@example.com")).getId();
+        outreach.modifyProspect((int) id, new Prospect().setTitle("Rear Admiral"));
+        Prospect stored = simulator.getProspect(id);
+        assertEquals("Grace", stored.getFirstName());
+        assertEquals("Rear Admiral", stored.getTitle());
+
+        long sequenceId = simulator.addSequence("Welcome");
+        outreach.addProspectsToSequence((int) sequenceId, "{\"data\":{\"relationships\":{\"prospects\":[{\"data\":{\"id\":\"1\"}},{\"data\":{\"id\":\"" + id + "\"}}]}}}");
+        assertEquals(new HashSet<>(Arrays.asList(1L, id)), simulator.getSequenceProspects(sequenceId));
+        assertEquals(Arrays.asList("Welcome"), outreach.stream("/sequences", new Query())
+                                                       .map(sequence -> ((JSONObject) sequence.get("attributes")).get("name"))
+                                                       .collect(Collectors.toList()));
+    }
+
+    @Test
+    public void refreshesShortLivedTokensAndRejectsRevokedOnes() {
+        // Within the client's expiry leeway, so every call exchanges the refresh token.
+        simulator.setTokenLifetime(1);
+        Outreach outreach = simulator.newClient(new PooledTransport());
+        for (int i = 0; i < 3; i++) {
+            assertNotNull(outreach.getInfo());
+        }
+        assertTrue(simulator.getTokensIssued() >= 3);
+
+        simulator.setTokenLifetime(3600);
+        Outreach longLived = simulator.newClient(new PooledTransport());
+        longLived.getInfo();
+        simulator.expireTokens();
+        try {
+            longLived.getInfo();
+            fail("Revoked token accepted");
+        } catch (OutreachSecurityException expected) {
+            assertEquals(401, ((HttpStatusException) expected.getCause()).getStatusCode());
+        }
+        assertEquals(1, simulator.getUnauthorized());
+    }
+
+    @Test
+    public void injectedFailuresAreRetriedAndExcessRequestsThrottled() {
+        RetryingTransport transport = new RetryingTransport(new PooledTransport(), new RetryPolicy(4, 1, 10, 0, 5000));
+        Outreach outreach = simulator.newClient(transport);
+
+        simulator.failNext(2, 503);
+        assertNotNull(outreach.getInfo());
+        assertEquals(2, simulator.getInjectedErrors());
+        assertEquals(2, transport.getRetryStats().getRetries());
+
+        simulator.setRateLimit(0.5, 1);
+        outreach.getInfo();
+        Outreach unretried = simulator.newClient(new PooledTransport());
+        try {
+            unretried.getInfo();
+            fail("Request over the rate limit accepted");
+        } catch (OutreachSecurityException expected) {
+            assertEquals(429, ((HttpStatusException) expected.getCause()).getStatusCode());
+        }
+        assertEquals(1, simulator.getThrottled());
+    }
+
+    @Test
+    public void decodesResponsesAsUtf8() {
+        String name = "Zo\u00eb \u5c71\u7530 \ud83d\ude80";
+        long id = simulator.addProspect(new Prospect().setFirstName(name).setEmail("zoe@example.com"));
+        Outreach outreach = simulator.newClient();
+
+        assertTrue(outreach.getProspect((int) id).toJSONString().contains(name));
+        assertEquals(name, outreach.stream("/prospects", new Query(), ProspectCodec.INSTANCE).findFirst().get().getFirstName());
+        assertEquals(name, outreach.addProspect(new Prospect().setFirstName(name).setEmail("copy@example.com")).getFirstName());
+    }
+}
@@ -0,0 +1,109 @@
+package io.outreach.sync;
+
+import static org.junit.Assert.*;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import io.outreach.Outreach;
+import io.outreach.metrics.InstrumentedTransport;
+import io.outreach.metrics.OutreachListener;
+import io.outreach.model.Prospect;
+import io.outreach.simulator.OutreachSimulator;
+import io.outreach.transport.PooledTransport;
+import io.outreach.transport.Request;
+
+public class DeltaSyncTest {
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private static void add(final OutreachSimulator simulator, final String lastName, final String updated) {
+        simulator.setClock(Clock.fixed(Instant.parse(updated), ZoneOffset.UTC));
+        simulator.addProspect(new Prospect().setFirstName("Prospect").setLastName(lastName));
+    }
+
+    private static DeltaSync sync(final Outreach outreach, final Path file, final String started) {
+        return new DeltaSync(outreach,
+                             new FileCheckpointStore(file),
+                             "acme",
+                             DeltaSync.DEFAULT_OVERLAP_MILLIS,
+                             Clock.fixed(Instant.parse(started), ZoneOffset.UTC));
+    }
+
+    @Test
+    public void resumesFromTheRunStartTime() throws Exception {
+        Path file = folder.getRoot().toPath().resolve("checkpoints.properties");
+        List<String> urls = new ArrayList<>();
+        OutreachListener listener = new OutreachListener() {
+            @Override
+            public void requestStarted(final Request request) {
+                urls.add(request.getUrl().toString());
+            }
+        };
+
+        try (OutreachSimulator simulator = new OutreachSimulator()) {
+            Outreach outreach = simulator.newClient(new InstrumentedTransport(new PooledTransport(), listener));
+            add(simulator, "A", "2016-03-01T10:00:00Z");
+            add(simulator, "B", "2016-03-02T10:00:00Z");
+
+            List<String> seen = new ArrayList<>();
+            SyncResult first = sync(outreach, file, "2016-03-02T12:00:00Z").run(p -> seen.add(p.getLastName()));
+            assertTrue(first.isFullSync());
+            assertEquals(2, first.getRecords());
+            assertEquals(Instant.parse("2016-03-02T12:00:00Z"), first.getHighWaterMark());
+
+            add(simulator, "C", "2016-03-02T15:00:00Z");
+            add(simulator, "D", "2016-03-03T10:00:00Z");
+            add(simulator, "E", "2016-03-03T20:00:00Z");
+            seen.clear();
+            urls.clear();
+            // A fresh engine over the same file, as after a restart.
+            SyncResult second = sync(outreach, file, "2016-03-03T12:00:00Z").run(p -> seen.add(p.getLastName()));
+            assertEquals(Instant.parse("2016-03-02T12:00:00Z"), second.getSince());
+            assertEquals(Instant.parse("2016-03-03T12:00:00Z"), second.getHighWaterMark());
+            // The API filters by whole days of unknown inclusivity, so the query reaches a day either side.
+            String url = urls.get(urls.size() - 1);
+            assertTrue(url.contains("updated/after]=2016-03-01"));
+            assertTrue(url.contains("updated/before]=2016-03-04"));
+            // B was delivered by the first run and E, updated after the run started, is left to the next.
+            assertEquals(2, second.getRecords());
+            assertEquals(2, seen.size());
+            assertTrue(seen.contains("C") && seen.contains("D"));
+
+            seen.clear();
+            SyncResult third = sync(outreach, file, "2016-03-04T12:00:00Z").run(p -> seen.add(p.getLastName()));
+            assertEquals(1, third.getRecords());
+            assertEquals("E", seen.get(0));
+
+            assertEquals("2016-03-04T12:00:00Z", new FileCheckpointStore(file).load("acme"));
+            assertNull(new FileCheckpointStore(file).load("other"));
+        }
+    }
+
+    @Test
+    public void failedRunLeavesCheckpointUnchanged() throws Exception {
+        MemoryCheckpointStore checkpoints = new MemoryCheckpointStore();
+        checkpoints.save("acme", "2016-03-01T00:00:00Z");
+
+        try (OutreachSimulator simulator = new OutreachSimulator()) {
+            add(simulator, "A", "2016-03-05T00:00:00Z");
+            try {
+                new DeltaSync(simulator.newClient(), checkpoints, "acme").run(p -> {
+                    throw new IllegalStateException("sink down");
+                });
+                fail();
+            } catch (RuntimeException expected) {
+                assertEquals("2016-03-01T00:00:00Z", checkpoints.load("acme"));
+            }
+        }
+    }
+}
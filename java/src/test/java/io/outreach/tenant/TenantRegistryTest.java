@@ -0,0 +1,112 @@
+package io.outreach.tenant;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import io.outreach.Outreach;
+import io.outreach.simulator.OutreachSimulator;
+import io.outreach.transport.PooledTransport;
+
+public class TenantRegistryTest {
+
+    private static TenantRegistry registry(final int maxConcurrency, final TenantLimits limits) {
+        return new TenantRegistry(new Outreach.ApplicationCredentials("id", "secret", "uri"),
+                                  new PooledTransport(),
+                                  "http://127.0.0.1:1",
+                                  "1.0",
+                                  maxConcurrency,
+                                  limits);
+    }
+
+    @Test
+    public void noisyTenantDoesNotStarveQuietOnes() throws Exception {
+        List<String> completions = new CopyOnWriteArrayList<>();
+        List<CompletableFuture<String>> calls = new ArrayList<>();
+
+        try (TenantRegistry registry = registry(2, TenantLimits.DEFAULT)) {
+            registry.register("noisy", "code-noisy", new TenantLimits(2, 0, 0));
+            registry.register("quiet", "code-quiet");
+            for (int i = 0; i < 100; i++) {
+                calls.add(registry.submit("noisy", outreach -> record(completions, "noisy")));
+            }
+            for (int i = 0; i < 5; i++) {
+                calls.add(registry.submit("quiet", outreach -> record(completions, "quiet")));
+            }
+            CompletableFuture.allOf(calls.toArray(new CompletableFuture<?>[0])).get(30, TimeUnit.SECONDS);
+            assertEquals(0, registry.getQueued("noisy"));
+        }
+
+        assertEquals(105, completions.size());
+        // Submitted last, yet done long before the noisy backlog rather than after it.
+        assertTrue(completions.lastIndexOf("quiet") < 20);
+    }
+
+    @Test
+    public void rateBudgetSpacesTenantCallsAndCallsShareTheClient() throws Exception {
+        try (OutreachSimulator simulator = new OutreachSimulator();
+             TenantRegistry registry = new TenantRegistry(new Outreach.ApplicationCredentials("id", "secret", "uri"),
+                                                          new PooledTransport(null, 4),
+                                                          simulator.getEndpoint(),
+                                                          OutreachSimulator.VERSION,
+                                                          4,
+                                                          new TenantLimits(4, 20, 1))) {
+            simulator.addProspects(1);
+            registry.register("org-1", "code-1");
+            registry.register("org-2", "code-2");
+
+            long start = System.nanoTime();
+            List<CompletableFuture<Object>> calls = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                calls.add(registry.submit("org-1", outreach -> outreach.getProspect(1)));
+                calls.add(registry.submit("org-2", outreach -> outreach.getInfo()));
+            }
+            for (CompletableFuture<Object> call : calls) {
+                assertNotNull(call.get(10, TimeUnit.SECONDS));
+            }
+
+            // A token exchange and five calls at 20 per second with a burst of one, per tenant.
+            assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(230));
+            assertEquals(2, simulator.getTokensIssued());
+            assertEquals(10, simulator.getRequests());
+        }
+    }
+
+    @Test
+    public void rateBudgetHoldsEveryRequestOfACall() throws Exception {
+        try (OutreachSimulator simulator = new OutreachSimulator();
+             TenantRegistry registry = new TenantRegistry(new Outreach.ApplicationCredentials("id", "secret", "uri"),
+                                                          new PooledTransport(null, 4),
+                                                          simulator.getEndpoint(),
+                                                          OutreachSimulator.VERSION,
+                                                          4,
+                                                          new TenantLimits(1, 20, 1))) {
+            simulator.addProspects(120);
+            registry.register("org-1", "code-1");
+
+            long start = System.nanoTime();
+            // One call walking three pages, after the token exchange.
+            long count = registry.submit("org-1", outreach -> outreach.streamProspects(null, null, null, null).count()).get(10, TimeUnit.SECONDS);
+
+            assertEquals(120, count);
+            assertEquals(3, simulator.getRequests());
+            assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(140));
+        }
+    }
+
+    private static String record(final List<String> completions, final String tenant) {
+        try {
+            TimeUnit.MILLISECONDS.sleep(2);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+        completions.add(tenant);
+        return tenant;
+    }
+}
@@ -0,0 +1,51 @@
+package io.outreach.throttle;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+
+import org.junit.Test;
+
+import io.outreach.transport.Request;
+import io.outreach.transport.Response;
+import io.outreach.transport.ScriptedTransport;
+
+public class ThrottlingTransportTest {
+
+    @Test
+    public void throttledResponsesShrinkAndSuccessesGrowTheLimit() throws IOException {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(16, 1, 16, 0.5);
+        ThrottlingTransport transport = new ThrottlingTransport(new ScriptedTransport(429, 429, 200), null, limiter);
+        Request request = new Request("GET", "http://localhost/1.0/info");
+
+        transport.execute(request).close();
+        transport.execute(request).close();
+        assertEquals(4, limiter.getLimit());
+        assertEquals(2, limiter.getThrottled());
+
+        for (int i = 0; i < 20; i++) {
+            transport.execute(request).close();
+        }
+        assertTrue(limiter.getLimit() > 4);
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    public void slotIsHeldUntilResponseIsClosed() throws IOException {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 1, 2, 0.5);
+        ThrottlingTransport transport = new ThrottlingTransport(new ScriptedTransport(200), new RateLimiter(1000, 10), limiter);
+
+        Response response = transport.execute(new Request("GET", "http://localhost/1.0/info"));
+        assertEquals(1, limiter.getInFlight());
+        response.close();
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    public void parsesRetryAfterSecondsAndDates() {
+        assertEquals(31000, ThrottlingTransport.parseRetryAfter("30", 1000));
+        assertEquals(784111777000L, ThrottlingTransport.parseRetryAfter("Sun, 06 Nov 1994 08:49:37 GMT", 0));
+        assertEquals(0, ThrottlingTransport.parseRetryAfter("soon", 0));
+        assertEquals(0, ThrottlingTransport.parseRetryAfter(null, 0));
+    }
+}
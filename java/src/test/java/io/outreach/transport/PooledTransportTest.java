@@ -0,0 +1,73 @@
+package io.outreach.transport;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.sun.net.httpserver.HttpServer;
+
+public class PooledTransportTest {
+    private static HttpServer server;
+    private static String endpoint;
+
+    @BeforeClass
+    public static void init() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/ok", exchange -> {
+            byte[] body = "{\"data\":{}}".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.createContext("/missing", exchange -> {
+            exchange.sendResponseHeaders(404, -1);
+            exchange.close();
+        });
+        server.start();
+        endpoint = "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    @AfterClass
+    public static void shutdown() {
+        server.stop(0);
+    }
+
+    @Test
+    public void releasesConnectionOnClose() throws IOException {
+        PooledTransport transport = new PooledTransport(null, 2);
+
+        Response response = transport.execute(new Request("GET", endpoint + "/ok"));
+        assertEquals(200, response.getStatusCode());
+        assertEquals(1, transport.stats().getActive());
+
+        response.close();
+        response.close();
+        assertEquals(0, transport.stats().getActive());
+        assertEquals(2, transport.stats().getIdle());
+        assertEquals(1, transport.stats().getRequests());
+    }
+
+    @Test
+    public void returnsErrorStatusWithoutThrowing() throws IOException {
+        PooledTransport transport = new PooledTransport(null, 1);
+
+        try (Response response = transport.execute(new Request("GET", endpoint + "/missing"))) {
+            assertEquals(404, response.getStatusCode());
+            assertFalse(response.isSuccessful());
+        }
+
+        // The single slot must be free again for the next exchange.
+        try (Response response = transport.execute(new Request("GET", endpoint + "/ok"))) {
+            assertTrue(response.isSuccessful());
+        }
+        assertEquals(0, transport.stats().getActive());
+    }
+}
@@ -0,0 +1,67 @@
+package io.outreach.transport;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import org.junit.Test;
+
+import io.outreach.Outreach;
+import io.outreach.paging.PageIterator;
+import io.outreach.simulator.OutreachSimulator;
+
+public class RequestBodyTest {
+
+    @Test
+    public void encodesUtf8AcrossBufferBoundaries() throws Exception {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 3000; i++) {
+            text.append("aé€😀"); // 1, 2, 3 and 4 byte sequences
+        }
+        text.append('\ud83d'); // An unpaired surrogate, as String.getBytes replaces it.
+        byte[] expected = text.toString().getBytes(StandardCharsets.UTF_8);
+
+        RequestBody fixed = RequestBody.of(text.toString());
+        assertEquals(expected.length, fixed.contentLength());
+        assertArrayEquals(expected, write(fixed));
+
+        RequestBody streamed = RequestBody.stream(out -> {
+            for (int i = 0; i < text.length(); i++) {
+                out.write(text.charAt(i));
+            }
+        });
+        assertEquals(-1, streamed.contentLength());
+        assertArrayEquals(expected, write(streamed));
+        // Replayed for each attempt.
+        assertArrayEquals(expected, write(streamed));
+        assertEquals(new String(expected, StandardCharsets.UTF_8), streamed.toString());
+    }
+
+    @Test
+    public void streamsEnrollmentsChunked() throws Exception {
+        try (OutreachSimulator simulator = new OutreachSimulator()) {
+            int count = PageIterator.MAX_PAGE_SIZE; // The most the API accepts per request.
+            simulator.addProspects(count);
+            long sequenceId = simulator.addSequence("Onboarding");
+            Outreach outreach = simulator.newClient(new PooledTransport());
+
+            outreach.addProspectsToSequence((int) sequenceId, LongStream.rangeClosed(1, count).boxed().collect(Collectors.toList()));
+            assertEquals(count, simulator.getSequenceProspects(sequenceId).size());
+
+            outreach.addProspectsToSequence((int) sequenceId, Arrays.asList(1L, 2L));
+            assertEquals(new HashSet<>(LongStream.rangeClosed(1, count).boxed().collect(Collectors.toList())),
+                         simulator.getSequenceProspects(sequenceId));
+        }
+    }
+
+    private static byte[] write(final RequestBody body) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        body.writeTo(out);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,45 @@
+package io.outreach.transport;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+
+/**
+ * Replays scripted outcomes in order, repeating the last: status codes to
+ * answer with, or exceptions to throw.
+ */
+public class ScriptedTransport implements Transport {
+    private final Deque<Object> outcomes;
+    private int calls = 0;
+
+    public ScriptedTransport(final Object... outcomes) {
+        this.outcomes = new ArrayDeque<>(Arrays.asList(outcomes));
+    }
+
+    @Override
+    public synchronized Response execute(final Request request) throws IOException {
+        calls++;
+        final Object outcome = outcomes.size() > 1 ? outcomes.poll() : outcomes.peek();
+        if (outcome instanceof IOException) {
+            throw (IOException) outcome;
+        }
+        if (outcome instanceof RuntimeException) {
+            throw (RuntimeException) outcome;
+        }
+        return new Response((Integer) outcome, Collections.emptyMap(), null);
+    }
+
+    /**
+     * @return the number of requests executed.
+     */
+    public synchronized int getCalls() {
+        return calls;
+    }
+
+    @Override
+    public synchronized TransportStats stats() {
+        return new TransportStats(1, 0, 0, calls, 0, 0);
+    }
+}